@@ -35,7 +35,7 @@
 
 /**
  * Container client metrics that describe how data writes are distributed to
- * pipelines.
+ * pipelines, and how reads are prefetched.
  */
 @Metrics(about = "Client Metrics", context = OzoneConsts.OZONE)
 public final class ContainerClientMetrics {
@@ -51,6 +51,14 @@ public final class ContainerClientMetrics {
   private MutableCounterLong totalWriteChunkCalls;
   @Metric
   private MutableCounterLong totalWriteChunkBytes;
+  @Metric
+  private MutableCounterLong totalPrefetchReads;
+  @Metric
+  private MutableCounterLong totalPrefetchBytes;
+  @Metric
+  private MutableCounterLong totalPrefetchWaits;
+  @Metric
+  private MutableCounterLong totalPrefetchDiscardedBytes;
   private final Map<PipelineID, MutableCounterLong> writeChunkCallsByPipeline;
   private final Map<PipelineID, MutableCounterLong> writeChunkBytesByPipeline;
   private final Map<UUID, MutableCounterLong> writeChunksCallsByLeaders;
@@ -111,6 +119,22 @@ public void recordWriteChunk(Pipeline pipeline, long chunkSizeBytes) {
     totalWriteChunkBytes.incr(chunkSizeBytes);
   }
 
+  /** Records a segment fetched ahead of a reader. */
+  public void recordPrefetchRead(long bytes) {
+    totalPrefetchReads.incr();
+    totalPrefetchBytes.incr(bytes);
+  }
+
+  /** Records a reader waiting for a segment which was not fetched yet. */
+  public void recordPrefetchWait() {
+    totalPrefetchWaits.incr();
+  }
+
+  /** Records prefetched data dropped unread, e.g. after a seek. */
+  public void recordPrefetchDiscarded(long bytes) {
+    totalPrefetchDiscardedBytes.incr(bytes);
+  }
+
   @VisibleForTesting
   public MutableCounterLong getTotalWriteChunkBytes() {
     return totalWriteChunkBytes;
@@ -121,6 +145,26 @@ public MutableCounterLong getTotalWriteChunkCalls() {
     return totalWriteChunkCalls;
   }
 
+  @VisibleForTesting
+  public MutableCounterLong getTotalPrefetchReads() {
+    return totalPrefetchReads;
+  }
+
+  @VisibleForTesting
+  public MutableCounterLong getTotalPrefetchBytes() {
+    return totalPrefetchBytes;
+  }
+
+  @VisibleForTesting
+  public MutableCounterLong getTotalPrefetchWaits() {
+    return totalPrefetchWaits;
+  }
+
+  @VisibleForTesting
+  public MutableCounterLong getTotalPrefetchDiscardedBytes() {
+    return totalPrefetchDiscardedBytes;
+  }
+
   @VisibleForTesting
   public Map<PipelineID, MutableCounterLong> getWriteChunkBytesByPipeline() {
     return writeChunkBytesByPipeline;
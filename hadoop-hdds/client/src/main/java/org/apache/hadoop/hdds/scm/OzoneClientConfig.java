@@ -29,6 +29,8 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 /**
  * Configuration values for Ozone Client.
  */
@@ -109,6 +111,18 @@ public enum ChecksumCombineMode {
       tags = ConfigTag.CLIENT)
   private int bufferIncrement = 0;
 
+  @Config(key = "stream.buffer.arena.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      description = "Maximum direct memory of the write buffers and EC "
+          + "stripe cells shared by the output streams of all the clients of "
+          + "a JVM. Buffers of closed streams are reused by new ones once the "
+          + "datanodes acknowledged their content. Beyond this size, streams "
+          + "allocate their buffers in the heap, without limit. If zero, "
+          + "each stream allocates its own buffers in the heap.",
+      tags = ConfigTag.CLIENT)
+  private long streamBufferArenaSize = 0;
+
   @Config(key = "stream.buffer.flush.delay",
       defaultValue = "true",
       description = "Default true, when call flush() and determine whether "
@@ -200,6 +214,55 @@ public enum ChecksumCombineMode {
   // 3 concurrent stripe read should be enough.
   private int ecReconstructStripeReadPoolLimit = 10 * 3;
 
+  @Config(key = "read.prefetch.depth",
+      defaultValue = "0",
+      description = "Number of segments of a key fetched ahead of a "
+          + "sequential reader, in parallel and possibly from different "
+          + "datanodes. Each segment takes up to "
+          + "ozone.client.read.prefetch.segment.size of memory. Zero disables "
+          + "prefetching.",
+      tags = ConfigTag.CLIENT)
+  private int readPrefetchDepth = 0;
+
+  @Config(key = "read.prefetch.segment.size",
+      defaultValue = "4MB",
+      type = ConfigType.SIZE,
+      description = "Size of the segments fetched ahead of a sequential "
+          + "reader, see ozone.client.read.prefetch.depth. Segments do not "
+          + "span blocks.",
+      tags = ConfigTag.CLIENT)
+  private int readPrefetchSegmentSize = 4 * 1024 * 1024;
+
+  @Config(key = "read.prefetch.pool.limit",
+      defaultValue = "32",
+      description = "Thread pool max size for fetching segments ahead of "
+          + "readers and for the ranges of vectored reads, shared by all "
+          + "the keys read by a client. When all threads are busy, the "
+          + "reader reads the data itself.",
+      tags = ConfigTag.CLIENT)
+  private int readPrefetchPoolLimit = 32;
+
+  @Config(key = "key.location.cache.size",
+      defaultValue = "0",
+      description = "Maximum number of keys whose block locations are cached "
+          + "by the client, so that keys opened for reading repeatedly are "
+          + "looked up in OM only once per "
+          + "ozone.client.key.location.cache.ttl. Keys written, deleted or "
+          + "renamed by the same client are looked up again, keys overwritten "
+          + "by other clients meanwhile are read in their previous version. "
+          + "The locations of a key are also looked up again when reading "
+          + "from a datanode fails. 0 disables the cache.",
+      tags = ConfigTag.CLIENT)
+  private int keyLocationCacheSize = 0;
+
+  @Config(key = "key.location.cache.ttl",
+      defaultValue = "10s",
+      type = ConfigType.TIME,
+      description = "Time after which the cached block locations of a key "
+          + "are looked up again, see ozone.client.key.location.cache.size.",
+      tags = ConfigTag.CLIENT)
+  private long keyLocationCacheTtl = 10 * 1000;
+
   @Config(key = "checksum.combine.mode",
       defaultValue = "COMPOSITE_CRC",
       description = "The combined checksum type [MD5MD5CRC / COMPOSITE_CRC] "
@@ -238,6 +301,17 @@ private void validate() {
         "expected flush size (%s) to be a multiple of buffer size (%s)",
         streamBufferFlushSize, streamBufferSize);
 
+    Preconditions.checkState(streamBufferArenaSize >= 0);
+
+    Preconditions.checkState(readPrefetchDepth >= 0,
+        "read prefetch depth (%s) must not be negative", readPrefetchDepth);
+    Preconditions.checkState(readPrefetchSegmentSize > 0);
+    Preconditions.checkState(readPrefetchPoolLimit > 0);
+    Preconditions.checkState(keyLocationCacheSize >= 0,
+        "key location cache size (%s) must not be negative",
+        keyLocationCacheSize);
+    Preconditions.checkState(keyLocationCacheTtl > 0);
+
     if (bytesPerChecksum <
         OzoneConfigKeys.OZONE_CLIENT_BYTES_PER_CHECKSUM_MIN_SIZE) {
       LOG.warn("The checksum size ({}) is not allowed to be less than the " +
@@ -382,6 +456,54 @@ public int getEcReconstructStripeReadPoolLimit() {
     return ecReconstructStripeReadPoolLimit;
   }
 
+  public long getStreamBufferArenaSize() {
+    return streamBufferArenaSize;
+  }
+
+  public void setStreamBufferArenaSize(long streamBufferArenaSize) {
+    this.streamBufferArenaSize = streamBufferArenaSize;
+  }
+
+  public int getReadPrefetchDepth() {
+    return readPrefetchDepth;
+  }
+
+  public void setReadPrefetchDepth(int readPrefetchDepth) {
+    this.readPrefetchDepth = readPrefetchDepth;
+  }
+
+  public int getReadPrefetchSegmentSize() {
+    return readPrefetchSegmentSize;
+  }
+
+  public void setReadPrefetchSegmentSize(int readPrefetchSegmentSize) {
+    this.readPrefetchSegmentSize = readPrefetchSegmentSize;
+  }
+
+  public int getReadPrefetchPoolLimit() {
+    return readPrefetchPoolLimit;
+  }
+
+  public void setReadPrefetchPoolLimit(int readPrefetchPoolLimit) {
+    this.readPrefetchPoolLimit = readPrefetchPoolLimit;
+  }
+
+  public int getKeyLocationCacheSize() {
+    return keyLocationCacheSize;
+  }
+
+  public void setKeyLocationCacheSize(int keyLocationCacheSize) {
+    this.keyLocationCacheSize = keyLocationCacheSize;
+  }
+
+  public Duration getKeyLocationCacheTtl() {
+    return Duration.ofMillis(keyLocationCacheTtl);
+  }
+
+  public void setKeyLocationCacheTtl(Duration keyLocationCacheTtl) {
+    this.keyLocationCacheTtl = keyLocationCacheTtl.toMillis();
+  }
+
   public void setFsDefaultBucketLayout(String bucketLayout) {
     if (!bucketLayout.isEmpty()) {
       this.fsDefaultBucketLayout = bucketLayout;
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Direct memory {@link ChunkBuffer}s shared by the output streams of a JVM,
+ * i.e. the {@link BufferPool}s of replicated streams and the stripe cells of
+ * EC streams.
+ * <p>
+ * Buffers released by a closed stream are reused by the streams opened
+ * later, instead of being allocated again. Buffers are reused only for
+ * the same buffer size and increment. The memory allocated by the arena is
+ * limited by its capacity, streams allocate heap buffers beyond it. The
+ * heap buffers are not limited by the arena, so the heap used by the
+ * streams grows with the number of streams writing concurrently.
+ * <p>
+ * Discarded buffers still count towards the capacity until they are garbage
+ * collected, since requests may still use their memory until then.
+ */
+@Metrics(about = "Ozone client write buffer arena metrics",
+    context = OzoneConsts.OZONE)
+public final class BufferArena {
+
+  private static final String SOURCE_NAME =
+      BufferArena.class.getSimpleName();
+  private static BufferArena instance;
+
+  private final AtomicLong capacity = new AtomicLong();
+  private final AtomicLong allocated = new AtomicLong();
+  // the idle buffers by size class, see sizeClass
+  private final Map<Long, Deque<ChunkBuffer>> idleBuffers =
+      new ConcurrentHashMap<>();
+  // references to the memory of the discarded buffers, to free their bytes
+  // once they are garbage collected
+  private final ReferenceQueue<ByteBuffer> collected = new ReferenceQueue<>();
+  private final Set<DiscardedMemory> discarded = ConcurrentHashMap.newKeySet();
+
+  @Metric("Bytes of direct memory allocated by the arena")
+  private MutableGaugeLong allocatedBytes;
+  @Metric("Bytes of the buffers not used by any stream")
+  private MutableGaugeLong idleBytes;
+  @Metric("Number of buffers allocated by the arena")
+  private MutableCounterLong newBuffers;
+  @Metric("Number of buffers reused")
+  private MutableCounterLong reusedBuffers;
+  @Metric("Number of heap buffers allocated as the arena is full")
+  private MutableCounterLong fallbackBuffers;
+  @Metric("Number of buffers not returned as their content was not "
+      + "acknowledged")
+  private MutableCounterLong discardedBuffers;
+  @Metric("Bytes of the discarded buffers not garbage collected yet")
+  private MutableGaugeLong discardedBytes;
+
+  /** Memory of one of the direct buffers of a discarded ChunkBuffer. */
+  private static final class DiscardedMemory
+      extends PhantomReference<ByteBuffer> {
+    // the size of the ChunkBuffer, and its buffers not collected yet
+    private final int bufferSize;
+    private final AtomicInteger live;
+
+    DiscardedMemory(ByteBuffer buffer, ReferenceQueue<ByteBuffer> queue,
+        int bufferSize, AtomicInteger live) {
+      super(buffer, queue);
+      this.bufferSize = bufferSize;
+      this.live = live;
+    }
+  }
+
+  /**
+   * @return the arena of the JVM, with a capacity of at least the given
+   *         number of bytes.
+   */
+  public static synchronized BufferArena getInstance(long capacity) {
+    if (instance == null) {
+      instance = DefaultMetricsSystem.instance().register(SOURCE_NAME,
+          "Ozone client write buffer arena", new BufferArena());
+    }
+    instance.capacity.accumulateAndGet(capacity, Math::max);
+    return instance;
+  }
+
+  private BufferArena() {
+  }
+
+  private static long sizeClass(int bufferSize, int increment) {
+    return ((long) bufferSize << 32) | increment;
+  }
+
+  /**
+   * @return a buffer from the arena, see
+   *         {@link ChunkBuffer#allocateDirect(int, int)}, or null if the
+   *         arena is full.
+   */
+  public ChunkBuffer allocate(int bufferSize, int increment) {
+    freeCollected();
+    final Deque<ChunkBuffer> idle =
+        idleBuffers.get(sizeClass(bufferSize, increment));
+    final ChunkBuffer reused = idle == null ? null : idle.pollFirst();
+    if (reused != null) {
+      idleBytes.decr(bufferSize);
+      reusedBuffers.incr();
+      return reused;
+    }
+    final long total = allocated.addAndGet(bufferSize);
+    if (total > capacity.get()) {
+      allocated.addAndGet(-bufferSize);
+      fallbackBuffers.incr();
+      return null;
+    }
+    allocatedBytes.set(total);
+    newBuffers.incr();
+    return ChunkBuffer.allocateDirect(bufferSize, increment);
+  }
+
+  /**
+   * Returns a buffer allocated by {@link #allocate(int, int)} to the arena.
+   * It must not be used by the stream afterwards.
+   */
+  public void release(ChunkBuffer buffer, int bufferSize, int increment) {
+    buffer.clear();
+    idleBuffers.computeIfAbsent(sizeClass(bufferSize, increment),
+        k -> new ConcurrentLinkedDeque<>()).addFirst(buffer);
+    idleBytes.incr(bufferSize);
+  }
+
+  /**
+   * Forgets a buffer allocated by {@link #allocate(int, int)} which cannot
+   * be reused, as requests may still reference it. Its bytes count towards
+   * the capacity until its memory is garbage collected. The stream must not
+   * keep a reference to the buffer.
+   */
+  public void discard(ChunkBuffer buffer, int bufferSize) {
+    discardedBuffers.incr();
+    discardedBytes.incr(bufferSize);
+    // The buffers allocated so far, duplicates and ByteStrings wrapping them
+    // keep them reachable.
+    final List<ByteBuffer> memory = buffer.asByteBufferList();
+    if (memory.isEmpty()) {
+      free(bufferSize);
+      return;
+    }
+    final AtomicInteger live = new AtomicInteger(memory.size());
+    for (ByteBuffer b : memory) {
+      discarded.add(new DiscardedMemory(b, collected, bufferSize, live));
+    }
+  }
+
+  private void freeCollected() {
+    Reference<? extends ByteBuffer> ref;
+    while ((ref = collected.poll()) != null) {
+      final DiscardedMemory memory = (DiscardedMemory) ref;
+      discarded.remove(memory);
+      if (memory.live.decrementAndGet() == 0) {
+        free(memory.bufferSize);
+      }
+    }
+  }
+
+  private void free(int bufferSize) {
+    allocatedBytes.set(allocated.addAndGet(-bufferSize));
+    discardedBytes.decr(bufferSize);
+  }
+
+  @VisibleForTesting
+  long getAllocatedBytes() {
+    freeCollected();
+    return allocated.get();
+  }
+
+  @VisibleForTesting
+  long getIdleBytes() {
+    return idleBytes.value();
+  }
+}
@@ -20,7 +20,10 @@
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 import org.apache.hadoop.hdds.scm.ByteStringConversion;
@@ -30,6 +33,7 @@
 import org.apache.ratis.util.Preconditions;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 
 /**
  * This class creates and manages pool of n buffers.
@@ -43,6 +47,14 @@ public class BufferPool {
   private final int bufferSize;
   private final int capacity;
   private final Function<ByteBuffer, ByteString> byteStringConversion;
+  // null if buffers are allocated by this pool only
+  private final BufferArena arena;
+  // the buffers of bufferList allocated by the arena
+  private final Set<ChunkBuffer> arenaBuffers;
+  // the arena buffers handed out and not released since, their content may
+  // still be referenced by requests the datanodes did not acknowledge yet
+  private final Set<ChunkBuffer> unacknowledged;
+  private int increment;
 
   public static BufferPool empty() {
     return EMPTY;
@@ -55,11 +67,29 @@ public BufferPool(int bufferSize, int capacity) {
 
   public BufferPool(int bufferSize, int capacity,
       Function<ByteBuffer, ByteString> byteStringConversion) {
+    this(bufferSize, capacity, byteStringConversion, null);
+  }
+
+  /**
+   * @param arena allocates the buffers while not full. They are returned to
+   *              it by {@link #clearBufferPool()} only if released since
+   *              they were last handed out, i.e. their content was
+   *              acknowledged by the datanodes, so that ByteStrings wrapping
+   *              them without a copy are no longer used.
+   */
+  public BufferPool(int bufferSize, int capacity,
+      Function<ByteBuffer, ByteString> byteStringConversion,
+      BufferArena arena) {
     this.capacity = capacity;
     this.bufferSize = bufferSize;
     bufferList = capacity == 0 ? emptyList() : new ArrayList<>(capacity);
     currentBufferIndex = -1;
     this.byteStringConversion = byteStringConversion;
+    this.arena = arena;
+    this.arenaBuffers = arena == null ? emptySet()
+        : Collections.newSetFromMap(new IdentityHashMap<>());
+    this.unacknowledged = arena == null ? emptySet()
+        : Collections.newSetFromMap(new IdentityHashMap<>());
   }
 
   public Function<ByteBuffer, ByteString> byteStringConversion() {
@@ -88,14 +118,33 @@ public ChunkBuffer allocateBuffer(int increment) {
     currentBufferIndex = nextBufferIndex;
 
     if (currentBufferIndex < bufferList.size()) {
-      return getBuffer(currentBufferIndex);
+      final ChunkBuffer buffer = getBuffer(currentBufferIndex);
+      if (arenaBuffers.contains(buffer)) {
+        unacknowledged.add(buffer);
+      }
+      return buffer;
     } else {
-      final ChunkBuffer newBuffer = ChunkBuffer.allocate(bufferSize, increment);
+      ChunkBuffer newBuffer = null;
+      if (arena != null) {
+        this.increment = increment;
+        newBuffer = arena.allocate(bufferSize, increment);
+        if (newBuffer != null) {
+          arenaBuffers.add(newBuffer);
+          unacknowledged.add(newBuffer);
+        }
+      }
+      if (newBuffer == null) {
+        newBuffer = ChunkBuffer.allocate(bufferSize, increment);
+      }
       bufferList.add(newBuffer);
       return newBuffer;
     }
   }
 
+  /**
+   * Releases the first buffer once the datanodes acknowledged its content,
+   * so that it can be handed out again.
+   */
   void releaseBuffer(ChunkBuffer chunkBuffer) {
     Preconditions.assertTrue(!bufferList.isEmpty(), "empty buffer list");
     Preconditions.assertSame(bufferList.get(0), chunkBuffer,
@@ -108,9 +157,24 @@ void releaseBuffer(ChunkBuffer chunkBuffer) {
     buffer.clear();
     bufferList.add(buffer);
     currentBufferIndex--;
+    unacknowledged.remove(buffer);
   }
 
+  /**
+   * Drops all the buffers. Arena buffers are returned to the arena, except
+   * those not acknowledged, e.g. after a failed write, which are left to
+   * the garbage collector as a request may still reference them.
+   */
   public void clearBufferPool() {
+    for (ChunkBuffer buffer : arenaBuffers) {
+      if (unacknowledged.contains(buffer)) {
+        arena.discard(buffer, bufferSize);
+      } else {
+        arena.release(buffer, bufferSize, increment);
+      }
+    }
+    arenaBuffers.clear();
+    unacknowledged.clear();
     bufferList.clear();
     currentBufferIndex = -1;
   }
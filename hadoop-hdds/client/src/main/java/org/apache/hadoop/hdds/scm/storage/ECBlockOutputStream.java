@@ -88,6 +88,16 @@ public void write(byte[] b, int off, int len) throws IOException {
     updateWrittenDataLength(len);
   }
 
+  /**
+   * Writes a cell, from its position to its limit, as the next chunk of the
+   * block. The cell must not be modified until the chunk is acknowledged.
+   */
+  public void writeCell(ByteBuffer cell) throws IOException {
+    final int len = cell.remaining();
+    this.currentChunkRspFuture = writeChunkToContainer(ChunkBuffer.wrap(cell));
+    updateWrittenDataLength(len);
+  }
+
   public CompletableFuture<ContainerProtos.ContainerCommandResponseProto> write(
       ByteBuffer buff) throws IOException {
     return writeChunkToContainer(ChunkBuffer.wrap(buff));
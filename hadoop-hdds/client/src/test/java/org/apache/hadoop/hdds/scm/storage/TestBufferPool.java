@@ -18,7 +18,9 @@
 
 package org.apache.hadoop.hdds.scm.storage;
 
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.ozone.test.GenericTestUtils;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,6 +32,7 @@
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test for {@link BufferPool}.
@@ -44,6 +47,73 @@ void testBufferPool() {
     testBufferPool(10, 1 << 10);
   }
 
+  @Test
+  void testBufferArena() throws Exception {
+    final int bufferSize = 4096;
+    final BufferArena arena = BufferArena.getInstance(2 * bufferSize);
+    final BufferPool first = new BufferPool(bufferSize, 3,
+        ByteStringConversion.createByteBufferConversion(true), arena);
+    ChunkBuffer a = first.allocateBuffer(0);
+    ChunkBuffer b = first.allocateBuffer(0);
+    // beyond the capacity of the arena
+    final ChunkBuffer c = first.allocateBuffer(0);
+    assertTrue(isDirect(a));
+    assertTrue(isDirect(b));
+    assertFalse(isDirect(c));
+    assertEquals(2 * bufferSize, arena.getAllocatedBytes());
+    fill(a);
+    fill(b);
+    // acknowledged by the datanodes
+    first.releaseBuffer(a);
+    first.releaseBuffer(b);
+
+    first.clearBufferPool();
+    assertEquals(2 * bufferSize, arena.getIdleBytes());
+
+    final BufferPool second = new BufferPool(bufferSize, 3,
+        ByteStringConversion.createByteBufferConversion(true), arena);
+    final ChunkBuffer acknowledged = second.allocateBuffer(0);
+    ChunkBuffer pending = second.allocateBuffer(0);
+    assertTrue(acknowledged == a || acknowledged == b);
+    assertTrue(pending == a || pending == b);
+    assertEmpty(acknowledged, bufferSize);
+    assertEquals(0, arena.getIdleBytes());
+    fill(acknowledged);
+    fill(pending);
+    second.releaseBuffer(acknowledged);
+
+    // the content of pending may still be sent, it is not reused, and its
+    // memory is allocated until it is garbage collected
+    second.clearBufferPool();
+    assertEquals(bufferSize, arena.getIdleBytes());
+    assertEquals(2 * bufferSize, arena.getAllocatedBytes());
+
+    final BufferPool third = new BufferPool(bufferSize, 3,
+        ByteStringConversion.createByteBufferConversion(true), arena);
+    assertSame(acknowledged, third.allocateBuffer(0));
+    final ChunkBuffer heap = third.allocateBuffer(0);
+    assertFalse(isDirect(heap));
+
+    a = null;
+    b = null;
+    pending = null;
+    GenericTestUtils.waitFor(() -> {
+      System.gc();
+      return arena.getAllocatedBytes() == bufferSize;
+    }, 100, 10_000);
+    final ChunkBuffer allocated = third.allocateBuffer(0);
+    assertTrue(isDirect(allocated));
+    assertEquals(2 * bufferSize, arena.getAllocatedBytes());
+    third.releaseBuffer(acknowledged);
+    third.releaseBuffer(heap);
+    third.releaseBuffer(allocated);
+    third.clearBufferPool();
+  }
+
+  private static boolean isDirect(ChunkBuffer buffer) {
+    return buffer.asByteBufferList().get(0).isDirect();
+  }
+
   private static void testBufferPool(final int capacity, final int bufferSize) {
     final BufferPool pool = new BufferPool(bufferSize, capacity);
     assertEquals(capacity, pool.getCapacity());
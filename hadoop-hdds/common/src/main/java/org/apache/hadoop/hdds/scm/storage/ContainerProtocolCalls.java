@@ -187,6 +187,36 @@ public static GetBlockResponseProto getBlock(XceiverClientSpi xceiverClient,
         d -> toErrorMessage(datanodeBlockID, d));
   }
 
+  /**
+   * Sends a request to get a container block to the first datanode of the
+   * pipeline, without waiting for the reply.
+   *
+   * @param xceiverClient client to perform call
+   * @param datanodeBlockID blockID to identify container
+   * @param token a token for this block (may be null)
+   * @return reply of the datanode, not validated
+   * @throws IOException if there is an I/O error while sending the request
+   */
+  public static XceiverClientReply getBlockAsync(
+      XceiverClientSpi xceiverClient, DatanodeBlockID datanodeBlockID,
+      Token<? extends TokenIdentifier> token)
+      throws IOException, ExecutionException, InterruptedException {
+    GetBlockRequestProto.Builder readBlockRequest = GetBlockRequestProto
+        .newBuilder()
+        .setBlockID(datanodeBlockID);
+    ContainerCommandRequestProto.Builder builder = ContainerCommandRequestProto
+        .newBuilder()
+        .setCmdType(Type.GetBlock)
+        .setContainerID(datanodeBlockID.getContainerID())
+        .setDatanodeUuid(
+            xceiverClient.getPipeline().getFirstNode().getUuidString())
+        .setGetBlock(readBlockRequest);
+    if (token != null) {
+      builder.setEncodedToken(token.encodeToUrlString());
+    }
+    return xceiverClient.sendCommandAsync(builder.build());
+  }
+
   static String toErrorMessage(DatanodeBlockID blockId, DatanodeDetails d) {
     return String.format("Failed to get block #%s in container #%s from %s",
         blockId.getLocalID(), blockId.getContainerID(), d);
@@ -363,6 +393,38 @@ private static ContainerProtos.ReadChunkResponseProto readChunk(
     return response;
   }
 
+  /**
+   * Sends a request to read a chunk to the first datanode of the pipeline,
+   * without waiting for the reply.
+   *
+   * @param xceiverClient client to perform call
+   * @param chunk information about chunk to read
+   * @param blockID ID of the block
+   * @param token a token for this block (may be null)
+   * @return reply of the datanode, not validated
+   * @throws IOException if there is an I/O error while sending the request
+   */
+  public static XceiverClientReply readChunkAsync(
+      XceiverClientSpi xceiverClient, ChunkInfo chunk, BlockID blockID,
+      Token<? extends TokenIdentifier> token)
+      throws IOException, ExecutionException, InterruptedException {
+    ReadChunkRequestProto.Builder readChunkRequest =
+        ReadChunkRequestProto.newBuilder()
+            .setBlockID(blockID.getDatanodeBlockIDProtobuf())
+            .setChunkData(chunk)
+            .setReadChunkVersion(ContainerProtos.ReadChunkVersion.V1);
+    ContainerCommandRequestProto.Builder builder =
+        ContainerCommandRequestProto.newBuilder().setCmdType(Type.ReadChunk)
+            .setContainerID(blockID.getContainerID())
+            .setDatanodeUuid(
+                xceiverClient.getPipeline().getFirstNode().getUuidString())
+            .setReadChunk(readChunkRequest);
+    if (token != null) {
+      builder.setEncodedToken(token.encodeToUrlString());
+    }
+    return xceiverClient.sendCommandAsync(builder.build());
+  }
+
   static String toErrorMessage(ChunkInfo chunk, BlockID blockId,
       DatanodeDetails d) {
     return String.format("Failed to read chunk %s (len=%s) %s from %s",
@@ -18,6 +18,7 @@
 package org.apache.hadoop.hdds.utils;
 
 import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 
@@ -25,21 +26,31 @@
  * Cache with resource limit constraints. At any time all entries in the cache
  * satisfy the resource limit constraints in the constructor. New put
  * operations are blocked until resources are released via remove or clear
- * operation.
+ * operation. An optional removal listener is notified of every entry that
+ * leaves the cache, so that values holding resources can be released.
  */
 public class ResourceLimitCache<K, V> implements Cache<K, V> {
   private final java.util.concurrent.ConcurrentMap<K, V> map;
   private final ResourceSemaphore.Group group;
   private final BiFunction<K, V, int[]> permitsSupplier;
+  private final BiConsumer<K, V> removalListener;
 
   public ResourceLimitCache(java.util.concurrent.ConcurrentMap<K, V> map,
       BiFunction<K, V, int[]> permitsSupplier, int... limits) {
+    this(map, permitsSupplier, (key, value) -> { }, limits);
+  }
+
+  public ResourceLimitCache(java.util.concurrent.ConcurrentMap<K, V> map,
+      BiFunction<K, V, int[]> permitsSupplier,
+      BiConsumer<K, V> removalListener, int... limits) {
     Objects.requireNonNull(map);
     Objects.requireNonNull(permitsSupplier);
+    Objects.requireNonNull(removalListener);
     Objects.requireNonNull(limits);
     this.map = map;
     this.group = new ResourceSemaphore.Group(limits);
     this.permitsSupplier = permitsSupplier;
+    this.removalListener = removalListener;
   }
 
   @Override
@@ -71,6 +82,7 @@ public V remove(K key) {
     V val = map.remove(key);
     if (val != null) {
       group.release(permitsSupplier.apply(key, val));
+      removalListener.accept(key, val);
     }
     return val;
   }
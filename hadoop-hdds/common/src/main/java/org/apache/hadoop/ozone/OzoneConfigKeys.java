@@ -630,6 +630,13 @@ public final class OzoneConfigKeys {
   public static final String
       OZONE_FS_LISTING_PAGE_SIZE_MAX = "ozone.fs.listing.page.size.max";
 
+  public static final String OZONE_FS_LISTING_PREFETCH_ENABLED =
+      "ozone.fs.listing.prefetch.enabled";
+  public static final boolean OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT = false;
+  public static final String OZONE_FS_LISTING_PREFETCH_THREADS =
+      "ozone.fs.listing.prefetch.threads";
+  public static final int OZONE_FS_LISTING_PREFETCH_THREADS_DEFAULT = 4;
+
 
   public static final String FS_TRASH_CLASSNAME = "fs.trash.classname";
   public static final String FS_TRASH_CLASSNAME_DEFAULT =
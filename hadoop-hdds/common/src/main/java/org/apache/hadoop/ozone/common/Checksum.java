@@ -21,7 +21,15 @@
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -30,6 +38,8 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.hadoop.ozone.common.utils.BufferUtils;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.thirdparty.com.google.protobuf.UnsafeByteOperations;
@@ -39,11 +49,33 @@
 /**
  * Class to compute and verify checksums for chunks.
  *
+ * The checksums of large data are computed in parallel by the calling
+ * thread and a small pool of workers shared by all instances.
+ *
  * This class is not thread safe.
  */
 public class Checksum {
   public static final Logger LOG = LoggerFactory.getLogger(Checksum.class);
 
+  /** Data smaller than this is checksummed by the calling thread only. */
+  static final int MIN_PARALLEL_BYTES = 2 << 20;
+
+  /** Workers computing the checksums of large data. */
+  private static final class Workers {
+    private static final int SIZE = Math.min(4,
+        Runtime.getRuntime().availableProcessors() - 1);
+    private static final ExecutorService POOL = SIZE > 0 ? newPool() : null;
+
+    private static ExecutorService newPool() {
+      final ThreadPoolExecutor pool = new ThreadPoolExecutor(SIZE, SIZE,
+          60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("ChecksumWorker-%d").build());
+      pool.allowCoreThreadTimeOut(true);
+      return pool;
+    }
+  }
+
   private static Function<ByteBuffer, ByteString> newMessageDigestFunction(
       String algorithm) {
     final MessageDigest md;
@@ -101,6 +133,7 @@ Function<ByteBuffer, ByteString> newChecksumFunction() {
 
   private final ChecksumType checksumType;
   private final int bytesPerChecksum;
+  private final boolean allowParallel;
 
   /**
    * Constructs a Checksum object.
@@ -108,8 +141,21 @@ Function<ByteBuffer, ByteString> newChecksumFunction() {
    * @param bytesPerChecksum number of bytes of data per checksum
    */
   public Checksum(ChecksumType type, int bytesPerChecksum) {
+    this(type, bytesPerChecksum, true);
+  }
+
+  /**
+   * Constructs a Checksum object.
+   * @param type type of Checksum
+   * @param bytesPerChecksum number of bytes of data per checksum
+   * @param allowParallel whether the checksums of large data may be
+   *                      computed in parallel
+   */
+  public Checksum(ChecksumType type, int bytesPerChecksum,
+      boolean allowParallel) {
     this.checksumType = type;
     this.bytesPerChecksum = bytesPerChecksum;
+    this.allowParallel = allowParallel;
   }
 
   /**
@@ -146,7 +192,9 @@ public ChecksumData computeChecksum(ByteBuffer data)
       return new ChecksumData(checksumType, bytesPerChecksum);
     }
     if (!data.isReadOnly()) {
-      data = data.asReadOnlyBuffer();
+      // Unlike a read-only buffer, a duplicate of a heap buffer keeps its
+      // array accessible, so the data is not copied for the checksum.
+      data = data.duplicate();
     }
     return computeChecksum(ChunkBuffer.wrap(data));
   }
@@ -175,6 +223,15 @@ public ChecksumData computeChecksum(ChunkBuffer data)
     // Checksum is computed for each bytesPerChecksum number of bytes of data
     // starting at offset 0. The last checksum might be computed for the
     // remaining data with length less than bytesPerChecksum.
+    if (allowParallel && Workers.POOL != null
+        && data.remaining() >= MIN_PARALLEL_BYTES) {
+      final List<ByteBuffer> buffers = new ArrayList<>();
+      for (ByteBuffer b : data.iterate(bytesPerChecksum)) {
+        buffers.add(b);
+      }
+      return new ChecksumData(checksumType, bytesPerChecksum,
+          computeChecksumsInParallel(buffers, function));
+    }
     final List<ByteString> checksumList = new ArrayList<>();
     for (ByteBuffer b : data.iterate(bytesPerChecksum)) {
       checksumList.add(computeChecksum(b, function, bytesPerChecksum));
@@ -182,6 +239,62 @@ public ChecksumData computeChecksum(ChunkBuffer data)
     return new ChecksumData(checksumType, bytesPerChecksum, checksumList);
   }
 
+  /**
+   * Computes the checksum of each buffer, using the calling thread and
+   * the workers. Buffers are claimed one at a time, so the calling thread
+   * does all the work if the workers are busy.
+   */
+  private List<ByteString> computeChecksumsInParallel(
+      List<ByteBuffer> buffers, Function<ByteBuffer, ByteString> function) {
+    final ByteString[] checksums = new ByteString[buffers.size()];
+    final AtomicInteger next = new AtomicInteger();
+    final Algorithm algorithm = Algorithm.valueOf(checksumType);
+    final int numHelpers = Math.min(Workers.SIZE, checksums.length - 1);
+    final List<Future<?>> helpers = new ArrayList<>(numHelpers);
+    for (int i = 0; i < numHelpers; i++) {
+      helpers.add(Workers.POOL.submit(() -> computeChecksums(buffers,
+          algorithm.newChecksumFunction(), next, checksums)));
+    }
+    RuntimeException failure = null;
+    try {
+      computeChecksums(buffers, function, next, checksums);
+    } catch (RuntimeException e) {
+      failure = e;
+      // make the helpers stop early
+      next.set(checksums.length);
+    }
+    // The buffers must not be used once this method returns, so wait for
+    // the helpers which started.
+    for (Future<?> helper : helpers) {
+      if (helper.cancel(false)) {
+        continue;
+      }
+      try {
+        Uninterruptibles.getUninterruptibly(helper);
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause() instanceof RuntimeException
+              ? (RuntimeException) e.getCause()
+              : new IllegalStateException(e.getCause());
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return new ArrayList<>(Arrays.asList(checksums));
+  }
+
+  private void computeChecksums(List<ByteBuffer> buffers,
+      Function<ByteBuffer, ByteString> function, AtomicInteger next,
+      ByteString[] checksums) {
+    for (int i = next.getAndIncrement(); i < checksums.length;
+         i = next.getAndIncrement()) {
+      checksums[i] = computeChecksum(buffers.get(i), function,
+          bytesPerChecksum);
+    }
+  }
+
   /**
    * Compute checksum using the algorithm for the data upto the max length.
    * @param data input data
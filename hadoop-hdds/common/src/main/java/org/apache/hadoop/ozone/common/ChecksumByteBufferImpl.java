@@ -17,7 +17,13 @@
  */
 package org.apache.hadoop.ozone.common;
 
+import org.apache.hadoop.hdds.JavaUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
 /**
@@ -25,10 +31,36 @@
  */
 public class ChecksumByteBufferImpl implements ChecksumByteBuffer {
 
+  /**
+   * Checksum.update(ByteBuffer), added in Java 9. The java.util.zip
+   * implementations compute direct buffers in place, and copy other buffers
+   * without an array in small pieces.
+   */
+  private static final MethodHandle UPDATE_BYTE_BUFFER_MH;
+
+  static {
+    MethodHandle update = null;
+    if (JavaUtils.isJavaVersionAtLeast(9)) {
+      try {
+        update = MethodHandles.publicLookup().findVirtual(Checksum.class,
+            "update", MethodType.methodType(void.class, ByteBuffer.class));
+      } catch (ReflectiveOperationException e) {
+        // Should not reach here, buffers are copied instead.
+      }
+    }
+    UPDATE_BYTE_BUFFER_MH = update;
+  }
+
   private Checksum checksum;
+  private final boolean updateByteBuffer;
 
   public ChecksumByteBufferImpl(Checksum impl) {
     this.checksum = impl;
+    // Other implementations may not support multiple calls to update(...),
+    // see NativeCheckSumCRC32.
+    this.updateByteBuffer = UPDATE_BYTE_BUFFER_MH != null
+        && (impl instanceof CRC32
+        || impl.getClass().getName().equals("java.util.zip.CRC32C"));
   }
 
   @Override
@@ -39,6 +71,13 @@ public void update(ByteBuffer buffer) {
     if (buffer.hasArray()) {
       checksum.update(buffer.array(), buffer.position() + buffer.arrayOffset(),
           buffer.remaining());
+    } else if (updateByteBuffer) {
+      try {
+        UPDATE_BYTE_BUFFER_MH.invoke(checksum, buffer);
+      } catch (Throwable t) {
+        throw (t instanceof RuntimeException) ? (RuntimeException) t
+            : new RuntimeException(t);
+      }
     } else {
       byte[] b = new byte[buffer.remaining()];
       buffer.get(b);
@@ -51,6 +51,19 @@ static ChunkBuffer allocate(int capacity, int increment) {
     return new ChunkBufferImplWithByteBuffer(ByteBuffer.allocate(capacity));
   }
 
+  /**
+   * Similar to {@link #allocate(int, int)}
+   * except that the buffer is allocated outside of the heap,
+   * see {@link ByteBuffer#allocateDirect(int)}.
+   */
+  static ChunkBuffer allocateDirect(int capacity, int increment) {
+    if (increment > 0 && increment < capacity) {
+      return new IncrementalChunkBuffer(capacity, increment, false, true);
+    }
+    return new ChunkBufferImplWithByteBuffer(
+        ByteBuffer.allocateDirect(capacity));
+  }
+
   /** Wrap the given {@link ByteBuffer} as a {@link ChunkBuffer}. */
   static ChunkBuffer wrap(ByteBuffer buffer) {
     return new ChunkBufferImplWithByteBuffer(buffer);
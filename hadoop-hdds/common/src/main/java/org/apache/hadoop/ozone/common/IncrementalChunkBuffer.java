@@ -49,10 +49,17 @@ final class IncrementalChunkBuffer implements ChunkBuffer {
   private final List<ByteBuffer> buffers;
   /** Is this a duplicated buffer? (for debug only) */
   private final boolean isDuplicated;
+  /** Are the buffers allocated outside of the heap? */
+  private final boolean direct;
   /** The index of the first non-full buffer. */
   private int firstNonFullIndex = 0;
 
   IncrementalChunkBuffer(int limit, int increment, boolean isDuplicated) {
+    this(limit, increment, isDuplicated, false);
+  }
+
+  IncrementalChunkBuffer(int limit, int increment, boolean isDuplicated,
+      boolean direct) {
     Preconditions.checkArgument(limit >= 0);
     Preconditions.checkArgument(increment > 0);
     this.limit = limit;
@@ -61,6 +68,7 @@ final class IncrementalChunkBuffer implements ChunkBuffer {
     this.buffers = new ArrayList<>(
         limitIndex + (limit % increment == 0 ? 0 : 1));
     this.isDuplicated = isDuplicated;
+    this.direct = direct;
   }
 
   /** @return the capacity for the buffer at the given index. */
@@ -115,7 +123,9 @@ private ByteBuffer getAndAllocateAtIndex(int index) {
     // allocate upto the given index
     ByteBuffer b = null;
     for (; i <= index; i++) {
-      b = ByteBuffer.allocate(getBufferCapacityAtIndex(i));
+      final int capacity = getBufferCapacityAtIndex(i);
+      b = direct ? ByteBuffer.allocateDirect(capacity)
+          : ByteBuffer.allocate(capacity);
       buffers.add(b);
     }
     return b;
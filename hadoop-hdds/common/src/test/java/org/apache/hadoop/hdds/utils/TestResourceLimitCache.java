@@ -21,6 +21,10 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
@@ -112,6 +116,29 @@ public void testClear() throws Exception {
     testRemove(Cache::clear, 1, 2, 3);
   }
 
+  @Test
+  @Timeout(5)
+  public void testRemovalListener() throws Exception {
+    List<Integer> removed = new ArrayList<>();
+    Cache<Integer, String> resourceCache =
+        new ResourceLimitCache<>(new ConcurrentHashMap<>(),
+            (k, v) -> new int[] {1}, (k, v) -> removed.add(k), 3);
+    resourceCache.put(1, ANY_VALUE);
+    resourceCache.put(2, ANY_VALUE);
+    resourceCache.put(3, ANY_VALUE);
+
+    // replacing a value removes the old one
+    resourceCache.put(1, ANY_VALUE);
+    Assertions.assertEquals(Collections.singletonList(1), removed);
+
+    resourceCache.removeIf(k -> k == 2);
+    Assertions.assertEquals(Arrays.asList(1, 2), removed);
+
+    resourceCache.clear();
+    Assertions.assertEquals(4, removed.size());
+    Assertions.assertTrue(removed.containsAll(Arrays.asList(1, 3)));
+  }
+
   private static void testRemove(Consumer<Cache<Integer, String>> op,
       int... removedKeys) throws InterruptedException {
 
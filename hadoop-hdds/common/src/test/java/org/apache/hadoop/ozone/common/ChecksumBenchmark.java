@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.common;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.util.StopWatch;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark tool measuring the throughput of {@link Checksum} for each
+ * {@link ChecksumType} and a range of bytesPerChecksum, computed by the
+ * calling thread only and in parallel, on heap and direct buffers.
+ */
+public final class ChecksumBenchmark {
+
+  private static final int[] BYTES_PER_CHECKSUM =
+      {16 * 1024, 256 * 1024, 1024 * 1024};
+
+  private ChecksumBenchmark() {
+    // prevent instantiation
+  }
+
+  private static void usage(String message) {
+    if (message != null) {
+      System.out.println(message);
+    }
+    System.out.println("Usage: ChecksumBenchmark [dataSizeInMB] [iterations]");
+    System.exit(1);
+  }
+
+  public static void main(String[] args) throws Exception {
+    int dataSizeMB = 4;
+    int iterations = 200;
+    try {
+      if (args.length > 0) {
+        dataSizeMB = Integer.parseInt(args[0]);
+      }
+      if (args.length > 1) {
+        iterations = Integer.parseInt(args[1]);
+      }
+    } catch (NumberFormatException e) {
+      usage("Malformed argument: " + e.getMessage());
+    }
+    performBench(dataSizeMB << 20, iterations);
+  }
+
+  /**
+   * Runs the benchmark and prints the results.
+   * @return the results, in the order printed
+   */
+  public static List<String> performBench(int dataSize, int iterations)
+      throws OzoneChecksumException {
+    final List<String> results = new ArrayList<>();
+    final byte[] bytes = RandomUtils.nextBytes(dataSize);
+    final ByteBuffer heap = ByteBuffer.wrap(bytes);
+    final ByteBuffer direct = ByteBuffer.allocateDirect(dataSize);
+    direct.put(bytes).flip();
+
+    results.add(String.format("%-7s %8s %8s %12s %12s", "type", "bpc",
+        "buffer", "serial MB/s", "parallel MB/s"));
+    for (ChecksumType type : ChecksumType.values()) {
+      if (type == ChecksumType.NONE) {
+        continue;
+      }
+      for (int bpc : BYTES_PER_CHECKSUM) {
+        for (ByteBuffer data : new ByteBuffer[] {heap, direct}) {
+          final double serial = measure(new Checksum(type, bpc, false),
+              data, iterations);
+          final double parallel = measure(new Checksum(type, bpc, true),
+              data, iterations);
+          results.add(String.format("%-7s %8d %8s %12.1f %12.1f", type, bpc,
+              data.isDirect() ? "direct" : "heap", serial, parallel));
+        }
+      }
+    }
+    results.forEach(System.out::println);
+    return results;
+  }
+
+  /** @return the throughput in MB/s, after a warm up. */
+  private static double measure(Checksum checksum, ByteBuffer data,
+      int iterations) throws OzoneChecksumException {
+    for (int i = 0; i < Math.max(1, iterations / 10); i++) {
+      checksum.computeChecksum(data);
+    }
+    final StopWatch sw = new StopWatch().start();
+    for (int i = 0; i < iterations; i++) {
+      checksum.computeChecksum(data);
+    }
+    final long micros = Math.max(1, sw.now(TimeUnit.MICROSECONDS));
+    return (double) data.remaining() * iterations / micros;
+  }
+}
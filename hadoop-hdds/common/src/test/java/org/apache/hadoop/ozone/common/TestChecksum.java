@@ -18,10 +18,15 @@
 package org.apache.hadoop.ozone.common;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.RandomUtils;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
@@ -95,4 +100,35 @@ public void testChecksumMismatchForDifferentChecksumTypes() {
     Assertions.assertNotEquals(checksum1, checksum2,
         "Checksums should not match for different checksum types");
   }
+
+  /**
+   * Tests that checksums computed in parallel match the ones computed by
+   * the calling thread only.
+   */
+  @Test
+  public void testParallelChecksumMatchesSerial() throws Exception {
+    int bytesPerChecksum = 64 * 1024;
+    byte[] data = RandomUtils.nextBytes(
+        Checksum.MIN_PARALLEL_BYTES + bytesPerChecksum / 2);
+    for (ContainerProtos.ChecksumType type
+        : ContainerProtos.ChecksumType.values()) {
+      ChecksumData expected = new Checksum(type, bytesPerChecksum, false)
+          .computeChecksum(data);
+      Checksum checksum = new Checksum(type, bytesPerChecksum, true);
+      Assertions.assertEquals(expected, checksum.computeChecksum(data));
+
+      ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+      direct.put(data).flip();
+      Assertions.assertEquals(expected, checksum.computeChecksum(direct));
+      Assertions.assertEquals(0, direct.position());
+
+      List<ByteBuffer> buffers = new ArrayList<>();
+      for (int off = 0; off < data.length; off += bytesPerChecksum) {
+        buffers.add(ByteBuffer.wrap(data, off,
+            Math.min(bytesPerChecksum, data.length - off)).slice());
+      }
+      Assertions.assertEquals(expected,
+          checksum.computeChecksum(ChunkBuffer.wrap(buffers)));
+    }
+  }
 }
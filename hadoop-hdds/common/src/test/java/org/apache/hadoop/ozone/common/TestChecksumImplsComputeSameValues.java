@@ -56,6 +56,29 @@ public void testCRC32ImplsMatch() {
     }
   }
 
+  @Test
+  public void testBuffersWithoutArray() {
+    byte[] bytes = RandomUtils.nextBytes(1024 * 1024);
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+    ByteBuffer readOnly = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    List<ChecksumByteBuffer> impls = new ArrayList<>();
+    impls.add(new ChecksumByteBufferImpl(new CRC32()));
+    impls.add(ChecksumByteBufferFactory.crc32CImpl());
+    for (ChecksumByteBuffer impl : impls) {
+      impl.update(bytes, 0, bytes.length);
+      long expected = impl.getValue();
+      for (ByteBuffer buffer : new ByteBuffer[] {direct, readOnly}) {
+        impl.reset();
+        buffer.position(0);
+        impl.update(buffer);
+        assertEquals(expected, impl.getValue());
+        assertEquals(buffer.limit(), buffer.position());
+      }
+      impl.reset();
+    }
+  }
+
   @Test
   public void testCRC32CImplsMatch() {
     data.clear();
@@ -56,6 +56,7 @@ private static void runTestImplWithByteBuffer(int n) {
     final byte[] expected = new byte[n];
     ThreadLocalRandom.current().nextBytes(expected);
     runTestImpl(expected, 0, ChunkBuffer.allocate(n));
+    runTestImpl(expected, 0, ChunkBuffer.allocateDirect(n, 0));
   }
 
   @Test
@@ -76,6 +77,8 @@ private static void runTestIncrementalChunkBuffer(int increment, int n) {
     ThreadLocalRandom.current().nextBytes(expected);
     runTestImpl(expected, increment,
         new IncrementalChunkBuffer(n, increment, false));
+    runTestImpl(expected, increment,
+        new IncrementalChunkBuffer(n, increment, false, true));
   }
 
   @Test
@@ -67,6 +67,22 @@ public void rejectsMultipleCurrentBuffers() {
     assertThrows(IllegalArgumentException.class, () -> ChunkBuffer.wrap(list));
   }
 
+  @Test
+  public void iteratesAllBuffers() {
+    List<ByteBuffer> list = ImmutableList.of(
+        allocate(), allocate(), allocate(), allocate(), allocate());
+    ChunkBuffer subject = ChunkBuffer.wrap(list);
+    int count = 0;
+    int bytes = 0;
+    for (ByteBuffer b : subject.iterate(1)) {
+      count++;
+      bytes += b.remaining();
+    }
+    assertEquals(list.size(), count);
+    assertEquals(subject.limit(), bytes);
+    assertEquals(0, subject.remaining());
+  }
+
   private static void assertEmpty(ChunkBuffer subject) {
     assertEquals(0, subject.position());
     assertEquals(0, subject.remaining());
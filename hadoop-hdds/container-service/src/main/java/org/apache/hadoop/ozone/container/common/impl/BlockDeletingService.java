@@ -26,6 +26,7 @@
 import org.apache.hadoop.hdds.utils.BackgroundTaskQueue;
 import org.apache.hadoop.ozone.container.common.helpers.BlockDeletingServiceMetrics;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerUtils;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerDeletionChoosingPolicy;
 import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.XceiverServerRatis;
@@ -160,14 +161,12 @@ public List<ContainerBlockInfo> chooseContainerForBlockDeletion(
 
     AtomicLong totalPendingBlockCount = new AtomicLong(0L);
     Map<Long, ContainerData> containerDataMap =
-        ozoneContainer.getContainerSet().getContainerMap().entrySet().stream()
-            .filter(e -> (checkPendingDeletionBlocks(
-                e.getValue().getContainerData())))
-            .filter(e -> isDeletionAllowed(e.getValue().getContainerData(),
+        ozoneContainer.getContainerSet().getSnapshot().stream()
+            .map(Container::getContainerData)
+            .filter(this::checkPendingDeletionBlocks)
+            .filter(containerData -> isDeletionAllowed(containerData,
                 deletionPolicy)).collect(Collectors
-            .toMap(Map.Entry::getKey, e -> {
-              ContainerData containerData =
-                  e.getValue().getContainerData();
+            .toMap(ContainerData::getContainerID, containerData -> {
               totalPendingBlockCount
                   .addAndGet(
                       ContainerUtils.getPendingDeletionBlocks(containerData));
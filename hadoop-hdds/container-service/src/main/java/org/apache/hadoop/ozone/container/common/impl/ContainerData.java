@@ -38,7 +38,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import org.yaml.snakeyaml.Yaml;
 
 import javax.annotation.Nullable;
@@ -90,12 +90,27 @@ public abstract class ContainerData {
   private String originNodeId;
 
   /** parameters for read/write statistics on the container. **/
-  private final AtomicLong readBytes;
-  private final AtomicLong writeBytes;
-  private final AtomicLong readCount;
-  private final AtomicLong writeCount;
-  private final AtomicLong bytesUsed;
-  private final AtomicLong blockCount;
+  private volatile long readBytes;
+  private volatile long writeBytes;
+  private volatile long readCount;
+  private volatile long writeCount;
+  private volatile long bytesUsed;
+  private volatile long blockCount;
+
+  // Field updaters rather than an AtomicLong per counter, to keep the
+  // footprint of each container small on datanodes with many containers.
+  private static final AtomicLongFieldUpdater<ContainerData> READ_BYTES =
+      AtomicLongFieldUpdater.newUpdater(ContainerData.class, "readBytes");
+  private static final AtomicLongFieldUpdater<ContainerData> WRITE_BYTES =
+      AtomicLongFieldUpdater.newUpdater(ContainerData.class, "writeBytes");
+  private static final AtomicLongFieldUpdater<ContainerData> READ_COUNT =
+      AtomicLongFieldUpdater.newUpdater(ContainerData.class, "readCount");
+  private static final AtomicLongFieldUpdater<ContainerData> WRITE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(ContainerData.class, "writeCount");
+  private static final AtomicLongFieldUpdater<ContainerData> BYTES_USED =
+      AtomicLongFieldUpdater.newUpdater(ContainerData.class, "bytesUsed");
+  private static final AtomicLongFieldUpdater<ContainerData> BLOCK_COUNT =
+      AtomicLongFieldUpdater.newUpdater(ContainerData.class, "blockCount");
 
   private HddsVolume volume;
 
@@ -149,12 +164,6 @@ protected ContainerData(ContainerType type, long containerId,
     this.layOutVersion = layoutVersion.getVersion();
     this.metadata = new TreeMap<>();
     this.state = ContainerDataProto.State.OPEN;
-    this.readCount = new AtomicLong(0L);
-    this.readBytes =  new AtomicLong(0L);
-    this.writeCount =  new AtomicLong(0L);
-    this.writeBytes =  new AtomicLong(0L);
-    this.bytesUsed = new AtomicLong(0L);
-    this.blockCount = new AtomicLong(0L);
     this.maxSize = size;
     this.originPipelineId = originPipelineId;
     this.originNodeId = originNodeId;
@@ -396,7 +405,7 @@ public void commitSpace() {
    * @return the number of bytes read from the container.
    */
   public long getReadBytes() {
-    return readBytes.get();
+    return readBytes;
   }
 
   /**
@@ -404,7 +413,7 @@ public long getReadBytes() {
    * @param bytes number of bytes read.
    */
   public void incrReadBytes(long bytes) {
-    this.readBytes.addAndGet(bytes);
+    READ_BYTES.addAndGet(this, bytes);
   }
 
   /**
@@ -412,14 +421,14 @@ public void incrReadBytes(long bytes) {
    * @return the number of times the container is read.
    */
   public long getReadCount() {
-    return readCount.get();
+    return readCount;
   }
 
   /**
    * Increase the number of container read count by 1.
    */
   public void incrReadCount() {
-    this.readCount.incrementAndGet();
+    READ_COUNT.incrementAndGet(this);
   }
 
   /**
@@ -427,7 +436,7 @@ public void incrReadCount() {
    * @return the number of bytes write into the container.
    */
   public long getWriteBytes() {
-    return writeBytes.get();
+    return writeBytes;
   }
 
   /**
@@ -438,7 +447,7 @@ public long getWriteBytes() {
   public void incrWriteBytes(long bytes) {
     long unused = getMaxSize() - getBytesUsed();
 
-    this.writeBytes.addAndGet(bytes);
+    WRITE_BYTES.addAndGet(this, bytes);
     /*
        Increase the cached Used Space in VolumeInfo as it
        maybe not updated, DU or DedicatedDiskSpaceUsage runs
@@ -458,14 +467,14 @@ public void incrWriteBytes(long bytes) {
    * @return the number of writes into the container.
    */
   public long getWriteCount() {
-    return writeCount.get();
+    return writeCount;
   }
 
   /**
    * Increase the number of writes into the container by 1.
    */
   public void incrWriteCount() {
-    this.writeCount.incrementAndGet();
+    WRITE_COUNT.incrementAndGet(this);
   }
 
   /**
@@ -473,7 +482,7 @@ public void incrWriteCount() {
    * @param used
    */
   public void setBytesUsed(long used) {
-    this.bytesUsed.set(used);
+    this.bytesUsed = used;
   }
 
   /**
@@ -481,7 +490,7 @@ public void setBytesUsed(long used) {
    * @return the number of bytes used by the container.
    */
   public long getBytesUsed() {
-    return bytesUsed.get();
+    return bytesUsed;
   }
 
   /**
@@ -490,7 +499,7 @@ public long getBytesUsed() {
    * @return the current number of bytes used by the container afert increase.
    */
   public long incrBytesUsed(long used) {
-    return this.bytesUsed.addAndGet(used);
+    return BYTES_USED.addAndGet(this, used);
   }
 
   /**
@@ -499,7 +508,7 @@ public long incrBytesUsed(long used) {
    * @return the current number of bytes used by the container after decrease.
    */
   public long decrBytesUsed(long reclaimed) {
-    return this.bytesUsed.addAndGet(-1L * reclaimed);
+    return BYTES_USED.addAndGet(this, -1L * reclaimed);
   }
 
   /**
@@ -524,14 +533,14 @@ public HddsVolume getVolume() {
    * Increments the number of blocks in the container.
    */
   public void incrBlockCount() {
-    this.blockCount.incrementAndGet();
+    BLOCK_COUNT.incrementAndGet(this);
   }
 
   /**
    * Decrements number of blocks in the container.
    */
   public void decrBlockCount() {
-    this.blockCount.decrementAndGet();
+    BLOCK_COUNT.decrementAndGet(this);
   }
 
   /**
@@ -540,7 +549,7 @@ public void decrBlockCount() {
    * @param deletedBlockCount
    */
   public void decrBlockCount(long deletedBlockCount) {
-    this.blockCount.addAndGet(-1 * deletedBlockCount);
+    BLOCK_COUNT.addAndGet(this, -1 * deletedBlockCount);
   }
 
   /**
@@ -548,7 +557,7 @@ public void decrBlockCount(long deletedBlockCount) {
    * @return block count
    */
   public long getBlockCount() {
-    return this.blockCount.get();
+    return this.blockCount;
   }
 
   public boolean isEmpty() {
@@ -568,7 +577,7 @@ public void markAsEmpty() {
    * @param count
    */
   public void setBlockCount(long count) {
-    this.blockCount.set(count);
+    this.blockCount = count;
   }
 
   public void setChecksumTo0ByteArray() {
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.impl;
+
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent map from container ID to container, keyed by primitive longs.
+ * <p>
+ * The map is split into stripes, each an open addressing hash table of
+ * parallel key and value arrays guarded by its own {@link StampedLock}.
+ * Lookups are optimistic and normally take no lock. Compared to a
+ * {@code ConcurrentSkipListMap<Long, Container<?>>} this saves the boxed
+ * key, the node and the index nodes of each entry, at the cost of
+ * iteration order: sorted views are provided by the snapshots.
+ */
+final class ContainerMap {
+
+  private static final int STRIPES = 64;
+  private static final int INITIAL_CAPACITY = 16;
+  private static final long EMPTY = -1;
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  ContainerMap() {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  private static long hash(long id) {
+    // murmur3 finalizer, spreads sequential IDs over stripes and slots
+    long h = id;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private Stripe stripe(long hash) {
+    return stripes[(int) (hash >>> 58)];
+  }
+
+  Container<?> get(long id) {
+    final long hash = hash(id);
+    return stripe(hash).get(id, (int) hash);
+  }
+
+  boolean containsKey(long id) {
+    return get(id) != null;
+  }
+
+  /**
+   * @return the container already mapped to the ID, or null if the given
+   * container was added
+   */
+  Container<?> putIfAbsent(long id, Container<?> container) {
+    checkId(id);
+    final long hash = hash(id);
+    return stripe(hash).putIfAbsent(id, (int) hash, container);
+  }
+
+  /** @return the removed container, or null if none was mapped to the ID */
+  Container<?> remove(long id) {
+    final long hash = hash(id);
+    return stripe(hash).remove(id, (int) hash);
+  }
+
+  int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      size += stripe.size;
+    }
+    return size;
+  }
+
+  /**
+   * Returns an immutable snapshot of the map, in no particular order.
+   * Each stripe is copied atomically, the stripes are not copied at the
+   * same instant, similar to the weakly consistent iterators of the
+   * concurrent collections.
+   */
+  ContainerSnapshot snapshot() {
+    long[] ids = new long[size() + STRIPES];
+    Container<?>[] containers = new Container<?>[ids.length];
+    int count = 0;
+    for (Stripe stripe : stripes) {
+      long stamp = stripe.lock.readLock();
+      try {
+        int needed = count + stripe.size;
+        if (needed > ids.length) {
+          int length = Math.max(needed, ids.length * 2);
+          ids = Arrays.copyOf(ids, length);
+          containers = Arrays.copyOf(containers, length);
+        }
+        count = stripe.copyTo(ids, containers, count);
+      } finally {
+        stripe.lock.unlockRead(stamp);
+      }
+    }
+    return ContainerSnapshot.wrap(ids, containers, count);
+  }
+
+  private static void checkId(long id) {
+    if (id < 0) {
+      throw new IllegalArgumentException("Container Id cannot be negative.");
+    }
+  }
+
+  /**
+   * One stripe of the map: an open addressing table with linear probing
+   * and backward shift deletion, so that there are no tombstones.
+   */
+  private static final class Stripe {
+    private final StampedLock lock = new StampedLock();
+    private long[] keys = newKeys(INITIAL_CAPACITY);
+    private Container<?>[] values = new Container<?>[INITIAL_CAPACITY];
+    private volatile int size;
+
+    private static long[] newKeys(int capacity) {
+      long[] keys = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      return keys;
+    }
+
+    Container<?> get(long id, int hash) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp != 0) {
+        Container<?> value = find(keys, values, id, hash);
+        if (lock.validate(stamp)) {
+          return value;
+        }
+      }
+      stamp = lock.readLock();
+      try {
+        return find(keys, values, id, hash);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    private static Container<?> find(long[] keys, Container<?>[] values,
+        long id, int hash) {
+      // the arrays may be inconsistent under an optimistic read: stay in
+      // bounds and probe at most once around the table
+      int mask = Math.min(keys.length, values.length) - 1;
+      for (int i = hash & mask, n = 0; n <= mask; i = (i + 1) & mask, n++) {
+        long key = keys[i];
+        if (key == id) {
+          return values[i];
+        } else if (key == EMPTY) {
+          return null;
+        }
+      }
+      return null;
+    }
+
+    Container<?> putIfAbsent(long id, int hash, Container<?> value) {
+      long stamp = lock.writeLock();
+      try {
+        int mask = keys.length - 1;
+        int i = hash & mask;
+        for (long key; (key = keys[i]) != EMPTY; i = (i + 1) & mask) {
+          if (key == id) {
+            return values[i];
+          }
+        }
+        values[i] = value;
+        keys[i] = id;
+        size++;
+        if (size * 4 > keys.length * 3) {
+          resize(keys.length * 2);
+        }
+        return null;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    Container<?> remove(long id, int hash) {
+      long stamp = lock.writeLock();
+      try {
+        int mask = keys.length - 1;
+        int i = hash & mask;
+        for (long key; (key = keys[i]) != id; i = (i + 1) & mask) {
+          if (key == EMPTY) {
+            return null;
+          }
+        }
+        Container<?> removed = values[i];
+        shiftBack(i, mask);
+        size--;
+        if (keys.length > INITIAL_CAPACITY && size * 8 < keys.length) {
+          resize(keys.length / 2);
+        }
+        return removed;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    /** Fills the emptied slot with the following entries of its run. */
+    private void shiftBack(int slot, int mask) {
+      int free = slot;
+      for (int i = (free + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+        int home = (int) hash(keys[i]) & mask;
+        // move the entry if the free slot lies cyclically in [home, i)
+        if (((i - home) & mask) >= ((i - free) & mask)) {
+          keys[free] = keys[i];
+          values[free] = values[i];
+          free = i;
+        }
+      }
+      keys[free] = EMPTY;
+      values[free] = null;
+    }
+
+    private void resize(int capacity) {
+      long[] newKeys = newKeys(capacity);
+      Container<?>[] newValues = new Container<?>[capacity];
+      int mask = capacity - 1;
+      for (int j = 0; j < keys.length; j++) {
+        long key = keys[j];
+        if (key != EMPTY) {
+          int i = (int) hash(key) & mask;
+          while (newKeys[i] != EMPTY) {
+            i = (i + 1) & mask;
+          }
+          newKeys[i] = key;
+          newValues[i] = values[j];
+        }
+      }
+      // readers see either the old or the new table, validated by the lock
+      values = newValues;
+      keys = newKeys;
+    }
+
+    int copyTo(long[] ids, Container<?>[] containers, int offset) {
+      int n = offset;
+      for (int j = 0; j < keys.length; j++) {
+        if (keys[j] != EMPTY) {
+          ids[n] = keys[j];
+          containers[n] = values[j];
+          n++;
+        }
+      }
+      return n;
+    }
+  }
+}
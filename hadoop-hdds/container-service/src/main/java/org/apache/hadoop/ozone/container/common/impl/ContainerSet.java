@@ -21,6 +21,7 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
 import com.google.protobuf.Message;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
@@ -35,13 +36,11 @@
 import java.io.IOException;
 import java.time.Clock;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -57,8 +56,7 @@ public class ContainerSet implements Iterable<Container<?>> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ContainerSet.class);
 
-  private final ConcurrentSkipListMap<Long, Container<?>> containerMap = new
-      ConcurrentSkipListMap<>();
+  private final ContainerMap containerMap = new ContainerMap();
   private final ConcurrentSkipListSet<Long> missingContainerSet =
       new ConcurrentSkipListSet<>();
   private final ConcurrentSkipListMap<Long, Long> recoveringContainerMap =
@@ -96,6 +94,8 @@ public boolean addContainer(Container<?> container) throws
     Preconditions.checkNotNull(container, "container cannot be null");
 
     long containerId = container.getContainerData().getContainerID();
+    Preconditions.checkState(containerId >= 0,
+        "Container Id cannot be negative.");
     if (containerMap.putIfAbsent(containerId, container) == null) {
       if (LOG.isDebugEnabled()) {
         LOG.debug("Container with container Id {} is added to containerMap",
@@ -194,7 +194,7 @@ public int containerCount() {
   public void handleVolumeFailures(StateContext context) {
     AtomicBoolean failedVolume = new AtomicBoolean(false);
     AtomicInteger containerCount = new AtomicInteger(0);
-    containerMap.values().forEach(c -> {
+    getSnapshot().forEach(c -> {
       ContainerData data = c.getContainerData();
       if (data.getVolume().isFailed()) {
         removeContainer(data.getContainerID());
@@ -220,9 +220,21 @@ public void handleVolumeFailures(StateContext context) {
     }
   }
 
+  /**
+   * Returns an iterator over a snapshot of the containers, sorted by ID.
+   */
   @Override
   public Iterator<Container<?>> iterator() {
-    return containerMap.values().iterator();
+    return getSnapshot().sorted().iterator();
+  }
+
+  /**
+   * Return an immutable snapshot of the containers, in no particular order.
+   * Containers added or removed after the call are not reflected.
+   * @return snapshot of the containers
+   */
+  public ContainerSnapshot getSnapshot() {
+    return containerMap.snapshot();
   }
 
   /**
@@ -245,7 +257,7 @@ public Iterator<Container<?>> getContainerIterator(HddsVolume volume) {
     Preconditions.checkNotNull(volume);
     Preconditions.checkNotNull(volume.getStorageID());
     String volumeUuid = volume.getStorageID();
-    return containerMap.values().stream()
+    return getSnapshot().stream()
         .filter(x -> volumeUuid.equals(x.getContainerData().getVolume()
             .getStorageID()))
         .sorted(ContainerDataScanOrder.INSTANCE)
@@ -253,24 +265,37 @@ public Iterator<Container<?>> getContainerIterator(HddsVolume volume) {
   }
 
   /**
-   * Return an containerMap iterator over {@link ContainerSet#containerMap}.
+   * Return an iterator over the entries of a snapshot of the containerMap.
    * @return containerMap Iterator
    */
   public Iterator<Map.Entry<Long, Container<?>>> getContainerMapIterator() {
-    return containerMap.entrySet().iterator();
+    return Iterators.transform(iterator(),
+        c -> new SimpleImmutableEntry<>(
+            c.getContainerData().getContainerID(), c));
   }
 
   /**
-   * Return a copy of the containerMap.
+   * Return a copy of the containerMap, sorted by ID.
    * @return containerMap
    */
   @VisibleForTesting
   public Map<Long, Container<?>> getContainerMapCopy() {
-    return ImmutableMap.copyOf(containerMap);
+    ContainerSnapshot snapshot = getSnapshot().sorted();
+    ImmutableMap.Builder<Long, Container<?>> builder =
+        ImmutableMap.builderWithExpectedSize(snapshot.size());
+    for (int i = 0; i < snapshot.size(); i++) {
+      builder.put(snapshot.getContainerID(i), snapshot.getContainer(i));
+    }
+    return builder.build();
   }
 
+  /**
+   * Return a copy of the containerMap, prefer {@link #getSnapshot()} where
+   * a map is not needed.
+   * @return containerMap
+   */
   public Map<Long, Container<?>> getContainerMap() {
-    return Collections.unmodifiableMap(containerMap);
+    return getContainerMapCopy();
   }
 
   /**
@@ -297,20 +322,11 @@ public void listContainer(long startContainerId, long count,
             "must be positive");
     LOG.debug("listContainer returns containerData starting from {} of count " +
         "{}", startContainerId, count);
-    ConcurrentNavigableMap<Long, Container<?>> map;
-    if (startContainerId == 0) {
-      map = containerMap;
-    } else {
-      map = containerMap.tailMap(startContainerId, true);
-    }
-    int currentCount = 0;
-    for (Container<?> entry : map.values()) {
-      if (currentCount < count) {
-        data.add(entry.getContainerData());
-        currentCount++;
-      } else {
-        return;
-      }
+    ContainerSnapshot snapshot = getSnapshot().sorted();
+    int start = snapshot.ceilingIndex(startContainerId);
+    int end = (int) Math.min(snapshot.size(), start + count);
+    for (int i = start; i < end; i++) {
+      data.add(snapshot.getContainer(i).getContainerData());
     }
   }
 
@@ -324,10 +340,10 @@ public ContainerReportsProto getContainerReport() throws IOException {
 
     ContainerReportsProto.Builder crBuilder =
         ContainerReportsProto.newBuilder();
-    // No need for locking since containerMap is a ConcurrentSkipListMap
+    // No need for locking since the snapshot is immutable
     // And we can never get the exact state since close might happen
     // after we iterate a point.
-    List<Container<?>> containers = new ArrayList<>(containerMap.values());
+    ContainerSnapshot containers = getSnapshot();
     // Incremental Container reports can read stale container information
     // This is to make sure FCR and ICR can be linearized and processed by
     // consumers such as SCM.
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.impl;
+
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Immutable snapshot of the containers of a {@link ContainerSet}. It holds
+ * only the arrays of IDs and containers, so taking one for a container
+ * report costs no more than copying the containers to a list.
+ * <p>
+ * Snapshots are in no particular order unless {@link #sorted()} by ID,
+ * as sorting a million containers takes longer than copying them.
+ */
+public final class ContainerSnapshot implements Iterable<Container<?>> {
+
+  private final long[] ids;
+  private final Container<?>[] containers;
+  private final int size;
+  private final boolean sorted;
+
+  private ContainerSnapshot(long[] ids, Container<?>[] containers,
+      int size, boolean sorted) {
+    this.ids = ids;
+    this.containers = containers;
+    this.size = size;
+    this.sorted = sorted;
+  }
+
+  /**
+   * Wraps the first {@code size} entries of the arrays, which must not be
+   * modified afterwards.
+   */
+  static ContainerSnapshot wrap(long[] ids, Container<?>[] containers,
+      int size) {
+    return new ContainerSnapshot(ids, containers, size, false);
+  }
+
+  /** @return this snapshot sorted by container ID */
+  public ContainerSnapshot sorted() {
+    if (sorted) {
+      return this;
+    }
+    return sortAndWrap(Arrays.copyOf(ids, size),
+        Arrays.copyOf(containers, size), size);
+  }
+
+  public boolean isSorted() {
+    return sorted;
+  }
+
+  private static ContainerSnapshot sortAndWrap(long[] ids,
+      Container<?>[] containers, int size) {
+    long max = 0;
+    for (int i = 0; i < size; i++) {
+      max = Math.max(max, ids[i]);
+    }
+    if (max >= 1L << 32) {
+      sort(ids, containers, 0, size - 1);
+      return new ContainerSnapshot(ids, containers, size, true);
+    }
+    // Pack each ID with its position and sort the primitives, several times
+    // faster than moving the containers along while sorting.
+    long[] packed = new long[size];
+    for (int i = 0; i < size; i++) {
+      packed[i] = ids[i] << 31 | i;
+    }
+    Arrays.sort(packed);
+    Container<?>[] sorted = new Container<?>[size];
+    for (int i = 0; i < size; i++) {
+      ids[i] = packed[i] >>> 31;
+      sorted[i] = containers[(int) (packed[i] & Integer.MAX_VALUE)];
+    }
+    return new ContainerSnapshot(ids, sorted, size, true);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long getContainerID(int index) {
+    checkIndex(index);
+    return ids[index];
+  }
+
+  public Container<?> getContainer(int index) {
+    checkIndex(index);
+    return containers[index];
+  }
+
+  /**
+   * @return the index of the first container with ID &gt;= the given ID,
+   * or {@link #size()} if there is none
+   * @throws IllegalStateException if the snapshot is not sorted
+   */
+  public int ceilingIndex(long containerID) {
+    Preconditions.checkState(sorted, "Snapshot is not sorted");
+    int i = Arrays.binarySearch(ids, 0, size, containerID);
+    return i >= 0 ? i : -i - 1;
+  }
+
+  /** @return the containers as an unmodifiable list */
+  public List<Container<?>> asList() {
+    return new AbstractList<Container<?>>() {
+      @Override
+      public Container<?> get(int index) {
+        return getContainer(index);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  public Stream<Container<?>> stream() {
+    return asList().stream();
+  }
+
+  @Override
+  public Iterator<Container<?>> iterator() {
+    return asList().iterator();
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index
+          + ", Size: " + size);
+    }
+  }
+
+  /** Quicksort of the IDs, moving the containers along. IDs are unique. */
+  private static void sort(long[] ids, Container<?>[] containers,
+      int low, int high) {
+    while (high - low > 16) {
+      int mid = (low + high) >>> 1;
+      long pivot = median(ids[low], ids[mid], ids[high]);
+      int i = low;
+      int j = high;
+      while (i <= j) {
+        while (ids[i] < pivot) {
+          i++;
+        }
+        while (ids[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(ids, containers, i++, j--);
+        }
+      }
+      // recurse into the smaller part to bound the stack depth
+      if (j - low < high - i) {
+        sort(ids, containers, low, j);
+        low = i;
+      } else {
+        sort(ids, containers, i, high);
+        high = j;
+      }
+    }
+    for (int i = low + 1; i <= high; i++) {
+      for (int j = i; j > low && ids[j - 1] > ids[j]; j--) {
+        swap(ids, containers, j - 1, j);
+      }
+    }
+  }
+
+  private static long median(long a, long b, long c) {
+    return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+  }
+
+  private static void swap(long[] ids, Container<?>[] containers,
+      int i, int j) {
+    long id = ids[i];
+    ids[i] = ids[j];
+    ids[j] = id;
+    Container<?> container = containers[i];
+    containers[i] = containers[j];
+    containers[j] = container;
+  }
+}
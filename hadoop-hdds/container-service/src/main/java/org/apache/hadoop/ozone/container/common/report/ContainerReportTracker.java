@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.report;
+
+import com.google.common.hash.Hashing;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
+import org.apache.hadoop.hdds.utils.ContainerIDDigest;
+import org.apache.hadoop.util.Time;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the full container reports sent to one SCM into delta reports.
+ * <p>
+ * Each report gets a new generation. Once the SCM acknowledges that it
+ * applied the report of a generation, the following reports only list the
+ * replicas that changed since that report, and the removed containers. A
+ * full report is sent again if the SCM acknowledges generation 0, which it
+ * does when it lost track of this datanode or found its view diverged, and
+ * after {@code deltaLimit} consecutive deltas. An SCM that does not
+ * acknowledge generations keeps receiving full reports.
+ */
+public class ContainerReportTracker {
+
+  /** Reports waiting for acknowledgement, older ones are dropped. */
+  private static final int MAX_PENDING = 4;
+
+  private final int deltaLimit;
+  private final Map<Long, ReportState> pending = new LinkedHashMap<>();
+  private ReportState acknowledged;
+  private long nextGeneration;
+  private int deltaCount;
+
+  public ContainerReportTracker(int deltaLimit) {
+    this.deltaLimit = deltaLimit;
+    // generations of a previous run of the datanode are not reused
+    this.nextGeneration = Time.now();
+  }
+
+  /**
+   * Returns the report to send for the given full report: the full report
+   * or a delta, with the generation of the report set.
+   */
+  public synchronized ContainerReportsProto prepare(
+      ContainerReportsProto fullReport) {
+    final List<ContainerReplicaProto> replicas =
+        new ArrayList<>(fullReport.getReportsList());
+    replicas.sort(Comparator.comparingLong(
+        ContainerReplicaProto::getContainerID));
+    final ReportState state = new ReportState(nextGeneration++, replicas);
+    final ContainerIDDigest digest = new ContainerIDDigest();
+    for (long containerID : state.ids) {
+      digest.add(containerID);
+    }
+
+    final ContainerReportsProto.Builder report;
+    if (acknowledged == null || deltaCount >= deltaLimit) {
+      report = fullReport.toBuilder();
+      deltaCount = 0;
+    } else {
+      report = ContainerReportsProto.newBuilder()
+          .setBaseGeneration(acknowledged.generation);
+      addDelta(acknowledged, state, replicas, report);
+      deltaCount++;
+    }
+
+    pending.put(state.generation, state);
+    if (pending.size() > MAX_PENDING) {
+      Iterator<Long> oldest = pending.keySet().iterator();
+      oldest.next();
+      oldest.remove();
+    }
+    return report.setGeneration(state.generation)
+        .setContainerIdDigest(digest.getValue())
+        .build();
+  }
+
+  /**
+   * Called with the generation of the last report applied by the SCM,
+   * 0 if the SCM needs a full report.
+   */
+  public synchronized void acknowledge(long generation) {
+    if (generation == 0) {
+      acknowledged = null;
+      return;
+    }
+    if (acknowledged != null && acknowledged.generation == generation) {
+      return;
+    }
+    final ReportState state = pending.get(generation);
+    if (state != null) {
+      acknowledged = state;
+      pending.keySet().removeIf(g -> g <= generation);
+    }
+  }
+
+  private static void addDelta(ReportState base, ReportState current,
+      List<ContainerReplicaProto> replicas,
+      ContainerReportsProto.Builder report) {
+    // both are sorted by container ID
+    int b = 0;
+    for (int c = 0; c < current.ids.length; c++) {
+      final long id = current.ids[c];
+      while (b < base.ids.length && base.ids[b] < id) {
+        report.addRemovedContainers(base.ids[b++]);
+      }
+      if (b < base.ids.length && base.ids[b] == id) {
+        if (base.hashes[b] != current.hashes[c]) {
+          report.addReports(replicas.get(c));
+        }
+        b++;
+      } else {
+        report.addReports(replicas.get(c));
+      }
+    }
+    while (b < base.ids.length) {
+      report.addRemovedContainers(base.ids[b++]);
+    }
+  }
+
+  /** The IDs and hashes of the replicas of a report, sorted by ID. */
+  private static final class ReportState {
+    private final long generation;
+    private final long[] ids;
+    private final long[] hashes;
+
+    ReportState(long generation, List<ContainerReplicaProto> replicas) {
+      this.generation = generation;
+      this.ids = new long[replicas.size()];
+      this.hashes = new long[replicas.size()];
+      for (int i = 0; i < ids.length; i++) {
+        ids[i] = replicas.get(i).getContainerID();
+        hashes[i] = Hashing.murmur3_128()
+            .hashBytes(replicas.get(i).toByteArray()).asLong();
+      }
+    }
+  }
+}
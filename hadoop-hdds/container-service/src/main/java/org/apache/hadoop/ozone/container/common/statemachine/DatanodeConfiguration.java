@@ -60,6 +60,14 @@ public class DatanodeConfiguration {
       "hdds.datanode.disk.check.min.gap";
   public static final String DISK_CHECK_TIMEOUT_KEY =
       "hdds.datanode.disk.check.timeout";
+  static final String CHUNK_OPEN_FILES_MAX_KEY =
+      "hdds.datanode.chunk.open.files.max";
+  static final String READ_AHEAD_THREADS_KEY =
+      "hdds.datanode.read.ahead.threads.per.volume";
+  static final String CONTAINER_LOAD_THREADS_KEY =
+      "hdds.datanode.container.load.threads.per.volume";
+  static final String CONTAINER_REPORT_DELTA_LIMIT_KEY =
+      "hdds.datanode.container.report.delta.limit";
 
   public static final String WAIT_ON_ALL_FOLLOWERS =
       "hdds.datanode.wait.on.all.followers";
@@ -86,6 +94,12 @@ public class DatanodeConfiguration {
   static final long DISK_CHECK_TIMEOUT_DEFAULT =
       Duration.ofMinutes(10).toMillis();
 
+  static final int CHUNK_OPEN_FILES_MAX_DEFAULT = 1024;
+  static final long READ_AHEAD_CACHE_SIZE_DEFAULT = 256L * 1024 * 1024;
+  static final int READ_AHEAD_THREADS_DEFAULT = 2;
+  static final int CONTAINER_LOAD_THREADS_DEFAULT = 2;
+  static final int CONTAINER_REPORT_DELTA_LIMIT_DEFAULT = 9;
+
   static final boolean CONTAINER_SCHEMA_V3_ENABLED_DEFAULT = true;
   static final long ROCKSDB_LOG_MAX_FILE_SIZE_BYTES_DEFAULT = 32 * 1024 * 1024;
   static final int ROCKSDB_LOG_MAX_FILE_NUM_DEFAULT = 64;
@@ -401,6 +415,190 @@ public void setBlockDeletionLimit(int limit) {
   private boolean isChunkDataValidationCheck =
       CHUNK_DATA_VALIDATION_CHECK_DEFAULT;
 
+  /**
+   * The maximum number of chunk file handles kept open on each volume for
+   * reads and writes of FILE_PER_BLOCK containers.
+   */
+  @Config(key = "chunk.open.files.max",
+      defaultValue = "1024",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "The maximum number of block files kept open per volume"
+          + " to serve chunk reads and writes without reopening the file."
+          + " The least recently used handles are closed beyond this limit."
+  )
+  private int chunkOpenFilesMax = CHUNK_OPEN_FILES_MAX_DEFAULT;
+
+  @Config(key = "chunk.open.files.idle.timeout",
+      defaultValue = "10m",
+      type = ConfigType.TIME,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Block file handles kept open for chunk reads and writes"
+          + " are closed after being idle for this long. Unit could be"
+          + " defined with postfix (ns,ms,s,m,h,d)."
+  )
+  private long chunkOpenFilesIdleTimeout = Duration.ofMinutes(10).toMillis();
+
+  @Config(key = "read.ahead.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Enable read-ahead for sequential chunk reads of"
+          + " FILE_PER_BLOCK containers. When consecutive reads of a block"
+          + " are contiguous, the following region is read in the background"
+          + " into memory to serve the next read. Useful for volumes on"
+          + " spinning disks shared by concurrent sequential readers."
+  )
+  private boolean readAheadEnabled = false;
+
+  @Config(key = "read.ahead.cache.size",
+      defaultValue = "256MB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "The maximum amount of off-heap memory per volume used to"
+          + " hold data read ahead and not yet requested."
+  )
+  private long readAheadCacheSize = READ_AHEAD_CACHE_SIZE_DEFAULT;
+
+  @Config(key = "read.ahead.threads.per.volume",
+      defaultValue = "2",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Number of threads per volume that Datanode will use for"
+          + " read-ahead."
+  )
+  private int readAheadThreadsPerVolume = READ_AHEAD_THREADS_DEFAULT;
+
+  @Config(key = "volume.io.scheduler.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Enable the per-volume I/O scheduler, which limits the"
+          + " bandwidth of background I/O (container replication, data"
+          + " scanning and block deletion) on a volume and reduces it while"
+          + " client reads and writes on the volume are slower than"
+          + " hdds.datanode.volume.io.scheduler.latency.target."
+  )
+  private boolean volumeIOSchedulerEnabled = false;
+
+  @Config(key = "volume.io.scheduler.latency.target",
+      defaultValue = "50ms",
+      type = ConfigType.TIME,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "The average latency of client chunk reads and writes on"
+          + " a volume above which the volume I/O scheduler halves the"
+          + " background bandwidth every second. Unit could be defined with"
+          + " postfix (ns,ms,s,m,h,d)."
+  )
+  private long volumeIOSchedulerLatencyTarget = 50;
+
+  @Config(key = "volume.io.scheduler.bandwidth.min",
+      defaultValue = "4MB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "The background bandwidth per second of a volume that the"
+          + " volume I/O scheduler keeps even while client latency is above"
+          + " the target, so that background work still progresses."
+  )
+  private long volumeIOSchedulerMinBandwidth = 4L * 1024 * 1024;
+
+  @Config(key = "volume.io.scheduler.bandwidth.max",
+      defaultValue = "1GB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "The background bandwidth per second of a volume that the"
+          + " volume I/O scheduler allows while client latency is within"
+          + " the target."
+  )
+  private long volumeIOSchedulerMaxBandwidth = 1024L * 1024 * 1024;
+
+  @Config(key = "container.index.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Write an index of the containers of each volume when"
+          + " the datanode stops, and load the containers from it on the next"
+          + " start instead of reading every .container file and container"
+          + " DB. Without a valid index, e.g. after a crash, the volume is"
+          + " scanned."
+  )
+  private boolean containerIndexEnabled = false;
+
+  @Config(key = "container.load.threads.per.volume",
+      defaultValue = "2",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Number of threads per volume that Datanode will use for"
+          + " loading containers on startup. The threads are shared by all"
+          + " volumes."
+  )
+  private int containerLoadThreadsPerVolume = CONTAINER_LOAD_THREADS_DEFAULT;
+
+  @Config(key = "container.report.delta.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Send periodic container reports as deltas: only the"
+          + " replicas changed since the last report acknowledged by the SCM"
+          + " are listed. Full reports are sent when the SCM has not"
+          + " acknowledged a report, asks for one, or does not support"
+          + " deltas."
+  )
+  private boolean containerReportDeltaEnabled = false;
+
+  @Config(key = "container.report.delta.limit",
+      defaultValue = "9",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Maximum number of consecutive delta container reports,"
+          + " after which a full report is sent."
+  )
+  private int containerReportDeltaLimit = CONTAINER_REPORT_DELTA_LIMIT_DEFAULT;
+
+  @Config(key = "group.commit.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Sync the container DB WAL of a volume in groups."
+          + " PutBlock requests wait for a shared sync of the WAL of the"
+          + " container DB, instead of each syncing on its own. Without it,"
+          + " PutBlock syncs the WAL only if the RocksDB sync write option is"
+          + " set. Chunk writes keep syncing with"
+          + " dfs.container.chunk.write.sync."
+  )
+  private boolean groupCommitEnabled = false;
+
+  @Config(key = "group.commit.window",
+      defaultValue = "1ms",
+      type = ConfigType.TIME,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "How long group commit waits after the first sync of a"
+          + " container DB WAL for other syncs of the same DB to join it."
+          + " Syncs of distinct DBs run in parallel. Unit could be defined"
+          + " with postfix (ns,ms,s,m,h,d)."
+  )
+  private long groupCommitWindow = 1;
+
+  @Config(key = "write.buffer.pool.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Copy the data of chunks written through Ratis into"
+          + " pooled direct buffers, which are written to disk instead of"
+          + " the heap copy."
+  )
+  private boolean writeBufferPoolEnabled = false;
+
+  @Config(key = "write.buffer.pool.size",
+      defaultValue = "1GB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "The maximum amount of off-heap memory allocated for the"
+          + " write buffer pool. Chunks that do not fit are written from the"
+          + " heap."
+  )
+  private long writeBufferPoolSize = 1024L * 1024 * 1024;
+
   @Config(key = "wait.on.all.followers",
       defaultValue = "false",
       type = ConfigType.BOOLEAN,
@@ -529,6 +727,34 @@ public void setWaitOnAllFollowers(boolean val) {
 
   @PostConstruct
   public void validate() {
+    if (containerLoadThreadsPerVolume < 1) {
+      LOG.warn(CONTAINER_LOAD_THREADS_KEY + " must be greater than zero" +
+              " and was set to {}. Defaulting to {}",
+          containerLoadThreadsPerVolume, CONTAINER_LOAD_THREADS_DEFAULT);
+      containerLoadThreadsPerVolume = CONTAINER_LOAD_THREADS_DEFAULT;
+    }
+
+    if (containerReportDeltaLimit < 0) {
+      LOG.warn(CONTAINER_REPORT_DELTA_LIMIT_KEY + " must not be negative" +
+              " and was set to {}. Defaulting to {}",
+          containerReportDeltaLimit, CONTAINER_REPORT_DELTA_LIMIT_DEFAULT);
+      containerReportDeltaLimit = CONTAINER_REPORT_DELTA_LIMIT_DEFAULT;
+    }
+
+    if (readAheadThreadsPerVolume < 1) {
+      LOG.warn(READ_AHEAD_THREADS_KEY + " must be greater than zero" +
+              " and was set to {}. Defaulting to {}",
+          readAheadThreadsPerVolume, READ_AHEAD_THREADS_DEFAULT);
+      readAheadThreadsPerVolume = READ_AHEAD_THREADS_DEFAULT;
+    }
+
+    if (chunkOpenFilesMax < 1) {
+      LOG.warn(CHUNK_OPEN_FILES_MAX_KEY + " must be greater than zero" +
+              " and was set to {}. Defaulting to {}",
+          chunkOpenFilesMax, CHUNK_OPEN_FILES_MAX_DEFAULT);
+      chunkOpenFilesMax = CHUNK_OPEN_FILES_MAX_DEFAULT;
+    }
+
     if (containerDeleteThreads < 1) {
       LOG.warn(CONTAINER_DELETE_THREADS_MAX_KEY + " must be greater than zero" +
               " and was set to {}. Defaulting to {}",
@@ -782,6 +1008,142 @@ public void setChunkDataValidationCheck(boolean writeChunkValidationCheck) {
     isChunkDataValidationCheck = writeChunkValidationCheck;
   }
 
+  public int getChunkOpenFilesMax() {
+    return chunkOpenFilesMax;
+  }
+
+  public void setChunkOpenFilesMax(int chunkOpenFilesMax) {
+    this.chunkOpenFilesMax = chunkOpenFilesMax;
+  }
+
+  public Duration getChunkOpenFilesIdleTimeout() {
+    return Duration.ofMillis(chunkOpenFilesIdleTimeout);
+  }
+
+  public void setChunkOpenFilesIdleTimeout(Duration timeout) {
+    this.chunkOpenFilesIdleTimeout = timeout.toMillis();
+  }
+
+  public boolean isReadAheadEnabled() {
+    return readAheadEnabled;
+  }
+
+  public void setReadAheadEnabled(boolean enabled) {
+    this.readAheadEnabled = enabled;
+  }
+
+  public long getReadAheadCacheSize() {
+    return readAheadCacheSize;
+  }
+
+  public void setReadAheadCacheSize(long size) {
+    this.readAheadCacheSize = size;
+  }
+
+  public int getReadAheadThreadsPerVolume() {
+    return readAheadThreadsPerVolume;
+  }
+
+  public void setReadAheadThreadsPerVolume(int threads) {
+    this.readAheadThreadsPerVolume = threads;
+  }
+
+  public boolean isVolumeIOSchedulerEnabled() {
+    return volumeIOSchedulerEnabled;
+  }
+
+  public void setVolumeIOSchedulerEnabled(boolean enabled) {
+    this.volumeIOSchedulerEnabled = enabled;
+  }
+
+  public Duration getVolumeIOSchedulerLatencyTarget() {
+    return Duration.ofMillis(volumeIOSchedulerLatencyTarget);
+  }
+
+  public void setVolumeIOSchedulerLatencyTarget(Duration target) {
+    this.volumeIOSchedulerLatencyTarget = target.toMillis();
+  }
+
+  public long getVolumeIOSchedulerMinBandwidth() {
+    return volumeIOSchedulerMinBandwidth;
+  }
+
+  public void setVolumeIOSchedulerMinBandwidth(long bandwidth) {
+    this.volumeIOSchedulerMinBandwidth = bandwidth;
+  }
+
+  public long getVolumeIOSchedulerMaxBandwidth() {
+    return volumeIOSchedulerMaxBandwidth;
+  }
+
+  public void setVolumeIOSchedulerMaxBandwidth(long bandwidth) {
+    this.volumeIOSchedulerMaxBandwidth = bandwidth;
+  }
+
+  public boolean isContainerIndexEnabled() {
+    return containerIndexEnabled;
+  }
+
+  public void setContainerIndexEnabled(boolean enabled) {
+    this.containerIndexEnabled = enabled;
+  }
+
+  public int getContainerLoadThreadsPerVolume() {
+    return containerLoadThreadsPerVolume;
+  }
+
+  public void setContainerLoadThreadsPerVolume(int threads) {
+    this.containerLoadThreadsPerVolume = threads;
+  }
+
+  public boolean isContainerReportDeltaEnabled() {
+    return containerReportDeltaEnabled;
+  }
+
+  public void setContainerReportDeltaEnabled(boolean enabled) {
+    this.containerReportDeltaEnabled = enabled;
+  }
+
+  public int getContainerReportDeltaLimit() {
+    return containerReportDeltaLimit;
+  }
+
+  public void setContainerReportDeltaLimit(int limit) {
+    this.containerReportDeltaLimit = limit;
+  }
+
+  public boolean isGroupCommitEnabled() {
+    return groupCommitEnabled;
+  }
+
+  public void setGroupCommitEnabled(boolean enabled) {
+    this.groupCommitEnabled = enabled;
+  }
+
+  public Duration getGroupCommitWindow() {
+    return Duration.ofMillis(groupCommitWindow);
+  }
+
+  public void setGroupCommitWindow(Duration window) {
+    this.groupCommitWindow = window.toMillis();
+  }
+
+  public boolean isWriteBufferPoolEnabled() {
+    return writeBufferPoolEnabled;
+  }
+
+  public void setWriteBufferPoolEnabled(boolean enabled) {
+    this.writeBufferPoolEnabled = enabled;
+  }
+
+  public long getWriteBufferPoolSize() {
+    return writeBufferPoolSize;
+  }
+
+  public void setWriteBufferPoolSize(long size) {
+    this.writeBufferPoolSize = size;
+  }
+
   public void setNumReadThreadPerVolume(int threads) {
     this.numReadThreadPerVolume = threads;
   }
@@ -55,6 +55,7 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.PipelineAction;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.PipelineReportsProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.SCMCommandProto;
+import org.apache.hadoop.ozone.container.common.report.ContainerReportTracker;
 import org.apache.hadoop.ozone.container.common.states.DatanodeState;
 import org.apache.hadoop.ozone.container.common.states.datanode.InitDatanodeState;
 import org.apache.hadoop.ozone.container.common.states.datanode.RunningDatanodeState;
@@ -131,6 +132,10 @@ public class StateContext {
   private final List<String> fullReportTypeList;
   // ReportType -> Report.
   private final Map<String, AtomicReference<Message>> type2Reports;
+  // Endpoint -> delta container reports, if enabled.
+  private final Map<InetSocketAddress, ContainerReportTracker>
+      containerReportTrackers;
+  private final int containerReportDeltaLimit;
 
   /**
    * term of latest leader SCM, extract from SCMCommand.
@@ -168,6 +173,8 @@ public StateContext(ConfigurationSource conf,
     DatanodeConfiguration dnConf =
         conf.getObject(DatanodeConfiguration.class);
     maxCommandQueueLimit = dnConf.getCommandQueueLimit();
+    containerReportDeltaLimit = dnConf.isContainerReportDeltaEnabled()
+        ? dnConf.getContainerReportDeltaLimit() : -1;
     this.state = state;
     this.parentDatanodeStateMachine = parent;
     commandQueue = new LinkedList<>();
@@ -187,6 +194,7 @@ public StateContext(ConfigurationSource conf,
     isFullReportReadyToBeSent = new HashMap<>();
     fullReportTypeList = new ArrayList<>();
     type2Reports = new HashMap<>();
+    containerReportTrackers = new ConcurrentHashMap<>();
     initReportTypeCollection();
   }
 
@@ -455,7 +463,7 @@ List<Message> getFullReports(
           }
           final Message msg = ref.get();
           if (msg != null) {
-            fullReports.add(msg);
+            fullReports.add(prepareFullReport(endpoint, msg));
             // Mark the report as not ready to be sent, until another refresh.
             mp.get(reportType).set(false);
             count++;
@@ -466,6 +474,29 @@ List<Message> getFullReports(
     return fullReports;
   }
 
+  private Message prepareFullReport(InetSocketAddress endpoint,
+      Message report) {
+    final ContainerReportTracker tracker =
+        containerReportTrackers.get(endpoint);
+    if (tracker != null && report instanceof ContainerReportsProto) {
+      return tracker.prepare((ContainerReportsProto) report);
+    }
+    return report;
+  }
+
+  /**
+   * Acknowledges the container report of the given generation, as the last
+   * one applied by the endpoint. Generation 0 requests a full report.
+   */
+  public void acknowledgeContainerReport(InetSocketAddress endpoint,
+      long generation) {
+    final ContainerReportTracker tracker =
+        containerReportTrackers.get(endpoint);
+    if (tracker != null) {
+      tracker.acknowledge(generation);
+    }
+  }
+
   /**
    * Adds the ContainerAction to ContainerAction queue.
    *
@@ -913,6 +944,10 @@ public void addEndpoint(InetSocketAddress endpoint) {
         mp.putIfAbsent(e, new AtomicBoolean(true));
       });
       this.isFullReportReadyToBeSent.putIfAbsent(endpoint, mp);
+      if (containerReportDeltaLimit >= 0) {
+        containerReportTrackers.put(endpoint,
+            new ContainerReportTracker(containerReportDeltaLimit));
+      }
       if (getQueueMetrics() != null) {
         getQueueMetrics().addEndpoint(endpoint);
       }
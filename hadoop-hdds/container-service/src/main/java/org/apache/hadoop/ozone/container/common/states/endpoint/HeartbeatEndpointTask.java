@@ -310,6 +310,10 @@ private void processResponse(SCMHeartbeatResponseProto response,
     if (response.hasTerm()) {
       context.updateTermOfLeaderSCM(response.getTerm());
     }
+    if (response.hasContainerReportGeneration()) {
+      context.acknowledgeContainerReport(rpcEndpoint.getAddress(),
+          response.getContainerReportGeneration());
+    }
     // Verify the response is indeed for this datanode.
     for (SCMCommandProto commandResponseProto : response.getCommandsList()) {
       switch (commandResponseProto.getCommandType()) {
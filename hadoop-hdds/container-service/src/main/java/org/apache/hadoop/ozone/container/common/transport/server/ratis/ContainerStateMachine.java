@@ -62,6 +62,7 @@
 import org.apache.hadoop.ozone.common.utils.BufferUtils;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerDispatcher;
 import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.WriteBufferPool.WriteBuffer;
 import org.apache.hadoop.ozone.container.keyvalue.impl.KeyValueStreamDataChannel;
 import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
 import org.apache.hadoop.util.Time;
@@ -176,6 +177,7 @@ synchronized void removeIfEmpty(long containerId) {
   private final List<ThreadPoolExecutor> chunkExecutors;
   private final Map<Long, Long> applyTransactionCompletionMap;
   private final Cache<Long, ByteString> stateMachineDataCache;
+  private final WriteBufferPool writeBufferPool;
   private final AtomicBoolean stateMachineHealthy;
 
   private final Semaphore applyTransactionSemaphore;
@@ -209,6 +211,7 @@ public ContainerStateMachine(RaftGroupId gid, ContainerDispatcher dispatcher,
     stateMachineDataCache = new ResourceLimitCache<>(new ConcurrentHashMap<>(),
         (index, data) -> new int[] {1, HddsUtils.roundupMb(data.size())},
         numPendingRequests, pendingRequestsMegaBytesLimit);
+    writeBufferPool = ratisServer.getWriteBufferPool();
 
     this.chunkExecutors = chunkExecutors;
 
@@ -470,6 +473,8 @@ private CompletableFuture<Message> handleWriteChunk(
     RaftServer server = ratisServer.getServer();
     Preconditions.checkArgument(!write.getData().isEmpty());
     try {
+      // The followers are served the data received from Ratis, without a
+      // copy, as Ratis does not tell when they are done with it.
       if (server.getDivision(gid).getInfo().isLeader()) {
         stateMachineDataCache.put(entryIndex, write.getData());
       }
@@ -479,12 +484,15 @@ private CompletableFuture<Message> handleWriteChunk(
     } catch (IOException ioe) {
       return completeExceptionally(ioe);
     }
+    // released once the write below completes
+    final WriteBuffer data = writeBufferPool.acquire(write.getData());
     DispatcherContext context =
         new DispatcherContext.Builder()
             .setTerm(term)
             .setLogIndex(entryIndex)
             .setStage(DispatcherContext.WriteChunkStage.WRITE_DATA)
             .setContainer2BCSIDMap(container2BCSIDMap)
+            .setWriteChunkData(data.isPooled() ? data.toChunkBuffer() : null)
             .build();
     CompletableFuture<Message> raftFuture = new CompletableFuture<>();
     // ensure the write chunk happens asynchronously in writeChunkExecutor pool
@@ -505,6 +513,7 @@ private CompletableFuture<Message> handleWriteChunk(
             throw e;
           }
         }, getChunkExecutor(requestProto.getWriteChunk()));
+    writeChunkFuture.whenComplete((r, e) -> data.release());
 
     writeChunkFutureMap.put(entryIndex, writeChunkFuture);
     if (LOG.isDebugEnabled()) {
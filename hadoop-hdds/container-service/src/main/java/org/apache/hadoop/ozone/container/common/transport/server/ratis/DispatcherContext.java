@@ -19,6 +19,7 @@
 
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
 
 import java.util.Map;
 
@@ -47,13 +48,18 @@ public enum WriteChunkStage {
 
   private final Map<Long, Long> container2BCSIDMap;
 
+  // the chunk data of a WriteChunk request, if already copied out of it
+  private final ChunkBuffer writeChunkData;
+
   private DispatcherContext(long term, long index, WriteChunkStage stage,
-      boolean readFromTmpFile, Map<Long, Long> container2BCSIDMap) {
+      boolean readFromTmpFile, Map<Long, Long> container2BCSIDMap,
+      ChunkBuffer writeChunkData) {
     this.term = term;
     this.logIndex = index;
     this.stage = stage;
     this.readFromTmpFile = readFromTmpFile;
     this.container2BCSIDMap = container2BCSIDMap;
+    this.writeChunkData = writeChunkData;
   }
 
   public long getLogIndex() {
@@ -76,6 +82,10 @@ public Map<Long, Long> getContainer2BCSIDMap() {
     return container2BCSIDMap;
   }
 
+  public ChunkBuffer getWriteChunkData() {
+    return writeChunkData;
+  }
+
   /**
    * Builder class for building DispatcherContext.
    */
@@ -85,6 +95,7 @@ public static final class Builder {
     private long term;
     private long logIndex;
     private Map<Long, Long> container2BCSIDMap;
+    private ChunkBuffer writeChunkData;
 
     /**
      * Sets the WriteChunkStage.
@@ -140,6 +151,19 @@ public Builder setContainer2BCSIDMap(Map<Long, Long> map) {
       this.container2BCSIDMap = map;
       return this;
     }
+
+    /**
+     * Sets the chunk data to write instead of the data in the WriteChunk
+     * request, e.g. a copy of it in a pooled direct buffer.
+     *
+     * @param data chunk data
+     * @return Builder
+     */
+    public Builder setWriteChunkData(ChunkBuffer data) {
+      this.writeChunkData = data;
+      return this;
+    }
+
     /**
      * Builds and returns DispatcherContext instance.
      *
@@ -147,7 +171,7 @@ public Builder setContainer2BCSIDMap(Map<Long, Long> map) {
      */
     public DispatcherContext build() {
       return new DispatcherContext(term, logIndex, stage, readFromTmpFile,
-          container2BCSIDMap);
+          container2BCSIDMap, writeChunkData);
     }
 
   }
@@ -0,0 +1,310 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server.ratis;
+
+import java.io.Closeable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of direct buffers holding the data of chunks written through Ratis.
+ * <p>
+ * The data of a WriteChunk request is copied once into a pooled buffer,
+ * which is written to disk. Writing a heap buffer would copy it into a
+ * temporary direct buffer of the writing thread instead. The state machine
+ * data cache keeps the data received from Ratis, so that followers are
+ * served without a copy.
+ * <p>
+ * Buffers are handed out as reference counted {@link WriteBuffer}s and
+ * return to the pool when the last reference is released. Buffers come
+ * in power of two size classes. If the pool is disabled or has no room,
+ * the data stays on the heap, wrapped in a {@link WriteBuffer} that is not
+ * pooled. A {@link WriteBuffer} collected by the JVM without having been
+ * released is reported as leaked; its buffer is dropped rather than reused.
+ */
+public final class WriteBufferPool implements Closeable {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(WriteBufferPool.class);
+
+  private static final int MIN_SIZE_SHIFT = 16;
+  private static final int MAX_SIZE_SHIFT = 25;
+
+  static final int MIN_BUFFER_SIZE = 1 << MIN_SIZE_SHIFT;
+  static final int MAX_BUFFER_SIZE = 1 << MAX_SIZE_SHIFT;
+
+  private final long capacity;
+  private final List<Deque<ByteBuffer>> freeBuffers = new ArrayList<>();
+  private final AtomicLong allocatedBytes = new AtomicLong();
+  private final AtomicLong usedBytes = new AtomicLong();
+  private final Set<LeakTracker> trackers = ConcurrentHashMap.newKeySet();
+  private final ReferenceQueue<WriteBuffer> collected =
+      new ReferenceQueue<>();
+  private final WriteBufferPoolMetrics metrics;
+
+  public static WriteBufferPool create(ConfigurationSource conf,
+      String datanodeId) {
+    DatanodeConfiguration dnConf =
+        conf.getObject(DatanodeConfiguration.class);
+    if (!dnConf.isWriteBufferPoolEnabled()) {
+      return disabled();
+    }
+    return new WriteBufferPool(dnConf.getWriteBufferPoolSize(), datanodeId);
+  }
+
+  public static WriteBufferPool disabled() {
+    return new WriteBufferPool(0, null);
+  }
+
+  @VisibleForTesting
+  WriteBufferPool(long capacity, String datanodeId) {
+    this.capacity = capacity;
+    for (int i = MIN_SIZE_SHIFT; i <= MAX_SIZE_SHIFT; i++) {
+      freeBuffers.add(new ConcurrentLinkedDeque<>());
+    }
+    metrics = capacity > 0
+        ? WriteBufferPoolMetrics.create(datanodeId, this) : null;
+  }
+
+  public boolean isEnabled() {
+    return capacity > 0;
+  }
+
+  /**
+   * Returns a buffer holding a copy of {@code data}, with one reference
+   * owned by the caller.
+   */
+  public WriteBuffer acquire(ByteString data) {
+    final int size = data.size();
+    if (!isEnabled() || size > MAX_BUFFER_SIZE) {
+      return new WriteBuffer(data);
+    }
+    reclaimLeaked();
+
+    final int sizeClass = getSizeClass(size);
+    ByteBuffer buffer = freeBuffers.get(sizeClass).poll();
+    if (buffer == null) {
+      buffer = allocate(sizeClass);
+      if (buffer == null) {
+        metrics.incPoolExhausted();
+        return new WriteBuffer(data);
+      }
+    }
+    buffer.clear();
+    data.copyTo(buffer);
+    buffer.flip();
+
+    usedBytes.addAndGet(buffer.capacity());
+    metrics.incBuffersAcquired();
+    final WriteBuffer writeBuffer = new WriteBuffer(buffer);
+    final LeakTracker tracker =
+        new LeakTracker(writeBuffer, buffer, sizeClass, collected);
+    trackers.add(tracker);
+    writeBuffer.tracker = tracker;
+    return writeBuffer;
+  }
+
+  static int getSizeClass(int size) {
+    final int shift = 32 - Integer.numberOfLeadingZeros(
+        Math.max(size, MIN_BUFFER_SIZE) - 1);
+    return shift - MIN_SIZE_SHIFT;
+  }
+
+  private ByteBuffer allocate(int sizeClass) {
+    final int size = 1 << (sizeClass + MIN_SIZE_SHIFT);
+    while (true) {
+      final long allocated = allocatedBytes.get();
+      if (allocated + size > capacity) {
+        if (!dropFreeBuffer(sizeClass)) {
+          return null;
+        }
+      } else if (allocatedBytes.compareAndSet(allocated, allocated + size)) {
+        return ByteBuffer.allocateDirect(size);
+      }
+    }
+  }
+
+  /**
+   * Drops a free buffer of another size class to make room for a new
+   * buffer. The memory of the dropped buffer is freed when it is collected.
+   */
+  private boolean dropFreeBuffer(int sizeClass) {
+    for (int i = freeBuffers.size() - 1; i >= 0; i--) {
+      if (i == sizeClass) {
+        continue;
+      }
+      final ByteBuffer dropped = freeBuffers.get(i).poll();
+      if (dropped != null) {
+        allocatedBytes.addAndGet(-dropped.capacity());
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void recycle(LeakTracker tracker) {
+    if (trackers.remove(tracker)) {
+      tracker.clear();
+      usedBytes.addAndGet(-tracker.buffer.capacity());
+      metrics.incBuffersReleased();
+      freeBuffers.get(tracker.sizeClass).push(tracker.buffer);
+    }
+  }
+
+  private void reclaimLeaked() {
+    for (Reference<? extends WriteBuffer> ref = collected.poll();
+         ref != null; ref = collected.poll()) {
+      final LeakTracker tracker = (LeakTracker) ref;
+      if (trackers.remove(tracker)) {
+        final int size = tracker.buffer.capacity();
+        usedBytes.addAndGet(-size);
+        allocatedBytes.addAndGet(-size);
+        metrics.incBuffersLeaked();
+        LOG.warn("A write buffer of {} bytes was not released before it was"
+            + " garbage collected", size);
+      }
+    }
+  }
+
+  public long getCapacity() {
+    return capacity;
+  }
+
+  public long getAllocatedBytes() {
+    return allocatedBytes.get();
+  }
+
+  public long getUsedBytes() {
+    return usedBytes.get();
+  }
+
+  @VisibleForTesting
+  WriteBufferPoolMetrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public void close() {
+    if (metrics != null) {
+      metrics.unregister();
+    }
+  }
+
+  /**
+   * Chunk data, either in a pooled direct buffer or on the heap, with an
+   * explicit reference count. Each holder of a reference must call
+   * {@link #release()} once it no longer uses the data.
+   */
+  public final class WriteBuffer {
+    private final ByteBuffer buffer;
+    private final ByteString heapData;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+    private LeakTracker tracker;
+
+    private WriteBuffer(ByteBuffer buffer) {
+      this.buffer = buffer;
+      this.heapData = null;
+    }
+
+    private WriteBuffer(ByteString heapData) {
+      this.buffer = null;
+      this.heapData = heapData;
+    }
+
+    public boolean isPooled() {
+      return buffer != null;
+    }
+
+    public int size() {
+      return isPooled() ? buffer.remaining() : heapData.size();
+    }
+
+    /**
+     * Adds a reference, unless the buffer has already been released.
+     * @return whether a reference was added
+     */
+    public boolean tryRetain() {
+      for (int count = refCount.get(); count > 0; count = refCount.get()) {
+        if (refCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    public WriteBuffer retain() {
+      Preconditions.checkState(tryRetain(), "Buffer already released");
+      return this;
+    }
+
+    public void release() {
+      final int count = refCount.decrementAndGet();
+      Preconditions.checkState(count >= 0, "Buffer released too many times");
+      if (count == 0 && isPooled()) {
+        recycle(tracker);
+      }
+    }
+
+    /**
+     * Returns the data as a {@link ChunkBuffer}, which may only be used
+     * while the caller holds a reference.
+     */
+    public ChunkBuffer toChunkBuffer() {
+      return isPooled()
+          ? ChunkBuffer.wrap(buffer.asReadOnlyBuffer())
+          : ChunkBuffer.wrap(heapData.asReadOnlyByteBufferList());
+    }
+  }
+
+  /**
+   * Keeps a pooled buffer reachable so that it can be accounted for if
+   * its {@link WriteBuffer} is collected without being released.
+   */
+  private static final class LeakTracker extends WeakReference<WriteBuffer> {
+    private final ByteBuffer buffer;
+    private final int sizeClass;
+
+    LeakTracker(WriteBuffer referent, ByteBuffer buffer, int sizeClass,
+        ReferenceQueue<WriteBuffer> queue) {
+      super(referent, queue);
+      this.buffer = buffer;
+      this.sizeClass = sizeClass;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server.ratis;
+
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Metrics of the {@link WriteBufferPool} of a datanode.
+ */
+@InterfaceAudience.Private
+@Metrics(about = "Datanode Write Buffer Pool Metrics",
+    context = OzoneConsts.OZONE)
+public class WriteBufferPoolMetrics {
+  public static final String SOURCE_NAME =
+      WriteBufferPoolMetrics.class.getSimpleName();
+
+  private final String name;
+  private final WriteBufferPool pool;
+
+  private @Metric MutableCounterLong buffersAcquired;
+  private @Metric MutableCounterLong buffersReleased;
+  private @Metric MutableCounterLong buffersLeaked;
+  private @Metric MutableCounterLong poolExhausted;
+
+  private WriteBufferPoolMetrics(String name, WriteBufferPool pool) {
+    this.name = name;
+    this.pool = pool;
+  }
+
+  public static WriteBufferPoolMetrics create(String datanodeId,
+      WriteBufferPool pool) {
+    String name = SOURCE_NAME + "-" + datanodeId;
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    return ms.register(name, "Datanode Write Buffer Pool",
+        new WriteBufferPoolMetrics(name, pool));
+  }
+
+  public void unregister() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(name);
+  }
+
+  @Metric("Maximum bytes of direct memory the pool may allocate")
+  public long getCapacity() {
+    return pool.getCapacity();
+  }
+
+  @Metric("Bytes of direct memory allocated by the pool")
+  public long getAllocatedBytes() {
+    return pool.getAllocatedBytes();
+  }
+
+  @Metric("Bytes of direct memory held by buffers in use")
+  public long getUsedBytes() {
+    return pool.getUsedBytes();
+  }
+
+  public void incBuffersAcquired() {
+    buffersAcquired.incr();
+  }
+
+  public void incBuffersReleased() {
+    buffersReleased.incr();
+  }
+
+  public void incBuffersLeaked() {
+    buffersLeaked.incr();
+  }
+
+  public void incPoolExhausted() {
+    poolExhausted.incr();
+  }
+
+  public long getBuffersAcquired() {
+    return buffersAcquired.value();
+  }
+
+  public long getBuffersReleased() {
+    return buffersReleased.value();
+  }
+
+  public long getBuffersLeaked() {
+    return buffersLeaked.value();
+  }
+
+  public long getPoolExhausted() {
+    return poolExhausted.value();
+  }
+}
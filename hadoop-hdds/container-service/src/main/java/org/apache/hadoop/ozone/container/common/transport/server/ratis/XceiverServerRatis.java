@@ -132,6 +132,7 @@ private static long nextCallId() {
   private int dataStreamPort;
   private final RaftServer server;
   private final List<ThreadPoolExecutor> chunkExecutors;
+  private final WriteBufferPool writeBufferPool;
   private final ContainerDispatcher dispatcher;
   private final ContainerController containerController;
   private ClientId clientId = ClientId.randomId();
@@ -168,6 +169,7 @@ private XceiverServerRatis(DatanodeDetails dd,
     this.containerController = containerController;
     this.raftPeerId = RatisHelper.toRaftPeerId(dd);
     chunkExecutors = createChunkExecutors(conf);
+    writeBufferPool = WriteBufferPool.create(conf, dd.getUuidString());
     nodeFailureTimeoutMs =
             conf.getObject(DatanodeRatisServerConfig.class)
                     .getFollowerSlownessTimeout();
@@ -560,6 +562,11 @@ public void stop() {
         LOG.error("XceiverServerRatis Could not be stopped gracefully.", e);
       }
     }
+    writeBufferPool.close();
+  }
+
+  WriteBufferPool getWriteBufferPool() {
+    return writeBufferPool;
   }
 
   @Override
@@ -51,12 +51,18 @@ public final class ContainerInspectorUtil {
 
   private ContainerInspectorUtil() { }
 
-  public static void load() {
+  /**
+   * Loads the inspectors enabled by system properties.
+   * @return whether any inspector was loaded
+   */
+  public static boolean load() {
+    boolean loaded = false;
     for (List<ContainerInspector> inspectors: INSPECTORS.values()) {
       for (ContainerInspector inspector: inspectors) {
-        inspector.load();
+        loaded |= inspector.load();
       }
     }
+    return loaded;
   }
 
   public static void unload() {
@@ -77,6 +77,8 @@ public class HddsVolume extends StorageVolume {
       "deleted-containers";
 
   private final VolumeIOStats volumeIOStats;
+  private final VolumeIOScheduler ioScheduler;
+  private final VolumeGroupCommit groupCommit;
   private final VolumeInfoMetrics volumeInfoMetrics;
 
   private final AtomicLong committedBytes; // till Open containers become full
@@ -119,6 +121,10 @@ private HddsVolume(Builder b) throws IOException {
       this.setState(VolumeState.NOT_INITIALIZED);
       this.volumeIOStats = new VolumeIOStats(b.getVolumeRootStr(),
           this.getStorageDir().toString());
+      this.ioScheduler = new VolumeIOScheduler(
+          getConf().getObject(DatanodeConfiguration.class), volumeIOStats);
+      this.groupCommit = new VolumeGroupCommit(
+          getConf().getObject(DatanodeConfiguration.class), volumeIOStats);
       this.volumeInfoMetrics =
           new VolumeInfoMetrics(b.getVolumeRootStr(), this);
       this.committedBytes = new AtomicLong(0);
@@ -133,6 +139,8 @@ private HddsVolume(Builder b) throws IOException {
       // HddsVolume Object.
       this.setState(VolumeState.FAILED);
       volumeIOStats = null;
+      ioScheduler = VolumeIOScheduler.disabled();
+      groupCommit = VolumeGroupCommit.disabled();
       volumeInfoMetrics = new VolumeInfoMetrics(b.getVolumeRootStr(), this);
       committedBytes = null;
     }
@@ -171,6 +179,14 @@ public VolumeIOStats getVolumeIOStats() {
     return volumeIOStats;
   }
 
+  public VolumeIOScheduler getIOScheduler() {
+    return ioScheduler;
+  }
+
+  public VolumeGroupCommit getGroupCommit() {
+    return groupCommit;
+  }
+
   public VolumeInfoMetrics getVolumeInfoStats() {
     return volumeInfoMetrics;
   }
@@ -178,6 +194,7 @@ public VolumeInfoMetrics getVolumeInfoStats() {
   @Override
   public void failVolume() {
     super.failVolume();
+    groupCommit.close();
     if (volumeIOStats != null) {
       volumeIOStats.unregister();
     }
@@ -187,6 +204,7 @@ public void failVolume() {
   @Override
   public void shutdown() {
     super.shutdown();
+    groupCommit.close();
     if (volumeIOStats != null) {
       volumeIOStats.unregister();
     }
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.volume;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit of the container DB WAL syncs of a volume.
+ * <p>
+ * PutBlock handlers that need their batch on disk submit a sync of the DB
+ * they wrote to, and block until it is done.  Syncs of the same DB
+ * submitted within a short window are merged: the first writer waits for
+ * the window, then performs one sync for all of them.  A writer arriving
+ * while a sync of its DB is running joins the next sync, as the running
+ * one may not cover its write.  Syncs of distinct DBs are independent and
+ * run in parallel on the threads of their writers.
+ * <p>
+ * Chunk writes are not synced here: the writes of one block are serialized,
+ * so a group per block file would only ever have one member.
+ */
+public class VolumeGroupCommit implements Closeable {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(VolumeGroupCommit.class);
+
+  /** Action that makes the writes to a file or DB durable. */
+  @FunctionalInterface
+  public interface SyncAction {
+    void sync() throws IOException;
+  }
+
+  /** Writers of one target waiting for the same sync. */
+  private static final class Group {
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    // sync of the previous group of the same target, if still running
+    private final CompletableFuture<Void> previous;
+    private int size = 1;
+
+    Group(CompletableFuture<Void> previous) {
+      this.previous = previous;
+    }
+  }
+
+  private static final String CLOSED_MESSAGE =
+      "Group commit of the volume is closed";
+
+  private final boolean enabled;
+  private final long windowNanos;
+  private final VolumeIOStats stats;
+  // target -> group still open to new writers, guarded by itself
+  private final Map<Object, Group> pending = new IdentityHashMap<>();
+  // target -> group whose sync is running, guarded by pending
+  private final Map<Object, Group> syncing = new IdentityHashMap<>();
+  private volatile boolean running = true;
+
+  public VolumeGroupCommit(DatanodeConfiguration conf, VolumeIOStats stats) {
+    this(conf.isGroupCommitEnabled(), conf.getGroupCommitWindow().toNanos(),
+        stats);
+  }
+
+  @VisibleForTesting
+  VolumeGroupCommit(boolean enabled, long windowNanos, VolumeIOStats stats) {
+    this.enabled = enabled;
+    this.windowNanos = windowNanos;
+    this.stats = stats;
+  }
+
+  public static VolumeGroupCommit disabled() {
+    return new VolumeGroupCommit(false, 0, null);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Syncs {@code target} by running {@code action}, together with the
+   * other syncs of the same target submitted around the same time, and waits
+   * until it is done.  The caller must keep the target open until this
+   * returns.
+   *
+   * @param target the DB to sync, syncs of the same instance in one group
+   *               are performed once
+   * @param action the sync to perform
+   */
+  public void sync(Object target, SyncAction action) throws IOException {
+    if (!enabled) {
+      action.sync();
+      return;
+    }
+    if (!running) {
+      throw new IOException(CLOSED_MESSAGE);
+    }
+    final Group group;
+    final boolean leader;
+    synchronized (pending) {
+      final Group open = pending.get(target);
+      if (open != null) {
+        open.size++;
+        group = open;
+        leader = false;
+      } else {
+        final Group previous = syncing.get(target);
+        group = new Group(previous == null ? null : previous.done);
+        pending.put(target, group);
+        leader = true;
+      }
+    }
+    try {
+      if (leader) {
+        commit(target, action, group);
+      }
+      group.done.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for sync");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Waits for the window and the previous sync of the target, then closes
+   * the group to new writers and syncs the target for all of them.
+   */
+  private void commit(Object target, SyncAction action, Group group) {
+    if (windowNanos > 0) {
+      Uninterruptibles.sleepUninterruptibly(windowNanos, TimeUnit.NANOSECONDS);
+    }
+    if (group.previous != null) {
+      // its outcome is reported to its own writers
+      group.previous.handle((r, e) -> null).join();
+    }
+
+    final int size;
+    synchronized (pending) {
+      pending.remove(target, group);
+      syncing.put(target, group);
+      size = group.size;
+    }
+    try {
+      action.sync();
+      group.done.complete(null);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to sync {}", target, e);
+      group.done.completeExceptionally(e);
+    } finally {
+      synchronized (pending) {
+        syncing.remove(target, group);
+      }
+    }
+    if (stats != null) {
+      stats.incGroupCommits();
+      stats.incGroupCommitRequests(size);
+    }
+  }
+
+  @Override
+  public void close() {
+    running = false;
+  }
+}
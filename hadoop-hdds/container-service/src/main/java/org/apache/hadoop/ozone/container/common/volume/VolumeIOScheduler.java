@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.volume;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schedules the background I/O of a volume, so that it backs off when it
+ * slows down client reads and writes.
+ * <p>
+ * Client I/O is never delayed, only its latency is recorded.  Background
+ * I/O acquires its cost in bytes before proceeding, and is admitted at the
+ * background bandwidth of the volume.  The bandwidth is adjusted every
+ * second: it is halved while the average client latency is above the
+ * target, and otherwise raised in steps up to the maximum.
+ * <p>
+ * Waiting requests are admitted in the order of their virtual finish time
+ * (start-time fair queuing), which shares the background bandwidth among
+ * the {@link IOClass}es in proportion to their weights.
+ */
+public class VolumeIOScheduler {
+
+  /** Classes of background I/O with their relative weights. */
+  public enum IOClass {
+    REPLICATION(4),
+    DELETION(2),
+    SCANNER(1);
+
+    private final int weight;
+
+    IOClass(int weight) {
+      this.weight = weight;
+    }
+
+    public int getWeight() {
+      return weight;
+    }
+  }
+
+  private static final long ADJUST_INTERVAL_NANOS =
+      TimeUnit.SECONDS.toNanos(1);
+  private static final int INCREASE_STEPS = 10;
+
+  private final boolean enabled;
+  private final long latencyTargetMs;
+  private final long minBandwidth;
+  private final long maxBandwidth;
+  private final VolumeIOStats stats;
+
+  private final AtomicLong foregroundOps = new AtomicLong();
+  private final AtomicLong foregroundLatencyMs = new AtomicLong();
+
+  private final PriorityQueue<Request> waiting = new PriorityQueue<>(
+      Comparator.comparingDouble((Request r) -> r.finishTag)
+          .thenComparingLong(r -> r.sequence));
+  private final double[] lastFinishTags = new double[IOClass.values().length];
+  private double virtualTime;
+  private long sequence;
+  private double bandwidth;
+  private long nextFreeNanos;
+  private long lastAdjustNanos;
+
+  public VolumeIOScheduler(DatanodeConfiguration conf, VolumeIOStats stats) {
+    this(conf.isVolumeIOSchedulerEnabled(),
+        conf.getVolumeIOSchedulerLatencyTarget().toMillis(),
+        conf.getVolumeIOSchedulerMinBandwidth(),
+        conf.getVolumeIOSchedulerMaxBandwidth(), stats);
+  }
+
+  @VisibleForTesting
+  VolumeIOScheduler(boolean enabled, long latencyTargetMs, long minBandwidth,
+      long maxBandwidth, VolumeIOStats stats) {
+    this.enabled = enabled;
+    this.latencyTargetMs = latencyTargetMs;
+    this.minBandwidth = Math.max(1, minBandwidth);
+    this.maxBandwidth = Math.max(this.minBandwidth, maxBandwidth);
+    this.stats = stats;
+    this.bandwidth = this.maxBandwidth;
+    this.lastAdjustNanos = System.nanoTime();
+    this.nextFreeNanos = lastAdjustNanos;
+  }
+
+  /** Returns a scheduler that does not delay any I/O. */
+  public static VolumeIOScheduler disabled() {
+    return new VolumeIOScheduler(false, 0, 1, 1, null);
+  }
+
+  /**
+   * Records the latency of a client read or write on the volume.
+   */
+  public void recordForeground(long latencyMs) {
+    if (enabled) {
+      foregroundOps.incrementAndGet();
+      foregroundLatencyMs.addAndGet(latencyMs);
+    }
+  }
+
+  /**
+   * Waits until background I/O of the given cost can be done on the volume.
+   *
+   * @param ioClass class of the background I/O
+   * @param cost number of bytes to read or write
+   */
+  public void acquire(IOClass ioClass, long cost)
+      throws InterruptedException {
+    if (!enabled || cost <= 0) {
+      return;
+    }
+    final long startNanos = System.nanoTime();
+    synchronized (this) {
+      final int i = ioClass.ordinal();
+      final double finishTag = Math.max(virtualTime, lastFinishTags[i])
+          + (double) cost / ioClass.getWeight();
+      lastFinishTags[i] = finishTag;
+      final Request request = new Request(finishTag, sequence++);
+      waiting.add(request);
+
+      long now = System.nanoTime();
+      try {
+        for (;;) {
+          adjust(now);
+          final boolean first = waiting.peek() == request;
+          if (first && now - nextFreeNanos >= 0) {
+            break;
+          }
+          final long waitNanos = first
+              ? nextFreeNanos - now : ADJUST_INTERVAL_NANOS;
+          TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+          now = System.nanoTime();
+        }
+      } catch (InterruptedException e) {
+        waiting.remove(request);
+        notifyAll();
+        throw e;
+      }
+
+      waiting.poll();
+      virtualTime = finishTag;
+      nextFreeNanos = Math.max(now, nextFreeNanos)
+          + (long) (cost * 1e9 / bandwidth);
+      notifyAll();
+    }
+
+    if (stats != null) {
+      stats.incBackgroundIOWaitTime(
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+  }
+
+  /**
+   * Adjusts the background bandwidth to the latency of client I/O since the
+   * last adjustment.
+   */
+  @VisibleForTesting
+  synchronized void adjust(long now) {
+    if (now - lastAdjustNanos < ADJUST_INTERVAL_NANOS) {
+      return;
+    }
+    lastAdjustNanos = now;
+    final long ops = foregroundOps.getAndSet(0);
+    final long latency = foregroundLatencyMs.getAndSet(0);
+    if (ops > 0 && latency > latencyTargetMs * ops) {
+      bandwidth = Math.max(minBandwidth, bandwidth / 2);
+    } else {
+      bandwidth = Math.min(maxBandwidth,
+          bandwidth + (double) (maxBandwidth - minBandwidth) / INCREASE_STEPS);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Returns the current background bandwidth in bytes per second. */
+  public synchronized long getBandwidth() {
+    return (long) bandwidth;
+  }
+
+  /**
+   * Returns a stream that acquires the bytes written to it as background
+   * I/O of the given class.
+   */
+  public OutputStream schedule(OutputStream out, IOClass ioClass) {
+    if (!enabled) {
+      return out;
+    }
+    return new FilterOutputStream(out) {
+      @Override
+      public void write(int b) throws IOException {
+        acquireInterruptibly(ioClass, 1);
+        out.write(b);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        acquireInterruptibly(ioClass, len);
+        out.write(b, off, len);
+      }
+    };
+  }
+
+  /**
+   * Returns a stream that acquires the bytes read from it as background
+   * I/O of the given class.
+   */
+  public InputStream schedule(InputStream in, IOClass ioClass) {
+    if (!enabled) {
+      return in;
+    }
+    return new FilterInputStream(in) {
+      @Override
+      public int read() throws IOException {
+        acquireInterruptibly(ioClass, 1);
+        return in.read();
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        final int n = in.read(b, off, len);
+        acquireInterruptibly(ioClass, n);
+        return n;
+      }
+    };
+  }
+
+  private void acquireInterruptibly(IOClass ioClass, long cost)
+      throws InterruptedIOException {
+    try {
+      acquire(ioClass, cost);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for "
+          + ioClass + " I/O");
+    }
+  }
+
+  private static final class Request {
+    private final double finishTag;
+    private final long sequence;
+
+    private Request(double finishTag, long sequence) {
+      this.finishTag = finishTag;
+      this.sequence = sequence;
+    }
+  }
+}
@@ -35,6 +35,16 @@ public class VolumeIOStats {
   private @Metric MutableCounterLong writeOpCount;
   private @Metric MutableCounterLong readTime;
   private @Metric MutableCounterLong writeTime;
+  private @Metric MutableCounterLong openFileCacheHits;
+  private @Metric MutableCounterLong openFileCacheMisses;
+  private @Metric MutableCounterLong openFileCacheEvictions;
+  private @Metric MutableCounterLong readAheadHits;
+  private @Metric MutableCounterLong readAheadMisses;
+  private @Metric MutableCounterLong readAheadBytes;
+  private @Metric MutableCounterLong readAheadWastedBytes;
+  private @Metric MutableCounterLong backgroundIOWaitTime;
+  private @Metric MutableCounterLong groupCommits;
+  private @Metric MutableCounterLong groupCommitRequests;
 
   @Deprecated
   public VolumeIOStats() {
@@ -110,6 +120,80 @@ public void incWriteTime(long time) {
     writeTime.incr(time);
   }
 
+  /**
+   * Increment the number of chunk accesses served by an already open file.
+   */
+  public void incOpenFileCacheHits() {
+    openFileCacheHits.incr();
+  }
+
+  /**
+   * Increment the number of chunk accesses that had to open the file.
+   */
+  public void incOpenFileCacheMisses() {
+    openFileCacheMisses.incr();
+  }
+
+  /**
+   * Increment the number of open files closed due to size limit or idleness.
+   */
+  public void incOpenFileCacheEvictions() {
+    openFileCacheEvictions.incr();
+  }
+
+  /**
+   * Increment the number of sequential chunk reads served from read-ahead.
+   */
+  public void incReadAheadHits() {
+    readAheadHits.incr();
+  }
+
+  /**
+   * Increment the number of sequential chunk reads not read ahead in time.
+   */
+  public void incReadAheadMisses() {
+    readAheadMisses.incr();
+  }
+
+  /**
+   * Increment number of bytes read ahead from the volume.
+   * @param bytes
+   */
+  public void incReadAheadBytes(long bytes) {
+    readAheadBytes.incr(bytes);
+  }
+
+  /**
+   * Increment number of bytes read ahead but discarded without being used.
+   * @param bytes
+   */
+  public void incReadAheadWastedBytes(long bytes) {
+    readAheadWastedBytes.incr(bytes);
+  }
+
+  /**
+   * Increment the time background I/O waited for the volume I/O scheduler.
+   * @param time
+   */
+  public void incBackgroundIOWaitTime(long time) {
+    backgroundIOWaitTime.incr(time);
+  }
+
+  /**
+   * Increment the number of groups of syncs committed.
+   */
+  public void incGroupCommits() {
+    groupCommits.incr();
+  }
+
+  /**
+   * Increment the number of syncs requested through group commit.
+   * @param count
+   */
+  public void incGroupCommitRequests(long count) {
+    groupCommitRequests.incr(count);
+  }
+
   /**
    * Returns total number of bytes read from the volume.
    * @return long
@@ -158,6 +242,86 @@ public long getWriteTime() {
     return writeTime.value();
   }
 
+  /**
+   * Returns number of chunk accesses served by an already open file.
+   * @return long
+   */
+  public long getOpenFileCacheHits() {
+    return openFileCacheHits.value();
+  }
+
+  /**
+   * Returns number of chunk accesses that had to open the file.
+   * @return long
+   */
+  public long getOpenFileCacheMisses() {
+    return openFileCacheMisses.value();
+  }
+
+  /**
+   * Returns number of open files closed due to size limit or idleness.
+   * @return long
+   */
+  public long getOpenFileCacheEvictions() {
+    return openFileCacheEvictions.value();
+  }
+
+  /**
+   * Returns number of sequential chunk reads served from read-ahead.
+   * @return long
+   */
+  public long getReadAheadHits() {
+    return readAheadHits.value();
+  }
+
+  /**
+   * Returns number of sequential chunk reads not read ahead in time.
+   * @return long
+   */
+  public long getReadAheadMisses() {
+    return readAheadMisses.value();
+  }
+
+  /**
+   * Returns total number of bytes read ahead from the volume.
+   * @return long
+   */
+  public long getReadAheadBytes() {
+    return readAheadBytes.value();
+  }
+
+  /**
+   * Returns number of bytes read ahead but discarded without being used.
+   * @return long
+   */
+  public long getReadAheadWastedBytes() {
+    return readAheadWastedBytes.value();
+  }
+
+  /**
+   * Returns total time background I/O waited for the volume I/O scheduler.
+   * @return long
+   */
+  public long getBackgroundIOWaitTime() {
+    return backgroundIOWaitTime.value();
+  }
+
+  /**
+   * Returns the number of groups of syncs committed.
+   * @return long
+   */
+  public long getGroupCommits() {
+    return groupCommits.value();
+  }
+
+  /**
+   * Returns the number of syncs requested through group commit.
+   * @return long
+   */
+  public long getGroupCommitRequests() {
+    return groupCommitRequests.value();
+  }
+
   @Metric
   public String getStorageDirectory() {
     return storageDirectory;
@@ -41,7 +41,7 @@
 import java.io.File;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import static java.lang.Math.max;
 import static org.apache.hadoop.ozone.OzoneConsts.BLOCK_COMMIT_SEQUENCE_ID;
@@ -86,7 +86,11 @@ public class KeyValueContainerData extends ContainerData {
   /**
    * Number of pending deletion blocks in KeyValueContainer.
    */
-  private final AtomicLong numPendingDeletionBlocks;
+  private volatile long numPendingDeletionBlocks;
+
+  private static final AtomicLongFieldUpdater<KeyValueContainerData>
+      PENDING_DELETION_BLOCKS = AtomicLongFieldUpdater.newUpdater(
+          KeyValueContainerData.class, "numPendingDeletionBlocks");
 
   private long deleteTransactionId;
 
@@ -112,7 +116,6 @@ public KeyValueContainerData(long id, ContainerLayoutVersion layoutVersion,
       long size, String originPipelineId, String originNodeId) {
     super(ContainerProtos.ContainerType.KeyValueContainer, id, layoutVersion,
         size, originPipelineId, originNodeId);
-    this.numPendingDeletionBlocks = new AtomicLong(0);
     this.deleteTransactionId = 0;
   }
 
@@ -120,7 +123,6 @@ public KeyValueContainerData(KeyValueContainerData source) {
     super(source);
     Preconditions.checkArgument(source.getContainerType()
         == ContainerProtos.ContainerType.KeyValueContainer);
-    this.numPendingDeletionBlocks = new AtomicLong(0);
     this.deleteTransactionId = 0;
     this.schemaVersion = source.getSchemaVersion();
   }
@@ -240,7 +242,7 @@ public void setContainerDBType(String containerDBType) {
    * @param numBlocks increment number
    */
   public void incrPendingDeletionBlocks(long numBlocks) {
-    this.numPendingDeletionBlocks.addAndGet(numBlocks);
+    PENDING_DELETION_BLOCKS.addAndGet(this, numBlocks);
   }
 
   /**
@@ -249,14 +251,14 @@ public void incrPendingDeletionBlocks(long numBlocks) {
    * @param numBlocks decrement number
    */
   public void decrPendingDeletionBlocks(long numBlocks) {
-    this.numPendingDeletionBlocks.addAndGet(-1 * numBlocks);
+    PENDING_DELETION_BLOCKS.addAndGet(this, -1 * numBlocks);
   }
 
   /**
    * Get the number of pending deletion blocks.
    */
   public long getNumPendingDeletionBlocks() {
-    return this.numPendingDeletionBlocks.get();
+    return this.numPendingDeletionBlocks;
   }
 
   /**
@@ -338,7 +340,7 @@ public void updateAndCommitDBCounters(DBHandle db,
 
   public void resetPendingDeleteBlockCount(DBHandle db) throws IOException {
     // Reset the in memory metadata.
-    numPendingDeletionBlocks.set(0);
+    numPendingDeletionBlocks = 0;
     // Reset the metadata on disk.
     Table<String, Long> metadataTable = db.getStore().getMetadataTable();
     metadataTable.put(getPendingDeleteBlockCountKey(), 0L);
@@ -817,8 +817,11 @@ ContainerCommandResponseProto handleWriteChunk(
       WriteChunkStage stage = dispatcherContext.getStage();
       if (stage == WriteChunkStage.WRITE_DATA ||
           stage == WriteChunkStage.COMBINED) {
-        data =
-            ChunkBuffer.wrap(writeChunk.getData().asReadOnlyByteBufferList());
+        data = dispatcherContext.getWriteChunkData();
+        if (data == null) {
+          data = ChunkBuffer.wrap(
+              writeChunk.getData().asReadOnlyByteBufferList());
+        }
         validateChunkChecksumData(data, chunkInfo);
       }
       chunkManager
@@ -1164,6 +1167,7 @@ public void closeContainer(Container container)
                 .getContainerID() + " while in " + state + " state.", error);
       }
       container.close();
+      chunkManager.closeFiles(container);
       ContainerLogger.logClosed(container.getContainerData());
       sendICR(container);
     } finally {
@@ -1353,6 +1357,7 @@ private void deleteInternal(Container container, boolean force)
         // 5. container content deleted from tmp folder
         try {
           container.markContainerForDelete();
+          chunkManager.closeFiles(container);
           long containerId = container.getContainerData().getContainerID();
           containerSet.removeContainer(containerId);
           ContainerLogger.logDeleted(container.getContainerData(), force);
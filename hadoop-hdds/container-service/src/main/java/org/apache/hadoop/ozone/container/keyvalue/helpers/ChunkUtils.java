@@ -24,6 +24,7 @@
 import java.io.InterruptedIOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.file.NoSuchFileException;
@@ -32,7 +33,10 @@
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileAttribute;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
@@ -42,6 +46,7 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.common.utils.BufferUtils;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.util.Time;
@@ -136,6 +141,7 @@ private static void writeData(ChunkBuffer data, String filename,
     long elapsed = endTime - startTime;
     if (volume != null) {
       volume.getVolumeIOStats().incWriteTime(elapsed);
+      volume.getIOScheduler().recordForeground(elapsed);
       volume.getVolumeIOStats().incWriteOpCount();
       volume.getVolumeIOStats().incWriteBytes(bytesWritten);
     }
@@ -219,6 +225,7 @@ public static void readData(File file, ByteBuffer[] buffers,
     long endTime = Time.monotonicNow();
     if (volume != null) {
       volume.getVolumeIOStats().incReadTime(endTime - startTime);
+      volume.getIOScheduler().recordForeground(endTime - startTime);
       volume.getVolumeIOStats().incReadOpCount();
       volume.getVolumeIOStats().incReadBytes(bytesRead);
     }
@@ -233,6 +240,113 @@ public static void readData(File file, ByteBuffer[] buffers,
     }
   }
 
+  /**
+   * Reads data from a chunk file already opened by the caller into a
+   * {@link ChunkBuffer}.  Uses positional reads only, so the channel may be
+   * shared with concurrent writers of other regions.
+   * <p>
+   * Reads of at least {@code mappedBufferThreshold} bytes are served from a
+   * read-only memory-mapped region of the file, sliced into buffers of
+   * {@code bufferCapacity} bytes, so the data is not copied onto the heap.
+   * Shorter reads, or all reads if the threshold is not positive, are copied
+   * into heap buffers.  The mapping stays valid after the channel is closed,
+   * and reflects later writes to the region, so the caller must only map
+   * files which are no longer written.
+   *
+   * @param channel open channel of the file where data lives
+   * @param filename name of the file, for logging
+   * @param bufferCapacity capacity of each buffer in the result
+   * @param offset position in the file to read from
+   * @param len number of bytes to read
+   * @param mappedBufferThreshold minimum read length to map, 0 to disable
+   * @param volume for statistics and checker
+   */
+  public static ChunkBuffer readData(FileChannel channel, String filename,
+      long bufferCapacity, long offset, long len, int mappedBufferThreshold,
+      HddsVolume volume) throws StorageContainerException {
+
+    final long startTime = Time.monotonicNow();
+    final ChunkBuffer data;
+    final long bytesRead;
+
+    try {
+      if (mappedBufferThreshold > 0 && len >= mappedBufferThreshold) {
+        // a read-only mapping cannot extend past the end of the file
+        final long available = Math.max(0, channel.size() - offset);
+        final MappedByteBuffer mapped = channel.map(
+            FileChannel.MapMode.READ_ONLY, offset, Math.min(len, available));
+        bytesRead = mapped.capacity();
+        data = wrapSlices(mapped, bufferCapacity);
+      } else {
+        final List<ByteBuffer> buffers = Arrays.asList(
+            BufferUtils.assignByteBuffers(len, bufferCapacity));
+        long pos = offset;
+        for (ByteBuffer buf : buffers) {
+          pos += readFully(channel, buf, pos);
+          buf.flip();
+        }
+        bytesRead = pos - offset;
+        data = ChunkBuffer.wrap(buffers);
+      }
+    } catch (IOException e) {
+      onFailure(volume);
+      throw wrapInStorageContainerException(e);
+    }
+
+    // Increment volumeIO stats here.
+    long endTime = Time.monotonicNow();
+    if (volume != null) {
+      volume.getVolumeIOStats().incReadTime(endTime - startTime);
+      volume.getIOScheduler().recordForeground(endTime - startTime);
+      volume.getVolumeIOStats().incReadOpCount();
+      volume.getVolumeIOStats().incReadBytes(bytesRead);
+    }
+
+    LOG.debug("Read {} bytes starting at offset {} from {}",
+        bytesRead, offset, filename);
+
+    validateReadSize(len, bytesRead);
+
+    return data;
+  }
+
+  /**
+   * Reads from the channel at the given position until the buffer is full
+   * or the end of file is reached, without changing the channel position.
+   *
+   * @return the number of bytes read
+   */
+  public static long readFully(FileChannel channel, ByteBuffer buffer,
+      long position) throws IOException {
+    long pos = position;
+    while (buffer.hasRemaining()) {
+      final int n = channel.read(buffer, pos);
+      if (n < 0) {
+        break;
+      }
+      pos += n;
+    }
+    return pos - position;
+  }
+
+  /**
+   * Wraps the remaining data of the buffer as a {@link ChunkBuffer} made of
+   * slices of at most {@code bufferCapacity} bytes, without copying.
+   */
+  public static ChunkBuffer wrapSlices(ByteBuffer buffer, long bufferCapacity) {
+    final List<ByteBuffer> slices = new ArrayList<>();
+    final ByteBuffer source = buffer.duplicate();
+    final int end = source.limit();
+    for (int pos = source.position(); pos < end;) {
+      final int size = (int) Math.min(bufferCapacity, end - pos);
+      source.limit(pos + size);
+      source.position(pos);
+      slices.add(source.slice());
+      pos += size;
+    }
+    return ChunkBuffer.wrap(slices);
+  }
+
   /**
    * Validates chunk data and returns a file object to Chunk File that we are
    * expected to write data to.
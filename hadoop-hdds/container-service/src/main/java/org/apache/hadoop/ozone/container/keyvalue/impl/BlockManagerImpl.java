@@ -32,10 +32,12 @@
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
+import org.apache.hadoop.ozone.container.metadata.DatanodeStore;
 
 import com.google.common.base.Preconditions;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.BCSID_MISMATCH;
@@ -60,6 +62,8 @@ public class BlockManagerImpl implements BlockManager {
 
   // Default Read Buffer capacity when Checksum is not present
   private final long defaultReadBufferCapacity;
+  // Minimum read length served from a memory-mapped region, 0 to disable
+  private final int readMappedBufferThreshold;
 
   /**
    * Constructs a Block Manager.
@@ -73,6 +77,10 @@ public BlockManagerImpl(ConfigurationSource conf) {
         ScmConfigKeys.OZONE_CHUNK_READ_BUFFER_DEFAULT_SIZE_KEY,
         ScmConfigKeys.OZONE_CHUNK_READ_BUFFER_DEFAULT_SIZE_DEFAULT,
         StorageUnit.BYTES);
+    this.readMappedBufferThreshold = (int) config.getStorageSize(
+        ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY,
+        ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_DEFAULT,
+        StorageUnit.BYTES);
   }
 
   /**
@@ -192,6 +200,12 @@ public static long persistPutBlock(KeyValueContainer container,
         db.getStore().getBatchHandler().commitBatchOperation(batch);
       }
 
+      HddsVolume volume = containerData.getVolume();
+      if (volume != null && volume.getGroupCommit().isEnabled()) {
+        DatanodeStore store = db.getStore();
+        volume.getGroupCommit().sync(store, () -> store.flushLog(true));
+      }
+
       if (bcsId != 0) {
         container.updateBlockCommitSequenceId(bcsId);
       }
@@ -291,6 +305,11 @@ public long getDefaultReadBufferCapacity() {
     return defaultReadBufferCapacity;
   }
 
+  @Override
+  public int getReadMappedBufferThreshold() {
+    return readMappedBufferThreshold;
+  }
+
   /**
    * Deletes an existing block.
    */
@@ -26,6 +26,7 @@
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
 import org.apache.hadoop.ozone.container.common.volume.VolumeSet;
@@ -59,11 +60,11 @@ public class ChunkManagerDispatcher implements ChunkManager {
       = new EnumMap<>(ContainerLayoutVersion.class);
 
   ChunkManagerDispatcher(boolean sync, BlockManager manager,
-                         VolumeSet volSet) {
+                         VolumeSet volSet, DatanodeConfiguration dnConf) {
     handlers.put(FILE_PER_CHUNK,
         new FilePerChunkStrategy(sync, manager, volSet));
     handlers.put(FILE_PER_BLOCK,
-        new FilePerBlockStrategy(sync, manager, volSet));
+        new FilePerBlockStrategy(sync, manager, volSet, dnConf));
   }
 
   @Override
@@ -97,6 +98,15 @@ public void finishWriteChunks(KeyValueContainer kvContainer,
         .finishWriteChunks(kvContainer, blockData);
   }
 
+  @Override
+  public void closeFiles(Container container) {
+    ChunkManager handler =
+        handlers.get(container.getContainerData().getLayoutVersion());
+    if (handler != null) {
+      handler.closeFiles(container);
+    }
+  }
+
   @Override
   public ChunkBuffer readChunk(Container container, BlockID blockID,
       ChunkInfo info, DispatcherContext dispatcherContext)
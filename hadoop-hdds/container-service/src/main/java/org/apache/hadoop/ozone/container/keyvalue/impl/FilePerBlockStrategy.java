@@ -19,26 +19,22 @@
 
 import com.google.common.base.Preconditions;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.google.common.collect.Lists;
-
 import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.hdds.client.BlockID;
-import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
-import org.apache.hadoop.ozone.common.utils.BufferUtils;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.volume.VolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+import org.apache.hadoop.ozone.container.keyvalue.impl.OpenFiles.OpenFile;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
@@ -48,14 +44,12 @@
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.time.Duration;
-import java.util.concurrent.ExecutionException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNSUPPORTED_REQUEST;
 import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.FILE_PER_BLOCK;
@@ -74,18 +68,59 @@ public class FilePerBlockStrategy implements ChunkManager {
       LoggerFactory.getLogger(FilePerBlockStrategy.class);
 
   private final boolean doSyncWrite;
-  private final OpenFiles files = new OpenFiles();
+  private final int maxOpenFiles;
+  private final Duration openFileIdleTimeout;
+  private final Map<HddsVolume, OpenFiles> volumeFiles =
+      new ConcurrentHashMap<>();
+  // for containers without volume, e.g. in tests
+  private final OpenFiles files;
+  private final boolean readAheadEnabled;
+  private final long readAheadCacheSize;
+  private final int readAheadThreads;
+  private final Map<HddsVolume, ReadAheadCache> volumeReadAhead =
+      new ConcurrentHashMap<>();
   private final long defaultReadBufferCapacity;
+  private final int readMappedBufferThreshold;
   private final VolumeSet volumeSet;
 
   public FilePerBlockStrategy(boolean sync, BlockManager manager,
                               VolumeSet volSet) {
+    this(sync, manager, volSet, new DatanodeConfiguration());
+  }
+
+  public FilePerBlockStrategy(boolean sync, BlockManager manager,
+      VolumeSet volSet, DatanodeConfiguration dnConf) {
     doSyncWrite = sync;
+    maxOpenFiles = dnConf.getChunkOpenFilesMax();
+    openFileIdleTimeout = dnConf.getChunkOpenFilesIdleTimeout();
+    files = new OpenFiles(maxOpenFiles, openFileIdleTimeout, null);
+    readAheadEnabled = dnConf.isReadAheadEnabled();
+    readAheadCacheSize = dnConf.getReadAheadCacheSize();
+    readAheadThreads = dnConf.getReadAheadThreadsPerVolume();
     this.defaultReadBufferCapacity = manager == null ? 0 :
         manager.getDefaultReadBufferCapacity();
+    this.readMappedBufferThreshold = manager == null ? 0 :
+        manager.getReadMappedBufferThreshold();
     this.volumeSet = volSet;
   }
 
+  private OpenFiles getOpenFiles(HddsVolume volume) {
+    if (volume == null) {
+      return files;
+    }
+    return volumeFiles.computeIfAbsent(volume, v -> new OpenFiles(
+        maxOpenFiles, openFileIdleTimeout, v.getVolumeIOStats()));
+  }
+
+  private ReadAheadCache getReadAhead(HddsVolume volume) {
+    if (!readAheadEnabled || volume == null) {
+      return null;
+    }
+    return volumeReadAhead.computeIfAbsent(volume, v -> new ReadAheadCache(
+        getOpenFiles(v), readAheadCacheSize, readAheadThreads,
+        v.getVolumeIOStats(), String.valueOf(v.getStorageID())));
+  }
+
   private static void checkLayoutVersion(Container container) {
     Preconditions.checkArgument(
         container.getContainerData().getLayoutVersion() == FILE_PER_BLOCK);
@@ -142,28 +177,39 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
 
     HddsVolume volume = containerData.getVolume();
 
-    FileChannel channel = null;
+    final OpenFile openFile;
     boolean overwrite;
     try {
-      channel = files.getChannel(chunkFile, doSyncWrite);
-      overwrite = validateChunkForOverwrite(channel, info);
-    } catch (IOException e) {
+      openFile = getOpenFiles(volume).acquireForWrite(chunkFile, doSyncWrite);
+    } catch (StorageContainerException e) {
       onFailure(volume);
       throw e;
     }
 
-    if (LOG.isDebugEnabled()) {
-      LOG.debug("Writing chunk {} (overwrite: {}) in stage {} to file {}",
-          info, overwrite, stage, chunkFile);
-    }
+    try {
+      final FileChannel channel = openFile.getChannel();
+      overwrite = validateChunkForOverwrite(channel, info);
 
-    // check whether offset matches block file length if its an overwrite
-    if (!overwrite) {
-      ChunkUtils.validateChunkSize(channel, info, chunkFile.getName());
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Writing chunk {} (overwrite: {}) in stage {} to file {}",
+            info, overwrite, stage, chunkFile);
+      }
+
+      // check whether offset matches block file length if its an overwrite
+      if (!overwrite) {
+        ChunkUtils.validateChunkSize(channel, info, chunkFile.getName());
+      }
+
+      ChunkUtils
+          .writeData(channel, chunkFile.getName(), data, offset, len, volume);
+    } finally {
+      openFile.release();
     }
 
-    ChunkUtils
-        .writeData(channel, chunkFile.getName(), data, offset, len, volume);
+    final ReadAheadCache readAhead = getReadAhead(volume);
+    if (readAhead != null) {
+      readAhead.invalidate(chunkFile);
+    }
 
     containerData.updateWriteStats(len, overwrite);
   }
@@ -194,12 +240,36 @@ public ChunkBuffer readChunk(Container container, BlockID blockID,
     long bufferCapacity =  ChunkManager.getBufferCapacityForChunkRead(info,
         defaultReadBufferCapacity);
 
-    ByteBuffer[] dataBuffers = BufferUtils.assignByteBuffers(len,
-        bufferCapacity);
+    final ReadAheadCache readAhead = getReadAhead(volume);
+    if (readAhead != null) {
+      final ByteBuffer cached = readAhead.read(chunkFile, offset, len);
+      if (cached != null) {
+        return ChunkUtils.wrapSlices(cached, bufferCapacity);
+      }
+    }
+
+    final OpenFile openFile;
+    try {
+      openFile = getOpenFiles(volume).acquireForRead(chunkFile);
+    } catch (StorageContainerException e) {
+      onFailure(volume);
+      throw e;
+    }
 
-    ChunkUtils.readData(chunkFile, dataBuffers, offset, len, volume);
+    // The mapped data is sent after the file is released, only map files
+    // which can no longer be overwritten.
+    final int mappedBufferThreshold = isImmutable(containerData)
+        ? readMappedBufferThreshold : 0;
+    try {
+      return ChunkUtils.readData(openFile.getChannel(), chunkFile.getName(),
+          bufferCapacity, offset, len, mappedBufferThreshold, volume);
+    } finally {
+      openFile.release();
+    }
+  }
 
-    return ChunkBuffer.wrap(Lists.newArrayList(dataBuffers));
+  private static boolean isImmutable(KeyValueContainerData containerData) {
+    return containerData.isClosed() || containerData.isQuasiClosed();
   }
 
   @Override
@@ -219,7 +289,7 @@ public void finishWriteChunks(KeyValueContainer container,
       BlockData blockData) throws IOException {
     File chunkFile = getChunkFile(container, blockData.getBlockID(), null);
     try {
-      files.close(chunkFile);
+      getOpenFiles(container.getContainerData().getVolume()).close(chunkFile);
       verifyChunkFileExists(chunkFile);
     } catch (IOException e) {
       onFailure(container.getContainerData().getVolume());
@@ -227,6 +297,26 @@ public void finishWriteChunks(KeyValueContainer container,
     }
   }
 
+  @Override
+  public void closeFiles(Container container) {
+    ContainerData containerData = container.getContainerData();
+    if (containerData.getChunksPath() != null) {
+      File chunksDir = new File(containerData.getChunksPath());
+      getOpenFiles(containerData.getVolume()).closeAll(chunksDir);
+      ReadAheadCache readAhead = getReadAhead(containerData.getVolume());
+      if (readAhead != null) {
+        readAhead.invalidateAll(chunksDir);
+      }
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    volumeReadAhead.values().forEach(ReadAheadCache::shutdown);
+    files.closeAll();
+    volumeFiles.values().forEach(OpenFiles::closeAll);
+  }
+
   private void deleteChunk(Container container, BlockID blockID,
       ChunkInfo info, boolean verifyLength)
       throws StorageContainerException {
@@ -250,6 +340,12 @@ private void deleteChunk(Container container, BlockID blockID,
       checkFullDelete(info, file);
     }
 
+    HddsVolume volume = container.getContainerData().getVolume();
+    getOpenFiles(volume).close(file);
+    ReadAheadCache readAhead = getReadAhead(volume);
+    if (readAhead != null) {
+      readAhead.invalidate(file);
+    }
     FileUtil.fullyDelete(file);
     LOG.info("Deleted block file: {}", file);
   }
@@ -271,82 +367,4 @@ private static void checkFullDelete(ChunkInfo info, File chunkFile)
       throw new StorageContainerException(msg, UNSUPPORTED_REQUEST);
     }
   }
-
-  private static final class OpenFiles {
-
-    private static final RemovalListener<String, OpenFile> ON_REMOVE =
-        event -> close(event.getKey(), event.getValue());
-
-    private final Cache<String, OpenFile> files = CacheBuilder.newBuilder()
-        .expireAfterAccess(Duration.ofMinutes(10))
-        .removalListener(ON_REMOVE)
-        .build();
-
-    public FileChannel getChannel(File file, boolean sync)
-        throws StorageContainerException {
-      try {
-        return files.get(file.getPath(),
-            () -> open(file, sync)).getChannel();
-      } catch (ExecutionException e) {
-        if (e.getCause() instanceof IOException) {
-          throw new UncheckedIOException((IOException) e.getCause());
-        }
-        throw new StorageContainerException(e.getCause(),
-            ContainerProtos.Result.CONTAINER_INTERNAL_ERROR);
-      }
-    }
-
-    private static OpenFile open(File file, boolean sync) {
-      try {
-        return new OpenFile(file, sync);
-      } catch (FileNotFoundException e) {
-        throw new UncheckedIOException(e);
-      }
-    }
-
-    public void close(File file) {
-      if (file != null) {
-        files.invalidate(file.getPath());
-      }
-    }
-
-    private static void close(String filename, OpenFile openFile) {
-      if (openFile != null) {
-        if (LOG.isDebugEnabled()) {
-          LOG.debug("Closing file {}", filename);
-        }
-        openFile.close();
-      } else {
-        if (LOG.isDebugEnabled()) {
-          LOG.debug("File {} not open", filename);
-        }
-      }
-    }
-  }
-
-  private static final class OpenFile {
-
-    private final RandomAccessFile file;
-
-    private OpenFile(File file, boolean sync) throws FileNotFoundException {
-      String mode = sync ? "rws" : "rw";
-      this.file = new RandomAccessFile(file, mode);
-      if (LOG.isDebugEnabled()) {
-        LOG.debug("Opened file {}", file);
-      }
-    }
-
-    public FileChannel getChannel() {
-      return file.getChannel();
-    }
-
-    public void close() {
-      try {
-        file.close();
-      } catch (IOException e) {
-        throw new UncheckedIOException(e);
-      }
-    }
-  }
-
 }
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.CONTAINER_INTERNAL_ERROR;
+
+/**
+ * Bounded cache of open block file handles of a volume, shared by chunk
+ * reads and writes.  Handles are reference counted: a handle evicted or
+ * invalidated while in use is closed only after its last user releases it.
+ */
+final class OpenFiles {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OpenFiles.class);
+
+  private static final Set<StandardOpenOption> READ_OPTIONS =
+      EnumSet.of(StandardOpenOption.READ);
+  private static final Set<StandardOpenOption> WRITE_OPTIONS =
+      EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+  private static final Set<StandardOpenOption> SYNC_WRITE_OPTIONS =
+      EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+
+  private final Cache<String, OpenFile> files;
+  private final VolumeIOStats stats;
+
+  OpenFiles(int maxOpenFiles, Duration idleTimeout, VolumeIOStats stats) {
+    this.stats = stats;
+    this.files = CacheBuilder.newBuilder()
+        .maximumSize(maxOpenFiles)
+        .expireAfterAccess(idleTimeout)
+        .removalListener(this::onRemove)
+        .build();
+  }
+
+  /**
+   * Returns a handle of the file that can be written, creating the file if
+   * it does not exist.  The caller must {@link OpenFile#release()} it.
+   */
+  OpenFile acquireForWrite(File file, boolean sync)
+      throws StorageContainerException {
+    return acquire(file, true, sync);
+  }
+
+  /**
+   * Returns a handle of the existing file for reading, which may be the one
+   * opened for writing.  The caller must {@link OpenFile#release()} it.
+   */
+  OpenFile acquireForRead(File file) throws StorageContainerException {
+    return acquire(file, false, false);
+  }
+
+  private OpenFile acquire(File file, boolean write, boolean sync)
+      throws StorageContainerException {
+    final String key = file.getPath();
+    for (;;) {
+      OpenFile openFile = files.getIfPresent(key);
+      if (openFile == null) {
+        if (stats != null) {
+          stats.incOpenFileCacheMisses();
+        }
+        try {
+          openFile = files.get(key, () -> OpenFile.open(file, write, sync));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+          if (e.getCause() instanceof IOException) {
+            throw ChunkUtils.wrapInStorageContainerException(
+                (IOException) e.getCause());
+          }
+          throw new StorageContainerException(e.getCause(),
+              CONTAINER_INTERNAL_ERROR);
+        }
+      } else if (stats != null) {
+        stats.incOpenFileCacheHits();
+      }
+
+      if (write && !openFile.isWritable()) {
+        // opened by a reader, reopen for writing
+        files.asMap().remove(key, openFile);
+      } else if (openFile.retain()) {
+        return openFile;
+      }
+      // otherwise closed concurrently, retry
+    }
+  }
+
+  /** Closes the handle of the file once no longer in use. */
+  void close(File file) {
+    if (file != null) {
+      files.invalidate(file.getPath());
+    }
+  }
+
+  /** Closes the handles of all files in the directory once not in use. */
+  void closeAll(File dir) {
+    final String prefix = dir.getPath() + File.separator;
+    final List<String> keys = files.asMap().keySet().stream()
+        .filter(key -> key.startsWith(prefix))
+        .collect(Collectors.toList());
+    files.invalidateAll(keys);
+  }
+
+  /** Closes all handles once not in use. */
+  void closeAll() {
+    files.invalidateAll();
+  }
+
+  private void onRemove(RemovalNotification<String, OpenFile> event) {
+    if (event.wasEvicted() && stats != null) {
+      stats.incOpenFileCacheEvictions();
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Closing file {} ({})", event.getKey(), event.getCause());
+    }
+    event.getValue().release();
+  }
+
+  /**
+   * Reference counted file handle.  The cache holds one reference, which is
+   * released when the handle is removed from the cache.
+   */
+  static final class OpenFile {
+
+    private final String filename;
+    private final FileChannel channel;
+    private final boolean writable;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    private OpenFile(File file, FileChannel channel, boolean writable) {
+      this.filename = file.getPath();
+      this.channel = channel;
+      this.writable = writable;
+    }
+
+    private static OpenFile open(File file, boolean write, boolean sync)
+        throws IOException {
+      final Set<StandardOpenOption> options = !write ? READ_OPTIONS
+          : sync ? SYNC_WRITE_OPTIONS : WRITE_OPTIONS;
+      final FileChannel channel = FileChannel.open(file.toPath(), options);
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Opened file {} for {}", file, write ? "write" : "read");
+      }
+      return new OpenFile(file, channel, write);
+    }
+
+    FileChannel getChannel() {
+      return channel;
+    }
+
+    boolean isWritable() {
+      return writable;
+    }
+
+    private boolean retain() {
+      for (;;) {
+        final int count = refCount.get();
+        if (count == 0) {
+          return false;
+        }
+        if (refCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /** Releases a reference, closing the file when none is left. */
+    void release() {
+      if (refCount.decrementAndGet() == 0) {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close file {}", filename, e);
+        }
+      }
+    }
+  }
+}
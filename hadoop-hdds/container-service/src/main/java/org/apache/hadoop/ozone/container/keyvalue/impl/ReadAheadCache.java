@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+import org.apache.hadoop.ozone.container.keyvalue.impl.OpenFiles.OpenFile;
+import org.apache.hadoop.util.Time;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Read-ahead for sequential chunk reads of the block files of a volume.
+ * <p>
+ * When a chunk read of a block file starts where the previous read of the
+ * same file ended, the region of the same length that follows is read in
+ * the background into a direct buffer, so that the next read of the
+ * sequence is served from memory instead of waiting for the disk.  Data
+ * read ahead is held until it is requested, the file is written, or it is
+ * evicted to stay within the memory budget of the volume.
+ */
+final class ReadAheadCache {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ReadAheadCache.class);
+
+  private static final Duration EXPIRY = Duration.ofMinutes(1);
+  private static final int MAX_PENDING_READS = 64;
+
+  private final OpenFiles files;
+  private final VolumeIOStats stats;
+  private final ThreadPoolExecutor executor;
+  // offset where the next sequential read of each file is expected
+  private final Cache<String, Long> nextOffsets;
+  private final Cache<Region, Prefetch> regions;
+
+  ReadAheadCache(OpenFiles files, long maxBytes, int threads,
+      VolumeIOStats stats, String name) {
+    this.files = files;
+    this.stats = stats;
+    this.executor = new ThreadPoolExecutor(threads, threads,
+        60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_PENDING_READS),
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("ReadAhead-" + name + "-%d").build());
+    executor.allowCoreThreadTimeOut(true);
+    this.nextOffsets = CacheBuilder.newBuilder()
+        .maximumSize(MAX_PENDING_READS * 16)
+        .expireAfterAccess(EXPIRY)
+        .build();
+    this.regions = CacheBuilder.newBuilder()
+        .maximumWeight(maxBytes)
+        .<Region, Prefetch>weigher((region, prefetch) -> prefetch.length)
+        .expireAfterWrite(EXPIRY)
+        .removalListener(this::onRemove)
+        .build();
+  }
+
+  /**
+   * Records a read of the file and starts reading ahead if the reads of the
+   * file are sequential.
+   *
+   * @return the data of the region if it was read ahead, or null if it has
+   * to be read from the file
+   */
+  ByteBuffer read(File file, long offset, long len) {
+    final String path = file.getPath();
+    final Long expected = nextOffsets.getIfPresent(path);
+    final boolean sequential = expected != null && expected == offset;
+    nextOffsets.put(path, offset + len);
+
+    if (sequential) {
+      readAhead(file, offset + len, len);
+    }
+
+    final Region region = new Region(path, offset);
+    final Prefetch prefetch = regions.getIfPresent(region);
+    ByteBuffer data = null;
+    if (prefetch != null && prefetch.claim()) {
+      regions.asMap().remove(region, prefetch);
+      data = prefetch.await();
+    }
+    if (data == null || data.remaining() < len) {
+      if (data != null) {
+        wasted(data);
+      }
+      if (sequential && stats != null) {
+        stats.incReadAheadMisses();
+      }
+      return null;
+    }
+
+    if (stats != null) {
+      stats.incReadAheadHits();
+    }
+    data.limit(data.position() + (int) len);
+    return data.slice();
+  }
+
+  /** Discards data read ahead from the file, e.g. because it is written. */
+  void invalidate(File file) {
+    final String path = file.getPath();
+    nextOffsets.invalidate(path);
+    if (regions.size() > 0) {
+      invalidate(region -> region.path.equals(path));
+    }
+  }
+
+  /** Discards data read ahead from files in the directory. */
+  void invalidateAll(File dir) {
+    final String prefix = dir.getPath() + File.separator;
+    invalidate(region -> region.path.startsWith(prefix));
+  }
+
+  private void invalidate(Predicate<Region> filter) {
+    final List<Region> keys = regions.asMap().keySet().stream()
+        .filter(filter)
+        .collect(Collectors.toList());
+    regions.invalidateAll(keys);
+  }
+
+  void shutdown() {
+    // let pending reads complete, readers may be waiting for them
+    executor.shutdown();
+    regions.invalidateAll();
+  }
+
+  private void readAhead(File file, long offset, long len) {
+    final Region region = new Region(file.getPath(), offset);
+    final Prefetch prefetch = new Prefetch((int) len);
+    if (regions.asMap().putIfAbsent(region, prefetch) != null) {
+      return;
+    }
+    try {
+      executor.execute(() -> {
+        ByteBuffer buffer = null;
+        try {
+          buffer = readRegion(file, offset, len);
+        } finally {
+          prefetch.complete(buffer);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Skip read-ahead of {} at {}, too many pending reads",
+          file, offset);
+      regions.asMap().remove(region, prefetch);
+      prefetch.complete(null);
+    }
+  }
+
+  private ByteBuffer readRegion(File file, long offset, long len) {
+    final long startTime = Time.monotonicNow();
+    OpenFile openFile = null;
+    try {
+      openFile = files.acquireForRead(file);
+      final long available = openFile.getChannel().size() - offset;
+      if (available <= 0) {
+        return null;
+      }
+      final ByteBuffer buffer =
+          ByteBuffer.allocateDirect((int) Math.min(len, available));
+      final long bytesRead =
+          ChunkUtils.readFully(openFile.getChannel(), buffer, offset);
+      buffer.flip();
+
+      if (stats != null) {
+        stats.incReadTime(Time.monotonicNow() - startTime);
+        stats.incReadOpCount();
+        stats.incReadBytes(bytesRead);
+        stats.incReadAheadBytes(bytesRead);
+      }
+      return buffer;
+    } catch (IOException e) {
+      // the read of the region itself will report the failure
+      LOG.debug("Failed read-ahead of {} at {}", file, offset, e);
+      return null;
+    } finally {
+      if (openFile != null) {
+        openFile.release();
+      }
+    }
+  }
+
+  private void onRemove(RemovalNotification<Region, Prefetch> event) {
+    event.getValue().discard();
+  }
+
+  private void wasted(ByteBuffer buffer) {
+    if (buffer != null && stats != null) {
+      stats.incReadAheadWastedBytes(buffer.remaining());
+    }
+  }
+
+  /** Position of data read ahead in a file. */
+  private static final class Region {
+    private final String path;
+    private final long offset;
+
+    private Region(String path, long offset) {
+      this.path = path;
+      this.offset = offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Region)) {
+        return false;
+      }
+      Region other = (Region) o;
+      return offset == other.offset && path.equals(other.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, offset);
+    }
+  }
+
+  /** Data read ahead, either claimed by a read or discarded. */
+  private final class Prefetch {
+    private final int length;
+    private final CompletableFuture<ByteBuffer> data =
+        new CompletableFuture<>();
+    private boolean claimed;
+    private boolean discarded;
+
+    private Prefetch(int length) {
+      this.length = length;
+    }
+
+    private void complete(ByteBuffer buffer) {
+      final boolean unused;
+      synchronized (this) {
+        data.complete(buffer);
+        unused = discarded;
+      }
+      if (unused) {
+        wasted(buffer);
+      }
+    }
+
+    private synchronized boolean claim() {
+      if (discarded) {
+        return false;
+      }
+      claimed = true;
+      return true;
+    }
+
+    /** Waits for the data to be read, returns null on failure. */
+    private ByteBuffer await() {
+      try {
+        return data.get();
+      } catch (ExecutionException e) {
+        return null;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+    }
+
+    private void discard() {
+      final ByteBuffer buffer;
+      synchronized (this) {
+        if (claimed || discarded) {
+          return;
+        }
+        discarded = true;
+        buffer = data.getNow(null);
+      }
+      wasted(buffer);
+    }
+  }
+}
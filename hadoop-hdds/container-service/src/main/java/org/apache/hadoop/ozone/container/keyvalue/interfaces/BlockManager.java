@@ -92,6 +92,12 @@ long getCommittedBlockLength(Container container, BlockID blockID)
 
   long getDefaultReadBufferCapacity();
 
+  /**
+   * Returns the minimum chunk read length served from a memory-mapped
+   * region of the chunk file, or 0 if memory-mapped reads are disabled.
+   */
+  int getReadMappedBufferThreshold();
+
   /**
    * Shutdown ContainerManager.
    */
@@ -106,6 +106,14 @@ default void finishWriteChunks(KeyValueContainer kvContainer,
     // no-op
   }
 
+  /**
+   * Closes file handles held open for chunks of the container, called when
+   * the container is closed or deleted.
+   */
+  default void closeFiles(Container container) {
+    // no-op
+  }
+
   default String streamInit(Container container, BlockID blockID)
       throws StorageContainerException {
     return null;
@@ -19,6 +19,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -41,6 +42,8 @@
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.interfaces.Handler;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
@@ -66,6 +69,9 @@ public class BlockDeletingTask implements BackgroundTask {
   private static final Logger LOG =
       LoggerFactory.getLogger(BlockDeletingTask.class);
 
+  // I/O cost of deleting the files of a block for the volume I/O scheduler
+  private static final long BLOCK_DELETE_IO_COST = 1024 * 1024;
+
   private final BlockDeletingServiceMetrics metrics;
   private final int priority;
   private final KeyValueContainerData containerData;
@@ -89,6 +95,20 @@ public BlockDeletingTask(
     this.blocksToDelete = containerBlockInfo.getNumBlocksToDelete();
   }
 
+  private void scheduleBlockDelete() throws InterruptedIOException {
+    HddsVolume volume = containerData.getVolume();
+    if (volume == null) {
+      return;
+    }
+    try {
+      volume.getIOScheduler().acquire(IOClass.DELETION, BLOCK_DELETE_IO_COST);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to delete"
+          + " blocks of container " + containerData.getContainerID());
+    }
+  }
+
   private static class ContainerBackgroundTaskResult
       implements BackgroundTaskResult {
     private List<String> deletedBlockIds;
@@ -213,6 +233,7 @@ public ContainerBackgroundTaskResult deleteViaSchema1(
           continue;
         }
         try {
+          scheduleBlockDelete();
           handler.deleteBlock(container, entry.getValue());
           releasedBytes += KeyValueContainerUtil.getBlockLength(
               entry.getValue());
@@ -437,6 +458,7 @@ private DeleteTransactionStats deleteTransactions(
         LOG.debug("Deleting block {}", blkLong);
         if (blkInfo == null) {
           try {
+            scheduleBlockDelete();
             handler.deleteUnreferenced(container, blkLong);
           } catch (IOException e) {
             LOG.error("Failed to delete files for unreferenced block {} of" +
@@ -450,6 +472,7 @@ private DeleteTransactionStats deleteTransactions(
 
         boolean deleted = false;
         try {
+          scheduleBlockDelete();
           handler.deleteBlock(container, blkInfo);
           blocksDeleted++;
           deleted = true;
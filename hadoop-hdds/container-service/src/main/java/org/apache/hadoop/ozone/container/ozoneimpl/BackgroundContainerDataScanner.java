@@ -24,6 +24,7 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -156,6 +157,7 @@ public synchronized void throttle(long numOfBytes) {
       BackgroundContainerDataScanner.this.metrics.incNumBytesScanned(
           numOfBytes);
       super.throttle(numOfBytes);
+      schedule(numOfBytes);
     }
 
     @Override
@@ -163,6 +165,16 @@ public synchronized void throttle(long numOfBytes, Canceler c) {
       BackgroundContainerDataScanner.this.metrics.incNumBytesScanned(
           numOfBytes);
       super.throttle(numOfBytes, c);
+      schedule(numOfBytes);
+    }
+
+    private void schedule(long numOfBytes) {
+      try {
+        volume.getIOScheduler().acquire(IOClass.SCANNER, numOfBytes);
+      } catch (InterruptedException e) {
+        // keep the interrupt for the scanner thread to stop
+        Thread.currentThread().interrupt();
+      }
     }
   }
 }
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+
+/**
+ * Index of the containers of a volume, written when the datanode stops and
+ * read on the next start instead of walking the container directories.
+ * <p>
+ * Closed, quasi-closed and unhealthy containers are indexed with all their
+ * metadata, including the counters otherwise read from the container DB,
+ * so that they can be loaded without touching their files. These
+ * containers do not change while the datanode is stopped. Other containers
+ * are indexed by ID and location only, and are loaded from their
+ * .container file and DB as before.
+ * <p>
+ * The index is only valid for the start right after it was written: it is
+ * deleted when read, so that a datanode that does not stop cleanly falls
+ * back to the scan of the volume on its next start.
+ */
+public final class ContainerIndex {
+
+  static final String FILE_NAME = "container.index";
+
+  private static final int MAGIC = 0x4f434958;
+  private static final int VERSION = 1;
+
+  private final List<KeyValueContainerData> containers;
+  private final List<File> containerDirs;
+
+  private ContainerIndex(List<KeyValueContainerData> containers,
+      List<File> containerDirs) {
+    this.containers = containers;
+    this.containerDirs = containerDirs;
+  }
+
+  /** Containers loaded from the index with all their metadata. */
+  public List<KeyValueContainerData> getContainers() {
+    return Collections.unmodifiableList(containers);
+  }
+
+  /** Directories of the containers to load from disk. */
+  public List<File> getContainerDirs() {
+    return Collections.unmodifiableList(containerDirs);
+  }
+
+  public static File getFile(HddsVolume volume) {
+    return new File(volume.getHddsRootDir(), FILE_NAME);
+  }
+
+  static boolean isIndexed(State state) {
+    return state == State.CLOSED || state == State.QUASI_CLOSED
+        || state == State.UNHEALTHY;
+  }
+
+  /**
+   * Writes the index of the given containers of the volume, replacing any
+   * existing index.
+   */
+  public static void write(HddsVolume volume,
+      Iterable<Container<?>> containers) throws IOException {
+    final File file = getFile(volume);
+    final File tmp = new File(file.getPath() + ".tmp");
+    final CRC32 crc = new CRC32();
+    try (FileOutputStream fos = new FileOutputStream(tmp);
+         CheckedOutputStream checked = new CheckedOutputStream(
+             new BufferedOutputStream(fos), crc);
+         DataOutputStream out = new DataOutputStream(checked)) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      for (Container<?> container : containers) {
+        if (container.getContainerData() instanceof KeyValueContainerData) {
+          out.writeBoolean(true);
+          writeContainer(out,
+              (KeyValueContainerData) container.getContainerData());
+        }
+      }
+      out.writeBoolean(false);
+      out.flush();
+      out.writeLong(crc.getValue());
+      out.flush();
+      fos.getFD().sync();
+    }
+    Files.move(tmp.toPath(), file.toPath(),
+        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static void writeContainer(DataOutputStream out,
+      KeyValueContainerData data) throws IOException {
+    // read the state once, it may change concurrently
+    final State state = data.getState();
+    out.writeLong(data.getContainerID());
+    out.writeUTF(data.getMetadataPath());
+    out.writeBoolean(isIndexed(state));
+    if (!isIndexed(state)) {
+      return;
+    }
+    out.writeInt(data.getLayoutVersion().getVersion());
+    out.writeLong(data.getMaxSize());
+    writeString(out, data.getOriginPipelineId());
+    writeString(out, data.getOriginNodeId());
+    writeString(out, data.getContainerDBType());
+    writeString(out, data.getChunksPath());
+    out.writeInt(data.getMetadata().size());
+    for (Map.Entry<String, String> entry : data.getMetadata().entrySet()) {
+      out.writeUTF(entry.getKey());
+      out.writeUTF(entry.getValue());
+    }
+    writeString(out, data.getChecksum());
+    final Long timestamp = data.getDataScanTimestamp();
+    out.writeLong(timestamp != null ? timestamp : -1);
+    out.writeUTF(state.name());
+    writeString(out, data.getSchemaVersion());
+    out.writeInt(data.getReplicaIndex());
+    out.writeLong(data.getBlockCommitSequenceId());
+    out.writeLong(data.getBytesUsed());
+    out.writeLong(data.getBlockCount());
+    out.writeLong(data.getNumPendingDeletionBlocks());
+    out.writeLong(data.getDeleteTransactionId());
+    out.writeBoolean(data.isEmpty());
+  }
+
+  /**
+   * Reads the index of the volume and deletes it.
+   *
+   * @return the index, or null if the volume has none
+   * @throws IOException if the index cannot be read or deleted
+   */
+  public static ContainerIndex readAndDelete(HddsVolume volume)
+      throws IOException {
+    final File file = getFile(volume);
+    if (!file.exists()) {
+      return null;
+    }
+    // moved first, so that it is not read again even if it cannot be deleted
+    final File loading = new File(file.getPath() + ".loading");
+    Files.move(file.toPath(), loading.toPath(),
+        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    try {
+      return read(loading);
+    } finally {
+      Files.deleteIfExists(loading.toPath());
+    }
+  }
+
+  /** Deletes the index of the volume, if any. */
+  public static void delete(HddsVolume volume) throws IOException {
+    Files.deleteIfExists(getFile(volume).toPath());
+  }
+
+  static ContainerIndex read(File file) throws IOException {
+    final List<KeyValueContainerData> containers = new ArrayList<>();
+    final List<File> containerDirs = new ArrayList<>();
+    final CRC32 crc = new CRC32();
+    try (InputStream fis = new FileInputStream(file);
+         CheckedInputStream checked = new CheckedInputStream(
+             new BufferedInputStream(fis), crc);
+         DataInputStream in = new DataInputStream(checked)) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        throw new IOException("Unsupported container index " + file);
+      }
+      while (in.readBoolean()) {
+        final long containerID = in.readLong();
+        final String metadataPath = in.readUTF();
+        if (in.readBoolean()) {
+          containers.add(readContainer(in, containerID, metadataPath));
+        } else {
+          containerDirs.add(new File(metadataPath).getParentFile());
+        }
+      }
+      final long expected = crc.getValue();
+      if (in.readLong() != expected) {
+        throw new IOException("Checksum mismatch in container index "
+            + file);
+      }
+    }
+    return new ContainerIndex(containers, containerDirs);
+  }
+
+  private static KeyValueContainerData readContainer(DataInputStream in,
+      long containerID, String metadataPath) throws IOException {
+    final ContainerLayoutVersion layoutVersion =
+        ContainerLayoutVersion.getContainerLayoutVersion(in.readInt());
+    final long maxSize = in.readLong();
+    final String originPipelineId = readString(in);
+    final String originNodeId = readString(in);
+    final KeyValueContainerData data = new KeyValueContainerData(
+        containerID, layoutVersion, maxSize, originPipelineId, originNodeId);
+
+    data.setContainerDBType(readString(in));
+    data.setMetadataPath(metadataPath);
+    data.setChunksPath(readString(in));
+    for (int i = in.readInt(); i > 0; i--) {
+      data.addMetadata(in.readUTF(), in.readUTF());
+    }
+    data.setChecksum(readString(in));
+    final long timestamp = in.readLong();
+    data.setDataScanTimestamp(timestamp >= 0 ? timestamp : null);
+    data.setState(State.valueOf(in.readUTF()));
+    data.setSchemaVersion(readString(in));
+    data.setReplicaIndex(in.readInt());
+    data.updateBlockCommitSequenceId(in.readLong());
+    data.setBytesUsed(in.readLong());
+    data.setBlockCount(in.readLong());
+    data.incrPendingDeletionBlocks(in.readLong());
+    data.updateDeleteTransactionId(in.readLong());
+    if (in.readBoolean()) {
+      data.markAsEmpty();
+    }
+    return data;
+  }
+
+  private static void writeString(DataOutputStream out, String value)
+      throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+}
@@ -20,6 +20,11 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -39,6 +44,7 @@
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
     .ContainerDataProto.State.RECOVERING;
 
+import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerLocationUtil;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,7 +72,11 @@
  * the {@literal <<dataPath>>} layout for KeyValueContainers is:
  * <p>{@literal ../hdds/<<clusterUuid>>/current/<<containerDir>>/<<KVcontainerID
  * >/chunks/<<chunksFile>>}
- *
+ * <p>
+ * If an executor is given, the containers are loaded by its threads while
+ * the directories are walked, see {@link #awaitLoaded()}. If enabled, the
+ * containers are loaded from the {@link ContainerIndex} of the volume
+ * instead of walking the directories, when the volume has one.
  */
 public class ContainerReader implements Runnable {
 
@@ -78,10 +88,20 @@ public class ContainerReader implements Runnable {
   private final File hddsVolumeDir;
   private final MutableVolumeSet volumeSet;
   private final boolean shouldDeleteRecovering;
+  private final ExecutorService executor;
+  private final boolean useIndex;
+  private final List<Future<?>> pendingLoads = new ArrayList<>();
 
   public ContainerReader(
       MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
       ConfigurationSource conf, boolean shouldDeleteRecovering) {
+    this(volSet, volume, cset, conf, shouldDeleteRecovering, null, false);
+  }
+
+  public ContainerReader(
+      MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
+      ConfigurationSource conf, boolean shouldDeleteRecovering,
+      ExecutorService executor, boolean useIndex) {
     Preconditions.checkNotNull(volume);
     this.hddsVolume = volume;
     this.hddsVolumeDir = hddsVolume.getHddsRootDir();
@@ -89,6 +109,8 @@ public ContainerReader(
     this.config = conf;
     this.volumeSet = volSet;
     this.shouldDeleteRecovering = shouldDeleteRecovering;
+    this.executor = executor;
+    this.useIndex = useIndex;
   }
 
   @Override
@@ -145,6 +167,11 @@ public void readVolume(File hddsVolumeRootDir) {
       }
 
       LOG.info("Start to verify containers on volume {}", hddsVolumeRootDir);
+      if (readIndex()) {
+        LOG.info("Loaded containers of volume {} from its index",
+            hddsVolumeRootDir);
+        return;
+      }
       File currentDir = new File(idDir, Storage.STORAGE_DIR_CURRENT);
       File[] containerTopDirs = currentDir.listFiles();
       if (containerTopDirs != null) {
@@ -153,21 +180,7 @@ public void readVolume(File hddsVolumeRootDir) {
             File[] containerDirs = containerTopDir.listFiles();
             if (containerDirs != null) {
               for (File containerDir : containerDirs) {
-                try {
-                  File containerFile = ContainerUtils.getContainerFile(
-                      containerDir);
-                  long containerID =
-                      ContainerUtils.getContainerID(containerDir);
-                  if (containerFile.exists()) {
-                    verifyContainerFile(containerID, containerFile);
-                  } else {
-                    LOG.error("Missing .container file for ContainerID: {}",
-                        containerDir.getName());
-                  }
-                } catch (Throwable e) {
-                  LOG.error("Failed to load container from {}",
-                      containerDir.getAbsolutePath(), e);
-                }
+                submitContainerDir(containerDir);
               }
             }
           }
@@ -177,6 +190,84 @@ public void readVolume(File hddsVolumeRootDir) {
     LOG.info("Finish verifying containers on volume {}", hddsVolumeRootDir);
   }
 
+  /**
+   * Waits until the containers submitted to the executor are loaded.
+   */
+  public void awaitLoaded() throws InterruptedException {
+    for (Future<?> future : pendingLoads) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        LOG.error("Failed to load container on volume {}", hddsVolumeDir,
+            e.getCause());
+      }
+    }
+    pendingLoads.clear();
+  }
+
+  /**
+   * Loads the containers from the index of the volume, if it has one.
+   * @return whether the containers were loaded from the index
+   */
+  private boolean readIndex() {
+    final ContainerIndex index;
+    try {
+      if (!useIndex) {
+        // a stale index must not be used if it is enabled again later
+        ContainerIndex.delete(hddsVolume);
+        return false;
+      }
+      index = ContainerIndex.readAndDelete(hddsVolume);
+    } catch (IOException e) {
+      LOG.warn("Failed to read the container index of volume {}, scanning"
+          + " the volume instead", hddsVolumeDir, e);
+      return false;
+    }
+    if (index == null) {
+      return false;
+    }
+    for (KeyValueContainerData containerData : index.getContainers()) {
+      try {
+        containerData.setVolume(hddsVolume);
+        containerData.setDbFile(
+            KeyValueContainerLocationUtil.getContainerDBFile(containerData));
+        containerSet.addContainer(
+            new KeyValueContainer(containerData, config));
+      } catch (Throwable e) {
+        LOG.error("Failed to load container {} from the index",
+            containerData.getContainerID(), e);
+      }
+    }
+    for (File containerDir : index.getContainerDirs()) {
+      submitContainerDir(containerDir);
+    }
+    return true;
+  }
+
+  private void submitContainerDir(File containerDir) {
+    if (executor == null) {
+      loadContainerDir(containerDir);
+    } else {
+      pendingLoads.add(executor.submit(() -> loadContainerDir(containerDir)));
+    }
+  }
+
+  private void loadContainerDir(File containerDir) {
+    try {
+      File containerFile = ContainerUtils.getContainerFile(containerDir);
+      long containerID = ContainerUtils.getContainerID(containerDir);
+      if (containerFile.exists()) {
+        verifyContainerFile(containerID, containerFile);
+      } else {
+        LOG.error("Missing .container file for ContainerID: {}",
+            containerDir.getName());
+      }
+    } catch (Throwable e) {
+      LOG.error("Failed to load container from {}",
+          containerDir.getAbsolutePath(), e);
+    }
+  }
+
   private void verifyContainerFile(long containerID,
                                    File containerFile) {
     try {
@@ -20,6 +20,7 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails.Port.Name;
@@ -68,9 +69,12 @@
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -281,30 +285,52 @@ public GrpcTlsConfig getTlsClientConfig() {
    * Build's container map.
    */
   private void buildContainerSet() {
-    Iterator<StorageVolume> volumeSetIterator = volumeSet.getVolumesList()
-        .iterator();
-    ArrayList<Thread> volumeThreads = new ArrayList<>();
+    List<StorageVolume> volumes = volumeSet.getVolumesList();
+    List<ContainerReader> readers = new ArrayList<>();
+    List<Future<?>> volumeFutures = new ArrayList<>();
     long startTime = System.currentTimeMillis();
+    DatanodeConfiguration dnConf =
+        config.getObject(DatanodeConfiguration.class);
 
     // Load container inspectors that may be triggered at startup based on
     // system properties set. These can inspect and possibly repair
     // containers as we iterate them here.
-    ContainerInspectorUtil.load();
-    while (volumeSetIterator.hasNext()) {
-      StorageVolume volume = volumeSetIterator.next();
-      Thread thread = new Thread(new ContainerReader(volumeSet,
-          (HddsVolume) volume, containerSet, config, true));
-      thread.start();
-      volumeThreads.add(thread);
+    // The index is skipped while inspecting, so every container is seen.
+    boolean inspecting = ContainerInspectorUtil.load();
+    boolean useIndex = dnConf.isContainerIndexEnabled() && !inspecting;
+
+    // One thread per volume walks the directories, the containers are
+    // loaded by a pool bounded by the configured threads per volume.
+    int loadThreads = Math.max(1,
+        volumes.size() * dnConf.getContainerLoadThreadsPerVolume());
+    ExecutorService walkers = Executors.newFixedThreadPool(
+        Math.max(1, volumes.size()), new ThreadFactoryBuilder()
+            .setDaemon(true).setNameFormat("ContainerReader-%d").build());
+    ExecutorService loaders = Executors.newFixedThreadPool(loadThreads,
+        new ThreadFactoryBuilder()
+            .setDaemon(true).setNameFormat("ContainerLoader-%d").build());
+    for (StorageVolume volume : volumes) {
+      ContainerReader reader = new ContainerReader(volumeSet,
+          (HddsVolume) volume, containerSet, config, true, loaders, useIndex);
+      readers.add(reader);
+      volumeFutures.add(walkers.submit(reader));
     }
 
     try {
-      for (int i = 0; i < volumeThreads.size(); i++) {
-        volumeThreads.get(i).join();
+      for (Future<?> future : volumeFutures) {
+        future.get();
+      }
+      for (ContainerReader reader : readers) {
+        reader.awaitLoaded();
       }
     } catch (InterruptedException ex) {
       LOG.error("Volume Threads Interrupted exception", ex);
       Thread.currentThread().interrupt();
+    } catch (ExecutionException ex) {
+      LOG.error("Failed to read containers of a volume", ex.getCause());
+    } finally {
+      walkers.shutdown();
+      loaders.shutdown();
     }
 
     // After all containers have been processed, turn off container
@@ -455,17 +481,44 @@ public void stop() {
     readChannel.stop();
     this.handlers.values().forEach(Handler::stop);
     hddsDispatcher.shutdown();
+    // Stop and await the services which change containers or volumes,
+    // so that the index matches what the next startup finds on disk.
+    blockDeletingService.shutdown();
+    recoveringContainerScrubbingService.shutdown();
     volumeChecker.shutdownAndWait(0, TimeUnit.SECONDS);
+    writeContainerIndex();
     volumeSet.shutdown();
     metaVolumeSet.shutdown();
     if (dbVolumeSet != null) {
       dbVolumeSet.shutdown();
     }
-    blockDeletingService.shutdown();
-    recoveringContainerScrubbingService.shutdown();
     ContainerMetrics.remove();
   }
 
+  /**
+   * Writes the index of the containers of each healthy volume, used to
+   * speed up the next startup.
+   */
+  private void writeContainerIndex() {
+    if (!config.getObject(DatanodeConfiguration.class)
+        .isContainerIndexEnabled()) {
+      return;
+    }
+    for (StorageVolume volume : volumeSet.getVolumesList()) {
+      if (volume.isFailed()) {
+        continue;
+      }
+      HddsVolume hddsVolume = (HddsVolume) volume;
+      try {
+        ContainerIndex.write(hddsVolume,
+            () -> containerSet.getContainerIterator(hddsVolume));
+      } catch (IOException e) {
+        LOG.warn("Failed to write the container index of volume {}",
+            hddsVolume, e);
+      }
+    }
+  }
+
   public void handleVolumeFailures() {
     if (containerSet != null) {
       containerSet.handleVolumeFailures(context);
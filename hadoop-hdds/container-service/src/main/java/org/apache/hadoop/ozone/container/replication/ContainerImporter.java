@@ -26,6 +26,7 @@
 import org.apache.hadoop.ozone.container.common.interfaces.VolumeChoosingPolicy;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
 import org.apache.hadoop.ozone.container.common.volume.VolumeChoosingPolicyFactory;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
@@ -36,6 +37,7 @@
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -93,7 +95,8 @@ public void importContainer(long containerID, Path tarFilePath,
       }
       containerData.setVolume(targetVolume);
 
-      try (FileInputStream input = new FileInputStream(tarFilePath.toFile())) {
+      try (InputStream input = targetVolume.getIOScheduler().schedule(
+          new FileInputStream(tarFilePath.toFile()), IOClass.REPLICATION)) {
         Container container = controller.importContainer(
             containerData, input, packer);
         containerSet.addContainer(container);
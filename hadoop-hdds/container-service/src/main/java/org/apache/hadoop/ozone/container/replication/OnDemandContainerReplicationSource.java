@@ -22,6 +22,8 @@
 
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 
 import org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker;
 import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
@@ -59,8 +61,11 @@ public void copyData(long containerId, OutputStream destination,
           " is not found.", CONTAINER_NOT_FOUND);
     }
 
+    HddsVolume volume = container.getContainerData().getVolume();
+    OutputStream out = volume == null ? destination
+        : volume.getIOScheduler().schedule(destination, IOClass.REPLICATION);
     controller.exportContainer(
-        container.getContainerType(), containerId, destination,
+        container.getContainerType(), containerId, out,
         new TarContainerPacker(compression));
   }
 }
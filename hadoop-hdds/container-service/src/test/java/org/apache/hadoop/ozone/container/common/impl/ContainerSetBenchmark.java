@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package org.apache.hadoop.ozone.container.common.impl;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.hadoop.util.StopWatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark tool comparing the heap footprint and the speed of the
+ * container registry of {@link ContainerSet} with the
+ * {@code ConcurrentSkipListMap} it replaced.
+ * The footprint is measured as the difference of used heap after GC, so
+ * run it with a heap large enough for the containers, e.g. -Xmx4g for the
+ * default of 1M containers.
+ */
+public final class ContainerSetBenchmark {
+
+  private ContainerSetBenchmark() {
+    // prevent instantiation
+  }
+
+  private static void usage(String message) {
+    if (message != null) {
+      System.out.println(message);
+    }
+    System.out.println("Usage: ContainerSetBenchmark [numContainers]");
+    System.exit(1);
+  }
+
+  public static void main(String[] args) throws Exception {
+    int numContainers = 1_000_000;
+    if (args.length > 0) {
+      try {
+        numContainers = Integer.parseInt(args[0]);
+      } catch (NumberFormatException e) {
+        usage("Malformed numContainers: " + args[0]);
+      }
+    }
+    performBench(numContainers);
+  }
+
+  /**
+   * Runs the benchmark and prints the results.
+   * @return the results, in the order printed
+   */
+  public static List<String> performBench(int numContainers) {
+    List<String> results = new ArrayList<>();
+    OzoneConfiguration conf = new OzoneConfiguration();
+
+    long before = usedHeap();
+    Container<?>[] containers = new Container<?>[numContainers];
+    for (int i = 0; i < numContainers; i++) {
+      KeyValueContainerData data = new KeyValueContainerData(i,
+          ContainerLayoutVersion.FILE_PER_BLOCK, 5L << 30, "pipeline", "node");
+      data.setState(State.CLOSED);
+      containers[i] = new KeyValueContainer(data, conf);
+    }
+    long containerBytes = usedHeap() - before;
+    results.add(format("containers", containerBytes, numContainers));
+
+    before = usedHeap();
+    ConcurrentSkipListMap<Long, Container<?>> skipList =
+        new ConcurrentSkipListMap<>();
+    for (Container<?> container : containers) {
+      skipList.put(container.getContainerData().getContainerID(), container);
+    }
+    results.add(format("skip list index", usedHeap() - before,
+        numContainers));
+
+    before = usedHeap();
+    ContainerMap map = new ContainerMap();
+    for (Container<?> container : containers) {
+      map.putIfAbsent(container.getContainerData().getContainerID(),
+          container);
+    }
+    results.add(format("container map index", usedHeap() - before,
+        numContainers));
+
+    long found = 0;
+    StopWatch sw = new StopWatch().start();
+    for (int i = 0; i < numContainers; i++) {
+      found += skipList.get((long) i) != null ? 1 : 0;
+    }
+    results.add(time("skip list get", sw.now(TimeUnit.NANOSECONDS),
+        numContainers));
+    sw.reset().start();
+    for (int i = 0; i < numContainers; i++) {
+      found += map.get(i) != null ? 1 : 0;
+    }
+    results.add(time("container map get", sw.now(TimeUnit.NANOSECONDS),
+        numContainers));
+
+    sw.reset().start();
+    List<Container<?>> copy = new ArrayList<>(skipList.values());
+    results.add("skip list copy: "
+        + sw.now(TimeUnit.MILLISECONDS) + " ms");
+    sw.reset().start();
+    ContainerSnapshot snapshot = map.snapshot();
+    results.add("container map snapshot: "
+        + sw.now(TimeUnit.MILLISECONDS) + " ms");
+    sw.reset().start();
+    snapshot = snapshot.sorted();
+    results.add("container map sorted snapshot: "
+        + sw.now(TimeUnit.MILLISECONDS) + " ms");
+
+    if (found != 2L * numContainers
+        || copy.size() != numContainers || snapshot.size() != numContainers) {
+      throw new IllegalStateException("Containers missing from the index");
+    }
+    results.forEach(System.out::println);
+    return results;
+  }
+
+  private static String format(String name, long bytes, int count) {
+    return String.format("%s: %d MB, %d bytes per container",
+        name, bytes >> 20, bytes / count);
+  }
+
+  private static String time(String name, long nanos, int count) {
+    return String.format("%s: %d ns per container", name, nanos / count);
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package org.apache.hadoop.ozone.container.common.impl;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link ContainerMap} and {@link ContainerSnapshot}.
+ */
+public class TestContainerMap {
+
+  private final OzoneConfiguration conf = new OzoneConfiguration();
+
+  @Test
+  void matchesReferenceMap() {
+    ContainerMap map = new ContainerMap();
+    Map<Long, Container<?>> expected = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 100_000; i++) {
+      // small ID range, so that adds and removes hit existing entries
+      long id = random.nextInt(5000);
+      if (random.nextInt(3) == 0) {
+        assertSame(expected.remove(id), map.remove(id));
+      } else {
+        Container<?> container = container(id);
+        assertSame(expected.putIfAbsent(id, container),
+            map.putIfAbsent(id, container));
+      }
+      long lookup = random.nextInt(5000);
+      assertSame(expected.get(lookup), map.get(lookup));
+    }
+    assertEquals(expected.size(), map.size());
+
+    // removing everything shrinks the stripes back
+    for (Long id : new ArrayList<>(expected.keySet())) {
+      assertSame(expected.remove(id), map.remove(id));
+    }
+    assertEquals(0, map.size());
+    assertNull(map.get(1));
+    assertThrows(IllegalArgumentException.class,
+        () -> map.putIfAbsent(-1, container(0)));
+  }
+
+  @Test
+  void snapshotIsSortedAndImmutable() {
+    assertSnapshot(1_000_000_000L);
+    // IDs too large to be packed with their position for sorting
+    assertSnapshot(Long.MAX_VALUE);
+  }
+
+  private void assertSnapshot(long maxId) {
+    ContainerMap map = new ContainerMap();
+    TreeMap<Long, Container<?>> expected = new TreeMap<>();
+    Random random = new Random(7);
+    for (int i = 0; i < 10_000; i++) {
+      long id = Math.abs(random.nextLong() % maxId);
+      Container<?> container = container(id);
+      if (map.putIfAbsent(id, container) == null) {
+        expected.put(id, container);
+      }
+    }
+
+    ContainerSnapshot unsorted = map.snapshot();
+    assertThrows(IllegalStateException.class, () -> unsorted.ceilingIndex(0));
+    ContainerSnapshot snapshot = unsorted.sorted();
+    assertSame(snapshot, snapshot.sorted());
+    map.remove(expected.firstKey());
+    assertEquals(expected.size(), snapshot.size());
+    int i = 0;
+    for (Map.Entry<Long, Container<?>> entry : expected.entrySet()) {
+      assertEquals((long) entry.getKey(), snapshot.getContainerID(i));
+      assertSame(entry.getValue(), snapshot.getContainer(i));
+      i++;
+    }
+
+    long middle = snapshot.getContainerID(snapshot.size() / 2);
+    assertEquals(snapshot.size() / 2, snapshot.ceilingIndex(middle));
+    assertEquals(snapshot.size() / 2, snapshot.ceilingIndex(
+        expected.lowerKey(middle) + 1));
+    assertEquals(snapshot.size(),
+        snapshot.ceilingIndex(expected.lastKey() + 1));
+  }
+
+  @Test
+  void concurrentReadsAndWrites() throws Exception {
+    ContainerMap map = new ContainerMap();
+    int perThread = 20_000;
+    int threads = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        long base = (long) t * perThread;
+        futures.add(executor.submit(() -> {
+          for (long id = base; id < base + perThread; id++) {
+            assertNull(map.putIfAbsent(id, container(id)));
+          }
+          for (long id = base; id < base + perThread; id += 2) {
+            assertEquals(id, map.remove(id).getContainerData()
+                .getContainerID());
+          }
+        }));
+        futures.add(executor.submit(() -> {
+          for (int n = 0; n < 10 * perThread; n++) {
+            long id = base + n % perThread;
+            Container<?> container = map.get(id);
+            if (container != null) {
+              assertEquals(id, container.getContainerData()
+                  .getContainerID());
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(threads * perThread / 2, map.size());
+    assertEquals(threads * perThread / 2, map.snapshot().size());
+  }
+
+  @Test
+  void benchmark() {
+    assertEquals(8, ContainerSetBenchmark.performBench(1000).size());
+  }
+
+  private Container<?> container(long id) {
+    return new KeyValueContainer(new KeyValueContainerData(id,
+        ContainerLayoutVersion.FILE_PER_BLOCK, 1L << 30, "pipeline", "node"),
+        conf);
+  }
+}
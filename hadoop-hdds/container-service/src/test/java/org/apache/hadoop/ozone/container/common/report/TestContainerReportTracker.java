@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.report;
+
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
+import org.apache.hadoop.hdds.utils.ContainerIDDigest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Tests for {@link ContainerReportTracker}.
+ */
+public class TestContainerReportTracker {
+
+  @Test
+  public void testFullReportUntilAcknowledged() {
+    ContainerReportTracker tracker = new ContainerReportTracker(9);
+    ContainerReportsProto full = report(replica(1, 10), replica(2, 20));
+
+    ContainerReportsProto first = tracker.prepare(full);
+    Assert.assertFalse(first.hasBaseGeneration());
+    Assert.assertEquals(2, first.getReportsCount());
+    Assert.assertEquals(digest(1, 2), first.getContainerIdDigest());
+
+    ContainerReportsProto second = tracker.prepare(full);
+    Assert.assertFalse(second.hasBaseGeneration());
+    Assert.assertTrue(second.getGeneration() > first.getGeneration());
+  }
+
+  @Test
+  public void testDeltaReport() {
+    ContainerReportTracker tracker = new ContainerReportTracker(9);
+    ContainerReportsProto first = tracker.prepare(
+        report(replica(1, 10), replica(2, 20), replica(3, 30)));
+    tracker.acknowledge(first.getGeneration());
+
+    // 1 is unchanged, 2 is removed, 3 is updated and 4 is added
+    ContainerReportsProto delta = tracker.prepare(
+        report(replica(4, 40), replica(3, 31), replica(1, 10)));
+    Assert.assertEquals(first.getGeneration(), delta.getBaseGeneration());
+    Assert.assertEquals(Arrays.asList(replica(3, 31), replica(4, 40)),
+        delta.getReportsList());
+    Assert.assertEquals(Collections.singletonList(2L),
+        delta.getRemovedContainersList());
+    Assert.assertEquals(digest(1, 3, 4), delta.getContainerIdDigest());
+
+    // the next delta is based on the acknowledged report only
+    ContainerReportsProto next = tracker.prepare(
+        report(replica(1, 10), replica(3, 31), replica(4, 40)));
+    Assert.assertEquals(first.getGeneration(), next.getBaseGeneration());
+    tracker.acknowledge(delta.getGeneration());
+    ContainerReportsProto unchanged = tracker.prepare(
+        report(replica(1, 10), replica(3, 31), replica(4, 40)));
+    Assert.assertEquals(delta.getGeneration(),
+        unchanged.getBaseGeneration());
+    Assert.assertEquals(0, unchanged.getReportsCount());
+    Assert.assertEquals(0, unchanged.getRemovedContainersCount());
+  }
+
+  @Test
+  public void testFullReportAfterResync() {
+    ContainerReportTracker tracker = new ContainerReportTracker(9);
+    ContainerReportsProto full = report(replica(1, 10));
+    tracker.acknowledge(tracker.prepare(full).getGeneration());
+    Assert.assertTrue(tracker.prepare(full).hasBaseGeneration());
+
+    tracker.acknowledge(0);
+    ContainerReportsProto resync = tracker.prepare(full);
+    Assert.assertFalse(resync.hasBaseGeneration());
+    Assert.assertEquals(1, resync.getReportsCount());
+
+    // unknown generations are ignored
+    tracker.acknowledge(resync.getGeneration() + 100);
+    Assert.assertFalse(tracker.prepare(full).hasBaseGeneration());
+  }
+
+  @Test
+  public void testDeltaLimit() {
+    ContainerReportTracker tracker = new ContainerReportTracker(2);
+    ContainerReportsProto full = report(replica(1, 10));
+    tracker.acknowledge(tracker.prepare(full).getGeneration());
+    Assert.assertTrue(tracker.prepare(full).hasBaseGeneration());
+    Assert.assertTrue(tracker.prepare(full).hasBaseGeneration());
+    Assert.assertFalse(tracker.prepare(full).hasBaseGeneration());
+    Assert.assertTrue(tracker.prepare(full).hasBaseGeneration());
+  }
+
+  private static ContainerReportsProto report(
+      ContainerReplicaProto... replicas) {
+    return ContainerReportsProto.newBuilder()
+        .addAllReports(Arrays.asList(replicas))
+        .build();
+  }
+
+  private static ContainerReplicaProto replica(long id, long used) {
+    return ContainerReplicaProto.newBuilder()
+        .setContainerID(id)
+        .setState(ContainerReplicaProto.State.CLOSED)
+        .setUsed(used)
+        .build();
+  }
+
+  private static long digest(long... ids) {
+    ContainerIDDigest digest = new ContainerIDDigest();
+    for (long id : ids) {
+      digest.add(id);
+    }
+    return digest.getValue();
+  }
+}
@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server.ratis;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.WriteBufferPool.WriteBuffer;
+import org.apache.ozone.test.GenericTestUtils;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link WriteBufferPool}.
+ */
+public class TestWriteBufferPool {
+
+  private static final int KB = 1024;
+
+  private WriteBufferPool pool;
+
+  @AfterEach
+  void cleanup() {
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  private WriteBufferPool newPool(long capacity) {
+    pool = new WriteBufferPool(capacity, UUID.randomUUID().toString());
+    return pool;
+  }
+
+  private static ByteString randomData(int size) {
+    byte[] bytes = new byte[size];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    return ByteString.copyFrom(bytes);
+  }
+
+  @Test
+  void sizeClasses() {
+    assertEquals(0, WriteBufferPool.getSizeClass(1));
+    assertEquals(0, WriteBufferPool.getSizeClass(64 * KB));
+    assertEquals(1, WriteBufferPool.getSizeClass(64 * KB + 1));
+    assertEquals(6, WriteBufferPool.getSizeClass(4 * KB * KB));
+    assertEquals(9, WriteBufferPool.getSizeClass(
+        WriteBufferPool.MAX_BUFFER_SIZE));
+  }
+
+  @Test
+  void buffersAreReused() {
+    newPool(KB * KB);
+    ByteString data = randomData(100 * KB);
+
+    WriteBuffer buffer = pool.acquire(data);
+    assertTrue(buffer.isPooled());
+    assertEquals(data.size(), buffer.size());
+    assertEquals(data, buffer.toChunkBuffer().toByteString());
+    assertEquals(data, ByteString.copyFrom(
+        buffer.toChunkBuffer().asByteBufferList().get(0)));
+    assertEquals(128 * KB, pool.getUsedBytes());
+
+    buffer.retain();
+    buffer.release();
+    assertEquals(128 * KB, pool.getUsedBytes());
+    buffer.release();
+    assertEquals(0, pool.getUsedBytes());
+    assertFalse(buffer.tryRetain());
+    assertThrows(IllegalStateException.class, buffer::release);
+
+    WriteBuffer next = pool.acquire(randomData(80 * KB));
+    assertTrue(next.isPooled());
+    assertEquals(128 * KB, pool.getAllocatedBytes());
+    next.release();
+
+    WriteBufferPoolMetrics metrics = pool.getMetrics();
+    assertEquals(2, metrics.getBuffersAcquired());
+    assertEquals(2, metrics.getBuffersReleased());
+  }
+
+  @Test
+  void fallsBackToHeapWhenFull() {
+    newPool(128 * KB);
+    ByteString data = randomData(100 * KB);
+
+    WriteBuffer first = pool.acquire(data);
+    WriteBuffer second = pool.acquire(data);
+    assertTrue(first.isPooled());
+    assertFalse(second.isPooled());
+    assertEquals(data, second.toChunkBuffer().toByteString());
+    assertEquals(1, pool.getMetrics().getPoolExhausted());
+    first.release();
+    second.release();
+
+    // a free buffer of another size class is dropped to make room
+    WriteBuffer small = pool.acquire(randomData(KB));
+    assertTrue(small.isPooled());
+    assertEquals(64 * KB, pool.getAllocatedBytes());
+    small.release();
+  }
+
+  @Test
+  void disabledPoolKeepsDataOnHeap() {
+    pool = WriteBufferPool.disabled();
+    ByteString data = randomData(KB);
+    WriteBuffer buffer = pool.acquire(data);
+    assertFalse(buffer.isPooled());
+    assertEquals(data, buffer.toChunkBuffer().toByteString());
+    buffer.release();
+  }
+
+  @Test
+  void unreleasedBufferIsReportedAsLeaked() throws Exception {
+    newPool(KB * KB);
+    pool.acquire(randomData(KB));
+    assertEquals(64 * KB, pool.getUsedBytes());
+
+    GenericTestUtils.waitFor(() -> {
+      System.gc();
+      pool.acquire(randomData(KB)).release();
+      return pool.getMetrics().getBuffersLeaked() == 1;
+    }, 100, 10000);
+    assertEquals(0, pool.getUsedBytes());
+    assertEquals(0, pool.getAllocatedBytes() % (64 * KB));
+  }
+}
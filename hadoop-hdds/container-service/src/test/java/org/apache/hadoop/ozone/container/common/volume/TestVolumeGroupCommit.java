@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.volume;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link VolumeGroupCommit}.
+ */
+public class TestVolumeGroupCommit {
+
+  private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private VolumeGroupCommit groupCommit;
+
+  @AfterEach
+  void cleanup() {
+    executor.shutdownNow();
+    if (groupCommit != null) {
+      groupCommit.close();
+    }
+  }
+
+  @Test
+  void disabledSyncsInline() throws Exception {
+    groupCommit = VolumeGroupCommit.disabled();
+    AtomicInteger syncs = new AtomicInteger();
+    groupCommit.sync(this, syncs::incrementAndGet);
+    groupCommit.sync(this, syncs::incrementAndGet);
+    assertEquals(2, syncs.get());
+  }
+
+  @Test
+  void syncsTargetOncePerGroup() throws Exception {
+    groupCommit = new VolumeGroupCommit(true, WINDOW, null);
+    Object first = new Object();
+    Object second = new Object();
+    AtomicInteger firstSyncs = new AtomicInteger();
+    AtomicInteger secondSyncs = new AtomicInteger();
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      futures.add(executor.submit(() -> {
+        groupCommit.sync(first, firstSyncs::incrementAndGet);
+        return null;
+      }));
+    }
+    futures.add(executor.submit(() -> {
+      groupCommit.sync(second, secondSyncs::incrementAndGet);
+      return null;
+    }));
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+
+    assertEquals(1, firstSyncs.get());
+    assertEquals(1, secondSyncs.get());
+  }
+
+  @Test
+  void syncsDistinctTargetsInParallel() throws Exception {
+    groupCommit = new VolumeGroupCommit(true, 0, null);
+    // each sync waits for the other one, so it completes only in parallel
+    CountDownLatch bothSyncing = new CountDownLatch(2);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      Object target = new Object();
+      futures.add(executor.submit(() -> {
+        groupCommit.sync(target, () -> {
+          bothSyncing.countDown();
+          try {
+            if (!bothSyncing.await(10, TimeUnit.SECONDS)) {
+              throw new IOException("syncs were serialized");
+            }
+          } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+          }
+        });
+        return null;
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get(20, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void syncSubmittedDuringSyncWaitsForNextOne() throws Exception {
+    groupCommit = new VolumeGroupCommit(true, 0, null);
+    Object target = new Object();
+    CountDownLatch syncing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger syncs = new AtomicInteger();
+    Future<?> first = executor.submit(() -> {
+      groupCommit.sync(target, () -> {
+        syncing.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException();
+        }
+        syncs.incrementAndGet();
+      });
+      return null;
+    });
+    assertTrue(syncing.await(10, TimeUnit.SECONDS));
+
+    Future<?> second = executor.submit(() -> {
+      groupCommit.sync(target, syncs::incrementAndGet);
+      return null;
+    });
+    assertThrows(TimeoutException.class,
+        () -> second.get(200, TimeUnit.MILLISECONDS));
+    assertEquals(0, syncs.get());
+
+    release.countDown();
+    first.get(10, TimeUnit.SECONDS);
+    second.get(10, TimeUnit.SECONDS);
+    assertEquals(2, syncs.get());
+  }
+
+  @Test
+  void failureIsReportedToAllWaiters() throws Exception {
+    groupCommit = new VolumeGroupCommit(true, WINDOW, null);
+    Object target = new Object();
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      futures.add(executor.submit(() -> {
+        groupCommit.sync(target, () -> {
+          throw new IOException("sync failed");
+        });
+        return null;
+      }));
+    }
+    for (Future<?> future : futures) {
+      ExecutionException e = assertThrows(ExecutionException.class,
+          () -> future.get(10, TimeUnit.SECONDS));
+      assertInstanceOf(IOException.class, e.getCause());
+    }
+
+    // the next group is not affected
+    AtomicInteger syncs = new AtomicInteger();
+    groupCommit.sync(target, syncs::incrementAndGet);
+    assertEquals(1, syncs.get());
+  }
+
+  @Test
+  void closedGroupCommitFailsSyncs() throws Exception {
+    groupCommit = new VolumeGroupCommit(true, 0, null);
+    groupCommit.close();
+    assertThrows(IOException.class, () -> groupCommit.sync(this, () -> { }));
+  }
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.volume;
+
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link VolumeIOScheduler}.
+ */
+public class TestVolumeIOScheduler {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void disabledSchedulerDoesNotWait() throws Exception {
+    VolumeIOScheduler scheduler = VolumeIOScheduler.disabled();
+    long start = System.nanoTime();
+    for (int i = 0; i < 100; i++) {
+      scheduler.acquire(IOClass.SCANNER, Long.MAX_VALUE / 2);
+    }
+    assertTrue(System.nanoTime() - start < SECOND);
+  }
+
+  @Test
+  void backgroundIOPacedAtBandwidth() throws Exception {
+    VolumeIOScheduler scheduler =
+        new VolumeIOScheduler(true, 10, 100_000, 100_000, null);
+    long start = System.nanoTime();
+    // the first request is admitted at once, the others wait for it
+    for (int i = 0; i < 4; i++) {
+      scheduler.acquire(IOClass.REPLICATION, 25_000);
+    }
+    long elapsed = System.nanoTime() - start;
+    assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(700), "" + elapsed);
+  }
+
+  @Test
+  void bandwidthFollowsForegroundLatency() {
+    VolumeIOScheduler scheduler =
+        new VolumeIOScheduler(true, 10, 1000, 11000, null);
+    long now = System.nanoTime();
+    assertEquals(11000, scheduler.getBandwidth());
+
+    scheduler.recordForeground(5);
+    scheduler.recordForeground(25);
+    scheduler.adjust(now += SECOND);
+    assertEquals(5500, scheduler.getBandwidth());
+
+    // not adjusted again within the interval
+    scheduler.recordForeground(100);
+    scheduler.adjust(now + SECOND / 2);
+    assertEquals(5500, scheduler.getBandwidth());
+    scheduler.adjust(now += SECOND);
+    assertEquals(2750, scheduler.getBandwidth());
+    scheduler.recordForeground(100);
+    scheduler.adjust(now += SECOND);
+    scheduler.recordForeground(100);
+    scheduler.adjust(now += SECOND);
+    assertEquals(1000, scheduler.getBandwidth());
+
+    // raised in steps while latency is within target
+    scheduler.recordForeground(1);
+    scheduler.adjust(now += SECOND);
+    assertEquals(2000, scheduler.getBandwidth());
+    for (int i = 0; i < 20; i++) {
+      scheduler.adjust(now += SECOND);
+    }
+    assertEquals(11000, scheduler.getBandwidth());
+  }
+
+  @Test
+  void bandwidthSharedByWeight() throws Exception {
+    VolumeIOScheduler scheduler =
+        new VolumeIOScheduler(true, 10, 1_000_000, 1_000_000, null);
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicLong replicated = new AtomicLong();
+    AtomicLong scanned = new AtomicLong();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      executor.submit(() -> run(scheduler, IOClass.REPLICATION, replicated,
+          done));
+      executor.submit(() -> run(scheduler, IOClass.SCANNER, scanned, done));
+      Thread.sleep(1500);
+    } finally {
+      done.set(true);
+      executor.shutdownNow();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    assertTrue(replicated.get() > 2 * scanned.get(),
+        replicated + " vs " + scanned);
+    assertTrue(scanned.get() > 0);
+  }
+
+  private static Void run(VolumeIOScheduler scheduler, IOClass ioClass,
+      AtomicLong bytes, AtomicBoolean done) throws InterruptedException {
+    while (!done.get()) {
+      scheduler.acquire(ioClass, 10_000);
+      bytes.addAndGet(10_000);
+    }
+    return null;
+  }
+}
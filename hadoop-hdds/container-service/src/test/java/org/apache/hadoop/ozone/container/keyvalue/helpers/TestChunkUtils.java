@@ -34,6 +34,7 @@
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.common.utils.BufferUtils;
@@ -43,6 +44,7 @@
 import org.apache.commons.io.FileUtils;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.CONTAINER_INTERNAL_ERROR;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNABLE_TO_FIND_CHUNK;
 
 import org.junit.jupiter.api.Assertions;
@@ -50,6 +52,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -188,6 +191,56 @@ public void serialRead() throws Exception {
     }
   }
 
+  @Test
+  public void mappedRead() throws Exception {
+    byte[] array = new byte[1000];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = (byte) i;
+    }
+    ChunkBuffer data = ChunkBuffer.wrap(ByteBuffer.wrap(array));
+    Path tempFile = Files.createTempFile(PREFIX, "mapped");
+    try {
+      File file = tempFile.toFile();
+      ChunkUtils.writeData(file, data, 0, array.length, null, true);
+
+      long offset = 100;
+      long len = 700;
+      try (FileChannel channel =
+               FileChannel.open(tempFile, StandardOpenOption.READ)) {
+        ChunkBuffer mapped = ChunkUtils.readData(channel, file.getName(),
+            256, offset, len, 1, null);
+
+        List<ByteBuffer> buffers = mapped.asByteBufferList();
+        assertEquals(3, buffers.size());
+        assertEquals(256, buffers.get(0).remaining());
+        assertEquals(188, buffers.get(2).remaining());
+        buffers.forEach(b -> assertTrue(b.isDirect()));
+        byte[] expected = Arrays.copyOfRange(array, (int) offset,
+            (int) (offset + len));
+        assertArrayEquals(expected, mapped.toByteString(
+            ByteStringConversion::safeWrap).toByteArray());
+
+        // below the threshold data is copied into heap buffers
+        ChunkBuffer copied = ChunkUtils.readData(channel, file.getName(),
+            256, offset, len, (int) len + 1, null);
+        copied.asByteBufferList().forEach(b -> assertFalse(b.isDirect()));
+        assertArrayEquals(expected, copied.toByteString(
+            ByteStringConversion::safeWrap).toByteArray());
+
+        // reading past the end of the file is rejected
+        for (int threshold : new int[] {1, 0}) {
+          StorageContainerException e = assertThrows(
+              StorageContainerException.class,
+              () -> ChunkUtils.readData(channel, file.getName(), 256,
+                  offset, array.length, threshold, null));
+          assertEquals(CONTAINER_INTERNAL_ERROR, e.getResult());
+        }
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
   @Test
   public void validateChunkForOverwrite() throws IOException {
 
@@ -19,7 +19,9 @@
 
 import org.apache.commons.codec.binary.Hex;
 import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
@@ -37,6 +39,8 @@
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.getChunk;
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.setDataChecksum;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -138,6 +142,36 @@ public void testPartialRead() throws Exception {
         readData2.rewind().toByteString());
   }
 
+  /**
+   * Block files are memory-mapped only once the container is closed, as
+   * open containers may still overwrite the region being read.
+   */
+  @Test
+  public void testMappedReadOnlyFromClosedContainer() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY, "1B");
+    ChunkManager subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(conf), null);
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo info = getChunk(blockID.getLocalID(), 0, 0, 1024);
+    ChunkBuffer data = ContainerTestHelper.getData(1024);
+    setDataChecksum(info, data);
+    DispatcherContext ctx = getDispatcherContext();
+    subject.writeChunk(container, blockID, info, data, ctx);
+
+    ChunkBuffer copied = subject.readChunk(container, blockID, info, ctx);
+    copied.asByteBufferList().forEach(b -> assertFalse(b.isDirect()));
+    assertEquals(data.rewind().toByteString(), copied.toByteString());
+
+    container.getContainerData().setState(
+        ContainerProtos.ContainerDataProto.State.CLOSED);
+    ChunkBuffer mapped = subject.readChunk(container, blockID, info, ctx);
+    mapped.asByteBufferList().forEach(b -> assertTrue(b.isDirect()));
+    assertEquals(data.rewind().toByteString(), mapped.toByteString());
+  }
+
   @Override
   protected ContainerLayoutTestInfo getStrategy() {
     return ContainerLayoutTestInfo.FILE_PER_BLOCK;
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.hadoop.ozone.container.keyvalue.impl.OpenFiles.OpenFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNABLE_TO_FIND_CHUNK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link OpenFiles}.
+ */
+public class TestOpenFiles {
+
+  @TempDir
+  private Path dir;
+
+  private VolumeIOStats stats;
+
+  @BeforeEach
+  void setUp() {
+    stats = new VolumeIOStats(UUID.randomUUID().toString(), dir.toString());
+  }
+
+  @AfterEach
+  void tearDown() {
+    stats.unregister();
+  }
+
+  @Test
+  void readsShareHandleOpenedForWrite() throws Exception {
+    OpenFiles files = new OpenFiles(10, Duration.ofMinutes(1), stats);
+    File file = dir.resolve("1.block").toFile();
+
+    StorageContainerException e = assertThrows(
+        StorageContainerException.class, () -> files.acquireForRead(file));
+    assertEquals(UNABLE_TO_FIND_CHUNK, e.getResult());
+    assertFalse(file.exists());
+
+    OpenFile writer = files.acquireForWrite(file, false);
+    writer.getChannel().write(ByteBuffer.wrap(new byte[] {1, 2, 3}), 0);
+    OpenFile reader = files.acquireForRead(file);
+    assertSame(writer, reader);
+    ByteBuffer buffer = ByteBuffer.allocate(3);
+    assertEquals(3, reader.getChannel().read(buffer, 0));
+    reader.release();
+    writer.release();
+
+    assertEquals(2, stats.getOpenFileCacheMisses());
+    assertEquals(1, stats.getOpenFileCacheHits());
+  }
+
+  @Test
+  void readOnlyHandleIsReopenedForWrite() throws Exception {
+    OpenFiles files = new OpenFiles(10, Duration.ofMinutes(1), stats);
+    File file = dir.resolve("1.block").toFile();
+    assertTrue(file.createNewFile());
+
+    OpenFile reader = files.acquireForRead(file);
+    assertFalse(reader.isWritable());
+    OpenFile writer = files.acquireForWrite(file, false);
+    assertNotSame(reader, writer);
+    assertTrue(writer.isWritable());
+
+    // the replaced handle stays usable until released
+    assertTrue(reader.getChannel().isOpen());
+    reader.release();
+    assertFalse(reader.getChannel().isOpen());
+    writer.release();
+    assertTrue(writer.getChannel().isOpen());
+  }
+
+  @Test
+  void evictedHandleClosedAfterRelease() throws Exception {
+    OpenFiles files = new OpenFiles(1, Duration.ofMinutes(1), stats);
+    File first = dir.resolve("1.block").toFile();
+    File second = dir.resolve("2.block").toFile();
+
+    OpenFile inUse = files.acquireForWrite(first, false);
+    OpenFile other = files.acquireForWrite(second, false);
+    other.release();
+
+    FileChannel channel = inUse.getChannel();
+    assertEquals(1, stats.getOpenFileCacheEvictions());
+    assertTrue(channel.isOpen());
+    inUse.release();
+    assertFalse(channel.isOpen());
+    assertTrue(other.getChannel().isOpen());
+  }
+
+  @Test
+  void closeAllInDirectory() throws Exception {
+    OpenFiles files = new OpenFiles(10, Duration.ofMinutes(1), stats);
+    File containerDir = dir.resolve("container").toFile();
+    assertTrue(containerDir.mkdirs());
+    OpenFile inside = files.acquireForWrite(
+        new File(containerDir, "1.block"), false);
+    OpenFile outside = files.acquireForWrite(
+        dir.resolve("2.block").toFile(), false);
+    inside.release();
+    outside.release();
+
+    files.closeAll(containerDir);
+    assertFalse(inside.getChannel().isOpen());
+    assertTrue(outside.getChannel().isOpen());
+
+    files.closeAll();
+    assertFalse(outside.getChannel().isOpen());
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for {@link ReadAheadCache}.
+ */
+public class TestReadAheadCache {
+
+  private static final int LEN = 100;
+
+  @TempDir
+  private Path dir;
+
+  private VolumeIOStats stats;
+  private ReadAheadCache readAhead;
+  private File file;
+  private byte[] content;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    stats = new VolumeIOStats(UUID.randomUUID().toString(), dir.toString());
+    OpenFiles files = new OpenFiles(10, Duration.ofMinutes(1), stats);
+    readAhead = new ReadAheadCache(files, 1024 * 1024, 1, stats, "test");
+    content = new byte[5 * LEN / 2];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    file = dir.resolve("1.block").toFile();
+    Files.write(file.toPath(), content);
+  }
+
+  @AfterEach
+  void tearDown() {
+    readAhead.shutdown();
+    stats.unregister();
+  }
+
+  @Test
+  void sequentialReadsServedFromMemory() throws Exception {
+    assertNull(readAhead.read(file, 0, LEN));
+    assertEquals(0, stats.getReadAheadBytes());
+
+    // second sequential read starts reading ahead the next region,
+    // which is cut at the end of the file
+    assertNull(readAhead.read(file, LEN, LEN));
+    GenericTestUtils.waitFor(() -> stats.getReadAheadBytes() == LEN / 2,
+        10, 10000);
+
+    ByteBuffer data = readAhead.read(file, 2 * LEN, LEN / 2);
+    assertNotNull(data);
+    assertEquals(1, stats.getReadAheadHits());
+    byte[] bytes = new byte[data.remaining()];
+    data.get(bytes);
+    assertArrayEquals(
+        Arrays.copyOfRange(content, 2 * LEN, 5 * LEN / 2), bytes);
+  }
+
+  @Test
+  void unusedDataReportedAsWasted() throws Exception {
+    readAhead.read(file, 0, LEN);
+    readAhead.read(file, LEN, LEN);
+    GenericTestUtils.waitFor(() -> stats.getReadAheadBytes() == LEN / 2,
+        10, 10000);
+
+    // written data is not served from memory
+    readAhead.invalidate(file);
+    assertEquals(LEN / 2, stats.getReadAheadWastedBytes());
+    assertNull(readAhead.read(file, 2 * LEN, LEN / 2));
+    assertEquals(0, stats.getReadAheadHits());
+  }
+
+  @Test
+  void randomReadsNotReadAhead() {
+    readAhead.read(file, LEN, LEN);
+    readAhead.read(file, 0, LEN);
+    readAhead.read(file, 2 * LEN, LEN / 2);
+    assertEquals(0, stats.getReadAheadBytes());
+    assertEquals(0, stats.getReadAheadMisses());
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ContainerIndex}.
+ */
+public class TestContainerIndex {
+
+  @TempDir
+  private Path tempDir;
+
+  private final OzoneConfiguration conf = new OzoneConfiguration();
+  private HddsVolume volume;
+
+  @BeforeEach
+  void setup() throws IOException {
+    String clusterId = UUID.randomUUID().toString();
+    volume = new HddsVolume.Builder(tempDir.toString()).conf(conf)
+        .datanodeUuid(UUID.randomUUID().toString()).clusterID(clusterId)
+        .build();
+    StorageVolumeUtil.checkVolume(volume, clusterId, clusterId, conf,
+        null, null);
+  }
+
+  @Test
+  void roundTrip() throws IOException {
+    KeyValueContainerData closed = newContainerData(1, State.CLOSED);
+    closed.updateBlockCommitSequenceId(42);
+    closed.setBytesUsed(1024);
+    closed.setBlockCount(3);
+    closed.incrPendingDeletionBlocks(2);
+    closed.updateDeleteTransactionId(7);
+    closed.addMetadata("volume", "vol1");
+    closed.setReplicaIndex(2);
+    KeyValueContainerData open = newContainerData(2, State.OPEN);
+
+    ContainerIndex.write(volume, containers(closed, open));
+    assertTrue(ContainerIndex.getFile(volume).exists());
+
+    ContainerIndex index = ContainerIndex.readAndDelete(volume);
+    assertFalse(ContainerIndex.getFile(volume).exists());
+    assertNull(ContainerIndex.readAndDelete(volume));
+
+    assertEquals(1, index.getContainers().size());
+    KeyValueContainerData read = index.getContainers().get(0);
+    assertEquals(closed.getContainerID(), read.getContainerID());
+    assertEquals(closed.getLayoutVersion(), read.getLayoutVersion());
+    assertEquals(closed.getMaxSize(), read.getMaxSize());
+    assertEquals(closed.getOriginPipelineId(), read.getOriginPipelineId());
+    assertEquals(closed.getOriginNodeId(), read.getOriginNodeId());
+    assertEquals(closed.getMetadataPath(), read.getMetadataPath());
+    assertEquals(closed.getChunksPath(), read.getChunksPath());
+    assertEquals(closed.getMetadata(), read.getMetadata());
+    assertEquals(State.CLOSED, read.getState());
+    assertEquals(closed.getSchemaVersion(), read.getSchemaVersion());
+    assertEquals(2, read.getReplicaIndex());
+    assertEquals(42, read.getBlockCommitSequenceId());
+    assertEquals(1024, read.getBytesUsed());
+    assertEquals(3, read.getBlockCount());
+    assertEquals(2, read.getNumPendingDeletionBlocks());
+    assertEquals(7, read.getDeleteTransactionId());
+
+    assertEquals(1, index.getContainerDirs().size());
+    assertEquals(new File(open.getMetadataPath()).getParentFile(),
+        index.getContainerDirs().get(0));
+  }
+
+  @Test
+  void detectsCorruption() throws IOException {
+    ContainerIndex.write(volume,
+        containers(newContainerData(1, State.CLOSED)));
+    File file = ContainerIndex.getFile(volume);
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.seek(file.length() / 2);
+      int b = raf.read();
+      raf.seek(file.length() / 2);
+      raf.write(b ^ 0xff);
+    }
+
+    assertThrows(IOException.class, () -> ContainerIndex.readAndDelete(volume));
+    // a corrupt index is not read again
+    assertFalse(file.exists());
+  }
+
+  private KeyValueContainerData newContainerData(long id, State state) {
+    KeyValueContainerData data = new KeyValueContainerData(id,
+        ContainerLayoutVersion.FILE_PER_BLOCK, 1L << 30,
+        UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    File containerDir = new File(tempDir.toFile(), "container" + id);
+    data.setMetadataPath(new File(containerDir, "metadata").getPath());
+    data.setChunksPath(new File(containerDir, "chunks").getPath());
+    data.setSchemaVersion(OzoneConsts.SCHEMA_V3);
+    data.setVolume(volume);
+    data.setState(state);
+    return data;
+  }
+
+  private List<Container<?>> containers(KeyValueContainerData... data) {
+    Container<?>[] containers = new Container<?>[data.length];
+    for (int i = 0; i < data.length; i++) {
+      containers[i] = new KeyValueContainer(data[i], conf);
+    }
+    return Arrays.asList(containers);
+  }
+}
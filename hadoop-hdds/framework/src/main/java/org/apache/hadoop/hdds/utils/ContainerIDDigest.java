@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.utils;
+
+/**
+ * Order independent digest of a set of container IDs, computed the same way
+ * by datanodes and SCM to compare their views of the containers on a
+ * datanode. Container IDs can be added and removed in any order.
+ */
+public final class ContainerIDDigest {
+
+  private long value;
+
+  public ContainerIDDigest add(long containerID) {
+    value += mix(containerID);
+    return this;
+  }
+
+  public ContainerIDDigest remove(long containerID) {
+    value -= mix(containerID);
+    return this;
+  }
+
+  public long getValue() {
+    return value;
+  }
+
+  private static long mix(long containerID) {
+    // murmur3 finalizer, so that sums of nearby IDs do not collide
+    long h = containerID;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
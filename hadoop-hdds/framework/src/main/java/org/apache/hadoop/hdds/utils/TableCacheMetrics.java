@@ -35,7 +35,13 @@ private enum MetricsInfos implements MetricsInfo {
     Size("Size of the cache."),
     HitCount("Number of time the lookup methods return a cached value."),
     MissCount("Number of times the requested value is not in the cache."),
-    IterationCount("Number of times the table cache is iterated through.");
+    IterationCount("Number of times the table cache is iterated through."),
+    ReadCacheHitCount("Number of times the lookup methods return a value " +
+        "cached after reading it from the DB."),
+    ReadCacheMissCount("Number of times the requested value is neither " +
+        "in the cache nor in the read cache."),
+    ReadCacheEvictionCount("Number of values read from the DB which are " +
+        "evicted from the read cache.");
 
     private final String desc;
 
@@ -82,7 +88,11 @@ public void getMetrics(MetricsCollector collector, boolean all) {
         .addGauge(MetricsInfos.Size, cache.size())
         .addGauge(MetricsInfos.HitCount, stats.getCacheHits())
         .addGauge(MetricsInfos.MissCount, stats.getCacheMisses())
-        .addGauge(MetricsInfos.IterationCount, stats.getIterationTimes());
+        .addGauge(MetricsInfos.IterationCount, stats.getIterationTimes())
+        .addGauge(MetricsInfos.ReadCacheHitCount, stats.getReadCacheHits())
+        .addGauge(MetricsInfos.ReadCacheMissCount, stats.getReadCacheMisses())
+        .addGauge(MetricsInfos.ReadCacheEvictionCount,
+            stats.getReadCacheEvictions());
   }
 
   public void unregister() {
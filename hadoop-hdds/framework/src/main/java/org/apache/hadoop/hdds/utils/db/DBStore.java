@@ -24,6 +24,8 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
@@ -76,6 +78,39 @@ <KEY, VALUE> Table<KEY, VALUE> getTable(String name,
       Class<KEY> keyType, Class<VALUE> valueType,
       TableCache.CacheType cacheType) throws IOException;
 
+  /**
+   * Gets an existing TableStore with implicit key/value conversion and
+   * with specified cache type.
+   * @param name - Name of the TableStore to get
+   * @param keyType
+   * @param valueType
+   * @param cacheType
+   * @param readCacheSize - max number of values read from the table to
+   *                      cache, used only by
+   *                      {@link TableCache.CacheType#READ_THROUGH_CACHE}.
+   * @return - TableStore.
+   * @throws IOException
+   */
+  <KEY, VALUE> Table<KEY, VALUE> getTable(String name,
+      Class<KEY> keyType, Class<VALUE> valueType,
+      TableCache.CacheType cacheType, long readCacheSize) throws IOException;
+
+  /**
+   * Gets an existing TableStore with implicit key/value conversion and
+   * with {@link TableCache.CacheType#FULL_CACHE}. The cache is filled by
+   * key ranges concurrently on the given executor.
+   * @param name - Name of the TableStore to get
+   * @param keyType
+   * @param valueType
+   * @param maxRanges - max number of key ranges to split the table into.
+   * @param executor - executor filling the key ranges.
+   * @return - future of the TableStore, completed when its cache is filled.
+   * @throws IOException
+   */
+  <KEY, VALUE> CompletableFuture<Table<KEY, VALUE>> getFullCacheTable(
+      String name, Class<KEY> keyType, Class<VALUE> valueType, int maxRanges,
+      Executor executor) throws IOException;
+
   /**
    * Lists the Known list of Tables in a DB.
    *
@@ -29,6 +29,8 @@
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.utils.IOUtils;
@@ -295,6 +297,22 @@ public <K, V> Table<K, V> getTable(String name,
         valueType, cacheType);
   }
 
+  @Override
+  public <K, V> Table<K, V> getTable(String name,
+      Class<K> keyType, Class<V> valueType,
+      TableCache.CacheType cacheType, long readCacheSize) throws IOException {
+    return new TypedTable<>(getTable(name), codecRegistry, keyType,
+        valueType, cacheType, readCacheSize);
+  }
+
+  @Override
+  public <K, V> CompletableFuture<Table<K, V>> getFullCacheTable(
+      String name, Class<K> keyType, Class<V> valueType, int maxRanges,
+      Executor executor) throws IOException {
+    return TypedTable.newFullCacheTable(getTable(name), codecRegistry,
+        keyType, valueType, maxRanges, executor).thenApply(table -> table);
+  }
+
   @Override
   public ArrayList<Table> listTables() {
     ArrayList<Table> returnList = new ArrayList<>();
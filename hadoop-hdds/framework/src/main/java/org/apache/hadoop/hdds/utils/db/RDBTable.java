@@ -27,12 +27,16 @@
 import java.util.Arrays;
 import java.util.function.Supplier;
 
+import com.google.common.primitives.UnsignedBytes;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.utils.db.RocksDatabase.ColumnFamily;
 import org.apache.hadoop.hdds.utils.MetadataKeyFilters;
 import org.slf4j.Logger;
+import org.rocksdb.LiveFileMetaData;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.hadoop.hdds.StringUtils.bytes2String;
+
 /**
  * RocksDB implementation of ozone metadata store. This class should be only
  * used as part of TypedTable as it's underlying implementation to access the
@@ -248,6 +252,20 @@ public long getEstimatedKeyCount() throws IOException {
     return db.estimateNumKeys(family);
   }
 
+  /**
+   * @return the smallest key of each SST file of this table, sorted.
+   */
+  List<byte[]> getSstFileSmallestKeys() throws IOException {
+    List<byte[]> keys = new ArrayList<>();
+    for (LiveFileMetaData file : db.getLiveFilesMetaData()) {
+      if (getName().equals(bytes2String(file.columnFamilyName()))) {
+        keys.add(file.smallestKey());
+      }
+    }
+    keys.sort(UnsignedBytes.lexicographicalComparator());
+    return keys;
+  }
+
   @Override
   public List<KeyValue<byte[], byte[]>> getRangeKVs(byte[] startKey,
       int count, byte[] prefix,
@@ -174,6 +174,21 @@ default VALUE getReadCopy(KEY key) throws IOException {
   TableIterator<KEY, ? extends KeyValue<KEY, VALUE>> iterator(KEY prefix)
       throws IOException;
 
+  /**
+   * Returns a prefixed iterator which decodes the values with the given codec
+   * instead of the codec of this table. The codec may decode only the part of
+   * the persisted value it needs. Entries only in the table cache are not
+   * returned.
+   * @param prefix
+   * @param valueCodec to decode the values with.
+   * @return
+   */
+  default <V> TableIterator<KEY, ? extends KeyValue<KEY, V>> iterator(
+      KEY prefix, Codec<V> valueCodec) throws IOException {
+    throw new NotImplementedException(
+        "iterator with value codec is not implemented");
+  }
+
   /**
    * Returns the Name of this Table.
    * @return - Table Name.
@@ -22,12 +22,17 @@
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.UnsignedBytes;
 import org.apache.hadoop.hdds.utils.MetadataKeyFilters;
 import org.apache.hadoop.hdds.utils.TableCacheMetrics;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
@@ -35,6 +40,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.hdds.utils.db.cache.FullTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.PartialTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.ReadThroughTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
 import org.apache.ratis.util.Preconditions;
@@ -67,6 +73,8 @@
   private final CodecBuffer.Capacity bufferCapacity
       = new CodecBuffer.Capacity(this, BUFFER_SIZE_DEFAULT);
   private final TableCache<KEY, VALUE> cache;
+  // Non-null only for CacheType.READ_THROUGH_CACHE.
+  private final ReadThroughTableCache<KEY, VALUE> readThroughCache;
 
   /**
    * The same as this(rawTable, codecRegistry, keyType, valueType,
@@ -93,6 +101,33 @@ public TypedTable(RDBTable rawTable,
       CodecRegistry codecRegistry, Class<KEY> keyType,
       Class<VALUE> valueType,
       CacheType cacheType) throws IOException {
+    this(rawTable, codecRegistry, keyType, valueType, cacheType, 0);
+  }
+
+  /**
+   * Create an TypedTable from the raw table with specified cache type.
+   *
+   * @param rawTable The underlying (untyped) table in RocksDB.
+   * @param codecRegistry To look up codecs.
+   * @param keyType The key type.
+   * @param valueType The value type.
+   * @param cacheType How to cache the entries?
+   * @param readCacheSize The max number of values read from DB to cache,
+   *                      used only by {@link CacheType#READ_THROUGH_CACHE}.
+   * @throws IOException if failed to iterate the raw table.
+   */
+  public TypedTable(RDBTable rawTable,
+      CodecRegistry codecRegistry, Class<KEY> keyType,
+      Class<VALUE> valueType,
+      CacheType cacheType, long readCacheSize) throws IOException {
+    this(rawTable, codecRegistry, keyType, valueType, cacheType,
+        readCacheSize, true);
+  }
+
+  private TypedTable(RDBTable rawTable,
+      CodecRegistry codecRegistry, Class<KEY> keyType,
+      Class<VALUE> valueType, CacheType cacheType, long readCacheSize,
+      boolean fillFullCache) throws IOException {
     this.rawTable = Objects.requireNonNull(rawTable, "rawTable==null");
     Objects.requireNonNull(codecRegistry, "codecRegistry == null");
 
@@ -109,23 +144,98 @@ public TypedTable(RDBTable rawTable,
 
     if (cacheType == CacheType.FULL_CACHE) {
       cache = new FullTableCache<>();
-      //fill cache
-      try (TableIterator<KEY, ? extends KeyValue<KEY, VALUE>> tableIterator =
-              iterator()) {
-
-        while (tableIterator.hasNext()) {
-          KeyValue< KEY, VALUE > kv = tableIterator.next();
-
-          // We should build cache after OM restart when clean up policy is
-          // NEVER. Setting epoch value -1, so that when it is marked for
-          // delete, this will be considered for cleanup.
-          cache.loadInitial(new CacheKey<>(kv.getKey()),
-              CacheValue.get(EPOCH_DEFAULT, kv.getValue()));
-        }
+      if (fillFullCache) {
+        fillCache(null, null);
       }
+    } else if (cacheType == CacheType.READ_THROUGH_CACHE) {
+      cache = new ReadThroughTableCache<>(readCacheSize);
     } else {
       cache = new PartialTableCache<>();
     }
+    this.readThroughCache = cacheType == CacheType.READ_THROUGH_CACHE
+        ? (ReadThroughTableCache<KEY, VALUE>) cache : null;
+  }
+
+  /**
+   * Creates a table with {@link CacheType#FULL_CACHE}, whose cache is filled
+   * by key ranges on the given executor. The ranges start at the smallest
+   * keys of the SST files of the table.
+   *
+   * @param maxRanges The max number of key ranges filled concurrently.
+   * @return future of the table, completed when its cache is filled.
+   */
+  static <KEY, VALUE> CompletableFuture<TypedTable<KEY, VALUE>>
+      newFullCacheTable(RDBTable rawTable, CodecRegistry codecRegistry,
+      Class<KEY> keyType, Class<VALUE> valueType, int maxRanges,
+      Executor executor) throws IOException {
+    final TypedTable<KEY, VALUE> table = new TypedTable<>(rawTable,
+        codecRegistry, keyType, valueType, CacheType.FULL_CACHE, 0, false);
+    final List<byte[]> splits =
+        getSplits(rawTable.getSstFileSmallestKeys(), maxRanges);
+    final List<CompletableFuture<Void>> fills = new ArrayList<>();
+    for (int i = 0; i <= splits.size(); i++) {
+      final byte[] startKey = i == 0 ? null : splits.get(i - 1);
+      final byte[] endKey = i == splits.size() ? null : splits.get(i);
+      fills.add(CompletableFuture.runAsync(() -> {
+        try {
+          table.fillCache(startKey, endKey);
+        } catch (IOException e) {
+          throw new CompletionException(e);
+        }
+      }, executor));
+    }
+    return CompletableFuture.allOf(fills.toArray(new CompletableFuture[0]))
+        .thenApply(v -> table);
+  }
+
+  /**
+   * Picks up to maxRanges - 1 evenly spaced keys of the given sorted keys to
+   * split a table into ranges.
+   */
+  @VisibleForTesting
+  static List<byte[]> getSplits(List<byte[]> sortedKeys, int maxRanges) {
+    final Comparator<byte[]> comparator =
+        UnsignedBytes.lexicographicalComparator();
+    final List<byte[]> splits = new ArrayList<>();
+    for (int i = 1; i < maxRanges; i++) {
+      final int index = (int) ((long) i * sortedKeys.size() / maxRanges);
+      if (index == 0) {
+        continue;
+      }
+      final byte[] key = sortedKeys.get(index);
+      final byte[] previous = splits.isEmpty() ? sortedKeys.get(0)
+          : splits.get(splits.size() - 1);
+      if (comparator.compare(key, previous) > 0) {
+        splits.add(key);
+      }
+    }
+    return splits;
+  }
+
+  /**
+   * Loads the entries from startKey (inclusive) to endKey (exclusive) to the
+   * full cache. A null key is the start or the end of the table.
+   */
+  private void fillCache(byte[] startKey, byte[] endKey) throws IOException {
+    final Comparator<byte[]> comparator =
+        UnsignedBytes.lexicographicalComparator();
+    try (TableIterator<byte[], ? extends KeyValue<byte[], byte[]>> iterator =
+             rawTable.iterator()) {
+      if (startKey != null) {
+        iterator.seek(startKey);
+      }
+      while (iterator.hasNext()) {
+        final KeyValue<byte[], byte[]> kv = iterator.next();
+        if (endKey != null && comparator.compare(kv.getKey(), endKey) >= 0) {
+          break;
+        }
+        // We should build cache after OM restart when clean up policy is
+        // NEVER. Setting epoch value -1, so that when it is marked for
+        // delete, this will be considered for cleanup.
+        cache.loadInitial(new CacheKey<>(decodeKey(kv.getKey())),
+            CacheValue.get(EPOCH_DEFAULT, decodeValue(kv.getValue())));
+      }
+    }
   }
 
   private CodecBuffer encodeKeyCodecBuffer(KEY key) throws IOException {
@@ -158,6 +268,7 @@ public void put(KEY key, VALUE value) throws IOException {
     } else {
       rawTable.put(encodeKey(key), encodeValue(value));
     }
+    invalidateCache(key);
   }
 
   @Override
@@ -171,6 +282,7 @@ public void putWithBatch(BatchOperation batch, KEY key, VALUE value)
     } else {
       rawTable.putWithBatch(batch, encodeKey(key), encodeValue(value));
     }
+    invalidateCache(key);
   }
 
   @Override
@@ -217,6 +329,7 @@ public VALUE get(KEY key) throws IOException {
     // Here the metadata lock will guarantee that cache is not updated for same
     // key during get key.
 
+    final long generation = getReadCacheGeneration(key);
     CacheResult<VALUE> cacheResult =
         cache.lookup(new CacheKey<>(key));
 
@@ -225,7 +338,7 @@ public VALUE get(KEY key) throws IOException {
     } else if (cacheResult.getCacheStatus() == NOT_EXIST) {
       return null;
     } else {
-      return getFromTable(key);
+      return populateCache(key, getFromTable(key), generation);
     }
   }
 
@@ -266,6 +379,7 @@ public VALUE getReadCopy(KEY key) throws IOException {
     // Here the metadata lock will guarantee that cache is not updated for same
     // key during get key.
 
+    final long generation = getReadCacheGeneration(key);
     CacheResult<VALUE> cacheResult =
         cache.lookup(new CacheKey<>(key));
 
@@ -274,7 +388,7 @@ public VALUE getReadCopy(KEY key) throws IOException {
     } else if (cacheResult.getCacheStatus() == NOT_EXIST) {
       return null;
     } else {
-      return getFromTable(key);
+      return populateCache(key, getFromTable(key), generation);
     }
   }
 
@@ -283,6 +397,7 @@ public VALUE getIfExist(KEY key) throws IOException {
     // Here the metadata lock will guarantee that cache is not updated for same
     // key during get key.
 
+    final long generation = getReadCacheGeneration(key);
     CacheResult<VALUE> cacheResult =
         cache.lookup(new CacheKey<>(key));
 
@@ -291,7 +406,48 @@ public VALUE getIfExist(KEY key) throws IOException {
     } else if (cacheResult.getCacheStatus() == NOT_EXIST) {
       return null;
     } else {
-      return getFromTableIfExist(key);
+      return populateCache(key, getFromTableIfExist(key), generation);
+    }
+  }
+
+  /**
+   * For {@link CacheType#READ_THROUGH_CACHE}, the generation of the key to
+   * be taken before reading it from DB.
+   */
+  private long getReadCacheGeneration(KEY key) {
+    return readThroughCache == null ? 0
+        : readThroughCache.getGeneration(new CacheKey<>(key));
+  }
+
+  /**
+   * For {@link CacheType#READ_THROUGH_CACHE}, add a copy of the value just
+   * read from DB to the cache, so that the caller can modify the returned
+   * value without affecting the cached one. The value is not added if the
+   * key was updated since the generation was taken.
+   *
+   * @return the given value.
+   */
+  private VALUE populateCache(KEY key, VALUE value, long generation) {
+    if (readThroughCache != null && value != null) {
+      readThroughCache.populate(new CacheKey<>(key),
+          valueCodec.copyObject(value), generation);
+    }
+    return value;
+  }
+
+  /**
+   * For {@link CacheType#READ_THROUGH_CACHE}, drop the cached read value of
+   * a key which is written to the DB directly.
+   */
+  private void invalidateCache(KEY key) {
+    if (readThroughCache != null) {
+      readThroughCache.invalidate(new CacheKey<>(key));
+    }
+  }
+
+  private void invalidateCache() {
+    if (readThroughCache != null) {
+      readThroughCache.invalidateAll();
     }
   }
 
@@ -391,17 +547,20 @@ public void delete(KEY key) throws IOException {
     } else {
       rawTable.delete(encodeKey(key));
     }
+    invalidateCache(key);
   }
 
   @Override
   public void deleteWithBatch(BatchOperation batch, KEY key)
       throws IOException {
     rawTable.deleteWithBatch(batch, encodeKey(key));
+    invalidateCache(key);
   }
 
   @Override
   public void deleteRange(KEY beginKey, KEY endKey) throws IOException {
     rawTable.deleteRange(encodeKey(beginKey), encodeKey(endKey));
+    invalidateCache();
   }
 
   @Override
@@ -414,13 +573,40 @@ public Table.KeyValueIterator<KEY, VALUE> iterator(KEY prefix)
       throws IOException {
     if (supportCodecBuffer) {
       final CodecBuffer prefixBuffer = encodeKeyCodecBuffer(prefix);
-      return newCodecBufferTableIterator(rawTable.iterator(prefixBuffer));
+      return newCodecBufferTableIterator(rawTable.iterator(prefixBuffer),
+          valueCodec);
     } else {
       final byte[] prefixBytes = encodeKey(prefix);
       return new TypedTableIterator(rawTable.iterator(prefixBytes));
     }
   }
 
+  @Override
+  public <V> Table.KeyValueIterator<KEY, V> iterator(KEY prefix,
+      Codec<V> codec) throws IOException {
+    if (keyCodec.supportCodecBuffer() && codec.supportCodecBuffer()) {
+      final CodecBuffer prefixBuffer = encodeKeyCodecBuffer(prefix);
+      return newCodecBufferTableIterator(rawTable.iterator(prefixBuffer),
+          codec);
+    }
+    final byte[] prefixBytes = encodeKey(prefix);
+    return new RawIterator<byte[], V>(rawTable.iterator(prefixBytes)) {
+      @Override
+      AutoCloseSupplier<byte[]> convert(KEY key) throws IOException {
+        final byte[] keyArray = encodeKey(key);
+        return () -> keyArray;
+      }
+
+      @Override
+      KeyValue<KEY, V> convert(KeyValue<byte[], byte[]> raw)
+          throws IOException {
+        final byte[] value = raw.getValue();
+        return Table.newKeyValue(decodeKey(raw.getKey()),
+            value == null ? null : codec.fromPersistedFormat(value));
+      }
+    };
+  }
+
   @Override
   public String getName() {
     return rawTable.getName();
@@ -511,6 +697,7 @@ public List<TypedKeyValue> getSequentialRangeKVs(
   public void deleteBatchWithPrefix(BatchOperation batch, KEY prefix)
       throws IOException {
     rawTable.deleteBatchWithPrefix(batch, encodeKey(prefix));
+    invalidateCache();
   }
 
   @Override
@@ -522,6 +709,7 @@ public void dumpToFileWithPrefix(File externalFile, KEY prefix)
   @Override
   public void loadFromFile(File externalFile) throws IOException {
     rawTable.loadFromFile(externalFile);
+    invalidateCache();
   }
 
   @Override
@@ -556,9 +744,10 @@ public VALUE getValue() throws IOException {
     }
   }
 
-  RawIterator<CodecBuffer> newCodecBufferTableIterator(
-      TableIterator<CodecBuffer, KeyValue<CodecBuffer, CodecBuffer>> i) {
-    return new RawIterator<CodecBuffer>(i) {
+  <V> RawIterator<CodecBuffer, V> newCodecBufferTableIterator(
+      TableIterator<CodecBuffer, KeyValue<CodecBuffer, CodecBuffer>> i,
+      Codec<V> codec) {
+    return new RawIterator<CodecBuffer, V>(i) {
       @Override
       AutoCloseSupplier<CodecBuffer> convert(KEY key) throws IOException {
         final CodecBuffer buffer = encodeKeyCodecBuffer(key);
@@ -576,10 +765,10 @@ public CodecBuffer get() {
       }
 
       @Override
-      KeyValue<KEY, VALUE> convert(KeyValue<CodecBuffer, CodecBuffer> raw)
+      KeyValue<KEY, V> convert(KeyValue<CodecBuffer, CodecBuffer> raw)
           throws IOException {
         final KEY key = keyCodec.fromCodecBuffer(raw.getKey());
-        final VALUE value = valueCodec.fromCodecBuffer(raw.getValue());
+        final V value = codec.fromCodecBuffer(raw.getValue());
         return Table.newKeyValue(key, value);
       }
     };
@@ -588,7 +777,7 @@ KeyValue<KEY, VALUE> convert(KeyValue<CodecBuffer, CodecBuffer> raw)
   /**
    * Table Iterator implementation for strongly typed tables.
    */
-  public class TypedTableIterator extends RawIterator<byte[]> {
+  public class TypedTableIterator extends RawIterator<byte[], VALUE> {
     TypedTableIterator(
         TableIterator<byte[], KeyValue<byte[], byte[]>> rawIterator) {
       super(rawIterator);
@@ -610,9 +799,10 @@ KeyValue<KEY, VALUE> convert(KeyValue<byte[], byte[]> raw) {
    * A {@link Table.KeyValueIterator} backed by a raw iterator.
    *
    * @param <RAW> The raw type.
+   * @param <V> The value type.
    */
-  abstract class RawIterator<RAW>
-      implements Table.KeyValueIterator<KEY, VALUE> {
+  abstract class RawIterator<RAW, V>
+      implements Table.KeyValueIterator<KEY, V> {
     private final TableIterator<RAW, KeyValue<RAW, RAW>> rawIterator;
 
     RawIterator(TableIterator<RAW, KeyValue<RAW, RAW>> rawIterator) {
@@ -624,9 +814,9 @@ KeyValue<KEY, VALUE> convert(KeyValue<byte[], byte[]> raw) {
 
     /**
      * Covert the given {@link Table.KeyValue}
-     * from ({@link RAW}, {@link RAW}) to ({@link KEY}, {@link VALUE}).
+     * from ({@link RAW}, {@link RAW}) to ({@link KEY}, {@link V}).
      */
-    abstract KeyValue<KEY, VALUE> convert(KeyValue<RAW, RAW> raw)
+    abstract KeyValue<KEY, V> convert(KeyValue<RAW, RAW> raw)
         throws IOException;
 
     @Override
@@ -640,7 +830,7 @@ public void seekToLast() {
     }
 
     @Override
-    public KeyValue<KEY, VALUE> seek(KEY key) throws IOException {
+    public KeyValue<KEY, V> seek(KEY key) throws IOException {
       try (AutoCloseSupplier<RAW> rawKey = convert(key)) {
         final KeyValue<RAW, RAW> result = rawIterator.seek(rawKey.get());
         return result == null ? null : convert(result);
@@ -658,7 +848,7 @@ public boolean hasNext() {
     }
 
     @Override
-    public KeyValue<KEY, VALUE> next() {
+    public KeyValue<KEY, V> next() {
       try {
         return convert(rawIterator.next());
       } catch (IOException e) {
@@ -24,11 +24,22 @@ public class CacheStats {
   private final long cacheHits;
   private final long cacheMisses;
   private final long iterationTimes;
+  private final long readCacheHits;
+  private final long readCacheMisses;
+  private final long readCacheEvictions;
 
   public CacheStats(long cacheHits, long cacheMisses, long iterationTimes) {
+    this(cacheHits, cacheMisses, iterationTimes, 0, 0, 0);
+  }
+
+  public CacheStats(long cacheHits, long cacheMisses, long iterationTimes,
+      long readCacheHits, long readCacheMisses, long readCacheEvictions) {
     this.cacheHits = cacheHits;
     this.cacheMisses = cacheMisses;
     this.iterationTimes = iterationTimes;
+    this.readCacheHits = readCacheHits;
+    this.readCacheMisses = readCacheMisses;
+    this.readCacheEvictions = readCacheEvictions;
   }
 
   public long getCacheHits() {
@@ -42,4 +53,16 @@ public long getCacheMisses() {
   public long getIterationTimes() {
     return iterationTimes;
   }
+
+  public long getReadCacheHits() {
+    return readCacheHits;
+  }
+
+  public long getReadCacheMisses() {
+    return readCacheMisses;
+  }
+
+  public long getReadCacheEvictions() {
+    return readCacheEvictions;
+  }
 }
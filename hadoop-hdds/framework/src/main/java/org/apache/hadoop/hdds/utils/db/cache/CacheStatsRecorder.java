@@ -26,6 +26,9 @@ class CacheStatsRecorder {
   private final AtomicLong cacheHits = new AtomicLong(0);
   private final AtomicLong cacheMisses = new AtomicLong(0);
   private final AtomicLong iterationTimes = new AtomicLong(0);
+  private final AtomicLong readCacheHits = new AtomicLong(0);
+  private final AtomicLong readCacheMisses = new AtomicLong(0);
+  private final AtomicLong readCacheEvictions = new AtomicLong(0);
 
   public void recordHit() {
     cacheHits.incrementAndGet();
@@ -47,11 +50,26 @@ public void recordIteration() {
     iterationTimes.incrementAndGet();
   }
 
+  public void recordReadCacheValue(Object value) {
+    if (value == null) {
+      readCacheMisses.incrementAndGet();
+    } else {
+      readCacheHits.incrementAndGet();
+    }
+  }
+
+  public void recordReadCacheEviction() {
+    readCacheEvictions.incrementAndGet();
+  }
+
   public CacheStats snapshot() {
     return new CacheStats(
         cacheHits.get(),
         cacheMisses.get(),
-        iterationTimes.get()
+        iterationTimes.get(),
+        readCacheHits.get(),
+        readCacheMisses.get(),
+        readCacheEvictions.get()
     );
   }
 
@@ -176,12 +176,23 @@ public CacheResult<VALUE> lookup(CacheKey<KEY> cachekey) {
     }
   }
 
+  /**
+   * Check whether there is an entry for the key, without recording stats.
+   */
+  boolean contains(CacheKey<KEY> cacheKey) {
+    return cache.containsKey(cacheKey);
+  }
+
   @VisibleForTesting
   @Override
   public NavigableMap<Long, Set<CacheKey<KEY>>> getEpochEntries() {
     return epochEntries;
   }
 
+  CacheStatsRecorder getStatsRecorder() {
+    return statsRecorder;
+  }
+
   @Override
   public CacheStats getStats() {
     return statsRecorder.snapshot();
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience.Private;
+import org.apache.hadoop.hdds.annotation.InterfaceStability.Evolving;
+
+/**
+ * Partial table cache which additionally keeps a bounded number of values
+ * read from the DB, so that repeated lookups of hot keys do not need to read
+ * and decode them again.
+ * <p>
+ * Entries added by {@link #put} take precedence over the values read from
+ * the DB and they are maintained exactly as in {@link PartialTableCache}.
+ * Every put invalidates the read value of the key, and so does the cleanup
+ * of the entry once its epoch has been flushed, so the read values are never
+ * older than the DB.
+ * <p>
+ * Each of these invalidations also advances the generation of the key.
+ * Readers take the generation before reading the DB, and a value read from
+ * the DB is only kept if the generation has not moved since. A value read
+ * before an update which was already put, flushed and evicted by the time
+ * it is populated is therefore dropped as well.
+ * @param <KEY>
+ * @param <VALUE>
+ */
+@Private
+@Evolving
+public class ReadThroughTableCache<KEY, VALUE>
+    extends PartialTableCache<KEY, VALUE> {
+
+  // Values read from DB are not associated with any transaction.
+  private static final long EPOCH_DEFAULT = -1L;
+  // Keys are spread over the generations by hash, so an update of a key
+  // may also drop a concurrently read value of another key.
+  private static final int GENERATIONS = 1024;
+
+  private final Cache<CacheKey<KEY>, VALUE> readCache;
+  private final AtomicLongArray generations =
+      new AtomicLongArray(GENERATIONS);
+
+  public ReadThroughTableCache(long maxReadCacheSize) {
+    Preconditions.checkArgument(maxReadCacheSize > 0,
+        "maxReadCacheSize = %s <= 0", maxReadCacheSize);
+    readCache = CacheBuilder.newBuilder()
+        .maximumSize(maxReadCacheSize)
+        .removalListener(notification -> {
+          if (notification.wasEvicted()) {
+            getStatsRecorder().recordReadCacheEviction();
+          }
+        })
+        .build();
+  }
+
+  private static int generationIndex(CacheKey<?> cacheKey) {
+    final int hash = cacheKey.hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), GENERATIONS);
+  }
+
+  /**
+   * Returns the generation of the key, to be taken before the value of the
+   * key is read from the DB and passed to {@link #populate}.
+   */
+  public long getGeneration(CacheKey<KEY> cacheKey) {
+    return generations.get(generationIndex(cacheKey));
+  }
+
+  /**
+   * Add a value which has been read from the DB to the cache, unless the key
+   * has been updated or invalidated since {@code generation} was taken.
+   */
+  public void populate(CacheKey<KEY> cacheKey, VALUE value, long generation) {
+    if (value == null || contains(cacheKey)
+        || getGeneration(cacheKey) != generation) {
+      return;
+    }
+    readCache.put(cacheKey, value);
+    // The key may be updated concurrently after the check above, in which
+    // case the update advances the generation before it invalidates the read
+    // cache. Re-check so that a stale value cannot outlive the update.
+    if (contains(cacheKey) || getGeneration(cacheKey) != generation) {
+      readCache.invalidate(cacheKey);
+    }
+  }
+
+  /**
+   * Remove the value read from DB for the given key, to be called when the
+   * DB is updated without going through {@link #put}.
+   */
+  public void invalidate(CacheKey<KEY> cacheKey) {
+    generations.incrementAndGet(generationIndex(cacheKey));
+    readCache.invalidate(cacheKey);
+  }
+
+  /**
+   * Remove all the values read from DB.
+   */
+  public void invalidateAll() {
+    for (int i = 0; i < GENERATIONS; i++) {
+      generations.incrementAndGet(i);
+    }
+    readCache.invalidateAll();
+  }
+
+  @Override
+  public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
+    super.put(cacheKey, value);
+    invalidate(cacheKey);
+  }
+
+  @Override
+  public CacheResult<VALUE> lookup(CacheKey<KEY> cacheKey) {
+    CacheResult<VALUE> result = super.lookup(cacheKey);
+    if (result.getCacheStatus() != CacheResult.CacheStatus.MAY_EXIST) {
+      return result;
+    }
+    VALUE value = readCache.getIfPresent(cacheKey);
+    getStatsRecorder().recordReadCacheValue(value);
+    if (value == null) {
+      return result;
+    }
+    return new CacheResult<>(CacheResult.CacheStatus.EXISTS,
+        CacheValue.get(EPOCH_DEFAULT, value));
+  }
+
+  @VisibleForTesting
+  @Override
+  public void evictCache(List<Long> epochs) {
+    // Collect the keys first, the epoch entries are removed by the eviction.
+    List<CacheKey<KEY>> evicted = new ArrayList<>();
+    for (Long epoch : epochs) {
+      Set<CacheKey<KEY>> keys = getEpochEntries().get(epoch);
+      if (keys != null) {
+        evicted.addAll(keys);
+      }
+    }
+    super.evictCache(epochs);
+    for (CacheKey<KEY> cacheKey : evicted) {
+      invalidate(cacheKey);
+    }
+  }
+
+  @VisibleForTesting
+  long readCacheSize() {
+    readCache.cleanUp();
+    return readCache.size();
+  }
+}
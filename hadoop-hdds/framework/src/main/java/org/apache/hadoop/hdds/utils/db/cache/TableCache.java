@@ -94,6 +94,12 @@
    *  If cache type is
    *  {@link TableCache.CacheType#PARTIAL_CACHE}.
    *  It returns {@link CacheResult} with null and status as MAY_EXIST.
+   *
+   *  If cache type is
+   *  {@link TableCache.CacheType#READ_THROUGH_CACHE}.
+   *  It returns the previously read value with status as EXISTS if it is
+   *  still cached, otherwise {@link CacheResult} with null and status as
+   *  MAY_EXIST.
    */
   CacheResult<VALUE> lookup(CacheKey<KEY> cachekey);
 
@@ -111,7 +117,9 @@
   enum CacheType {
     FULL_CACHE, //  This mean's the table maintains full cache. Cache and DB
     // state are same.
-    PARTIAL_CACHE // This is partial table cache, cache state is partial state
+    PARTIAL_CACHE, // This is partial table cache, cache state is partial state
     // compared to DB state.
+    READ_THROUGH_CACHE // Partial table cache which additionally keeps a
+    // bounded number of recently read values from DB.
   }
 }
@@ -23,10 +23,14 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
 import org.apache.hadoop.hdds.StringUtils;
@@ -38,6 +42,7 @@
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -321,6 +326,86 @@ public void testTypedTableWithCacheWithFewDeletedOperationType()
     }
   }
 
+  @Test
+  public void testTypedTableWithReadThroughCache() throws Exception {
+    try (TypedTable<String, String> testTable = new TypedTable<>(
+        rdbStore.getTable("Ten"), codecRegistry, String.class, String.class,
+        TableCache.CacheType.READ_THROUGH_CACHE, 10)) {
+      testTable.put("key", "value");
+      Assertions.assertEquals("value", testTable.get("key"));
+      Assertions.assertEquals("value", testTable.get("key"));
+      Assertions.assertEquals(1,
+          testTable.getCache().getStats().getReadCacheHits());
+
+      // Writing to the DB directly invalidates the cached value.
+      testTable.put("key", "value2");
+      Assertions.assertEquals("value2", testTable.get("key"));
+      testTable.delete("key");
+      Assertions.assertNull(testTable.get("key"));
+
+      // Updates through the table cache are visible before and after flush.
+      Assertions.assertNull(testTable.get("key2"));
+      testTable.put("key2", "value");
+      Assertions.assertEquals("value", testTable.getIfExist("key2"));
+      testTable.addCacheEntry(new CacheKey<>("key2"), CacheValue.get(1L));
+      Assertions.assertNull(testTable.get("key2"));
+      testTable.delete("key2");
+      testTable.cleanupCache(Collections.singletonList(1L));
+      GenericTestUtils.waitFor(() -> testTable.getCache().size() == 0,
+          100, 5000);
+      Assertions.assertNull(testTable.get("key2"));
+    }
+  }
+
+  @Test
+  public void testFullCacheTableFilledByRanges() throws Exception {
+    try (Table<String, String> testTable = createTypedTable("Seven")) {
+      // Each flush writes a new SST file, which starts a key range.
+      for (int i = 0; i < 100; i++) {
+        testTable.put(String.format("key%03d", i), "value" + i);
+        if (i % 10 == 9) {
+          rdbStore.flushDB();
+        }
+      }
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (Table<String, String> testTable = rdbStore.getFullCacheTable(
+        "Seven", String.class, String.class, 4, executor).get()) {
+      int cached = 0;
+      Iterator<?> it = testTable.cacheIterator();
+      for (; it.hasNext(); it.next()) {
+        cached++;
+      }
+      Assertions.assertEquals(100, cached);
+      for (int i = 0; i < 100; i++) {
+        Assertions.assertEquals("value" + i, testTable.getCacheValue(
+            new CacheKey<>(String.format("key%03d", i))).getCacheValue());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testGetSplits() {
+    List<byte[]> keys = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      keys.add(new byte[] {(byte) i});
+    }
+    List<byte[]> splits = TypedTable.getSplits(keys, 4);
+    Assertions.assertEquals(3, splits.size());
+    Assertions.assertArrayEquals(new byte[] {2}, splits.get(0));
+    Assertions.assertArrayEquals(new byte[] {5}, splits.get(1));
+    Assertions.assertArrayEquals(new byte[] {7}, splits.get(2));
+
+    // duplicate and too few keys do not make empty ranges
+    Assertions.assertEquals(0, TypedTable.getSplits(
+        Arrays.asList(new byte[] {1}, new byte[] {1}), 4).size());
+    Assertions.assertEquals(0,
+        TypedTable.getSplits(new ArrayList<>(), 4).size());
+    Assertions.assertEquals(0, TypedTable.getSplits(keys, 1).size());
+  }
+
   @Test
   public void testIsExist() throws Exception {
     try (Table<String, String> testTable = createTypedTable(
@@ -20,12 +20,14 @@
 package org.apache.hadoop.hdds.utils.db.cache;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.apache.ozone.test.GenericTestUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.slf4j.event.Level;
@@ -46,6 +48,8 @@ public static void setLogLevel() {
   private void createTableCache(TableCache.CacheType cacheType) {
     if (cacheType == TableCache.CacheType.FULL_CACHE) {
       tableCache = new FullTableCache<>();
+    } else if (cacheType == TableCache.CacheType.READ_THROUGH_CACHE) {
+      tableCache = new ReadThroughTableCache<>(10);
     } else {
       tableCache = new PartialTableCache<>();
     }
@@ -137,7 +141,7 @@ public void testTableCacheWithRenameKey(TableCache.CacheType cacheType) {
 
     Assertions.assertEquals(0, tableCache.getEpochEntries().size());
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       Assertions.assertEquals(0, tableCache.size());
     } else {
       Assertions.assertEquals(3, tableCache.size());
@@ -175,7 +179,7 @@ public void testPartialTableCacheWithNotContinuousEntries(
     final int count = totalCount;
 
     // If cleanup policy is manual entries should have been removed.
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       Assertions.assertEquals(count - epochs.size(), tableCache.size());
 
       // Check remaining entries exist or not and deleted entries does not
@@ -237,7 +241,7 @@ public void testPartialTableCacheWithOverrideEntries(
     epochs.add(3L);
     epochs.add(4L);
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
 
       tableCache.evictCache(epochs);
 
@@ -252,7 +256,7 @@ public void testPartialTableCacheWithOverrideEntries(
 
     epochs = new ArrayList<>();
     epochs.add(5L);
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       tableCache.evictCache(epochs);
 
       Assertions.assertEquals(0, tableCache.size());
@@ -314,7 +318,7 @@ public void testPartialTableCacheWithOverrideAndDelete(
     epochs.add(6L);
 
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       tableCache.evictCache(epochs);
 
       Assertions.assertEquals(0, tableCache.size());
@@ -336,7 +340,7 @@ public void testPartialTableCacheWithOverrideAndDelete(
     epochs = new ArrayList<>();
     epochs.add(7L);
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       tableCache.evictCache(epochs);
 
       Assertions.assertEquals(0, tableCache.size());
@@ -401,7 +405,7 @@ public void testPartialTableCacheParallel(
 
     totalCount += value;
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       int deleted = 5;
 
       // cleanup first 5 entries
@@ -520,7 +524,7 @@ public void testTableCacheWithNonConsecutiveEpochList(
 
     tableCache.evictCache(epochs);
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       Assertions.assertEquals(0, tableCache.size());
       Assertions.assertEquals(0, tableCache.getEpochEntries().size());
     } else {
@@ -563,6 +567,94 @@ public void testTableCacheStats(TableCache.CacheType cacheType) {
     verifyStats(tableCache, 3, 2, 2);
   }
 
+  @Test
+  public void testReadThroughTableCache() {
+    ReadThroughTableCache<String, String> cache =
+        new ReadThroughTableCache<>(2);
+    tableCache = cache;
+
+    Assertions.assertEquals(CacheResult.CacheStatus.MAY_EXIST,
+        cache.lookup(new CacheKey<>("0")).getCacheStatus());
+
+    // Values read from DB are returned by lookup, but they are not part of
+    // the cache entries.
+    populate(cache, "0", "0");
+    populate(cache, "1", "1");
+    CacheResult<String> result = cache.lookup(new CacheKey<>("0"));
+    Assertions.assertEquals(CacheResult.CacheStatus.EXISTS,
+        result.getCacheStatus());
+    Assertions.assertEquals("0", result.getValue().getCacheValue());
+    Assertions.assertEquals(0, cache.size());
+    Assertions.assertFalse(cache.iterator().hasNext());
+
+    // A put overrides and invalidates the value read from DB.
+    cache.put(new CacheKey<>("1"), CacheValue.get(1, "1-updated"));
+    Assertions.assertEquals("1-updated",
+        cache.lookup(new CacheKey<>("1")).getValue().getCacheValue());
+    Assertions.assertEquals(1, cache.readCacheSize());
+
+    // Values cannot be populated while there is a pending update.
+    populate(cache, "1", "1");
+    Assertions.assertEquals(1, cache.readCacheSize());
+
+    // After the flush, the updated value must be read from DB again.
+    cache.evictCache(Collections.singletonList(1L));
+    Assertions.assertEquals(CacheResult.CacheStatus.MAY_EXIST,
+        cache.lookup(new CacheKey<>("1")).getCacheStatus());
+
+    // Deleted entries are not returned from the read cache either.
+    cache.put(new CacheKey<>("0"), CacheValue.get(2));
+    Assertions.assertEquals(CacheResult.CacheStatus.NOT_EXIST,
+        cache.lookup(new CacheKey<>("0")).getCacheStatus());
+    cache.evictCache(Collections.singletonList(2L));
+    Assertions.assertEquals(CacheResult.CacheStatus.MAY_EXIST,
+        cache.lookup(new CacheKey<>("0")).getCacheStatus());
+
+    // The read cache is bounded.
+    for (int i = 0; i < 5; i++) {
+      populate(cache, Integer.toString(i), Integer.toString(i));
+    }
+    Assertions.assertEquals(2, cache.readCacheSize());
+
+    CacheStats stats = cache.getStats();
+    Assertions.assertEquals(1, stats.getReadCacheHits());
+    Assertions.assertEquals(3, stats.getReadCacheMisses());
+    Assertions.assertEquals(3, stats.getReadCacheEvictions());
+  }
+
+  @Test
+  public void testReadThroughTableCacheDropsValueReadBeforeUpdate() {
+    ReadThroughTableCache<String, String> cache =
+        new ReadThroughTableCache<>(10);
+    tableCache = cache;
+    CacheKey<String> key = new CacheKey<>("0");
+
+    // A reader takes the generation and reads "0" from DB. Meanwhile the key
+    // is updated, flushed and evicted from the cache.
+    long generation = cache.getGeneration(key);
+    cache.put(key, CacheValue.get(1, "0-updated"));
+    cache.evictCache(Collections.singletonList(1L));
+    Assertions.assertEquals(CacheResult.CacheStatus.MAY_EXIST,
+        cache.lookup(key).getCacheStatus());
+
+    // The stale value read before the update must not be cached.
+    cache.populate(key, "0", generation);
+    Assertions.assertEquals(CacheResult.CacheStatus.MAY_EXIST,
+        cache.lookup(key).getCacheStatus());
+    Assertions.assertEquals(0, cache.readCacheSize());
+
+    // A value read after the update is.
+    populate(cache, "0", "0-updated");
+    Assertions.assertEquals("0-updated",
+        cache.lookup(key).getValue().getCacheValue());
+  }
+
+  private static void populate(ReadThroughTableCache<String, String> cache,
+      String key, String value) {
+    CacheKey<String> cacheKey = new CacheKey<>(key);
+    cache.populate(cacheKey, value, cache.getGeneration(cacheKey));
+  }
+
   private int writeToCache(int count, int startVal, long sleep)
       throws InterruptedException {
     int counter = 1;
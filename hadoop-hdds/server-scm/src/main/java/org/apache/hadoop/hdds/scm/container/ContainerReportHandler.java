@@ -27,17 +27,20 @@
 import org.apache.hadoop.hdds.scm.ScmConfig;
 import org.apache.hadoop.hdds.scm.container.report.ContainerReportValidator;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
+import org.apache.hadoop.hdds.scm.node.DatanodeInfo;
 import org.apache.hadoop.hdds.scm.node.NodeManager;
 import org.apache.hadoop.hdds.scm.node.states.NodeNotFoundException;
 import org.apache.hadoop.hdds.scm.server.SCMDatanodeHeartbeatDispatcher
     .ContainerReportFromDatanode;
 import org.apache.hadoop.hdds.server.events.EventHandler;
 import org.apache.hadoop.hdds.server.events.EventPublisher;
+import org.apache.hadoop.hdds.utils.ContainerIDDigest;
 import org.apache.hadoop.ozone.common.statemachine.InvalidStateTransitionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeoutException;
@@ -132,6 +135,18 @@ public ContainerReportHandler(final NodeManager nodeManager,
    *  changed to have a command sent to the datanode to delete the replica via
    *  the hdds.scm.unknown-container.action setting.
    *
+   *  A datanode may instead send a delta report, which carries only the
+   *  replicas that changed since the report of its baseGeneration, plus the
+   *  IDs of the containers removed since then. A delta is only applied if
+   *  its baseGeneration is the last generation applied for the datanode, as
+   *  it describes the changes since exactly that report. Otherwise it is
+   *  dropped and a full report is requested by acknowledging generation 0 in
+   *  the next heartbeat response.
+   *  After a report is applied,
+   *  the digest of the container IDs it describes is compared with the
+   *  containers known for the datanode, and a mismatch also requests a full
+   *  report.
+   *
    *  Note that the datanode also sends smaller Incremental Container Reports
    *  more frequently, but the logic is synchronized on the datanode to prevent
    *  full and incremental reports processing in parallel for the same datanode
@@ -161,6 +176,16 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
       // issue between the container list in NodeManager and the replicas in
       // ContainerManager.
       synchronized (datanodeDetails) {
+        final boolean delta = containerReport.hasBaseGeneration();
+        final long applied = getContainerReportGeneration(datanodeDetails);
+        if (delta && (applied == 0
+            || containerReport.getBaseGeneration() != applied)) {
+          LOG.info("Dropping delta container report from datanode {} based " +
+                  "on generation {}, a full report is requested.",
+              datanodeDetails, containerReport.getBaseGeneration());
+          setContainerReportGeneration(datanodeDetails, 0);
+          return;
+        }
         final List<ContainerReplicaProto> replicas =
             containerReport.getReportsList();
         final Set<ContainerID> expectedContainersInDatanode =
@@ -194,10 +219,25 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
                     replica, publisher);
           }
         }
-        // Anything left in expectedContainersInDatanode was not in the full
-        // report, so it is now missing on the DN. We need to remove it from the
-        // list
-        processMissingReplicas(datanodeDetails, expectedContainersInDatanode);
+        if (delta) {
+          // Containers not in a delta report are unchanged, only the ones
+          // listed as removed are now missing on the DN.
+          final Set<ContainerID> removed = new HashSet<>();
+          for (long id : containerReport.getRemovedContainersList()) {
+            final ContainerID cid = ContainerID.valueOf(id);
+            if (expectedContainersInDatanode.contains(cid)) {
+              removed.add(cid);
+            }
+          }
+          processMissingReplicas(datanodeDetails, removed);
+        } else {
+          // Anything left in expectedContainersInDatanode was not in the full
+          // report, so it is now missing on the DN. We need to remove it from
+          // the list
+          processMissingReplicas(datanodeDetails,
+              expectedContainersInDatanode);
+        }
+        updateContainerReportGeneration(datanodeDetails, containerReport);
         containerManager.notifyContainerReportProcessing(true, true);
       }
     } catch (NodeNotFoundException ex) {
@@ -208,6 +248,46 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
 
   }
 
+  /**
+   * Records the generation of the report just applied, so that it is
+   * acknowledged to the datanode. If the container ID digest of the report
+   * does not match the containers known for the datanode, generation 0 is
+   * recorded instead, which makes the datanode send a full report.
+   */
+  private void updateContainerReportGeneration(
+      final DatanodeDetails datanodeDetails,
+      final ContainerReportsProto containerReport)
+      throws NodeNotFoundException {
+    long generation = containerReport.getGeneration();
+    if (containerReport.hasContainerIdDigest()) {
+      final ContainerIDDigest digest = new ContainerIDDigest();
+      for (ContainerID id : nodeManager.getContainers(datanodeDetails)) {
+        digest.add(id.getId());
+      }
+      if (digest.getValue() != containerReport.getContainerIdDigest()) {
+        LOG.info("Container report digest mismatch for datanode {}, a full " +
+            "report is requested.", datanodeDetails);
+        generation = 0;
+      }
+    }
+    setContainerReportGeneration(datanodeDetails, generation);
+  }
+
+  private static long getContainerReportGeneration(
+      final DatanodeDetails datanodeDetails) {
+    return datanodeDetails instanceof DatanodeInfo
+        ? ((DatanodeInfo) datanodeDetails).getContainerReportGeneration()
+        : 0;
+  }
+
+  private static void setContainerReportGeneration(
+      final DatanodeDetails datanodeDetails, final long generation) {
+    if (datanodeDetails instanceof DatanodeInfo) {
+      ((DatanodeInfo) datanodeDetails).setContainerReportGeneration(
+          generation);
+    }
+  }
+
   /**
    * Processes the ContainerReport.
    * Any unknown container reported by DN and not present in SCM
@@ -62,6 +62,9 @@ public class DatanodeInfo extends DatanodeDetails {
 
   private NodeStatus nodeStatus;
 
+  // generation of the last container report applied, 0 if none
+  private volatile long containerReportGeneration;
+
   /**
    * Constructs DatanodeInfo from DatanodeDetails.
    *
@@ -345,6 +348,18 @@ public int getCommandCount(SCMCommandProto.Type cmd) {
     }
   }
 
+  /**
+   * Returns the generation of the last container report applied, which is
+   * acknowledged to the datanode. 0 if a full report is needed.
+   */
+  public long getContainerReportGeneration() {
+    return containerReportGeneration;
+  }
+
+  public void setContainerReportGeneration(long generation) {
+    this.containerReportGeneration = generation;
+  }
+
   @Override
   public int hashCode() {
     return super.hashCode();
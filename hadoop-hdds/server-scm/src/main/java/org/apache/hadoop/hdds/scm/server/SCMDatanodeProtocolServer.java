@@ -50,6 +50,7 @@
 import org.apache.hadoop.hdds.scm.events.SCMEvents;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
 import org.apache.hadoop.hdds.scm.ha.SCMNodeDetails;
+import org.apache.hadoop.hdds.scm.node.DatanodeInfo;
 import org.apache.hadoop.hdds.scm.server.SCMDatanodeHeartbeatDispatcher.PipelineReportFromDatanode;
 import org.apache.hadoop.hdds.scm.server.SCMDatanodeHeartbeatDispatcher.ReportFromDatanode;
 import org.apache.hadoop.hdds.server.events.EventPublisher;
@@ -293,6 +294,13 @@ public SCMHeartbeatResponseProto sendHeartbeat(
               .setDatanodeUUID(heartbeat.getDatanodeDetails().getUuid())
               .addAllCommands(cmdResponses);
       term.ifPresent(builder::setTerm);
+      final DatanodeDetails dn = scm.getScmNodeManager()
+          .getNodeByUuid(heartbeat.getDatanodeDetails().getUuid());
+      if (dn instanceof DatanodeInfo) {
+        // Acknowledge the last container report applied for the datanode.
+        builder.setContainerReportGeneration(
+            ((DatanodeInfo) dn).getContainerReportGeneration());
+      }
       return builder.build();
     } catch (Exception ex) {
       auditSuccess = false;
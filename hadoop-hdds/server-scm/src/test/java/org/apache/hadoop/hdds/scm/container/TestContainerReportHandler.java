@@ -33,6 +33,7 @@
 import org.apache.hadoop.hdds.scm.ha.SCMHAManagerStub;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManager;
 import org.apache.hadoop.hdds.scm.metadata.SCMDBDefinition;
+import org.apache.hadoop.hdds.scm.node.DatanodeInfo;
 import org.apache.hadoop.hdds.scm.node.NodeManager;
 import org.apache.hadoop.hdds.scm.node.NodeStatus;
 import org.apache.hadoop.hdds.scm.node.states.NodeNotFoundException;
@@ -43,10 +44,12 @@
 import org.apache.hadoop.hdds.scm.server
     .SCMDatanodeHeartbeatDispatcher.ContainerReportFromDatanode;
 import org.apache.hadoop.hdds.server.events.EventPublisher;
+import org.apache.hadoop.hdds.utils.ContainerIDDigest;
 import org.apache.hadoop.hdds.utils.db.DBStore;
 import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
 import org.apache.hadoop.ozone.common.statemachine.InvalidStateTransitionException;
 import org.apache.hadoop.ozone.container.common.SCMTestUtils;
+import org.apache.hadoop.ozone.container.upgrade.UpgradeUtils;
 import org.apache.hadoop.ozone.protocol.commands.CommandForDatanode;
 import org.apache.ozone.test.GenericTestUtils;
 import org.junit.Assert;
@@ -61,6 +64,7 @@
 import java.time.Clock;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -992,6 +996,162 @@ public void testStaleReplicaOfDeletedContainer() throws NodeNotFoundException,
         containerOne.containerID()).size());
   }
 
+  @Test
+  public void testDeltaContainerReport() throws NodeNotFoundException,
+      IOException, TimeoutException {
+    nodeManager = new GenerationTrackingNodeManager();
+    final ContainerReportHandler reportHandler = new ContainerReportHandler(
+        nodeManager, containerManager);
+    final DatanodeDetails datanode = nodeManager.getNodeByUuid(
+        nodeManager.getNodes(NodeStatus.inServiceHealthy()).get(0)
+            .getUuidString());
+    final ContainerInfo containerOne = getContainer(LifeCycleState.CLOSED);
+    final ContainerInfo containerTwo = getContainer(LifeCycleState.CLOSED);
+    nodeManager.setContainers(datanode, Stream.of(
+        containerOne.containerID(), containerTwo.containerID())
+        .collect(Collectors.toSet()));
+    containerStateManager.addContainer(containerOne.getProtobuf());
+    containerStateManager.addContainer(containerTwo.getProtobuf());
+
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode,
+        getContainerReportsProto(datanode, containerOne, containerTwo)
+            .setGeneration(1)
+            .build()), publisher);
+    assertEquals(1, getGeneration(datanode));
+    assertEquals(2, nodeManager.getContainers(datanode).size());
+
+    // containerOne is not in the delta, so it is unchanged.
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode,
+        ContainerReportsProto.newBuilder()
+            .setGeneration(2)
+            .setBaseGeneration(1)
+            .addRemovedContainers(containerTwo.getContainerID())
+            .build()), publisher);
+    assertEquals(2, getGeneration(datanode));
+    assertEquals(Collections.singleton(containerOne.containerID()),
+        nodeManager.getContainers(datanode));
+    assertEquals(1, containerStateManager.getContainerReplicas(
+        containerOne.containerID()).size());
+    assertEquals(0, containerStateManager.getContainerReplicas(
+        containerTwo.containerID()).size());
+  }
+
+  @Test
+  public void testDeltaContainerReportOnOtherGenerationIsDropped()
+      throws NodeNotFoundException, IOException, TimeoutException {
+    nodeManager = new GenerationTrackingNodeManager();
+    final ContainerReportHandler reportHandler = new ContainerReportHandler(
+        nodeManager, containerManager);
+    final DatanodeDetails datanode = nodeManager.getNodeByUuid(
+        nodeManager.getNodes(NodeStatus.inServiceHealthy()).get(0)
+            .getUuidString());
+    final ContainerInfo containerOne = getContainer(LifeCycleState.CLOSED);
+    nodeManager.setContainers(datanode,
+        Collections.singleton(containerOne.containerID()));
+    containerStateManager.addContainer(containerOne.getProtobuf());
+    final ContainerReportsProto delta = ContainerReportsProto.newBuilder()
+        .setGeneration(3)
+        .setBaseGeneration(1)
+        .addRemovedContainers(containerOne.getContainerID())
+        .build();
+
+    // Nothing applied yet, a delta has nothing to be based on.
+    reportHandler.onMessage(
+        new ContainerReportFromDatanode(datanode, delta), publisher);
+    assertEquals(0, getGeneration(datanode));
+
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode,
+        getContainerReportsProto(datanode, containerOne)
+            .setGeneration(2)
+            .build()), publisher);
+    assertEquals(2, getGeneration(datanode));
+
+    // Based on an older generation than the one applied.
+    reportHandler.onMessage(
+        new ContainerReportFromDatanode(datanode, delta), publisher);
+    assertEquals(0, getGeneration(datanode));
+    assertEquals(Collections.singleton(containerOne.containerID()),
+        nodeManager.getContainers(datanode));
+    assertEquals(1, containerStateManager.getContainerReplicas(
+        containerOne.containerID()).size());
+  }
+
+  @Test
+  public void testContainerReportDigestMismatch()
+      throws NodeNotFoundException, IOException, TimeoutException {
+    nodeManager = new GenerationTrackingNodeManager();
+    final ContainerReportHandler reportHandler = new ContainerReportHandler(
+        nodeManager, containerManager);
+    final DatanodeDetails datanode = nodeManager.getNodeByUuid(
+        nodeManager.getNodes(NodeStatus.inServiceHealthy()).get(0)
+            .getUuidString());
+    final ContainerInfo containerOne = getContainer(LifeCycleState.CLOSED);
+    final ContainerInfo containerTwo = getContainer(LifeCycleState.CLOSED);
+    nodeManager.setContainers(datanode,
+        Collections.singleton(containerOne.containerID()));
+    containerStateManager.addContainer(containerOne.getProtobuf());
+    containerStateManager.addContainer(containerTwo.getProtobuf());
+
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode,
+        getContainerReportsProto(datanode, containerOne)
+            .setGeneration(1)
+            .setContainerIdDigest(new ContainerIDDigest()
+                .add(containerOne.getContainerID())
+                .getValue())
+            .build()), publisher);
+    assertEquals(1, getGeneration(datanode));
+
+    // The datanode claims to hold containerTwo as well, which SCM has not
+    // seen in any report.
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode,
+        ContainerReportsProto.newBuilder()
+            .setGeneration(2)
+            .setBaseGeneration(1)
+            .setContainerIdDigest(new ContainerIDDigest()
+                .add(containerOne.getContainerID())
+                .add(containerTwo.getContainerID())
+                .getValue())
+            .build()), publisher);
+    assertEquals(0, getGeneration(datanode));
+  }
+
+  private static long getGeneration(DatanodeDetails datanode) {
+    return ((DatanodeInfo) datanode).getContainerReportGeneration();
+  }
+
+  private static ContainerReportsProto.Builder getContainerReportsProto(
+      DatanodeDetails datanode, ContainerInfo... containers) {
+    final ContainerReportsProto.Builder builder =
+        ContainerReportsProto.newBuilder();
+    for (ContainerInfo container : containers) {
+      builder.addAllReports(getContainerReportsProto(container.containerID(),
+          ContainerReplicaProto.State.CLOSED, datanode.getUuidString())
+          .getReportsList());
+    }
+    return builder;
+  }
+
+  /**
+   * MockNodeManager which hands out the same {@link DatanodeInfo} for a
+   * datanode, like SCMNodeManager, so that the report generation acknowledged
+   * to it is tracked.
+   */
+  private static class GenerationTrackingNodeManager extends MockNodeManager {
+    private final Map<String, DatanodeInfo> datanodes = new HashMap<>();
+
+    GenerationTrackingNodeManager() {
+      super(true, 10);
+    }
+
+    @Override
+    public synchronized DatanodeDetails getNodeByUuid(String uuid) {
+      final DatanodeDetails datanode = super.getNodeByUuid(uuid);
+      return datanode == null ? null : datanodes.computeIfAbsent(uuid,
+          id -> new DatanodeInfo(datanode, NodeStatus.inServiceHealthy(),
+              UpgradeUtils.defaultLayoutVersionProto()));
+    }
+  }
+
   private ContainerReportFromDatanode getContainerReportFromDatanode(
       ContainerID containerId, ContainerReplicaProto.State state,
       DatanodeDetails dn, long bytesUsed, long keyCount) {
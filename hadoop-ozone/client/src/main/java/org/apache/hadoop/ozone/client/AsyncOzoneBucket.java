@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.client;
+
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
+import org.apache.ratis.util.function.CheckedSupplier;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous view of an {@link OzoneBucket}. Each operation returns a
+ * future which completes when the operation is done, or completes
+ * exceptionally with the IOException of the failed operation.
+ * <p>
+ * OM requests and key writes block a thread of the given executor, which
+ * bounds the number of operations in flight. On JDK 21 or later, an
+ * executor creating a virtual thread per task allows a large number of
+ * concurrent operations without a platform thread each. Keys are read from
+ * the datanodes without blocking, see {@link #readKey}.
+ * <p>
+ * Example:
+ * <pre>
+ * AsyncOzoneBucket bucket = new AsyncOzoneBucket(
+ *     store.getVolume("vol").getBucket("bucket"), executor);
+ * bucket.createKey("key", data, replicationConfig, metadata)
+ *     .thenCompose(v -&gt; bucket.readKey("key", buffer -&gt; ...))
+ *     .thenAccept(length -&gt; ...);
+ * </pre>
+ */
+public class AsyncOzoneBucket {
+
+  private final OzoneBucket bucket;
+  private final Executor executor;
+
+  public AsyncOzoneBucket(OzoneBucket bucket, Executor executor) {
+    this.bucket = Objects.requireNonNull(bucket, "bucket == null");
+    this.executor = Objects.requireNonNull(executor, "executor == null");
+  }
+
+  public OzoneBucket getBucket() {
+    return bucket;
+  }
+
+  /**
+   * Creates a key with the given content.
+   * @param key Name of the key to be created.
+   * @param data Content of the key, from its position to its limit.
+   * @param replicationConfig Replication configuration, the bucket default
+   *                          if null.
+   */
+  public CompletableFuture<Void> createKey(String key, ByteBuffer data,
+      ReplicationConfig replicationConfig, Map<String, String> keyMetadata) {
+    final ByteBuffer content = data.duplicate();
+    final ReplicationConfig replication = replicationConfig != null
+        ? replicationConfig : bucket.getReplicationConfig();
+    return call(() -> {
+      try (OzoneOutputStream out = bucket.createKey(key, content.remaining(),
+          replication, keyMetadata)) {
+        if (content.hasArray()) {
+          out.write(content.array(),
+              content.arrayOffset() + content.position(), content.remaining());
+        } else {
+          final byte[] bytes = new byte[content.remaining()];
+          content.get(bytes);
+          out.write(bytes);
+        }
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Reads the content of a key. The datanodes are read asynchronously and
+   * the content is handed to the consumer in order, one chunk at a time,
+   * instead of being buffered as a whole. The consumer must not block and
+   * must not keep the buffers after it returns.
+   * @return future of the length of the key
+   */
+  public CompletableFuture<Long> readKey(String key,
+      Consumer<ByteBuffer> consumer) {
+    return bucket.getProxy().readKeyAsync(bucket.getVolumeName(),
+        bucket.getName(), key, consumer, executor);
+  }
+
+  /** @see OzoneBucket#getKey(String) */
+  public CompletableFuture<OzoneKeyDetails> getKey(String key) {
+    return call(() -> bucket.getKey(key));
+  }
+
+  /** @see OzoneBucket#headObject(String) */
+  public CompletableFuture<OzoneKey> headObject(String key) {
+    return call(() -> bucket.headObject(key));
+  }
+
+  /** @see OzoneBucket#deleteKey(String) */
+  public CompletableFuture<Void> deleteKey(String key) {
+    return call(() -> {
+      bucket.deleteKey(key);
+      return null;
+    });
+  }
+
+  /**
+   * Lists the keys with the given prefix.
+   * @param keyPrefix Bucket prefix to match, all keys if null.
+   * @param prevKey Keys will be listed after this key name, if not null.
+   * @param maxKeys Maximum number of keys to list.
+   */
+  public CompletableFuture<List<OzoneKey>> listKeys(String keyPrefix,
+      String prevKey, int maxKeys) {
+    return call(() -> {
+      final List<OzoneKey> keys = new ArrayList<>();
+      final Iterator<? extends OzoneKey> it =
+          bucket.listKeys(keyPrefix, prevKey);
+      while (keys.size() < maxKeys && it.hasNext()) {
+        keys.add(it.next());
+      }
+      return keys;
+    });
+  }
+
+  private <T> CompletableFuture<T> call(
+      CheckedSupplier<T, IOException> operation) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return operation.get();
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+}
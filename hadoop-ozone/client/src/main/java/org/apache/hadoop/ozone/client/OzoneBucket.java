@@ -40,6 +40,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyBatchResult;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
@@ -192,6 +193,10 @@ protected OzoneBucket(Builder builder) {
     this.owner = builder.owner;
   }
 
+  ClientProtocol getProxy() {
+    return proxy;
+  }
+
   /**
    * Returns Volume Name.
    *
@@ -453,6 +458,25 @@ public OzoneOutputStream createKey(String key, long size,
         .createKey(volumeName, name, key, size, replicationConfig, keyMetadata);
   }
 
+  /**
+   * Creates a batch of keys in the bucket with two OM requests per up to
+   * {@link org.apache.hadoop.ozone.OmUtils#MAX_OBJECT_IDS_PER_TRXN} keys,
+   * one to open the keys and one to commit them. Intended for many small
+   * keys, each key succeeds or fails on its own.
+   *
+   * @param keys              Names of the keys mapped to their content.
+   * @param replicationConfig Replication configuration.
+   * @return result of each key, in the iteration order of keys.
+   * @throws IOException
+   */
+  public List<OmKeyBatchResult<Void>> createKeys(Map<String, byte[]> keys,
+      ReplicationConfig replicationConfig,
+      Map<String, String> keyMetadata)
+      throws IOException {
+    return proxy
+        .createKeys(volumeName, name, keys, replicationConfig, keyMetadata);
+  }
+
   /**
    * Creates a new key in the bucket, with default replication type RATIS and
    * with replication factor THREE.
@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.client.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.client.StandaloneReplicationConfig;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.scm.XceiverClientFactory;
+import org.apache.hadoop.hdds.scm.XceiverClientReply;
+import org.apache.hadoop.hdds.scm.XceiverClientSpi;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.storage.ContainerProtocolCalls;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChecksumData;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+
+/**
+ * Reads the blocks of a replicated key through
+ * {@link XceiverClientSpi#sendCommandAsync}, so that no thread waits for
+ * the datanodes. The content is handed to a consumer in key order, one chunk
+ * at a time, with at most {@link #CHUNKS_IN_FLIGHT} chunk reads per key in
+ * flight, instead of being buffered as a whole.
+ * <p>
+ * Each request goes to the first datanode of the pipeline and is not
+ * retried; the caller falls back to a {@link KeyInputStream} from
+ * {@link #getPosition()} if the read fails.
+ */
+public class AsyncKeyReader {
+
+  static final int CHUNKS_IN_FLIGHT = 4;
+
+  private final OmKeyInfo keyInfo;
+  private final XceiverClientFactory xceiverClientFactory;
+  private final boolean verifyChecksum;
+  private final Consumer<ByteBuffer> consumer;
+  // the number of bytes handed to the consumer
+  private volatile long position;
+
+  public AsyncKeyReader(OmKeyInfo keyInfo,
+      XceiverClientFactory xceiverClientFactory, boolean verifyChecksum,
+      Consumer<ByteBuffer> consumer) {
+    this.keyInfo = keyInfo;
+    this.xceiverClientFactory = xceiverClientFactory;
+    this.verifyChecksum = verifyChecksum;
+    this.consumer = consumer;
+  }
+
+  /**
+   * @return whether the key can be read by this reader, i.e. it is neither
+   *         erasure coded nor encrypted.
+   */
+  public static boolean isSupported(OmKeyInfo keyInfo) {
+    return keyInfo.getReplicationConfig().getReplicationType()
+        != HddsProtos.ReplicationType.EC
+        && keyInfo.getFileEncryptionInfo() == null;
+  }
+
+  /**
+   * Reads the whole key. The consumer is called from the threads completing
+   * the datanode replies, so it must not block.
+   * @return future of the length of the key
+   */
+  public CompletableFuture<Long> read() {
+    CompletableFuture<Void> read = CompletableFuture.completedFuture(null);
+    final OmKeyLocationInfoGroup locations =
+        keyInfo.getLatestVersionLocations();
+    if (locations == null) {
+      return read.thenApply(v -> position);
+    }
+    for (OmKeyLocationInfo block : locations.getBlocksLatestVersionOnly()) {
+      read = read.thenCompose(v -> readBlock(block));
+    }
+    return read.thenApply(v -> position);
+  }
+
+  public long getPosition() {
+    return position;
+  }
+
+  private CompletableFuture<Void> readBlock(OmKeyLocationInfo block) {
+    final XceiverClientSpi client;
+    try {
+      client = xceiverClientFactory.acquireClientForReadData(
+          getReadPipeline(block.getPipeline()));
+    } catch (IOException e) {
+      return failed(e);
+    }
+    final CompletableFuture<Void> read = send(() ->
+        ContainerProtocolCalls.getBlockAsync(client,
+            block.getBlockID().getDatanodeBlockIDProtobuf(),
+            block.getToken()))
+        .thenCompose(response -> new BlockReader(client, block,
+            response.getGetBlock().getBlockData().getChunksList()).read());
+    return read.whenComplete((v, e) ->
+        xceiverClientFactory.releaseClientForReadData(client, false));
+  }
+
+  /**
+   * Blocks are read through the standalone protocol, irrespective of the
+   * state of the container, as in BlockInputStream.
+   */
+  private static Pipeline getReadPipeline(Pipeline pipeline) {
+    if (pipeline.getType() == HddsProtos.ReplicationType.STAND_ALONE) {
+      return pipeline;
+    }
+    return Pipeline.newBuilder(pipeline)
+        .setReplicationConfig(StandaloneReplicationConfig.getInstance(
+            ReplicationConfig.getLegacyFactor(
+                pipeline.getReplicationConfig())))
+        .build();
+  }
+
+  /** Reads the chunks of a block, keeping a window of reads in flight. */
+  private final class BlockReader {
+    private final XceiverClientSpi client;
+    private final BlockID blockID;
+    private final OmKeyLocationInfo block;
+    private final List<ChunkInfo> chunks;
+    private final Deque<CompletableFuture<List<ByteString>>> inFlight =
+        new ArrayDeque<>();
+    private int next;
+    private long remaining;
+
+    BlockReader(XceiverClientSpi client, OmKeyLocationInfo block,
+        List<ChunkInfo> chunks) {
+      this.client = client;
+      this.blockID = block.getBlockID();
+      this.block = block;
+      this.chunks = chunks;
+      this.remaining = block.getLength();
+    }
+
+    CompletableFuture<Void> read() {
+      while (inFlight.size() < CHUNKS_IN_FLIGHT && next < chunks.size()) {
+        inFlight.add(readChunk(chunks.get(next++)));
+      }
+      final CompletableFuture<List<ByteString>> head = inFlight.poll();
+      if (head == null) {
+        return remaining == 0 ? CompletableFuture.completedFuture(null)
+            : failed(new IOException("Block " + blockID + " is shorter"
+                + " than its length " + block.getLength()));
+      }
+      return head.thenCompose(data -> {
+        deliver(data);
+        return read();
+      });
+    }
+
+    private void deliver(List<ByteString> data) {
+      for (ByteString piece : data) {
+        final ByteBuffer buffer = piece.asReadOnlyByteBuffer();
+        if (buffer.remaining() > remaining) {
+          buffer.limit(buffer.position() + (int) remaining);
+        }
+        if (!buffer.hasRemaining()) {
+          continue;
+        }
+        remaining -= buffer.remaining();
+        position += buffer.remaining();
+        consumer.accept(buffer);
+      }
+    }
+
+    private CompletableFuture<List<ByteString>> readChunk(ChunkInfo chunk) {
+      return send(() -> ContainerProtocolCalls.readChunkAsync(
+          client, chunk, blockID, block.getToken()))
+          .thenApply(response -> {
+            try {
+              return getData(chunk, response.getReadChunk());
+            } catch (IOException e) {
+              throw new CompletionException(e);
+            }
+          });
+    }
+
+    private List<ByteString> getData(ChunkInfo chunk,
+        ReadChunkResponseProto response) throws IOException {
+      final List<ByteString> data = response.hasData()
+          ? Collections.singletonList(response.getData())
+          : response.getDataBuffers().getBuffersList();
+      final long length = data.stream().mapToLong(ByteString::size).sum();
+      if (length != chunk.getLen()) {
+        throw new IOException(String.format(
+            "Inconsistent read for chunk=%s of block %s len=%d bytesRead=%d",
+            chunk.getChunkName(), blockID, chunk.getLen(), length));
+      }
+      if (verifyChecksum) {
+        Checksum.verifyChecksum(data,
+            ChecksumData.getFromProtoBuf(chunk.getChecksumData()), 0,
+            response.hasData());
+      }
+      return data;
+    }
+  }
+
+  /** Sends a request and validates the result of its reply. */
+  private static CompletableFuture<ContainerCommandResponseProto> send(
+      Request request) {
+    try {
+      return request.send().getResponse().thenApply(response -> {
+        try {
+          ContainerProtocolCalls.validateContainerResponse(response);
+          return response;
+        } catch (IOException e) {
+          throw new CompletionException(e);
+        }
+      });
+    } catch (IOException | ExecutionException e) {
+      return failed(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return failed(e);
+    }
+  }
+
+  private static <T> CompletableFuture<T> failed(Throwable e) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(e);
+    return future;
+  }
+
+  /** A request to a datanode. */
+  @FunctionalInterface
+  private interface Request {
+    XceiverClientReply send()
+        throws IOException, ExecutionException, InterruptedException;
+  }
+}
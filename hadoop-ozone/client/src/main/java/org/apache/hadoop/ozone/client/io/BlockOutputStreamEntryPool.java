@@ -31,6 +31,7 @@
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.BufferArena;
 import org.apache.hadoop.hdds.scm.storage.BufferPool;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -112,7 +113,10 @@ public BlockOutputStreamEntryPool(
             (int) (config.getStreamBufferMaxSize() / config
                 .getStreamBufferSize()),
             ByteStringConversion
-                .createByteBufferConversion(unsafeByteBufferConversion));
+                .createByteBufferConversion(unsafeByteBufferConversion),
+            config.getStreamBufferArenaSize() > 0
+                ? BufferArena.getInstance(config.getStreamBufferArenaSize())
+                : null);
     this.clientMetrics = clientMetrics;
   }
 
@@ -326,11 +330,7 @@ private void allocateNewBlock() throws IOException {
   void commitKey(long offset) throws IOException {
     if (keyArgs != null) {
       // in test, this could be null
-      long length = getKeyLength();
-      Preconditions.checkArgument(offset == length,
-          "Expected offset: " + offset + " expected len: " + length);
-      keyArgs.setDataSize(length);
-      keyArgs.setLocationInfoList(getLocationInfoList());
+      prepareCommitArgs(offset);
       // When the key is multipart upload part file upload, we should not
       // commit the key, as this is not an actual key, this is a just a
       // partial key of a large file.
@@ -345,6 +345,19 @@ void commitKey(long offset) throws IOException {
     }
   }
 
+  /**
+   * Sets the final length and block list on the key args, without committing
+   * the key. Used when the commit is sent to OM later as part of a batch.
+   */
+  OmKeyArgs prepareCommitArgs(long offset) {
+    long length = getKeyLength();
+    Preconditions.checkArgument(offset == length,
+        "Expected offset: " + offset + " expected len: " + length);
+    keyArgs.setDataSize(length);
+    keyArgs.setLocationInfoList(getLocationInfoList());
+    return keyArgs;
+  }
+
   void hsyncKey(long offset) throws IOException {
     if (keyArgs != null) {
       // in test, this could be null
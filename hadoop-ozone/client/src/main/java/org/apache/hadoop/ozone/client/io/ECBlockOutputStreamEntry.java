@@ -39,6 +39,7 @@
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -104,6 +105,13 @@ void checkStream() throws IOException {
     }
   }
 
+  void writeCell(ByteBuffer cell) throws IOException {
+    checkStream();
+    final int len = cell.remaining();
+    ((ECBlockOutputStream) getOutputStream()).writeCell(cell);
+    incCurrentPosition(len);
+  }
+
   @Override
   void cleanup(boolean invalidateClient) {
     if (isInitialized()) {
@@ -20,6 +20,7 @@
 import java.io.IOException;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -42,8 +43,10 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerNotOpenException;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.storage.BufferArena;
 import org.apache.hadoop.hdds.scm.storage.ECBlockOutputStream;
 import org.apache.hadoop.io.ByteBufferPool;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
@@ -71,6 +74,8 @@ public final class ECKeyOutputStream extends KeyOutputStream {
   private final int numDataBlks;
   private final int numParityBlks;
   private final ByteBufferPool bufferPool;
+  // the direct memory shared with the other streams, or null
+  private final BufferArena arena;
   private final RawErasureEncoder encoder;
   private final ExecutorService flushExecutor;
   private final Future<Boolean> flushFuture;
@@ -121,6 +126,9 @@ private ECKeyOutputStream(Builder builder) {
     super(builder.getReplicationConfig(), builder.getClientMetrics());
     this.config = builder.getClientConfig();
     this.bufferPool = builder.getByteBufferPool();
+    this.arena = config.getStreamBufferArenaSize() > 0
+        ? BufferArena.getInstance(config.getStreamBufferArenaSize())
+        : null;
     // For EC, cell/chunk size and buffer size can be same for now.
     ecChunkSize = builder.getReplicationConfig().getEcChunkSize();
     this.config.setStreamBufferMaxSize(ecChunkSize);
@@ -129,7 +137,7 @@ private ECKeyOutputStream(Builder builder) {
     this.numDataBlks = builder.getReplicationConfig().getData();
     this.numParityBlks = builder.getReplicationConfig().getParity();
     ecChunkBufferCache = new ECChunkBuffers(
-        ecChunkSize, numDataBlks, numParityBlks, bufferPool);
+        ecChunkSize, numDataBlks, numParityBlks, bufferPool, arena);
     chunkIndex = 0;
     ecStripeQueue = new ArrayBlockingQueue<>(config.getEcStripeQueueSize());
     OmKeyInfo info = builder.getOpenHandler().getKeyInfo();
@@ -389,7 +397,7 @@ private int handleWrite(byte[] b, int off, int len) throws IOException {
         generateParityCells();
         addStripeToQueue(ecChunkBufferCache);
         ecChunkBufferCache = new ECChunkBuffers(ecChunkSize,
-            numDataBlks, numParityBlks, bufferPool);
+            numDataBlks, numParityBlks, bufferPool, arena);
         chunkIndex = 0;
       }
     }
@@ -404,16 +412,20 @@ private void handleOutputStreamWrite(ByteBuffer buffer, boolean isParity) {
       // The len cannot be bigger than cell buffer size.
       assert buffer.limit() <= ecChunkSize : "The buffer size: " +
           buffer.limit() + " should not exceed EC chunk size: " + ecChunkSize;
+      // The cell was read by the encoder, write it from its start.
+      final ByteBuffer cell = buffer.duplicate();
+      cell.position(0);
       writeToOutputStream(blockOutputStreamEntryPool.getCurrentStreamEntry(),
-          buffer.array(), buffer.limit(), 0, isParity);
+          cell, isParity);
     } catch (Exception e) {
       markStreamAsFailed(e);
     }
   }
 
   private void writeToOutputStream(ECBlockOutputStreamEntry current,
-      byte[] b, int writeLen, int off, boolean isParity)
+      ByteBuffer cell, boolean isParity)
       throws IOException {
+    final int writeLen = cell.remaining();
     if (closing) {
       throw new IOException("Stream is closing, avoid re-opening streams");
     }
@@ -423,7 +435,7 @@ private void writeToOutputStream(ECBlockOutputStreamEntry current,
         // as part of handleStripeFailure.
         offset += writeLen;
       }
-      current.write(b, off, writeLen);
+      current.writeCell(cell);
     } catch (IOException ioe) {
       LOG.debug(
           "Exception while writing the cell buffers. The writeLen: " + writeLen
@@ -500,6 +512,7 @@ public void close() throws IOException {
         if (ecChunkBufferCache.getFirstDataCell().position() > 0) {
           generateParityCells();
           addStripeToQueue(ecChunkBufferCache);
+          ecChunkBufferCache = null;
         }
         // Send EOF mark to flush thread.
         addStripeToQueue(new EOFDummyStripe());
@@ -511,6 +524,7 @@ public void close() throws IOException {
             "Expected writeOffset= " + writeOffset
                 + " Expected offset=" + offset);
         blockOutputStreamEntryPool.commitKey(offset);
+        keyCommitted();
       }
     } catch (ExecutionException e) {
       Throwable cause = e.getCause();
@@ -525,11 +539,23 @@ public void close() throws IOException {
       throw new IOException("Flushing thread was interrupted", e);
     } finally {
       flushExecutor.shutdownNow();
+      releaseUnwrittenStripes();
       closeCurrentStreamEntry();
       blockOutputStreamEntryPool.cleanup();
     }
   }
 
+  /** Releases the cells of the stripes not handed to the flush thread. */
+  private void releaseUnwrittenStripes() {
+    if (ecChunkBufferCache != null) {
+      ecChunkBufferCache.release();
+      ecChunkBufferCache = null;
+    }
+    final List<ECChunkBuffers> unwritten = new ArrayList<>();
+    ecStripeQueue.drainTo(unwritten);
+    unwritten.forEach(ECChunkBuffers::release);
+  }
+
   private void addStripeToQueue(ECChunkBuffers stripe) throws IOException {
     try {
       do {
@@ -562,11 +588,19 @@ private boolean flushStripeFromQueue() throws IOException {
         if (stripe instanceof CheckpointDummyStripe) {
           flushCheckpoint.set(((CheckpointDummyStripe) stripe).version);
         } else {
-          flushStripeToDatanodes(stripe);
+          try {
+            flushStripeToDatanodes(stripe);
+          } catch (IOException | RuntimeException e) {
+            // requests sent to the datanodes may still reference the cells
+            stripe.discard();
+            throw e;
+          }
           stripe.release();
         }
         stripe = ecStripeQueue.take();
       }
+      // not written as the stream is closing
+      stripe.release();
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new IOException("Interrupted while polling stripe from queue", e);
@@ -595,8 +629,15 @@ public static void padBufferToLimit(ByteBuffer buf, int limit) {
     if (pos >= limit) {
       return;
     }
-    Arrays.fill(buf.array(), pos, limit, (byte)0);
-    buf.position(limit);
+    if (buf.hasArray()) {
+      Arrays.fill(buf.array(), buf.arrayOffset() + pos,
+          buf.arrayOffset() + limit, (byte)0);
+      buf.position(limit);
+    } else {
+      while (buf.position() < limit) {
+        buf.put((byte)0);
+      }
+    }
   }
 
   public OmMultipartCommitUploadPartInfo getCommitUploadPartInfo() {
@@ -650,7 +691,9 @@ public ThreadLocal<S3Auth> getS3CredentialsProvider() {
 
     @Override
     public ECKeyOutputStream build() {
-      return new ECKeyOutputStream(this);
+      final ECKeyOutputStream keyOutputStream = new ECKeyOutputStream(this);
+      keyOutputStream.setOnCommit(getOnCommit());
+      return keyOutputStream;
     }
   }
 
@@ -681,11 +724,19 @@ private static class CheckpointDummyStripe extends ECChunkBuffers {
     }
   }
 
+  /**
+   * The cells of a stripe. They are all allocated from the arena if it has
+   * room for them, otherwise from the pool, as the encoder needs them all
+   * direct or all on the heap.
+   */
   private static class ECChunkBuffers {
     private final ByteBuffer[] dataBuffers;
     private final ByteBuffer[] parityBuffers;
     private int cellSize;
     private ByteBufferPool byteBufferPool;
+    private BufferArena arena;
+    // the data and parity cells allocated from the arena, or null
+    private ChunkBuffer[] arenaCells;
 
     ECChunkBuffers() {
       dataBuffers = null;
@@ -693,13 +744,40 @@ private static class ECChunkBuffers {
     }
 
     ECChunkBuffers(int cellSize, int numData, int numParity,
-        ByteBufferPool byteBufferPool) {
+        ByteBufferPool byteBufferPool, BufferArena arena) {
       this.cellSize = cellSize;
       dataBuffers = new ByteBuffer[numData];
       parityBuffers = new ByteBuffer[numParity];
       this.byteBufferPool = byteBufferPool;
-      allocateBuffers(dataBuffers, this.cellSize);
-      allocateBuffers(parityBuffers, this.cellSize);
+      this.arena = arena;
+      if (arena == null || !allocateFromArena()) {
+        allocateBuffers(dataBuffers, this.cellSize);
+        allocateBuffers(parityBuffers, this.cellSize);
+      }
+    }
+
+    private boolean allocateFromArena() {
+      final ChunkBuffer[] cells =
+          new ChunkBuffer[dataBuffers.length + parityBuffers.length];
+      for (int i = 0; i < cells.length; i++) {
+        cells[i] = arena.allocate(cellSize, 0);
+        if (cells[i] == null) {
+          for (int j = 0; j < i; j++) {
+            arena.release(cells[j], cellSize, 0);
+          }
+          return false;
+        }
+      }
+      for (int i = 0; i < cells.length; i++) {
+        final ByteBuffer cell = cells[i].asByteBufferList().get(0);
+        if (i < dataBuffers.length) {
+          dataBuffers[i] = cell;
+        } else {
+          parityBuffers[i - dataBuffers.length] = cell;
+        }
+      }
+      arenaCells = cells;
+      return true;
     }
 
     private ByteBuffer[] getDataBuffers() {
@@ -734,8 +812,33 @@ private void clear() {
     }
 
     private void release() {
-      releaseBuffers(dataBuffers);
-      releaseBuffers(parityBuffers);
+      if (arenaCells != null) {
+        for (ChunkBuffer cell : arenaCells) {
+          arena.release(cell, cellSize, 0);
+        }
+        forgetBuffers();
+      } else if (dataBuffers != null) {
+        releaseBuffers(dataBuffers);
+        releaseBuffers(parityBuffers);
+      }
+    }
+
+    /** Forgets the cells, which may still be referenced by requests. */
+    private void discard() {
+      if (arenaCells != null) {
+        for (ChunkBuffer cell : arenaCells) {
+          arena.discard(cell, cellSize);
+        }
+      }
+      forgetBuffers();
+    }
+
+    private void forgetBuffers() {
+      arenaCells = null;
+      if (dataBuffers != null) {
+        Arrays.fill(dataBuffers, null);
+        Arrays.fill(parityBuffers, null);
+      }
     }
 
     private void allocateBuffers(ByteBuffer[] buffers, int bufferSize) {
@@ -79,6 +79,8 @@ enum StreamAction {
 
   private long clientID;
 
+  private Runnable onCommit;
+
   @VisibleForTesting
   public List<BlockDataStreamOutputEntry> getStreamEntries() {
     return blockDataStreamOutputEntryPool.getStreamEntries();
@@ -386,6 +388,9 @@ public void close() throws IOException {
         Preconditions.checkArgument(writeOffset == offset);
       }
       blockDataStreamOutputEntryPool.commitKey(offset);
+      if (onCommit != null) {
+        onCommit.run();
+      }
     } finally {
       blockDataStreamOutputEntryPool.cleanup();
     }
@@ -415,6 +420,7 @@ public static class Builder {
     private boolean unsafeByteBufferConversion;
     private OzoneClientConfig clientConfig;
     private ReplicationConfig replicationConfig;
+    private Runnable onCommit;
 
     public Builder setMultipartUploadID(String uploadID) {
       this.multipartUploadID = uploadID;
@@ -467,8 +473,16 @@ public Builder setReplicationConfig(ReplicationConfig replConfig) {
       return this;
     }
 
+    /**
+     * @param callback invoked after close() committed the key with OM.
+     */
+    public Builder setOnCommit(Runnable callback) {
+      this.onCommit = callback;
+      return this;
+    }
+
     public KeyDataStreamOutput build() {
-      return new KeyDataStreamOutput(
+      final KeyDataStreamOutput keyDataStreamOutput = new KeyDataStreamOutput(
           clientConfig,
           openHandler,
           xceiverManager,
@@ -480,6 +494,8 @@ public KeyDataStreamOutput build() {
           multipartNumber,
           isMultipartKey,
           unsafeByteBufferConversion);
+      keyDataStreamOutput.onCommit = onCommit;
+      return keyDataStreamOutput;
     }
 
   }
@@ -17,14 +17,28 @@
  */
 package org.apache.hadoop.ozone.client.io;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
@@ -43,15 +57,84 @@
 
 /**
  * Maintaining a list of BlockInputStream. Read based on offset.
+ * <p>
+ * If created with a factory of BlockInputStreams for each block, ranges of
+ * the key can also be read asynchronously, see {@link #readFullyAsync}.
+ * A block may then be read through several BlockInputStreams in parallel.
  */
 public class KeyInputStream extends MultipartInputStream {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(KeyInputStream.class);
 
+  // blockOffsets[i] is the offset of the first byte of block i in the key
+  private final long[] blockOffsets;
+  // null if blocks can only be read through the part streams
+  private final List<Supplier<BlockExtendedInputStream>> streamFactories;
+  private final Supplier<ExecutorService> executor;
+  // the streams of each block which are not reading a range
+  private final List<Deque<BlockExtendedInputStream>> idleStreams;
+  // the streams created in addition to the part streams
+  private final List<BlockExtendedInputStream> extraStreams =
+      new ArrayList<>();
+  private final Set<CompletableFuture<?>> pendingReads =
+      ConcurrentHashMap.newKeySet();
+
   public KeyInputStream(String keyName,
                         List<? extends BlockExtendedInputStream> inputStreams) {
+    this(keyName, inputStreams, null, null, false);
+  }
+
+  /**
+   * @param streamFactories creates a BlockInputStream of each block
+   * @param executor reads ranges of the key asynchronously
+   */
+  public KeyInputStream(String keyName,
+      List<Supplier<BlockExtendedInputStream>> streamFactories,
+      Supplier<ExecutorService> executor) {
+    this(keyName, streamFactories, executor, false);
+  }
+
+  /**
+   * @param readThroughPartStreams whether ranges may also be read through
+   *        the part streams, if subclasses do not use them to read
+   */
+  protected KeyInputStream(String keyName,
+      List<Supplier<BlockExtendedInputStream>> streamFactories,
+      Supplier<ExecutorService> executor, boolean readThroughPartStreams) {
+    this(keyName, newStreams(streamFactories), streamFactories, executor,
+        readThroughPartStreams);
+  }
+
+  private KeyInputStream(String keyName,
+      List<? extends BlockExtendedInputStream> inputStreams,
+      List<Supplier<BlockExtendedInputStream>> streamFactories,
+      Supplier<ExecutorService> executor, boolean readThroughPartStreams) {
     super(keyName, inputStreams);
+    this.streamFactories = streamFactories;
+    this.executor = executor;
+    this.blockOffsets = new long[inputStreams.size()];
+    this.idleStreams = new ArrayList<>(inputStreams.size());
+    long offset = 0;
+    for (int i = 0; i < inputStreams.size(); i++) {
+      blockOffsets[i] = offset;
+      offset += inputStreams.get(i).getLength();
+      final Deque<BlockExtendedInputStream> idle = new ArrayDeque<>();
+      if (readThroughPartStreams) {
+        idle.add(inputStreams.get(i));
+      }
+      idleStreams.add(idle);
+    }
+  }
+
+  private static List<BlockExtendedInputStream> newStreams(
+      List<Supplier<BlockExtendedInputStream>> streamFactories) {
+    final List<BlockExtendedInputStream> streams =
+        new ArrayList<>(streamFactories.size());
+    for (Supplier<BlockExtendedInputStream> factory : streamFactories) {
+      streams.add(factory.get());
+    }
+    return streams;
   }
 
   private static List<BlockExtendedInputStream> createStreams(
@@ -62,6 +145,28 @@ private static List<BlockExtendedInputStream> createStreams(
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
       BlockInputStreamFactory blockStreamFactory) {
     List<BlockExtendedInputStream> partStreams = new ArrayList<>();
+    for (Supplier<BlockExtendedInputStream> streamFactory
+        : createStreamFactories(keyInfo, blockInfos, xceiverClientFactory,
+            verifyChecksum, retryFunction, blockStreamFactory)) {
+      partStreams.add(streamFactory.get());
+    }
+    return partStreams;
+  }
+
+  /**
+   * Returns a factory of BlockInputStreams for each block, as the
+   * prefetching stream may read a block through several streams.
+   */
+  private static List<Supplier<BlockExtendedInputStream>>
+      createStreamFactories(
+      OmKeyInfo keyInfo,
+      List<OmKeyLocationInfo> blockInfos,
+      XceiverClientFactory xceiverClientFactory,
+      boolean verifyChecksum,
+      Function<OmKeyInfo, OmKeyInfo> retryFunction,
+      BlockInputStreamFactory blockStreamFactory) {
+    List<Supplier<BlockExtendedInputStream>> streamFactories =
+        new ArrayList<>();
     for (OmKeyLocationInfo omKeyLocationInfo : blockInfos) {
       if (LOG.isDebugEnabled()) {
         LOG.debug("Adding stream for accessing {}. The stream will be " +
@@ -85,7 +190,7 @@ private static List<BlockExtendedInputStream> createStreams(
         retry = null;
       }
 
-      BlockExtendedInputStream stream =
+      streamFactories.add(() ->
           blockStreamFactory.create(
               keyInfo.getReplicationConfig(),
               omKeyLocationInfo,
@@ -93,10 +198,9 @@ private static List<BlockExtendedInputStream> createStreams(
               omKeyLocationInfo.getToken(),
               verifyChecksum,
               xceiverClientFactory,
-              retry);
-      partStreams.add(stream);
+              retry));
     }
-    return partStreams;
+    return streamFactories;
   }
 
   private static BlockLocationInfo getBlockLocationInfo(OmKeyInfo newKeyInfo,
@@ -144,6 +248,34 @@ public static LengthInputStream getFromOmKeyInfo(OmKeyInfo keyInfo,
         retryFunction, blockStreamFactory, keyLocationInfos);
   }
 
+  /**
+   * For each block in keyInfo, add a BlockInputStream to blockStreams.
+   * If read prefetch is enabled in the config, the returned stream fetches
+   * segments of the key ahead of the reader using the executor.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  public static LengthInputStream getFromOmKeyInfo(OmKeyInfo keyInfo,
+      XceiverClientFactory xceiverClientFactory, OzoneClientConfig config,
+      Function<OmKeyInfo, OmKeyInfo> retryFunction,
+      BlockInputStreamFactory blockStreamFactory,
+      Supplier<ExecutorService> prefetchExecutor,
+      ContainerClientMetrics clientMetrics) {
+    List<OmKeyLocationInfo> keyLocationInfos = keyInfo
+        .getLatestVersionLocations().getBlocksLatestVersionOnly();
+    List<Supplier<BlockExtendedInputStream>> streamFactories =
+        createStreamFactories(keyInfo, keyLocationInfos,
+            xceiverClientFactory, config.isChecksumVerify(), retryFunction,
+            blockStreamFactory);
+    KeyInputStream keyInputStream = config.getReadPrefetchDepth() == 0
+        ? new KeyInputStream(keyInfo.getKeyName(), streamFactories,
+            prefetchExecutor)
+        : new PrefetchingKeyInputStream(keyInfo.getKeyName(),
+            streamFactories, prefetchExecutor,
+            config.getReadPrefetchDepth(),
+            config.getReadPrefetchSegmentSize(), clientMetrics);
+    return new LengthInputStream(keyInputStream, keyInputStream.getLength());
+  }
+
   public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
       XceiverClientFactory xceiverClientFactory, boolean verifyChecksum,
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
@@ -187,6 +319,187 @@ protected void checkPartBytesRead(int numBytesToRead, int numBytesRead,
     }
   }
 
+  /**
+   * Reads the key from the given position into the buffer, from its
+   * position to its limit, without changing the read position of this
+   * stream or the position of the buffer. The blocks spanned by the range
+   * are read in parallel. The returned future fails with an EOFException if
+   * the range goes beyond the end of the key.
+   */
+  public CompletableFuture<Void> readFullyAsync(long pos, ByteBuffer buffer) {
+    if (pos < 0 || pos + buffer.remaining() > getLength()) {
+      final CompletableFuture<Void> eof = new CompletableFuture<>();
+      eof.completeExceptionally(new EOFException("Range [" + pos + ", "
+          + (pos + buffer.remaining()) + ") is beyond the end of the key, "
+          + "length=" + getLength()));
+      return eof;
+    }
+    if (streamFactories == null) {
+      return readFullyThroughPartStreams(pos, buffer);
+    }
+
+    final List<CompletableFuture<Void>> reads = new ArrayList<>();
+    final int start = buffer.position();
+    int done = 0;
+    while (start + done < buffer.limit()) {
+      final long offset = pos + done;
+      final int blockIndex = getBlockIndex(offset);
+      final long offsetInBlock = offset - blockOffsets[blockIndex];
+      final int n = (int) Math.min(buffer.limit() - start - done,
+          getBlockEnd(blockIndex) - offset);
+      final ByteBuffer piece = buffer.duplicate();
+      piece.position(start + done).limit(start + done + n);
+      reads.add(readBlockRangeAsync(blockIndex, offsetInBlock, piece));
+      done += n;
+    }
+    return CompletableFuture.allOf(reads.toArray(new CompletableFuture[0]));
+  }
+
+  private CompletableFuture<Void> readBlockRangeAsync(int blockIndex,
+      long offsetInBlock, ByteBuffer buffer) {
+    final CompletableFuture<Void> read = new CompletableFuture<>();
+    pendingReads.add(read);
+    read.whenComplete((v, e) -> pendingReads.remove(read));
+    final Runnable task = () -> {
+      try {
+        readBlockRange(blockIndex, offsetInBlock, buffer);
+        read.complete(null);
+      } catch (Throwable e) {
+        read.completeExceptionally(e);
+      }
+    };
+    try {
+      executor.get().execute(task);
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Range of block {} is read by the caller", blockIndex, e);
+      task.run();
+    }
+    return read;
+  }
+
+  private synchronized CompletableFuture<Void> readFullyThroughPartStreams(
+      long pos, ByteBuffer buffer) {
+    final CompletableFuture<Void> read = new CompletableFuture<>();
+    final ByteBuffer target = buffer.duplicate();
+    try {
+      final long savedPos = getPos();
+      try {
+        seek(pos);
+        while (target.hasRemaining()) {
+          if (read(target) < 0) {
+            throw new EOFException("EOF encountered at pos: " + getPos());
+          }
+        }
+      } finally {
+        seek(savedPos);
+      }
+      read.complete(null);
+    } catch (IOException e) {
+      read.completeExceptionally(e);
+    }
+    return read;
+  }
+
+  /**
+   * Reads the range of a block into the buffer, from its position to its
+   * limit, through a BlockInputStream not used by other threads.
+   */
+  protected void readBlockRange(int blockIndex, long offsetInBlock,
+      ByteBuffer buffer) throws IOException {
+    final BlockExtendedInputStream stream = borrowStream(blockIndex);
+    try {
+      stream.seek(offsetInBlock);
+      final int expected = buffer.remaining();
+      while (buffer.hasRemaining()) {
+        if (stream.read(buffer) < 0) {
+          throw new EOFException(String.format("Inconsistent read for "
+                  + "blockID=%s length=%d offset=%d expected=%d read=%d",
+              stream.getBlockID(), stream.getLength(), offsetInBlock,
+              expected, expected - buffer.remaining()));
+        }
+      }
+    } finally {
+      returnStream(blockIndex, stream);
+    }
+  }
+
+  private BlockExtendedInputStream borrowStream(int blockIndex) {
+    synchronized (idleStreams) {
+      final BlockExtendedInputStream stream =
+          idleStreams.get(blockIndex).pollFirst();
+      if (stream != null) {
+        return stream;
+      }
+    }
+    final BlockExtendedInputStream stream =
+        streamFactories.get(blockIndex).get();
+    synchronized (idleStreams) {
+      extraStreams.add(stream);
+    }
+    return stream;
+  }
+
+  private void returnStream(int blockIndex, BlockExtendedInputStream stream) {
+    synchronized (idleStreams) {
+      idleStreams.get(blockIndex).addFirst(stream);
+    }
+  }
+
+  /** @return the index of the non-empty block containing the position. */
+  protected int getBlockIndex(long pos) {
+    int blockIndex = Arrays.binarySearch(blockOffsets, pos);
+    if (blockIndex < 0) {
+      blockIndex = -blockIndex - 2;
+    }
+    // skip empty blocks, which share the offset of the next block
+    while (blockIndex + 1 < blockOffsets.length
+        && blockOffsets[blockIndex + 1] == blockOffsets[blockIndex]) {
+      blockIndex++;
+    }
+    return blockIndex;
+  }
+
+  protected long getBlockOffset(int blockIndex) {
+    return blockOffsets[blockIndex];
+  }
+
+  protected long getBlockEnd(int blockIndex) {
+    return blockIndex + 1 < blockOffsets.length
+        ? blockOffsets[blockIndex + 1] : getLength();
+  }
+
+  protected boolean isParallelReadSupported() {
+    return streamFactories != null;
+  }
+
+  @Override
+  public synchronized void unbuffer() {
+    super.unbuffer();
+    synchronized (idleStreams) {
+      for (BlockExtendedInputStream stream : extraStreams) {
+        stream.unbuffer();
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    // the streams must not be closed while ranges are read through them
+    for (CompletableFuture<?> read : pendingReads) {
+      try {
+        read.join();
+      } catch (CompletionException e) {
+        LOG.debug("Pending read failed on close", e);
+      }
+    }
+    super.close();
+    synchronized (idleStreams) {
+      for (BlockExtendedInputStream stream : extraStreams) {
+        stream.close();
+      }
+    }
+  }
+
   @Override
   @VisibleForTesting
   public List<BlockExtendedInputStream> getPartStreams() {
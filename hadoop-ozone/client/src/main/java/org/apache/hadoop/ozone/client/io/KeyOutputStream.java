@@ -43,6 +43,7 @@
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.io.retry.RetryPolicies;
 import org.apache.hadoop.io.retry.RetryPolicy;
+import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
@@ -94,6 +95,13 @@ enum StreamAction {
 
   private long clientID;
 
+  // When set, close() does not commit the key but keeps the commit arguments
+  // so that the caller can commit several keys with one CommitKeys request.
+  private boolean deferCommit;
+  private OmKeyArgs commitArgs;
+  // Invoked after close() committed the key, may be null.
+  private Runnable onCommit;
+
   public KeyOutputStream(ReplicationConfig replicationConfig,
       ContainerClientMetrics clientMetrics) {
     this.replication = replicationConfig;
@@ -554,17 +562,43 @@ public synchronized void close() throws IOException {
       if (!isException) {
         Preconditions.checkArgument(writeOffset == offset);
       }
-      blockOutputStreamEntryPool.commitKey(offset);
+      if (deferCommit) {
+        commitArgs = blockOutputStreamEntryPool.prepareCommitArgs(offset);
+      } else {
+        blockOutputStreamEntryPool.commitKey(offset);
+        keyCommitted();
+      }
     } finally {
       blockOutputStreamEntryPool.cleanup();
     }
   }
 
+  void setOnCommit(Runnable onCommit) {
+    this.onCommit = onCommit;
+  }
+
+  /**
+   * Notifies the onCommit callback, to be called once the key is committed.
+   */
+  void keyCommitted() {
+    if (onCommit != null) {
+      onCommit.run();
+    }
+  }
+
   public synchronized OmMultipartCommitUploadPartInfo
       getCommitUploadPartInfo() {
     return blockOutputStreamEntryPool.getCommitUploadPartInfo();
   }
 
+  /**
+   * Returns the arguments to commit the key with, available after close()
+   * if the stream was built with deferred commit.
+   */
+  public synchronized OmKeyArgs getCommitArgs() {
+    return commitArgs;
+  }
+
   @VisibleForTesting
   public ExcludeList getExcludeList() {
     return blockOutputStreamEntryPool.getExcludeList();
@@ -585,6 +619,8 @@ public static class Builder {
     private OzoneClientConfig clientConfig;
     private ReplicationConfig replicationConfig;
     private ContainerClientMetrics clientMetrics;
+    private boolean deferCommit;
+    private Runnable onCommit;
 
     public String getMultipartUploadID() {
       return multipartUploadID;
@@ -680,8 +716,30 @@ public ContainerClientMetrics getClientMetrics() {
       return clientMetrics;
     }
 
+    public boolean isDeferCommit() {
+      return deferCommit;
+    }
+
+    public Builder setDeferCommit(boolean defer) {
+      this.deferCommit = defer;
+      return this;
+    }
+
+    public Runnable getOnCommit() {
+      return onCommit;
+    }
+
+    /**
+     * @param callback invoked after close() committed the key with OM,
+     *                 not invoked if the commit is deferred.
+     */
+    public Builder setOnCommit(Runnable callback) {
+      this.onCommit = callback;
+      return this;
+    }
+
     public KeyOutputStream build() {
-      return new KeyOutputStream(
+      KeyOutputStream keyOutputStream = new KeyOutputStream(
           clientConfig,
           openHandler,
           xceiverManager,
@@ -693,6 +751,9 @@ public KeyOutputStream build() {
           isMultipartKey,
           unsafeByteBufferConversion,
           clientMetrics);
+      keyOutputStream.deferCommit = deferCommit;
+      keyOutputStream.onCommit = onCommit;
+      return keyOutputStream;
     }
 
   }
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.client.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.apache.hadoop.fs.ByteBufferReadable;
+import org.apache.hadoop.fs.FSExceptionMessages;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
+import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
+import org.apache.hadoop.hdds.scm.storage.ByteReaderStrategy;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link KeyInputStream} which fetches the segments of the key following
+ * the read position ahead of the reader.
+ * <p>
+ * Up to {@code depth} segments are fetched in parallel by the executor.
+ * If the executor has not started fetching the segment the reader needs,
+ * the reader fetches it itself.
+ * Segments do not span blocks, so consecutive segments are often read from
+ * different datanodes. A block may be read through several
+ * BlockInputStreams, one per segment being fetched from it. The fetched
+ * segments are queued in key order and handed to the reader in that order.
+ * A seek within the queued segments keeps them, any other seek drops them.
+ */
+public class PrefetchingKeyInputStream extends KeyInputStream {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(PrefetchingKeyInputStream.class);
+
+  private final String key;
+  private final long length;
+  private final Supplier<ExecutorService> executor;
+  private final int depth;
+  private final int segmentSize;
+  private final ContainerClientMetrics clientMetrics;
+
+  // The segments fetched or being fetched, in key order. The first one
+  // contains the read position.
+  private final Deque<Segment> segments = new ArrayDeque<>();
+  private long position;
+  // offset of the next segment to fetch
+  private long nextSegmentOffset;
+  private boolean closed;
+
+  @SuppressWarnings("checkstyle:parameternumber")
+  public PrefetchingKeyInputStream(String keyName,
+      List<Supplier<BlockExtendedInputStream>> streamFactories,
+      Supplier<ExecutorService> executor, int depth, int segmentSize,
+      ContainerClientMetrics clientMetrics) {
+    super(keyName, streamFactories, executor, true);
+    Preconditions.checkArgument(depth > 0);
+    Preconditions.checkArgument(segmentSize > 0);
+    this.key = keyName;
+    this.length = getLength();
+    this.executor = executor;
+    this.depth = depth;
+    this.segmentSize = segmentSize;
+    this.clientMetrics = clientMetrics;
+  }
+
+  @Override
+  protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
+      throws IOException {
+    Preconditions.checkArgument(strategy != null);
+    checkOpen();
+
+    int totalReadLen = 0;
+    while (strategy.getTargetLength() > 0 && position < length) {
+      fetchAhead();
+      final Segment current = segments.getFirst();
+      current.await();
+      final int numBytesToRead =
+          Math.min(strategy.getTargetLength(), current.remaining());
+      final int numBytesRead =
+          strategy.readFromBlock(current, numBytesToRead);
+      if (numBytesRead != numBytesToRead) {
+        throw new IOException(String.format("Inconsistent read for key=%s "
+                + "position=%d numBytesToRead=%d numBytesRead=%d",
+            key, position, numBytesToRead, numBytesRead));
+      }
+      position += numBytesRead;
+      totalReadLen += numBytesRead;
+      if (current.remaining() == 0) {
+        segments.removeFirst();
+      }
+    }
+    return totalReadLen == 0 && position >= length ? EOF : totalReadLen;
+  }
+
+  /** Starts fetching segments until depth segments are queued. */
+  private void fetchAhead() {
+    while (segments.size() < depth && nextSegmentOffset < length) {
+      final int blockIndex = getBlockIndex(nextSegmentOffset);
+      final int segmentLength = (int) Math.min(segmentSize,
+          getBlockEnd(blockIndex) - nextSegmentOffset);
+      final Segment segment = new Segment(blockIndex,
+          nextSegmentOffset - getBlockOffset(blockIndex), segmentLength);
+      segment.task = new FutureTask<>(() -> fetch(segment));
+      try {
+        executor.get().execute(segment.task);
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Segment of key {} is fetched by the reader", key, e);
+      }
+      segments.addLast(segment);
+      nextSegmentOffset += segmentLength;
+    }
+  }
+
+  private ByteBuffer fetch(Segment segment) throws IOException {
+    final ByteBuffer data = ByteBuffer.allocate(segment.size);
+    readBlockRange(segment.blockIndex, segment.offsetInBlock, data);
+    if (clientMetrics != null) {
+      clientMetrics.recordPrefetchRead(segment.size);
+    }
+    data.flip();
+    return data;
+  }
+
+  /**
+   * Drops the queued segments. Waits for the ones being fetched, so that
+   * their streams are idle when this returns.
+   */
+  private void dropSegments() {
+    for (Segment segment : segments) {
+      if (clientMetrics != null) {
+        clientMetrics.recordPrefetchDiscarded(segment.remaining());
+      }
+      if (!segment.task.cancel(false)) {
+        try {
+          Uninterruptibles.getUninterruptibly(segment.task);
+        } catch (ExecutionException | CancellationException e) {
+          LOG.debug("Dropped segment of key {} failed", key, e);
+        }
+      }
+    }
+    segments.clear();
+  }
+
+  @Override
+  public synchronized void seek(long pos) throws IOException {
+    checkOpen();
+    if (pos == 0 && length == 0) {
+      // It is possible for length and pos to be zero in which case
+      // seek should return instead of throwing exception
+      return;
+    }
+    if (pos < 0 || pos > length) {
+      throw new EOFException(
+          "EOF encountered at pos: " + pos + " for key: " + key);
+    }
+    // keep the queued segments from the one containing pos
+    while (!segments.isEmpty() && segments.getFirst().end() <= pos) {
+      final Segment passed = segments.removeFirst();
+      if (clientMetrics != null) {
+        clientMetrics.recordPrefetchDiscarded(passed.remaining());
+      }
+    }
+    final Segment first = segments.peekFirst();
+    if (first != null && first.start() <= pos) {
+      first.skipTo((int) (pos - first.start()));
+    } else {
+      dropSegments();
+      nextSegmentOffset = pos;
+    }
+    position = pos;
+  }
+
+  @Override
+  public synchronized long getPos() {
+    return position;
+  }
+
+  @Override
+  public synchronized void unbuffer() {
+    dropSegments();
+    nextSegmentOffset = position;
+    super.unbuffer();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    dropSegments();
+    super.close();
+  }
+
+  private void checkOpen() throws IOException {
+    if (closed) {
+      throw new IOException(
+          ": " + FSExceptionMessages.STREAM_IS_CLOSED + " Key: " + key);
+    }
+  }
+
+  /** A range of a block, read as an InputStream once fetched. */
+  private final class Segment extends InputStream
+      implements ByteBufferReadable {
+    private final int blockIndex;
+    private final long offsetInBlock;
+    private final int size;
+    private FutureTask<ByteBuffer> task;
+    private ByteBuffer data;
+    // position to read from, relative to the start of the segment
+    private int readOffset;
+
+    Segment(int blockIndex, long offsetInBlock, int size) {
+      this.blockIndex = blockIndex;
+      this.offsetInBlock = offsetInBlock;
+      this.size = size;
+    }
+
+    long start() {
+      return getBlockOffset(blockIndex) + offsetInBlock;
+    }
+
+    long end() {
+      return start() + size;
+    }
+
+    int remaining() {
+      return size - readOffset;
+    }
+
+    void skipTo(int offset) {
+      readOffset = offset;
+      if (data != null) {
+        data.position(offset);
+      }
+    }
+
+    /** Waits until the segment is fetched. */
+    void await() throws IOException {
+      if (data != null) {
+        return;
+      }
+      if (!task.isDone() && clientMetrics != null) {
+        clientMetrics.recordPrefetchWait();
+      }
+      // does nothing if the executor started fetching the segment
+      task.run();
+      try {
+        data = task.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw (IOException) new InterruptedIOException(
+            "Interrupted while reading key " + key).initCause(e);
+      } catch (ExecutionException e) {
+        // fetch it again when the reader retries
+        dropSegments();
+        nextSegmentOffset = position;
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException("Failed to read key " + key, e.getCause());
+      }
+      data.position(readOffset);
+    }
+
+    @Override
+    public int read() {
+      if (!data.hasRemaining()) {
+        return EOF;
+      }
+      readOffset++;
+      return Byte.toUnsignedInt(data.get());
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (!data.hasRemaining()) {
+        return EOF;
+      }
+      final int n = Math.min(len, data.remaining());
+      data.get(b, off, n);
+      readOffset += n;
+      return n;
+    }
+
+    @Override
+    public int read(ByteBuffer buf) {
+      if (!data.hasRemaining()) {
+        return EOF;
+      }
+      final int n = Math.min(buf.remaining(), data.remaining());
+      final ByteBuffer slice = data.duplicate();
+      slice.limit(slice.position() + n);
+      buf.put(slice);
+      data.position(data.position() + n);
+      readOffset += n;
+      return n;
+    }
+  }
+}
@@ -20,8 +20,12 @@
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 import org.apache.hadoop.crypto.key.KeyProvider;
@@ -49,6 +53,7 @@
 import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
+import org.apache.hadoop.ozone.om.helpers.OmKeyBatchResult;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
@@ -340,6 +345,23 @@ OzoneOutputStream createKey(String volumeName, String bucketName,
       Map<String, String> metadata)
       throws IOException;
 
+  /**
+   * Writes a batch of keys in an existing bucket. Every
+   * {@link org.apache.hadoop.ozone.OmUtils#MAX_OBJECT_IDS_PER_TRXN} keys are
+   * opened with a single CreateKeys request and committed with a single
+   * CommitKeys request.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param keys Names of the keys mapped to their content
+   * @param metadata custom key value metadata, applied to every key
+   * @return result of each key, in the iteration order of keys
+   *
+   */
+  List<OmKeyBatchResult<Void>> createKeys(String volumeName,
+      String bucketName, Map<String, byte[]> keys,
+      ReplicationConfig replicationConfig, Map<String, String> metadata)
+      throws IOException;
+
   /**
    * Writes a key in an existing bucket.
    * @param volumeName Name of the Volume
@@ -366,6 +388,20 @@ OzoneDataStreamOutput createStreamKey(String volumeName, String bucketName,
   OzoneInputStream getKey(String volumeName, String bucketName, String keyName)
       throws IOException;
 
+  /**
+   * Reads a key from an existing bucket without blocking on the datanodes.
+   * The content is handed to the consumer in order, one buffer at a time;
+   * the consumer must not block and must not keep the buffers.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param keyName Name of the Key
+   * @param consumer Consumer of the content of the key
+   * @param executor Executor of the OM lookup and of blocking fallback reads
+   * @return future of the length of the key
+   */
+  CompletableFuture<Long> readKeyAsync(String volumeName, String bucketName,
+      String keyName, Consumer<ByteBuffer> consumer, Executor executor);
+
 
   /**
    * Deletes an existing key.
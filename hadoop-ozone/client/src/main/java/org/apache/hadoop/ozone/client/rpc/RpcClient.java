@@ -22,9 +22,11 @@
 import javax.crypto.Cipher;
 import javax.crypto.CipherInputStream;
 import javax.crypto.CipherOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 import java.security.PrivilegedExceptionAction;
 import java.security.cert.CertificateException;
@@ -38,10 +40,14 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -74,6 +80,7 @@
 import org.apache.hadoop.io.ByteBufferPool;
 import org.apache.hadoop.io.ElasticByteBufferPool;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneAcl;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
@@ -92,6 +99,7 @@
 import org.apache.hadoop.ozone.client.OzoneVolume;
 import org.apache.hadoop.ozone.client.TenantArgs;
 import org.apache.hadoop.ozone.client.VolumeArgs;
+import org.apache.hadoop.ozone.client.io.AsyncKeyReader;
 import org.apache.hadoop.ozone.client.io.BlockInputStreamFactory;
 import org.apache.hadoop.ozone.client.io.BlockInputStreamFactoryImpl;
 import org.apache.hadoop.ozone.client.io.ECKeyOutputStream;
@@ -115,6 +123,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDeleteKeys;
+import org.apache.hadoop.ozone.om.helpers.OmKeyBatchResult;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
@@ -130,6 +139,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
 import org.apache.hadoop.ozone.om.helpers.OpenKeySession;
 import org.apache.hadoop.ozone.om.helpers.OzoneAclUtil;
+import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.S3SecretValue;
@@ -170,6 +180,7 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_CLIENT_REQUIRED_OM_VERSION_MIN_KEY;
 import static org.apache.hadoop.ozone.OzoneConsts.MAXIMUM_NUMBER_OF_PARTS_PER_UPLOAD;
 import static org.apache.hadoop.ozone.OzoneConsts.OLD_QUOTA_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.OzoneConsts.OZONE_MAXIMUM_ACCESS_ID_LENGTH;
 import static org.apache.hadoop.ozone.security.acl.IAccessAuthorizer.ACLType.READ;
 import static org.apache.hadoop.ozone.security.acl.IAccessAuthorizer.ACLType.WRITE;
@@ -193,6 +204,8 @@ public class RpcClient implements ClientProtocol {
   // we should have at least 1 core thread for each necessary chunk
   // for reconstruction.
   private static final int EC_RECONSTRUCT_STRIPE_READ_POOL_MIN_SIZE = 3;
+  // the size of the buffer handed to readKeyAsync consumers by the stream
+  private static final int READ_KEY_BUFFER_SIZE = 1 << 20;
 
   private final ConfigurationSource conf;
   private final OzoneManagerClientProtocol ozoneManagerClient;
@@ -207,11 +220,14 @@ public class RpcClient implements ClientProtocol {
   private final boolean checkKeyNameEnabled;
   private final OzoneClientConfig clientConfig;
   private final Cache<URI, KeyProvider> keyProviderCache;
+  // OmKeyInfo by volume/bucket/key, null if disabled
+  private final Cache<String, OmKeyInfo> keyLocationCache;
   private final boolean getLatestVersionLocation;
   private final ByteBufferPool byteBufferPool;
   private final BlockInputStreamFactory blockInputStreamFactory;
   private final OzoneManagerVersion omVersion;
   private volatile ExecutorService ecReconstructExecutor;
+  private volatile ExecutorService readPrefetchExecutor;
   private final ContainerClientMetrics clientMetrics;
 
   /**
@@ -322,6 +338,12 @@ public void onRemoval(
             }
           }
         }).build();
+    keyLocationCache = clientConfig.getKeyLocationCacheSize() == 0 ? null
+        : CacheBuilder.newBuilder()
+            .maximumSize(clientConfig.getKeyLocationCacheSize())
+            .expireAfterWrite(clientConfig.getKeyLocationCacheTtl().toMillis(),
+                TimeUnit.MILLISECONDS)
+            .build();
     this.byteBufferPool = new ElasticByteBufferPool();
     this.blockInputStreamFactory = BlockInputStreamFactoryImpl
         .getInstance(byteBufferPool, this::getECReconstructExecutor);
@@ -1350,6 +1372,103 @@ public OzoneOutputStream createKey(
     return createOutputStream(openKey);
   }
 
+  @Override
+  public List<OmKeyBatchResult<Void>> createKeys(String volumeName,
+      String bucketName, Map<String, byte[]> keys,
+      ReplicationConfig replicationConfig, Map<String, String> metadata)
+      throws IOException {
+    verifyVolumeName(volumeName);
+    verifyBucketName(bucketName);
+    if (replicationConfig != null) {
+      if (replicationConfig.getReplicationType()
+          == HddsProtos.ReplicationType.EC) {
+        throw new IOException("Batch key creation does not support Erasure" +
+            " Coded replication.");
+      }
+      ReplicationConfigValidator validator =
+          this.conf.getObject(ReplicationConfigValidator.class);
+      validator.validate(replicationConfig);
+    }
+    if (keys.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    List<OmKeyArgs> openArgs = new ArrayList<>(keys.size());
+    for (Map.Entry<String, byte[]> key : keys.entrySet()) {
+      if (checkKeyNameEnabled) {
+        HddsClientUtils.verifyKeyName(key.getKey());
+      }
+      openArgs.add(new OmKeyArgs.Builder()
+          .setVolumeName(volumeName)
+          .setBucketName(bucketName)
+          .setKeyName(key.getKey())
+          .setDataSize(key.getValue().length)
+          .setReplicationConfig(replicationConfig)
+          .addAllMetadataGdpr(metadata)
+          .setAcls(getAclList())
+          .setLatestVersionLocation(getLatestVersionLocation)
+          .build());
+    }
+
+    // OM creates all keys of a request in one transaction, which can only
+    // derive MAX_OBJECT_IDS_PER_TRXN object IDs.
+    Map<String, OmKeyBatchResult<Void>> results = new LinkedHashMap<>();
+    for (int i = 0; i < openArgs.size();
+         i += OmUtils.MAX_OBJECT_IDS_PER_TRXN) {
+      createKeyBatch(volumeName, bucketName, keys, openArgs.subList(i,
+          Math.min(i + OmUtils.MAX_OBJECT_IDS_PER_TRXN, openArgs.size())),
+          results);
+    }
+    return new ArrayList<>(results.values());
+  }
+
+  /**
+   * Writes the data of every opened key of the batch, but leaves the commit
+   * to a single CommitKeys request. Keys that fail to open or write keep
+   * their error.
+   */
+  private void createKeyBatch(String volumeName, String bucketName,
+      Map<String, byte[]> keys, List<OmKeyArgs> openArgs,
+      Map<String, OmKeyBatchResult<Void>> results) throws IOException {
+    List<OmKeyBatchResult<OpenKeySession>> opened =
+        ozoneManagerClient.openKeys(openArgs);
+    List<OmKeyArgs> commitArgs = new ArrayList<>();
+    List<Long> clientIDs = new ArrayList<>();
+    for (OmKeyBatchResult<OpenKeySession> openResult : opened) {
+      String keyName = openResult.getKeyName();
+      if (!openResult.isSuccess()) {
+        results.put(keyName,
+            OmKeyBatchResult.failure(keyName, openResult.getException()));
+        continue;
+      }
+      OpenKeySession openKey = openResult.getValue();
+      KeyOutputStream keyOutputStream = createKeyOutputStream(openKey)
+          .setDeferCommit(true)
+          .build();
+      try (OzoneOutputStream out =
+               createOutputStream(openKey, keyOutputStream)) {
+        out.write(keys.get(keyName));
+      } catch (IOException e) {
+        results.put(keyName, OmKeyBatchResult.failure(keyName,
+            new OMException(e.getMessage(), e,
+                OMException.ResultCodes.INTERNAL_ERROR)));
+        continue;
+      }
+      results.put(keyName, null);
+      commitArgs.add(keyOutputStream.getCommitArgs());
+      clientIDs.add(openKey.getId());
+    }
+
+    if (!commitArgs.isEmpty()) {
+      for (OmKeyBatchResult<Void> commitResult :
+          ozoneManagerClient.commitKeys(commitArgs, clientIDs)) {
+        results.put(commitResult.getKeyName(), commitResult);
+        invalidateKeyLocations(volumeName, bucketName,
+            commitResult.getKeyName());
+      }
+    }
+  }
+
   @Override
   public OzoneDataStreamOutput createStreamKey(
       String volumeName, String bucketName, String keyName, long size,
@@ -1418,10 +1537,75 @@ public OzoneInputStream getKey(
     verifyVolumeName(volumeName);
     verifyBucketName(bucketName);
     Preconditions.checkNotNull(keyName);
-    OmKeyInfo keyInfo = getKeyInfo(volumeName, bucketName, keyName, false);
+    OmKeyInfo keyInfo = getKeyLocations(volumeName, bucketName, keyName);
     return getInputStreamWithRetryFunction(keyInfo);
   }
 
+  @Override
+  public CompletableFuture<Long> readKeyAsync(String volumeName,
+      String bucketName, String keyName, Consumer<ByteBuffer> consumer,
+      Executor executor) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        verifyVolumeName(volumeName);
+        verifyBucketName(bucketName);
+        Preconditions.checkNotNull(keyName);
+        return getKeyLocations(volumeName, bucketName, keyName);
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, executor).thenCompose(keyInfo -> {
+      if (!AsyncKeyReader.isSupported(keyInfo) || Boolean.parseBoolean(
+          keyInfo.getMetadata().get(OzoneConsts.GDPR_FLAG))) {
+        return readKeyFrom(keyInfo, 0, consumer, executor);
+      }
+      final AsyncKeyReader reader = new AsyncKeyReader(keyInfo,
+          xceiverClientManager, clientConfig.isChecksumVerify(), consumer);
+      return reader.read().handle((length, e) -> {
+        if (e == null) {
+          return CompletableFuture.completedFuture(length);
+        }
+        // e.g. the pipeline changed, the stream refreshes the locations
+        LOG.debug("Failed to read key {} asynchronously, continuing from {}",
+            keyName, reader.getPosition(), e);
+        return readKeyFrom(keyInfo, reader.getPosition(), consumer, executor);
+      }).thenCompose(read -> read);
+    });
+  }
+
+  /**
+   * Reads the rest of the key from the given position through a blocking
+   * stream on the executor, for the keys the async reader does not support
+   * or has failed to read.
+   */
+  private CompletableFuture<Long> readKeyFrom(OmKeyInfo keyInfo,
+      long position, Consumer<ByteBuffer> consumer, Executor executor) {
+    return CompletableFuture.supplyAsync(() -> {
+      try (OzoneInputStream in = getInputStreamWithRetryFunction(keyInfo)) {
+        long read = 0;
+        while (read < position) {
+          final long skipped = in.skip(position - read);
+          if (skipped <= 0) {
+            throw new EOFException("Key " + keyInfo.getKeyName()
+                + " is shorter than " + position);
+          }
+          read += skipped;
+        }
+        final byte[] buffer = new byte[(int) Math.max(1, Math.min(
+            READ_KEY_BUFFER_SIZE, keyInfo.getDataSize() - position))];
+        for (int n; (n = in.read(buffer)) >= 0;) {
+          if (n > 0) {
+            consumer.accept(ByteBuffer.wrap(buffer, 0, n));
+            read += n;
+          }
+        }
+        return read;
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
   @Override
   public Map<OmKeyLocationInfo, Map<DatanodeDetails, OzoneInputStream> >
       getKeysEveryReplicas(String volumeName,
@@ -1509,7 +1693,14 @@ public void deleteKey(
         .setKeyName(keyName)
         .setRecursive(recursive)
         .build();
-    ozoneManagerClient.deleteKey(keyArgs);
+    try {
+      ozoneManagerClient.deleteKey(keyArgs);
+    } finally {
+      invalidateKeyLocations(volumeName, bucketName, keyName);
+      if (recursive) {
+        invalidateKeyLocationsUnder(volumeName, bucketName, keyName);
+      }
+    }
   }
 
   @Override
@@ -1521,7 +1712,12 @@ public void deleteKeys(
     Preconditions.checkNotNull(keyNameList);
     OmDeleteKeys omDeleteKeys = new OmDeleteKeys(volumeName, bucketName,
         keyNameList);
-    ozoneManagerClient.deleteKeys(omDeleteKeys);
+    try {
+      ozoneManagerClient.deleteKeys(omDeleteKeys);
+    } finally {
+      keyNameList.forEach(
+          keyName -> invalidateKeyLocations(volumeName, bucketName, keyName));
+    }
   }
 
   @Override
@@ -1538,7 +1734,15 @@ public void renameKey(String volumeName, String bucketName,
         .setBucketName(bucketName)
         .setKeyName(fromKeyName)
         .build();
-    ozoneManagerClient.renameKey(keyArgs, toKeyName);
+    try {
+      ozoneManagerClient.renameKey(keyArgs, toKeyName);
+    } finally {
+      // either key may be a directory
+      invalidateKeyLocations(volumeName, bucketName, fromKeyName);
+      invalidateKeyLocationsUnder(volumeName, bucketName, fromKeyName);
+      invalidateKeyLocations(volumeName, bucketName, toKeyName);
+      invalidateKeyLocationsUnder(volumeName, bucketName, toKeyName);
+    }
   }
 
   @Override
@@ -1550,7 +1754,16 @@ public void renameKeys(String volumeName, String bucketName,
     HddsClientUtils.checkNotNull(keyMap);
     OmRenameKeys omRenameKeys =
         new OmRenameKeys(volumeName, bucketName, keyMap, null);
-    ozoneManagerClient.renameKeys(omRenameKeys);
+    try {
+      ozoneManagerClient.renameKeys(omRenameKeys);
+    } finally {
+      keyMap.forEach((fromKeyName, toKeyName) -> {
+        invalidateKeyLocations(volumeName, bucketName, fromKeyName);
+        invalidateKeyLocationsUnder(volumeName, bucketName, fromKeyName);
+        invalidateKeyLocations(volumeName, bucketName, toKeyName);
+        invalidateKeyLocationsUnder(volumeName, bucketName, toKeyName);
+      });
+    }
   }
 
 
@@ -1687,6 +1900,80 @@ private OmKeyInfo getKeyInfo(
     return getKeyInfo(keyArgs);
   }
 
+  /**
+   * Looks up the key to read it, from the key location cache if enabled.
+   */
+  private OmKeyInfo getKeyLocations(
+      String volumeName, String bucketName, String keyName)
+      throws IOException {
+    if (keyLocationCache == null) {
+      return getKeyInfo(volumeName, bucketName, keyName, false);
+    }
+    final String cacheKey = getKeyLocationCacheKey(
+        volumeName, bucketName, keyName);
+    final OmKeyInfo cached = keyLocationCache.getIfPresent(cacheKey);
+    if (cached != null) {
+      return cached;
+    }
+    final OmKeyInfo keyInfo =
+        getKeyInfo(volumeName, bucketName, keyName, false);
+    keyLocationCache.put(cacheKey, keyInfo);
+    return keyInfo;
+  }
+
+  private static String getKeyLocationCacheKey(
+      String volumeName, String bucketName, String keyName) {
+    return OM_KEY_PREFIX + volumeName + OM_KEY_PREFIX + bucketName
+        + OM_KEY_PREFIX + keyName;
+  }
+
+  /**
+   * Drops the cached locations of the key, unless they were refreshed since
+   * the given version of the key was looked up.
+   */
+  private void invalidateKeyLocations(OmKeyInfo keyInfo) {
+    if (keyLocationCache == null) {
+      return;
+    }
+    final String cacheKey = getKeyLocationCacheKey(keyInfo.getVolumeName(),
+        keyInfo.getBucketName(), keyInfo.getKeyName());
+    final OmKeyInfo cached = keyLocationCache.getIfPresent(cacheKey);
+    if (cached != null && cached.getObjectID() == keyInfo.getObjectID()
+        && cached.getUpdateID() == keyInfo.getUpdateID()) {
+      keyLocationCache.asMap().remove(cacheKey, cached);
+    }
+  }
+
+  /**
+   * Drops the cached locations of a key this client changed.
+   */
+  private void invalidateKeyLocations(
+      String volumeName, String bucketName, String keyName) {
+    if (keyLocationCache != null) {
+      keyLocationCache.invalidate(
+          getKeyLocationCacheKey(volumeName, bucketName, keyName));
+    }
+  }
+
+  /**
+   * Drops the cached locations of the keys under a directory this client
+   * deleted or renamed.
+   */
+  private void invalidateKeyLocationsUnder(
+      String volumeName, String bucketName, String dirName) {
+    if (keyLocationCache != null) {
+      final String prefix = getKeyLocationCacheKey(volumeName, bucketName,
+          OzoneFSUtils.addTrailingSlashIfNeeded(dirName));
+      keyLocationCache.asMap().keySet()
+          .removeIf(cacheKey -> cacheKey.startsWith(prefix));
+    }
+  }
+
+  @VisibleForTesting
+  public long getKeyLocationCacheSize() {
+    return keyLocationCache == null ? 0 : keyLocationCache.size();
+  }
+
   private OmKeyInfo getKeyInfo(OmKeyArgs keyArgs) throws IOException {
     final OmKeyInfo keyInfo;
     if (omVersion.compareTo(OzoneManagerVersion.OPTIMIZED_GET_KEY_INFO) >= 0) {
@@ -1704,6 +1991,10 @@ public void close() throws IOException {
       ecReconstructExecutor.shutdownNow();
       ecReconstructExecutor = null;
     }
+    if (readPrefetchExecutor != null) {
+      readPrefetchExecutor.shutdownNow();
+      readPrefetchExecutor = null;
+    }
     IOUtils.cleanupWithLogger(LOG, ozoneManagerClient, xceiverClientManager);
     keyProviderCache.invalidateAll();
     keyProviderCache.cleanUp();
@@ -1848,6 +2139,7 @@ public OmMultipartUploadCompleteInfo completeMultipartUpload(
     OmMultipartUploadCompleteInfo omMultipartUploadCompleteInfo =
         ozoneManagerClient.completeMultipartUpload(keyArgs,
             omMultipartUploadCompleteList);
+    invalidateKeyLocations(volumeName, bucketName, keyName);
 
     return omMultipartUploadCompleteInfo;
 
@@ -1988,6 +2280,8 @@ public OzoneOutputStream createFile(String volumeName, String bucketName,
   private OzoneInputStream getInputStreamWithRetryFunction(
       OmKeyInfo keyInfo) throws IOException {
     return createInputStream(keyInfo, omKeyInfo -> {
+      // reading from a datanode failed, e.g. the pipeline changed
+      invalidateKeyLocations(omKeyInfo);
       try {
         return getKeyInfo(omKeyInfo.getVolumeName(), omKeyInfo.getBucketName(),
             omKeyInfo.getKeyName(), true);
@@ -2155,9 +2449,9 @@ private OzoneInputStream createInputStream(
 
     if (feInfo == null) {
       LengthInputStream lengthInputStream = KeyInputStream
-          .getFromOmKeyInfo(keyInfo, xceiverClientManager,
-              clientConfig.isChecksumVerify(), retryFunction,
-              blockInputStreamFactory);
+          .getFromOmKeyInfo(keyInfo, xceiverClientManager, clientConfig,
+              retryFunction, blockInputStreamFactory,
+              this::getReadPrefetchExecutor, clientMetrics);
       try {
         final GDPRSymmetricKey gk = getGDPRSymmetricKey(
             keyInfo.getMetadata(), Cipher.DECRYPT_MODE);
@@ -2172,9 +2466,9 @@ private OzoneInputStream createInputStream(
     } else if (!keyInfo.getLatestVersionLocations().isMultipartKey()) {
       // Regular Key with FileEncryptionInfo
       LengthInputStream lengthInputStream = KeyInputStream
-          .getFromOmKeyInfo(keyInfo, xceiverClientManager,
-              clientConfig.isChecksumVerify(), retryFunction,
-              blockInputStreamFactory);
+          .getFromOmKeyInfo(keyInfo, xceiverClientManager, clientConfig,
+              retryFunction, blockInputStreamFactory,
+              this::getReadPrefetchExecutor, clientMetrics);
       final KeyProvider.KeyVersion decrypted = getDEK(feInfo);
       final CryptoInputStream cryptoIn =
           new CryptoInputStream(lengthInputStream.getWrappedStream(),
@@ -2205,11 +2499,13 @@ private OzoneInputStream createInputStream(
   }
   private OzoneDataStreamOutput createDataStreamOutput(OpenKeySession openKey)
       throws IOException {
-    final ReplicationConfig replicationConfig
-        = openKey.getKeyInfo().getReplicationConfig();
+    final OmKeyInfo keyInfo = openKey.getKeyInfo();
+    final ReplicationConfig replicationConfig = keyInfo.getReplicationConfig();
     KeyDataStreamOutput keyOutputStream =
         new KeyDataStreamOutput.Builder()
             .setHandler(openKey)
+            .setOnCommit(() -> invalidateKeyLocations(keyInfo.getVolumeName(),
+                keyInfo.getBucketName(), keyInfo.getKeyName()))
             .setXceiverClientManager(xceiverClientManager)
             .setOmClient(ozoneManagerClient)
             .setReplicationConfig(replicationConfig)
@@ -2291,7 +2587,10 @@ private KeyOutputStream.Builder createKeyOutputStream(
         .setReplicationConfig(replicationConfig);
     }
 
+    final OmKeyInfo keyInfo = openKey.getKeyInfo();
     return builder.setHandler(openKey)
+        .setOnCommit(() -> invalidateKeyLocations(keyInfo.getVolumeName(),
+            keyInfo.getBucketName(), keyInfo.getKeyName()))
         .setXceiverClientManager(xceiverClientManager)
         .setOmClient(ozoneManagerClient)
         .enableUnsafeByteBufferConversion(unsafeByteBufferConversion)
@@ -2434,4 +2733,27 @@ public ExecutorService getECReconstructExecutor() {
     }
     return executor;
   }
+
+  public ExecutorService getReadPrefetchExecutor() {
+    // local ref to a volatile to ensure access
+    // to a completed initialized object
+    ExecutorService executor = readPrefetchExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = readPrefetchExecutor;
+        if (executor == null) {
+          readPrefetchExecutor = new ThreadPoolExecutor(0,
+              clientConfig.getReadPrefetchPoolLimit(),
+              60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("read-prefetch-TID-%d")
+                  .setDaemon(true)
+                  .build(),
+              new ThreadPoolExecutor.AbortPolicy());
+          executor = readPrefetchExecutor;
+        }
+      }
+    }
+    return executor;
+  }
 }
@@ -34,6 +34,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateVolumeRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateVolumeResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteKeyResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteVolumeRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteVolumeResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
@@ -50,6 +52,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse.Builder;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeyResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServiceListRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServiceListResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
@@ -117,6 +121,14 @@ public OMResponse submitRequest(OMRequest payload) throws IOException {
       return response(payload,
           r -> r.setCommitKeyResponse(
               commitKey(payload.getCommitKeyRequest())));
+    case DeleteKey:
+      return response(payload,
+          r -> r.setDeleteKeyResponse(
+              deleteKey(payload.getDeleteKeyRequest())));
+    case RenameKey:
+      return response(payload,
+          r -> r.setRenameKeyResponse(
+              renameKey(payload.getRenameKeyRequest())));
     case LookupKey:
       return response(payload,
           r -> r.setLookupKeyResponse(
@@ -163,19 +175,68 @@ private DeleteVolumeResponse deleteVolume(
 
   private LookupKeyResponse lookupKey(LookupKeyRequest lookupKeyRequest) {
     final KeyArgs keyArgs = lookupKeyRequest.getKeyArgs();
+    final KeyInfo keyInfo = keys.get(keyArgs.getVolumeName())
+        .get(keyArgs.getBucketName()).get(keyArgs.getKeyName());
+    if (keyInfo == null) {
+      throw new MockOmException(Status.KEY_NOT_FOUND);
+    }
     return LookupKeyResponse.newBuilder()
-        .setKeyInfo(
-            keys.get(keyArgs.getVolumeName()).get(keyArgs.getBucketName())
-                .get(keyArgs.getKeyName()))
+        .setKeyInfo(keyInfo)
         .build();
   }
 
   private GetKeyInfoResponse getKeyInfo(GetKeyInfoRequest request) {
     final KeyArgs keyArgs = request.getKeyArgs();
+    final KeyInfo keyInfo = keys.get(keyArgs.getVolumeName())
+        .get(keyArgs.getBucketName()).get(keyArgs.getKeyName());
+    if (keyInfo == null) {
+      throw new MockOmException(Status.KEY_NOT_FOUND);
+    }
     return GetKeyInfoResponse.newBuilder()
-        .setKeyInfo(
-            keys.get(keyArgs.getVolumeName()).get(keyArgs.getBucketName())
-                .get(keyArgs.getKeyName()))
+        .setKeyInfo(keyInfo)
+        .build();
+  }
+
+  private DeleteKeyResponse deleteKey(DeleteKeyRequest deleteKeyRequest) {
+    final KeyArgs keyArgs = deleteKeyRequest.getKeyArgs();
+    final Map<String, KeyInfo> bucketKeys =
+        keys.get(keyArgs.getVolumeName()).get(keyArgs.getBucketName());
+    bucketKeys.remove(keyArgs.getKeyName());
+    if (keyArgs.getRecursive()) {
+      bucketKeys.keySet().removeIf(
+          name -> name.startsWith(keyArgs.getKeyName() + "/"));
+    }
+    return DeleteKeyResponse.newBuilder()
+        .build();
+  }
+
+  private RenameKeyResponse renameKey(RenameKeyRequest renameKeyRequest) {
+    final KeyArgs keyArgs = renameKeyRequest.getKeyArgs();
+    final Map<String, KeyInfo> bucketKeys =
+        keys.get(keyArgs.getVolumeName()).get(keyArgs.getBucketName());
+    final String fromKeyName = keyArgs.getKeyName();
+    final String toKeyName = renameKeyRequest.getToKeyName();
+    final KeyInfo keyInfo = bucketKeys.remove(fromKeyName);
+    if (keyInfo != null) {
+      bucketKeys.put(toKeyName,
+          keyInfo.toBuilder().setKeyName(toKeyName).build());
+    } else {
+      // a directory, move the keys under it
+      final Map<String, KeyInfo> moved = new HashMap<>();
+      final Iterator<Map.Entry<String, KeyInfo>> i =
+          bucketKeys.entrySet().iterator();
+      while (i.hasNext()) {
+        final Map.Entry<String, KeyInfo> e = i.next();
+        if (e.getKey().startsWith(fromKeyName + "/")) {
+          final String name =
+              toKeyName + e.getKey().substring(fromKeyName.length());
+          moved.put(name, e.getValue().toBuilder().setKeyName(name).build());
+          i.remove();
+        }
+      }
+      bucketKeys.putAll(moved);
+    }
+    return RenameKeyResponse.newBuilder()
         .build();
   }
 
@@ -191,6 +252,7 @@ private CommitKeyResponse commitKey(CommitKeyRequest commitKeyRequest) {
             .setCreationTime(openKey.getCreationTime())
             .setModificationTime(openKey.getModificationTime())
             .setDataSize(keyArgs.getDataSize()).setLatestVersion(0L)
+            .addAllMetadata(openKey.getMetadataList())
             .addKeyLocationList(KeyLocationList.newBuilder()
                 .addAllKeyLocations(keyArgs.getKeyLocationsList()));
     // Just inherit replication config details from open Key
@@ -218,7 +280,8 @@ private CreateKeyResponse createKey(CreateKeyRequest createKeyRequest) {
             .setBucketName(keyArgs.getBucketName())
             .setKeyName(keyArgs.getKeyName()).setCreationTime(now)
             .setModificationTime(now).setDataSize(keyArgs.getDataSize())
-            .setLatestVersion(0L).addKeyLocationList(
+            .setLatestVersion(0L).addAllMetadata(keyArgs.getMetadataList())
+            .addKeyLocationList(
             KeyLocationList.newBuilder().addAllKeyLocations(
                 blockAllocator.allocateBlock(createKeyRequest.getKeyArgs(),
                     new ExcludeList()))
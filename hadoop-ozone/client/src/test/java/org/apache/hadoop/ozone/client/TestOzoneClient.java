@@ -18,17 +18,23 @@
 
 package org.apache.hadoop.ozone.client;
 
+import org.apache.commons.lang3.RandomUtils;
 import org.apache.hadoop.conf.StorageUnit;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfigValidator;
 import org.apache.hadoop.hdds.client.ReplicationType;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.client.io.KeyInputStream;
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
 import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
+import org.apache.hadoop.ozone.client.io.PrefetchingKeyInputStream;
 import org.apache.hadoop.ozone.client.rpc.RpcClient;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
@@ -40,12 +46,22 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.hadoop.hdds.client.ReplicationFactor.ONE;
@@ -223,6 +239,255 @@ public void testPutKeyWithECReplicationConfig() throws IOException {
     }
   }
 
+  @Test
+  public void testReadKeyWithPrefetch() throws IOException {
+    close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    config.setStorageSize(OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE, 4,
+        StorageUnit.KB);
+    OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    clientConfig.setReadPrefetchDepth(3);
+    clientConfig.setReadPrefetchSegmentSize(1000);
+    config.setFromObject(clientConfig);
+    createNewClient(config, new SinglePipelineBlockAllocator(config));
+    OzoneBucket bucket = getOzoneBucket();
+
+    byte[] value = RandomUtils.nextBytes(20000);
+    String keyName = UUID.randomUUID().toString();
+    try (OzoneOutputStream out = bucket.createKey(keyName, value.length,
+        ReplicationType.RATIS, ONE, new HashMap<>())) {
+      out.write(value);
+    }
+
+    try (OzoneInputStream is = bucket.readKey(keyName)) {
+      Assert.assertTrue(is.getInputStream() instanceof
+          PrefetchingKeyInputStream);
+      Assert.assertEquals(5, ((PrefetchingKeyInputStream) is.getInputStream())
+          .getPartStreams().size());
+      byte[] content = new byte[value.length];
+      int off = 0;
+      while (off < content.length) {
+        int n = is.read(content, off, Math.min(777, content.length - off));
+        Assert.assertTrue(n > 0);
+        off += n;
+      }
+      Assert.assertArrayEquals(value, content);
+      Assert.assertEquals(-1, is.read());
+
+      // within and beyond the queued segments, backwards and forwards
+      for (int pos : new int[] {19500, 3999, 4000, 100, 150, 12345}) {
+        is.seek(pos);
+        byte[] part = new byte[Math.min(2500, value.length - pos)];
+        Assert.assertEquals(part.length, is.read(part));
+        Assert.assertArrayEquals(
+            Arrays.copyOfRange(value, pos, pos + part.length), part);
+        Assert.assertEquals(pos + part.length, is.getPos());
+      }
+    }
+  }
+
+  @Test
+  public void testReadKeyRangesAsync() throws Exception {
+    close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    config.setStorageSize(OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE, 4,
+        StorageUnit.KB);
+    createNewClient(config, new SinglePipelineBlockAllocator(config));
+    OzoneBucket bucket = getOzoneBucket();
+
+    byte[] value = RandomUtils.nextBytes(10000);
+    String keyName = UUID.randomUUID().toString();
+    try (OzoneOutputStream out = bucket.createKey(keyName, value.length,
+        ReplicationType.RATIS, ONE, new HashMap<>())) {
+      out.write(value);
+    }
+
+    try (OzoneInputStream is = bucket.readKey(keyName)) {
+      KeyInputStream keyInputStream = (KeyInputStream) is.getInputStream();
+      is.seek(123);
+      // within a block, spanning blocks, the whole key
+      for (int[] range : new int[][] {{10, 100}, {3000, 6000}, {0, 10000}}) {
+        ByteBuffer buffer = ByteBuffer.allocate(range[1] + 2);
+        buffer.position(1).limit(1 + range[1]);
+        keyInputStream.readFullyAsync(range[0], buffer).get();
+        Assert.assertEquals(1, buffer.position());
+        byte[] content = new byte[range[1]];
+        buffer.get(content);
+        Assert.assertArrayEquals(
+            Arrays.copyOfRange(value, range[0], range[0] + range[1]),
+            content);
+      }
+      Assert.assertEquals(123, is.getPos());
+
+      try {
+        keyInputStream.readFullyAsync(9000, ByteBuffer.allocate(1001)).get();
+        Assert.fail("Read beyond the end of the key should fail");
+      } catch (ExecutionException e) {
+        Assert.assertTrue(e.getCause() instanceof EOFException);
+      }
+    }
+  }
+
+  @Test
+  public void testKeyLocationCache() throws IOException {
+    close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    clientConfig.setKeyLocationCacheSize(10);
+    clientConfig.setKeyLocationCacheTtl(Duration.ofMinutes(10));
+    config.setFromObject(clientConfig);
+    createNewClient(config, new SinglePipelineBlockAllocator(config));
+    OzoneBucket bucket = getOzoneBucket();
+    RpcClient rpcClient = (RpcClient) client.getProxy();
+
+    String keyName = UUID.randomUUID().toString();
+    byte[] first = RandomUtils.nextBytes(100);
+    writeKey(bucket, keyName, first);
+    Assert.assertArrayEquals(first, readKey(bucket, keyName));
+    Assert.assertEquals(1, rpcClient.getKeyLocationCacheSize());
+
+    // key details are always looked up in OM
+    String otherKeyName = UUID.randomUUID().toString();
+    writeKey(bucket, otherKeyName, first);
+    Assert.assertEquals(first.length,
+        bucket.getKey(otherKeyName).getDataSize());
+    Assert.assertEquals(1, rpcClient.getKeyLocationCacheSize());
+
+    // overwriting the key drops its cached locations
+    byte[] second = RandomUtils.nextBytes(100);
+    writeKey(bucket, keyName, second);
+    Assert.assertEquals(0, rpcClient.getKeyLocationCacheSize());
+    Assert.assertArrayEquals(second, readKey(bucket, keyName));
+    Assert.assertEquals(1, rpcClient.getKeyLocationCacheSize());
+
+    String newKeyName = UUID.randomUUID().toString();
+    bucket.renameKey(keyName, newKeyName);
+    Assert.assertEquals(0, rpcClient.getKeyLocationCacheSize());
+    Assert.assertArrayEquals(second, readKey(bucket, newKeyName));
+    Assert.assertEquals(1, rpcClient.getKeyLocationCacheSize());
+
+    bucket.deleteKey(newKeyName);
+    Assert.assertEquals(0, rpcClient.getKeyLocationCacheSize());
+
+    // renaming or deleting a directory drops the locations of its keys
+    writeKey(bucket, "dir/key", first);
+    Assert.assertArrayEquals(first, readKey(bucket, "dir/key"));
+    Assert.assertEquals(1, rpcClient.getKeyLocationCacheSize());
+    bucket.renameKey("dir", "moved");
+    Assert.assertEquals(0, rpcClient.getKeyLocationCacheSize());
+    Assert.assertArrayEquals(first, readKey(bucket, "moved/key"));
+    Assert.assertEquals(1, rpcClient.getKeyLocationCacheSize());
+    bucket.deleteDirectory("moved", true);
+    Assert.assertEquals(0, rpcClient.getKeyLocationCacheSize());
+  }
+
+  private static void writeKey(OzoneBucket bucket, String keyName,
+      byte[] value) throws IOException {
+    try (OzoneOutputStream out = bucket.createKey(keyName, value.length,
+        ReplicationType.RATIS, ONE, new HashMap<>())) {
+      out.write(value);
+    }
+  }
+
+  private static byte[] readKey(OzoneBucket bucket, String keyName)
+      throws IOException {
+    try (OzoneInputStream is = bucket.readKey(keyName)) {
+      byte[] content = new byte[(int) bucket.getKey(keyName).getDataSize()];
+      Assert.assertEquals(content.length, is.read(content));
+      return content;
+    }
+  }
+
+  @Test
+  public void testWriteWithBufferArena() throws IOException {
+    close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    clientConfig.setStreamBufferArenaSize(64 * 1024 * 1024);
+    config.setFromObject(clientConfig);
+    // the buffers are sent without a copy
+    config.setBoolean(OzoneConfigKeys.OZONE_UNSAFEBYTEOPERATIONS_ENABLED, true);
+    createNewClient(config, new SinglePipelineBlockAllocator(config));
+    OzoneBucket bucket = getOzoneBucket();
+
+    // the buffers of the first key are reused by the second one
+    Map<String, byte[]> values = new HashMap<>();
+    for (int i = 0; i < 2; i++) {
+      String keyName = UUID.randomUUID().toString();
+      byte[] value = RandomUtils.nextBytes(10000);
+      values.put(keyName, value);
+      writeKey(bucket, keyName, value);
+      Assert.assertArrayEquals(value, readKey(bucket, keyName));
+    }
+    for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+      Assert.assertArrayEquals(entry.getValue(),
+          readKey(bucket, entry.getKey()));
+    }
+  }
+
+  @Test
+  public void testAsyncBucket() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      AsyncOzoneBucket bucket =
+          new AsyncOzoneBucket(getOzoneBucket(), executor);
+      Map<String, byte[]> values = new HashMap<>();
+      for (int i = 0; i < 10; i++) {
+        String keyName = "key" + i;
+        byte[] value = RandomUtils.nextBytes(100 * i);
+        values.put(keyName, value);
+        // the mock datanodes do not support concurrent writes
+        bucket.createKey(keyName, ByteBuffer.wrap(value),
+            RatisReplicationConfig.getInstance(
+                HddsProtos.ReplicationFactor.ONE), new HashMap<>()).get();
+      }
+
+      Map<String, ByteArrayOutputStream> contents = new HashMap<>();
+      Map<String, CompletableFuture<Long>> reads = new HashMap<>();
+      for (String keyName : values.keySet()) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        contents.put(keyName, content);
+        reads.put(keyName, bucket.readKey(keyName, buffer -> {
+          byte[] bytes = new byte[buffer.remaining()];
+          buffer.get(bytes);
+          synchronized (content) {
+            content.write(bytes, 0, bytes.length);
+          }
+        }));
+      }
+      for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+        Assert.assertEquals(entry.getValue().length,
+            (long) reads.get(entry.getKey()).get());
+        ByteArrayOutputStream content = contents.get(entry.getKey());
+        synchronized (content) {
+          Assert.assertArrayEquals(entry.getValue(), content.toByteArray());
+        }
+        Assert.assertEquals(entry.getValue().length,
+            bucket.getKey(entry.getKey()).get().getDataSize());
+      }
+
+      // the bucket default replication keeps the key metadata
+      Map<String, String> metadata = new HashMap<>();
+      metadata.put("key1", "val1");
+      bucket.createKey("withMetadata", ByteBuffer.wrap(new byte[10]), null,
+          metadata).get();
+      Assert.assertEquals(metadata,
+          bucket.getKey("withMetadata").get().getMetadata());
+
+      try {
+        bucket.readKey("missing", buffer -> { }).get();
+        Assert.fail("Missing key should not be found");
+      } catch (ExecutionException e) {
+        // the failure of the operation, not wrapped
+        Assert.assertTrue(e.getCause() instanceof OMException);
+        Assert.assertEquals(ResultCodes.KEY_NOT_FOUND,
+            ((OMException) e.getCause()).getResult());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   private OzoneBucket getOzoneBucket() throws IOException {
     String volumeName = UUID.randomUUID().toString();
     String bucketName = UUID.randomUUID().toString();
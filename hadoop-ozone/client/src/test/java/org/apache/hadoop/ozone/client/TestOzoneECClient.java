@@ -28,9 +28,11 @@
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerNotOpenException;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.client.io.BlockOutputStreamEntry;
@@ -195,6 +197,64 @@ public void testPutECKeyAndCheckParityData() throws IOException {
 
   }
 
+  @Test
+  public void testPutECKeyWithArenaCells() throws IOException {
+    final OzoneClientConfig clientConfig = conf.getObject(
+        OzoneClientConfig.class);
+    clientConfig.setStreamBufferArenaSize(
+        (long) 4 * (dataBlocks + parityBlocks) * chunkSize);
+    conf.setFromObject(clientConfig);
+    client.close();
+    createNewClient(conf, transportStub);
+
+    // the cells of the stripes are direct buffers of the arena
+    OzoneBucket bucket = writeIntoECKey(inputChunks, keyName, null);
+    final ByteBuffer[] dataBuffers = new ByteBuffer[dataBlocks];
+    for (int i = 0; i < inputChunks.length; i++) {
+      dataBuffers[i] = ByteBuffer.wrap(inputChunks[i]);
+    }
+    final ByteBuffer[] parityBuffers = new ByteBuffer[parityBlocks];
+    for (int i = 0; i < parityBlocks; i++) {
+      parityBuffers[i] = ByteBuffer.allocate(chunkSize);
+    }
+    encoder.encode(dataBuffers, parityBuffers);
+    Map<DatanodeDetails, MockDatanodeStorage> storages =
+        ((MockXceiverClientFactory) factoryStub).getStorages();
+    DatanodeDetails[] dnDetails =
+        storages.keySet().toArray(new DatanodeDetails[storages.size()]);
+    Arrays.sort(dnDetails);
+    for (int i = dataBlocks; i < parityBlocks + dataBlocks; i++) {
+      ByteString content = storages.get(dnDetails[i]).getAllBlockData()
+          .values().iterator().next();
+      Assert.assertEquals(
+          new String(parityBuffers[i - dataBlocks].array(), UTF_8),
+          content.toStringUtf8());
+    }
+
+    // a partial stripe written with the cells released by the first key
+    final String partialKey = UUID.randomUUID().toString();
+    final byte[] partialChunk = getBytesWith(7, chunkSize + 1);
+    try (OzoneOutputStream out = bucket.createKey(partialKey,
+        partialChunk.length, new ECReplicationConfig(dataBlocks,
+            parityBlocks, ECReplicationConfig.EcCodec.RS, chunkSize),
+        new HashMap<>())) {
+      out.write(partialChunk);
+    }
+
+    try (OzoneInputStream is = bucket.readKey(keyName)) {
+      byte[] fileContent = new byte[chunkSize];
+      for (int i = 0; i < dataBlocks; i++) {
+        Assert.assertEquals(inputChunks[i].length, is.read(fileContent));
+        Assert.assertArrayEquals(inputChunks[i], fileContent);
+      }
+    }
+    try (OzoneInputStream is = bucket.readKey(partialKey)) {
+      byte[] fileContent = new byte[partialChunk.length];
+      IOUtils.readFully(is, fileContent, 0, fileContent.length);
+      Assert.assertArrayEquals(partialChunk, fileContent);
+    }
+  }
+
   @Test
   public void testPutECKeyAndReadContent() throws IOException {
     OzoneBucket bucket = writeIntoECKey(inputChunks, keyName, null);
@@ -102,6 +102,11 @@ public final class OmUtils {
   public static final long MAX_TRXN_ID = (1L << 54) - 2;
   public static final int EPOCH_WHEN_RATIS_NOT_ENABLED = 1;
   public static final int EPOCH_WHEN_RATIS_ENABLED = 2;
+  // Number of object IDs that can be derived from one transaction ID. This
+  // also bounds the number of keys in a CreateKeys or CommitKeys request, as
+  // all keys of the batch are created in the same transaction.
+  public static final int MAX_OBJECT_IDS_PER_TRXN =
+      1 << (int) TRANSACTION_ID_SHIFT;
 
   private OmUtils() {
   }
@@ -284,6 +289,8 @@ public static boolean isReadOnly(
     case DeleteKey:
     case DeleteKeys:
     case CommitKey:
+    case CreateKeys:
+    case CommitKeys:
     case AllocateBlock:
     case InitiateMultiPartUpload:
     case CommitMultiPartUpload:
@@ -93,6 +93,13 @@ private OMConfigKeys() {
       "ozone.om.grpc.read.thread.num";
   public static final int OZONE_OM_GRPC_READ_THREAD_NUM_DEFAULT = 32;
 
+  public static final String OZONE_OM_READ_THREAD_NUM_KEY =
+      "ozone.om.read.thread.num";
+  public static final int OZONE_OM_READ_THREAD_NUM_DEFAULT = 0;
+  public static final String OZONE_OM_READ_QUEUE_SIZE_KEY =
+      "ozone.om.read.queue.size";
+  public static final int OZONE_OM_READ_QUEUE_SIZE_DEFAULT = 32;
+
   public static final String OZONE_OM_HTTP_ENABLED_KEY =
       "ozone.om.http.enabled";
   public static final String OZONE_OM_HTTP_BIND_HOST_KEY =
@@ -428,6 +435,10 @@ private OMConfigKeys() {
       "ozone.om.unflushed.transaction.max.count";
   public static final int OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT
       = 10000;
+  public static final String OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH_ENABLED =
+      "ozone.om.double.buffer.pipelined.flush.enabled";
+  public static final boolean
+      OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH_ENABLED_DEFAULT = false;
 
   /**
    * This configuration shall be enabled to utilize the functionality of the
@@ -437,6 +448,14 @@ private OMConfigKeys() {
       "ozone.om.key.path.lock.enabled";
   public static final boolean OZONE_OM_KEY_PATH_LOCK_ENABLED_DEFAULT = false;
 
+  /**
+   * Hold KEY_PATH_LOCK on a lock per key path instead of a lock stripe.
+   */
+  public static final String OZONE_OM_KEY_PATH_LOCK_PER_KEY =
+      "ozone.om.key.path.lock.per.key";
+  public static final boolean OZONE_OM_KEY_PATH_LOCK_PER_KEY_DEFAULT =
+      false;
+
   public static final String OZONE_OM_MULTITENANCY_ENABLED =
       "ozone.om.multitenancy.enabled";
   public static final boolean OZONE_OM_MULTITENANCY_ENABLED_DEFAULT = false;
@@ -489,6 +508,19 @@ private OMConfigKeys() {
   public static final TimeDuration OZONE_OM_CONTAINER_LOCATION_CACHE_TTL_DEFAULT
       = TimeDuration.valueOf(360, TimeUnit.MINUTES);
 
+  public static final String OZONE_OM_TABLE_READ_CACHE_SIZE
+      = "ozone.om.table.read.cache.size";
+  public static final long OZONE_OM_TABLE_READ_CACHE_SIZE_DEFAULT = 0;
+
+  public static final String OZONE_OM_BLOCK_POOL_SIZE
+      = "ozone.om.block.pool.size";
+  public static final int OZONE_OM_BLOCK_POOL_SIZE_DEFAULT = 0;
+
+  public static final String OZONE_OM_BLOCK_POOL_EXPIRY
+      = "ozone.om.block.pool.expiry";
+  public static final TimeDuration OZONE_OM_BLOCK_POOL_EXPIRY_DEFAULT
+      = TimeDuration.valueOf(30, TimeUnit.SECONDS);
+
   public static final String OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR
       = "ozone.om.enable.ofs.shared.tmp.dir";
   public static final boolean OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR_DEFAULT
@@ -18,10 +18,19 @@
 package org.apache.hadoop.ozone.om.helpers;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
+import javax.annotation.Nonnull;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.WireFormat;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.BasicKeyInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysRequest;
 
@@ -30,6 +39,18 @@
  */
 public class BasicOmKeyInfo {
 
+  private static final Codec<BasicOmKeyInfo> CODEC = new KeyInfoCodec();
+
+  /**
+   * Returns a read-only codec which decodes a persisted {@link KeyInfo}
+   * directly into a {@link BasicOmKeyInfo}. Block locations, ACLs and
+   * metadata are skipped without being parsed, so listing keys with this
+   * codec allocates only the fields that are returned.
+   */
+  public static Codec<BasicOmKeyInfo> getCodec() {
+    return CODEC;
+  }
+
   private String volumeName;
   private String bucketName;
   private String keyName;
@@ -219,4 +240,102 @@ public static BasicOmKeyInfo fromOmKeyInfo(OmKeyInfo omKeyInfo) {
         omKeyInfo.getReplicationConfig(),
         omKeyInfo.isFile());
   }
+
+  /**
+   * Decodes the {@link KeyInfo} fields of a {@link BasicOmKeyInfo} from a
+   * serialized {@link KeyInfo}, skipping all other fields.
+   */
+  private static final class KeyInfoCodec implements Codec<BasicOmKeyInfo> {
+    private static final KeyInfo DEFAULT = KeyInfo.getDefaultInstance();
+
+    @Override
+    public boolean supportCodecBuffer() {
+      return true;
+    }
+
+    @Override
+    public BasicOmKeyInfo fromCodecBuffer(@Nonnull CodecBuffer buffer)
+        throws IOException {
+      try (InputStream in = buffer.getInputStream()) {
+        return decode(CodedInputStream.newInstance(in));
+      }
+    }
+
+    @Override
+    public byte[] toPersistedFormat(BasicOmKeyInfo object) {
+      throw new UnsupportedOperationException(
+          "BasicOmKeyInfo is not persisted, it is decoded from KeyInfo");
+    }
+
+    @Override
+    public BasicOmKeyInfo fromPersistedFormat(byte[] rawData)
+        throws IOException {
+      return decode(CodedInputStream.newInstance(rawData));
+    }
+
+    @Override
+    public BasicOmKeyInfo copyObject(BasicOmKeyInfo object) {
+      // BasicOmKeyInfo is immutable
+      return object;
+    }
+
+    private static BasicOmKeyInfo decode(CodedInputStream in)
+        throws IOException {
+      final Builder builder = new Builder();
+      HddsProtos.ReplicationType type = DEFAULT.getType();
+      HddsProtos.ReplicationFactor factor = DEFAULT.getFactor();
+      HddsProtos.ECReplicationConfig ecReplicationConfig =
+          DEFAULT.getEcReplicationConfig();
+      while (true) {
+        final int tag = in.readTag();
+        switch (WireFormat.getTagFieldNumber(tag)) {
+        case 0:
+          builder.setReplicationConfig(
+              ReplicationConfig.fromProto(type, factor, ecReplicationConfig));
+          return builder.build();
+        case KeyInfo.VOLUMENAME_FIELD_NUMBER:
+          builder.setVolumeName(in.readString());
+          break;
+        case KeyInfo.BUCKETNAME_FIELD_NUMBER:
+          builder.setBucketName(in.readString());
+          break;
+        case KeyInfo.KEYNAME_FIELD_NUMBER:
+          builder.setKeyName(in.readString());
+          break;
+        case KeyInfo.DATASIZE_FIELD_NUMBER:
+          builder.setDataSize(in.readUInt64());
+          break;
+        case KeyInfo.TYPE_FIELD_NUMBER:
+          final HddsProtos.ReplicationType t =
+              HddsProtos.ReplicationType.valueOf(in.readEnum());
+          type = t != null ? t : type;
+          break;
+        case KeyInfo.FACTOR_FIELD_NUMBER:
+          final HddsProtos.ReplicationFactor f =
+              HddsProtos.ReplicationFactor.valueOf(in.readEnum());
+          factor = f != null ? f : factor;
+          break;
+        case KeyInfo.CREATIONTIME_FIELD_NUMBER:
+          builder.setCreationTime(in.readUInt64());
+          break;
+        case KeyInfo.MODIFICATIONTIME_FIELD_NUMBER:
+          builder.setModificationTime(in.readUInt64());
+          break;
+        case KeyInfo.ECREPLICATIONCONFIG_FIELD_NUMBER:
+          final HddsProtos.ECReplicationConfig.Builder ec =
+              HddsProtos.ECReplicationConfig.newBuilder();
+          in.readMessage(ec, ExtensionRegistryLite.getEmptyRegistry());
+          ecReplicationConfig = ec.build();
+          break;
+        case KeyInfo.ISFILE_FIELD_NUMBER:
+          builder.setIsFile(in.readBool());
+          break;
+        default:
+          if (!in.skipField(tag)) {
+            throw new IOException("Unexpected end group tag " + tag);
+          }
+        }
+      }
+    }
+  }
 }
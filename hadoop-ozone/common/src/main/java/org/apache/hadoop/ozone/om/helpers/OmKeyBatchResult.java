@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.helpers;
+
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+
+/**
+ * Result of a single key of a CreateKeys or CommitKeys request. Keys of a
+ * batch succeed or fail independently of each other.
+ *
+ * @param <T> type of the value returned for a successful key
+ */
+public final class OmKeyBatchResult<T> {
+
+  private final String keyName;
+  private final T value;
+  private final OMException exception;
+
+  private OmKeyBatchResult(String keyName, T value, OMException exception) {
+    this.keyName = keyName;
+    this.value = value;
+    this.exception = exception;
+  }
+
+  public static <T> OmKeyBatchResult<T> success(String keyName, T value) {
+    return new OmKeyBatchResult<>(keyName, value, null);
+  }
+
+  public static <T> OmKeyBatchResult<T> failure(String keyName,
+      OMException exception) {
+    return new OmKeyBatchResult<>(keyName, null, exception);
+  }
+
+  public String getKeyName() {
+    return keyName;
+  }
+
+  /**
+   * Returns the value for a successful key, or null if the key failed.
+   */
+  public T getValue() {
+    return value;
+  }
+
+  /**
+   * Returns the failure of the key, or null if the key succeeded.
+   */
+  public OMException getException() {
+    return exception;
+  }
+
+  public boolean isSuccess() {
+    return exception == null;
+  }
+}
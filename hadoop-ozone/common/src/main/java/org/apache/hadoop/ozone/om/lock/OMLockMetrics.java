@@ -17,6 +17,10 @@
  */
 package org.apache.hadoop.ozone.om.lock;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.metrics2.MetricsCollector;
 import org.apache.hadoop.metrics2.MetricsRecordBuilder;
@@ -27,6 +31,7 @@
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableStat;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource;
 
 /**
  * This class is for maintaining the various Ozone Manager Lock Metrics.
@@ -42,6 +47,8 @@ public final class OMLockMetrics implements MetricsSource {
   private final MutableStat readLockHeldTimeMsStat;
   private final MutableStat writeLockWaitingTimeMsStat;
   private final MutableStat writeLockHeldTimeMsStat;
+  private final Map<Resource, MutableStat> lockWaitingTimeMsStats;
+  private final Map<Resource, MutableStat> lockHeldTimeMsStats;
 
   private OMLockMetrics() {
     registry = new MetricsRegistry(SOURCE_NAME);
@@ -57,6 +64,35 @@ private OMLockMetrics() {
     writeLockHeldTimeMsStat = registry.newStat("WriteLockHeldTime",
         "Time (in milliseconds) spent holding the write lock",
         "Ops", "Time", true);
+
+    Map<Resource, MutableStat> waitingStats = new EnumMap<>(Resource.class);
+    Map<Resource, MutableStat> heldStats = new EnumMap<>(Resource.class);
+    for (Resource resource : Resource.values()) {
+      String prefix = getMetricPrefix(resource);
+      waitingStats.put(resource, registry.newStat(prefix + "WaitingTime",
+          "Time (in milliseconds) spent waiting for acquiring the " +
+              resource.getName(), "Ops", "Time", true));
+      heldStats.put(resource, registry.newStat(prefix + "HeldTime",
+          "Time (in milliseconds) spent holding the " + resource.getName(),
+          "Ops", "Time", true));
+    }
+    lockWaitingTimeMsStats = Collections.unmodifiableMap(waitingStats);
+    lockHeldTimeMsStats = Collections.unmodifiableMap(heldStats);
+  }
+
+  /**
+   * Converts a resource name like BUCKET_LOCK into a metric name prefix like
+   * BucketLock.
+   */
+  private static String getMetricPrefix(Resource resource) {
+    StringBuilder sb = new StringBuilder();
+    for (String part : resource.getName().split("_")) {
+      if (!part.isEmpty()) {
+        sb.append(part.charAt(0))
+            .append(part.substring(1).toLowerCase());
+      }
+    }
+    return sb.toString();
   }
 
   /**
@@ -114,6 +150,49 @@ public void setWriteLockHeldTimeMsStat(long writeLockHeldTimeMs) {
     this.writeLockHeldTimeMsStat.add(writeLockHeldTimeMs);
   }
 
+  /**
+   * Adds a snapshot to the waiting time metric of the given lock level.
+   *
+   * @param resource lock level
+   * @param lockWaitingTimeMs lock waiting time (ms)
+   */
+  public void setLockWaitingTimeMsStat(Resource resource,
+      long lockWaitingTimeMs) {
+    this.lockWaitingTimeMsStats.get(resource).add(lockWaitingTimeMs);
+  }
+
+  /**
+   * Adds a snapshot to the held time metric of the given lock level.
+   *
+   * @param resource lock level
+   * @param lockHeldTimeMs lock held time (ms)
+   */
+  public void setLockHeldTimeMsStat(Resource resource, long lockHeldTimeMs) {
+    this.lockHeldTimeMsStats.get(resource).add(lockHeldTimeMs);
+  }
+
+  /**
+   * Returns a string representation of the waiting time metric of the given
+   * lock level.
+   *
+   * @param resource lock level
+   * @return String representation of object
+   */
+  public String getLockWaitingTimeMsStat(Resource resource) {
+    return lockWaitingTimeMsStats.get(resource).toString();
+  }
+
+  /**
+   * Returns a string representation of the held time metric of the given
+   * lock level.
+   *
+   * @param resource lock level
+   * @return String representation of object
+   */
+  public String getLockHeldTimeMsStat(Resource resource) {
+    return lockHeldTimeMsStats.get(resource).toString();
+  }
+
   /**
    * Returns a string representation of the object. Provides information on the
    * total number of samples, minimum value, maximum value, arithmetic mean,
@@ -205,5 +284,9 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     readLockWaitingTimeMsStat.snapshot(builder, all);
     writeLockHeldTimeMsStat.snapshot(builder, all);
     writeLockWaitingTimeMsStat.snapshot(builder, all);
+    for (Resource resource : Resource.values()) {
+      lockWaitingTimeMsStats.get(resource).snapshot(builder, all);
+      lockHeldTimeMsStats.get(resource).snapshot(builder, all);
+    }
   }
 }
@@ -32,6 +32,7 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.Striped;
 import org.apache.hadoop.hdds.utils.SimpleStriped;
+import org.apache.hadoop.ozone.lock.LockManager;
 import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +44,9 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_STRIPED_LOCK_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_STRIPED_LOCK_SIZE_PREFIX;
 import static org.apache.hadoop.hdds.utils.CompositeKey.combineKeys;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_KEY_PATH_LOCK_PER_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_KEY_PATH_LOCK_PER_KEY_DEFAULT;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.KEY_PATH_LOCK;
 
 /**
  * Provides different locks to handle concurrency in OzoneMaster.
@@ -84,6 +88,10 @@
  *     {@literal +-->} acquire s3 bucket lock (will throw Exception)<br>
  * </p>
  * <br>
+ * KEY_PATH_LOCK is held on a lock stripe like the other resources, or on
+ * a pooled lock per key path if {@link
+ * org.apache.hadoop.ozone.om.OMConfigKeys#OZONE_OM_KEY_PATH_LOCK_PER_KEY}
+ * is set, so that unrelated keys in a bucket never share a lock.
  */
 
 public class OzoneManagerLock implements IOzoneManagerLock {
@@ -91,6 +99,8 @@ public class OzoneManagerLock implements IOzoneManagerLock {
       LoggerFactory.getLogger(OzoneManagerLock.class);
 
   private final Map<Resource, Striped<ReadWriteLock>> stripedLockByResource;
+  // the KEY_PATH_LOCK per key path, null if KEY_PATH_LOCK is striped
+  private final LockManager<Object> keyPathLocks;
 
   private OMLockMetrics omLockMetrics;
   private final ThreadLocal<Short> lockSet = ThreadLocal.withInitial(
@@ -104,12 +114,25 @@ public OzoneManagerLock(ConfigurationSource conf) {
     omLockMetrics = OMLockMetrics.create();
     Map<Resource, Striped<ReadWriteLock>> stripedLockMap =
         new EnumMap<>(Resource.class);
+    if (conf.getBoolean(OZONE_OM_KEY_PATH_LOCK_PER_KEY,
+        OZONE_OM_KEY_PATH_LOCK_PER_KEY_DEFAULT)) {
+      keyPathLocks = new LockManager<>(conf, conf.getBoolean(
+          OZONE_MANAGER_FAIR_LOCK, OZONE_MANAGER_FAIR_LOCK_DEFAULT));
+    } else {
+      keyPathLocks = null;
+    }
     for (Resource r : Resource.values()) {
-      stripedLockMap.put(r, createStripeLock(r, conf));
+      if (!isPerKeyLock(r)) {
+        stripedLockMap.put(r, createStripeLock(r, conf));
+      }
     }
     this.stripedLockByResource = Collections.unmodifiableMap(stripedLockMap);
   }
 
+  private boolean isPerKeyLock(Resource resource) {
+    return resource == KEY_PATH_LOCK && keyPathLocks != null;
+  }
+
   private Striped<ReadWriteLock> createStripeLock(Resource r,
       ConfigurationSource conf) {
     boolean fair = conf.getBoolean(OZONE_MANAGER_FAIR_LOCK,
@@ -121,9 +144,8 @@ private Striped<ReadWriteLock> createStripeLock(Resource r,
     return SimpleStriped.readWriteLock(size, fair);
   }
 
-  private ReentrantReadWriteLock getLock(Resource resource, String... keys) {
+  private ReentrantReadWriteLock getLock(Resource resource, Object key) {
     Striped<ReadWriteLock> striped = stripedLockByResource.get(resource);
-    Object key = combineKeys(keys);
     return (ReentrantReadWriteLock) striped.get(key);
   }
 
@@ -181,53 +203,69 @@ private boolean acquireLock(Resource resource, boolean isReadLock,
 
     long startWaitingTimeNanos = Time.monotonicNowNanos();
 
-    ReentrantReadWriteLock lock = getLock(resource, keys);
+    Object key = combineKeys(keys);
+    if (isPerKeyLock(resource)) {
+      if (isReadLock) {
+        keyPathLocks.readLock(key);
+      } else {
+        keyPathLocks.writeLock(key);
+      }
+    } else {
+      ReentrantReadWriteLock lock = getLock(resource, key);
+      if (isReadLock) {
+        lock.readLock().lock();
+      } else {
+        lock.writeLock().lock();
+      }
+    }
     if (isReadLock) {
-      lock.readLock().lock();
-      updateReadLockMetrics(resource, lock, startWaitingTimeNanos);
+      updateReadLockMetrics(resource, key, startWaitingTimeNanos);
     } else {
-      lock.writeLock().lock();
-      updateWriteLockMetrics(resource, lock, startWaitingTimeNanos);
+      updateWriteLockMetrics(resource, key, startWaitingTimeNanos);
     }
 
     lockSet.set(resource.setLock(lockSet.get()));
     return true;
   }
 
-  private void updateReadLockMetrics(Resource resource,
-      ReentrantReadWriteLock lock, long startWaitingTimeNanos) {
+  private void updateReadLockMetrics(Resource resource, Object key,
+      long startWaitingTimeNanos) {
 
     /*
      *  readHoldCount helps in metrics updation only once in case
      *  of reentrant locks.
      */
-    if (lock.getReadHoldCount() == 1) {
+    if (getReadHoldCount(resource, key) == 1) {
       long readLockWaitingTimeNanos =
           Time.monotonicNowNanos() - startWaitingTimeNanos;
 
       // Adds a snapshot to the metric readLockWaitingTimeMsStat.
       omLockMetrics.setReadLockWaitingTimeMsStat(
           TimeUnit.NANOSECONDS.toMillis(readLockWaitingTimeNanos));
+      omLockMetrics.setLockWaitingTimeMsStat(resource,
+          TimeUnit.NANOSECONDS.toMillis(readLockWaitingTimeNanos));
 
       resource.setStartReadHeldTimeNanos(Time.monotonicNowNanos());
     }
   }
 
-  private void updateWriteLockMetrics(Resource resource,
-      ReentrantReadWriteLock lock, long startWaitingTimeNanos) {
+  private void updateWriteLockMetrics(Resource resource, Object key,
+      long startWaitingTimeNanos) {
     /*
      *  writeHoldCount helps in metrics updation only once in case
      *  of reentrant locks. Metrics are updated only if the write lock is held
      *  by the current thread.
      */
-    if ((lock.getWriteHoldCount() == 1) &&
-        lock.isWriteLockedByCurrentThread()) {
+    if ((getWriteHoldCount(resource, key) == 1) &&
+        isWriteLockedByCurrentThread(resource, key)) {
       long writeLockWaitingTimeNanos =
           Time.monotonicNowNanos() - startWaitingTimeNanos;
 
       // Adds a snapshot to the metric writeLockWaitingTimeMsStat.
       omLockMetrics.setWriteLockWaitingTimeMsStat(
           TimeUnit.NANOSECONDS.toMillis(writeLockWaitingTimeNanos));
+      omLockMetrics.setLockWaitingTimeMsStat(resource,
+          TimeUnit.NANOSECONDS.toMillis(writeLockWaitingTimeNanos));
 
       resource.setStartWriteHeldTimeNanos(Time.monotonicNowNanos());
     }
@@ -328,49 +366,64 @@ public void releaseReadLock(Resource resource, String... keys) {
   private void releaseLock(Resource resource, boolean isReadLock,
       String... keys) {
 
-    ReentrantReadWriteLock lock = getLock(resource, keys);
+    Object key = combineKeys(keys);
+    boolean isWriteLocked = isWriteLockedByCurrentThread(resource, key);
+    if (isPerKeyLock(resource)) {
+      if (isReadLock) {
+        keyPathLocks.readUnlock(key);
+      } else {
+        keyPathLocks.writeUnlock(key);
+      }
+    } else {
+      ReentrantReadWriteLock lock = getLock(resource, key);
+      if (isReadLock) {
+        lock.readLock().unlock();
+      } else {
+        lock.writeLock().unlock();
+      }
+    }
     if (isReadLock) {
-      lock.readLock().unlock();
-      updateReadUnlockMetrics(resource, lock);
+      updateReadUnlockMetrics(resource, key);
     } else {
-      boolean isWriteLocked = lock.isWriteLockedByCurrentThread();
-      lock.writeLock().unlock();
-      updateWriteUnlockMetrics(resource, lock, isWriteLocked);
+      updateWriteUnlockMetrics(resource, key, isWriteLocked);
     }
 
     lockSet.set(resource.clearLock(lockSet.get()));
   }
 
-  private void updateReadUnlockMetrics(Resource resource,
-      ReentrantReadWriteLock lock) {
+  private void updateReadUnlockMetrics(Resource resource, Object key) {
     /*
      *  readHoldCount helps in metrics updation only once in case
      *  of reentrant locks.
      */
-    if (lock.getReadHoldCount() == 0) {
+    if (getReadHoldCount(resource, key) == 0) {
       long readLockHeldTimeNanos =
           Time.monotonicNowNanos() - resource.getStartReadHeldTimeNanos();
 
       // Adds a snapshot to the metric readLockHeldTimeMsStat.
       omLockMetrics.setReadLockHeldTimeMsStat(
           TimeUnit.NANOSECONDS.toMillis(readLockHeldTimeNanos));
+      omLockMetrics.setLockHeldTimeMsStat(resource,
+          TimeUnit.NANOSECONDS.toMillis(readLockHeldTimeNanos));
     }
   }
 
-  private void updateWriteUnlockMetrics(Resource resource,
-      ReentrantReadWriteLock lock, boolean isWriteLocked) {
+  private void updateWriteUnlockMetrics(Resource resource, Object key,
+      boolean isWriteLocked) {
     /*
      *  writeHoldCount helps in metrics updation only once in case
      *  of reentrant locks. Metrics are updated only if the write lock is held
      *  by the current thread.
      */
-    if ((lock.getWriteHoldCount() == 0) && isWriteLocked) {
+    if ((getWriteHoldCount(resource, key) == 0) && isWriteLocked) {
       long writeLockHeldTimeNanos =
           Time.monotonicNowNanos() - resource.getStartWriteHeldTimeNanos();
 
       // Adds a snapshot to the metric writeLockHeldTimeMsStat.
       omLockMetrics.setWriteLockHeldTimeMsStat(
           TimeUnit.NANOSECONDS.toMillis(writeLockHeldTimeNanos));
+      omLockMetrics.setLockHeldTimeMsStat(resource,
+          TimeUnit.NANOSECONDS.toMillis(writeLockHeldTimeNanos));
     }
   }
 
@@ -382,7 +435,12 @@ private void updateWriteUnlockMetrics(Resource resource,
   @Override
   @VisibleForTesting
   public int getReadHoldCount(Resource resource, String... keys) {
-    return getLock(resource, keys).getReadHoldCount();
+    return getReadHoldCount(resource, combineKeys(keys));
+  }
+
+  private int getReadHoldCount(Resource resource, Object key) {
+    return isPerKeyLock(resource) ? keyPathLocks.getReadHoldCount(key)
+        : getLock(resource, key).getReadHoldCount();
   }
 
 
@@ -394,7 +452,12 @@ public int getReadHoldCount(Resource resource, String... keys) {
   @Override
   @VisibleForTesting
   public int getWriteHoldCount(Resource resource, String... keys) {
-    return getLock(resource, keys).getWriteHoldCount();
+    return getWriteHoldCount(resource, combineKeys(keys));
+  }
+
+  private int getWriteHoldCount(Resource resource, Object key) {
+    return isPerKeyLock(resource) ? keyPathLocks.getWriteHoldCount(key)
+        : getLock(resource, key).getWriteHoldCount();
   }
 
   /**
@@ -408,7 +471,14 @@ public int getWriteHoldCount(Resource resource, String... keys) {
   @VisibleForTesting
   public boolean isWriteLockedByCurrentThread(Resource resource,
       String... keys) {
-    return getLock(resource, keys).isWriteLockedByCurrentThread();
+    return isWriteLockedByCurrentThread(resource, combineKeys(keys));
+  }
+
+  private boolean isWriteLockedByCurrentThread(Resource resource,
+      Object key) {
+    return isPerKeyLock(resource)
+        ? keyPathLocks.isWriteLockedByCurrentThread(key)
+        : getLock(resource, key).isWriteLockedByCurrentThread();
   }
 
   /**
@@ -37,6 +37,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDeleteKeys;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
+import org.apache.hadoop.ozone.om.helpers.OmKeyBatchResult;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
@@ -254,6 +255,37 @@ default void commitKey(OmKeyArgs args, long clientID)
         "this to be implemented, as write requests use a new approach.");
   }
 
+  /**
+   * Open a batch of keys of one bucket in a single request. At most
+   * {@link org.apache.hadoop.ozone.OmUtils#MAX_OBJECT_IDS_PER_TRXN} keys can
+   * be opened at once.
+   *
+   * @param args the args of the keys.
+   * @return per key results, in the order of args.
+   * @throws IOException if the request as a whole failed.
+   */
+  default List<OmKeyBatchResult<OpenKeySession>> openKeys(
+      List<OmKeyArgs> args) throws IOException {
+    throw new UnsupportedOperationException("OzoneManager does not require " +
+        "this to be implemented, as write requests use a new approach.");
+  }
+
+  /**
+   * Commit a batch of keys of one bucket in a single request. At most
+   * {@link org.apache.hadoop.ozone.OmUtils#MAX_OBJECT_IDS_PER_TRXN} keys can
+   * be committed at once.
+   *
+   * @param args the keys to commit
+   * @param clientIDs the client identification of each key
+   * @return per key results, in the order of args.
+   * @throws IOException if the request as a whole failed.
+   */
+  default List<OmKeyBatchResult<Void>> commitKeys(List<OmKeyArgs> args,
+      List<Long> clientIDs) throws IOException {
+    throw new UnsupportedOperationException("OzoneManager does not require " +
+        "this to be implemented, as write requests use a new approach.");
+  }
+
   /**
    * Synchronize the key length. This will make the change from the client
    * visible. The client is identified by the clientID.
@@ -51,6 +51,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDeleteKeys;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
+import org.apache.hadoop.ozone.om.helpers.OmKeyBatchResult;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
@@ -86,12 +87,18 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CancelDelegationTokenResponseProto;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CheckVolumeAccessRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeysResult;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateDirectoryRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateFileRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateFileResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeysResult;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateSnapshotRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateTenantRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateVolumeRequest;
@@ -186,6 +193,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.SetSafeModeRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.SetSafeModeResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.SetTimesRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.SetVolumePropertyRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.TenantAssignAdminRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.TenantAssignUserAccessIdRequest;
@@ -672,6 +680,51 @@ public List<OmBucketInfo> listBuckets(String volumeName,
    */
   @Override
   public OpenKeySession openKey(OmKeyArgs args) throws IOException {
+    OMRequest omRequest = createOMRequest(Type.CreateKey)
+        .setCreateKeyRequest(buildCreateKeyRequest(args))
+        .build();
+
+    CreateKeyResponse keyResponse =
+        handleError(submitRequest(omRequest)).getCreateKeyResponse();
+    return new OpenKeySession(keyResponse.getID(),
+        OmKeyInfo.getFromProtobuf(keyResponse.getKeyInfo()),
+        keyResponse.getOpenVersion());
+  }
+
+  @Override
+  public List<OmKeyBatchResult<OpenKeySession>> openKeys(
+      List<OmKeyArgs> args) throws IOException {
+    CreateKeysRequest.Builder req = CreateKeysRequest.newBuilder();
+    for (OmKeyArgs keyArgs : args) {
+      req.addCreateKeyRequests(buildCreateKeyRequest(keyArgs));
+    }
+
+    OMRequest omRequest = createOMRequest(Type.CreateKeys)
+        .setCreateKeysRequest(req)
+        .build();
+
+    CreateKeysResponse resp =
+        handleError(submitRequest(omRequest)).getCreateKeysResponse();
+    List<OmKeyBatchResult<OpenKeySession>> results =
+        new ArrayList<>(resp.getResultsCount());
+    for (int i = 0; i < resp.getResultsCount(); i++) {
+      CreateKeysResult result = resp.getResults(i);
+      String keyName = args.get(i).getKeyName();
+      if (result.getStatus() == OK) {
+        CreateKeyResponse keyResponse = result.getCreateKeyResponse();
+        results.add(OmKeyBatchResult.success(keyName,
+            new OpenKeySession(keyResponse.getID(),
+                OmKeyInfo.getFromProtobuf(keyResponse.getKeyInfo()),
+                keyResponse.getOpenVersion())));
+      } else {
+        results.add(OmKeyBatchResult.failure(keyName,
+            toOMException(result.getStatus(), result.getMessage())));
+      }
+    }
+    return results;
+  }
+
+  private CreateKeyRequest buildCreateKeyRequest(OmKeyArgs args) {
     CreateKeyRequest.Builder req = CreateKeyRequest.newBuilder();
     KeyArgs.Builder keyArgs = KeyArgs.newBuilder()
         .setVolumeName(args.getVolumeName())
@@ -715,26 +768,20 @@ public OpenKeySession openKey(OmKeyArgs args) throws IOException {
 
 
     req.setKeyArgs(keyArgs.build());
-
-    OMRequest omRequest = createOMRequest(Type.CreateKey)
-        .setCreateKeyRequest(req)
-        .build();
-
-    CreateKeyResponse keyResponse =
-        handleError(submitRequest(omRequest)).getCreateKeyResponse();
-    return new OpenKeySession(keyResponse.getID(),
-        OmKeyInfo.getFromProtobuf(keyResponse.getKeyInfo()),
-        keyResponse.getOpenVersion());
+    return req.build();
   }
 
   private OMResponse handleError(OMResponse resp) throws OMException {
     if (resp.getStatus() != OK) {
-      throw new OMException(resp.getMessage(),
-          ResultCodes.values()[resp.getStatus().ordinal()]);
+      throw toOMException(resp.getStatus(), resp.getMessage());
     }
     return resp;
   }
 
+  private static OMException toOMException(Status status, String message) {
+    return new OMException(message, ResultCodes.values()[status.ordinal()]);
+  }
+
   @Override
   public OmKeyLocationInfo allocateBlock(OmKeyArgs args, long clientId,
       ExcludeList excludeList) throws IOException {
@@ -795,8 +842,49 @@ public static void setReplicationConfig(ReplicationConfig replication,
     b.setType(replication.getReplicationType());
   }
 
+  @Override
+  public List<OmKeyBatchResult<Void>> commitKeys(List<OmKeyArgs> args,
+      List<Long> clientIds) throws IOException {
+    Preconditions.checkArgument(args.size() == clientIds.size(),
+        "Number of keys and client IDs do not match");
+    CommitKeysRequest.Builder req = CommitKeysRequest.newBuilder();
+    for (int i = 0; i < args.size(); i++) {
+      req.addCommitKeyRequests(
+          buildCommitKeyRequest(args.get(i), clientIds.get(i), false));
+    }
+
+    OMRequest omRequest = createOMRequest(Type.CommitKeys)
+        .setCommitKeysRequest(req)
+        .build();
+
+    CommitKeysResponse resp =
+        handleError(submitRequest(omRequest)).getCommitKeysResponse();
+    List<OmKeyBatchResult<Void>> results =
+        new ArrayList<>(resp.getResultsCount());
+    for (int i = 0; i < resp.getResultsCount(); i++) {
+      CommitKeysResult result = resp.getResults(i);
+      String keyName = args.get(i).getKeyName();
+      if (result.getStatus() == OK) {
+        results.add(OmKeyBatchResult.success(keyName, null));
+      } else {
+        results.add(OmKeyBatchResult.failure(keyName,
+            toOMException(result.getStatus(), result.getMessage())));
+      }
+    }
+    return results;
+  }
+
   private void updateKey(OmKeyArgs args, long clientId, boolean hsync)
       throws IOException {
+    OMRequest omRequest = createOMRequest(Type.CommitKey)
+        .setCommitKeyRequest(buildCommitKeyRequest(args, clientId, hsync))
+        .build();
+
+    handleError(submitRequest(omRequest));
+  }
+
+  private CommitKeyRequest buildCommitKeyRequest(OmKeyArgs args,
+      long clientId, boolean hsync) {
     CommitKeyRequest.Builder req = CommitKeyRequest.newBuilder();
     List<OmKeyLocationInfo> locationInfoList = args.getLocationInfoList();
     Preconditions.checkNotNull(locationInfoList);
@@ -815,15 +903,7 @@ private void updateKey(OmKeyArgs args, long clientId, boolean hsync)
     req.setKeyArgs(keyArgsBuilder.build());
     req.setClientID(clientId);
     req.setHsync(hsync);
-
-
-    OMRequest omRequest = createOMRequest(Type.CommitKey)
-        .setCommitKeyRequest(req)
-        .build();
-
-    handleError(submitRequest(omRequest));
-
-
+    return req.build();
   }
 
   @Override
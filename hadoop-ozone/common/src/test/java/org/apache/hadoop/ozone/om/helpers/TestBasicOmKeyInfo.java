@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.helpers;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.ozone.OzoneAcl;
+import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.apache.hadoop.ozone.OzoneAcl.AclScope.ACCESS;
+
+/**
+ * Test BasicOmKeyInfo.
+ */
+public class TestBasicOmKeyInfo {
+
+  @Test
+  public void testCodecDecodesKeyInfo() throws IOException {
+    assertCodec(createOmKeyInfo(
+        RatisReplicationConfig.getInstance(ReplicationFactor.THREE), true));
+    assertCodec(createOmKeyInfo(new ECReplicationConfig(3, 2), false));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCodecIsReadOnly() throws IOException {
+    BasicOmKeyInfo.getCodec().toPersistedFormat(
+        BasicOmKeyInfo.fromOmKeyInfo(createOmKeyInfo(
+            RatisReplicationConfig.getInstance(ReplicationFactor.ONE), true)));
+  }
+
+  private void assertCodec(OmKeyInfo key) throws IOException {
+    BasicOmKeyInfo expected = BasicOmKeyInfo.fromOmKeyInfo(key);
+    Codec<BasicOmKeyInfo> codec = BasicOmKeyInfo.getCodec();
+    byte[] persisted = OmKeyInfo.getCodec(true).toPersistedFormat(key);
+
+    Assert.assertEquals(expected, codec.fromPersistedFormat(persisted));
+    try (CodecBuffer buffer = CodecBuffer.allocateDirect(persisted.length)
+        .put(persisted)) {
+      Assert.assertEquals(expected, codec.fromCodecBuffer(buffer));
+    }
+  }
+
+  private OmKeyInfo createOmKeyInfo(ReplicationConfig replicationConfig,
+      boolean isFile) {
+    OmKeyLocationInfo location = new OmKeyLocationInfo.Builder()
+        .setBlockID(new BlockID(100L, 101L))
+        .setLength(123L)
+        .build();
+    return new OmKeyInfo.Builder()
+        .setKeyName("dir/key1")
+        .setBucketName("bucket")
+        .setVolumeName("vol1")
+        .setCreationTime(123L)
+        .setModificationTime(456L)
+        .setDataSize(789L)
+        .setReplicationConfig(replicationConfig)
+        .addMetadata("key1", "value1")
+        .setAcls(Collections.singletonList(new OzoneAcl(
+            IAccessAuthorizer.ACLIdentityType.USER, "user1",
+            IAccessAuthorizer.ACLType.ALL, ACCESS)))
+        .setOmKeyLocationInfos(Collections.singletonList(
+            new OmKeyLocationInfoGroup(0,
+                Collections.singletonList(location))))
+        .setObjectID(1000L)
+        .setUpdateID(1001L)
+        .setFile(isFile)
+        .build();
+  }
+}
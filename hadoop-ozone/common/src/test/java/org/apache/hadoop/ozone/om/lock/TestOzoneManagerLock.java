@@ -22,9 +22,14 @@
 import java.util.List;
 import java.util.Stack;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.hadoop.metrics2.impl.MetricsCollectorImpl;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -561,6 +566,79 @@ public void testSyntheticReadWriteLockConcurrentStats(
         writeWaitingStat.contains("Samples = " + writeThreadCount));
   }
 
+  private static OzoneManagerLock newPerKeyPathLock() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OMConfigKeys.OZONE_OM_KEY_PATH_LOCK_PER_KEY, true);
+    return new OzoneManagerLock(conf);
+  }
+
+  @Test
+  public void testPerKeyPathLockHoldCount() {
+    OzoneManagerLock lock = newPerKeyPathLock();
+    try {
+      for (Resource resource : Resource.values()) {
+        String[] name = generateResourceName(resource);
+        lock.acquireReadLock(resource, name);
+        assertEquals(1, lock.getReadHoldCount(resource, name));
+        lock.releaseReadLock(resource, name);
+        assertEquals(0, lock.getReadHoldCount(resource, name));
+
+        lock.acquireWriteLock(resource, name);
+        assertEquals(1, lock.getWriteHoldCount(resource, name));
+        Assert.assertTrue(lock.isWriteLockedByCurrentThread(resource, name));
+        lock.releaseWriteLock(resource, name);
+        assertEquals(0, lock.getWriteHoldCount(resource, name));
+        Assert.assertFalse(lock.isWriteLockedByCurrentThread(resource, name));
+      }
+      Assert.assertTrue(lock.getOMLockMetrics()
+          .getLockHeldTimeMsStat(Resource.KEY_PATH_LOCK)
+          .contains("Samples = 2"));
+    } finally {
+      lock.cleanup();
+    }
+  }
+
+  @Test
+  public void testPerKeyPathLocksInSameBucketDoNotBlock() throws Exception {
+    OzoneManagerLock lock = newPerKeyPathLock();
+    // Same order as OBSKeyPathLockStrategy: bucket read lock, then key path.
+    lock.acquireReadLock(Resource.BUCKET_LOCK, "vol", "bucket");
+    lock.acquireWriteLock(Resource.KEY_PATH_LOCK, "vol", "bucket", "key1");
+    try {
+      CompletableFuture.runAsync(() -> {
+        lock.acquireReadLock(Resource.BUCKET_LOCK, "vol", "bucket");
+        lock.acquireWriteLock(Resource.KEY_PATH_LOCK, "vol", "bucket", "key2");
+        lock.releaseWriteLock(Resource.KEY_PATH_LOCK, "vol", "bucket", "key2");
+        lock.releaseReadLock(Resource.BUCKET_LOCK, "vol", "bucket");
+      }).get(10, TimeUnit.SECONDS);
+    } finally {
+      lock.releaseWriteLock(Resource.KEY_PATH_LOCK, "vol", "bucket", "key1");
+      lock.releaseReadLock(Resource.BUCKET_LOCK, "vol", "bucket");
+      lock.cleanup();
+    }
+  }
+
+  @Test
+  public void testPerKeyPathLockOnSameKeyBlocks() throws Exception {
+    OzoneManagerLock lock = newPerKeyPathLock();
+    try {
+      lock.acquireWriteLock(Resource.KEY_PATH_LOCK, "vol", "bucket", "key");
+      CountDownLatch started = new CountDownLatch(1);
+      CompletableFuture<Void> keyLock = CompletableFuture.runAsync(() -> {
+        started.countDown();
+        lock.acquireReadLock(Resource.KEY_PATH_LOCK, "vol", "bucket", "key");
+        lock.releaseReadLock(Resource.KEY_PATH_LOCK, "vol", "bucket", "key");
+      });
+      started.await();
+      assertThrows(TimeoutException.class,
+          () -> keyLock.get(500, TimeUnit.MILLISECONDS));
+      lock.releaseWriteLock(Resource.KEY_PATH_LOCK, "vol", "bucket", "key");
+      keyLock.get(10, TimeUnit.SECONDS);
+    } finally {
+      lock.cleanup();
+    }
+  }
+
   @Test
   public void testOMLockMetricsRecords() {
     OMLockMetrics omLockMetrics = OMLockMetrics.create();
@@ -83,6 +83,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -97,6 +98,9 @@
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_ACL_ENABLED;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_ENABLED;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_THREADS;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.OzoneConsts.OZONE_URI_DELIMITER;
 import static org.junit.Assert.assertEquals;
@@ -1012,6 +1016,55 @@ private void listStatusIterator(int numDirs) throws IOException {
     }
   }
 
+  /**
+   * Tests listStatusIterator with the next page prefetched in the background.
+   * With a single prefetch thread, interleaved iterators also exercise the
+   * fallback to fetching the page on demand.
+   */
+  @Test
+  public void testListStatusIteratorWithPrefetch() throws Exception {
+    Path root = new Path("/prefetch");
+    int pageSize = 5;
+    int numDirs = pageSize * 3 + 2;
+    Set<String> paths = new TreeSet<>();
+    try {
+      for (int i = 0; i < numDirs; i++) {
+        Path p = new Path(root, String.valueOf(i));
+        fs.mkdirs(p);
+        paths.add(p.getName());
+      }
+
+      OzoneConfiguration prefetchConf = new OzoneConfiguration(fs.getConf());
+      prefetchConf.setBoolean(OZONE_FS_LISTING_PREFETCH_ENABLED, true);
+      prefetchConf.setInt(OZONE_FS_LISTING_PREFETCH_THREADS, 1);
+      prefetchConf.setInt(OZONE_FS_LISTING_PAGE_SIZE, pageSize);
+      try (FileSystem prefetchFs =
+               FileSystem.newInstance(fs.getUri(), prefetchConf)) {
+        List<RemoteIterator<FileStatus>> iterators = new ArrayList<>();
+        List<Set<String>> listed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+          iterators.add(prefetchFs.listStatusIterator(root));
+          listed.add(new TreeSet<>());
+        }
+        boolean hasNext = true;
+        while (hasNext) {
+          hasNext = false;
+          for (int i = 0; i < iterators.size(); i++) {
+            if (iterators.get(i).hasNext()) {
+              listed.get(i).add(iterators.get(i).next().getPath().getName());
+              hasNext = true;
+            }
+          }
+        }
+        for (Set<String> names : listed) {
+          Assert.assertEquals(paths, names);
+        }
+      }
+    } finally {
+      fs.delete(root, true);
+    }
+  }
+
   /**
    * Tests listStatus on a path with subdirs.
    */
@@ -26,6 +26,7 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 
 /**
  * This class is for maintaining Ozone Manager statistics.
@@ -210,6 +211,14 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numTrashAtomicDirRenames;
   private @Metric MutableCounterLong numTrashAtomicDirDeletes;
 
+  private @Metric MutableCounterLong numReadRequestsRejected;
+
+  // Startup phase timings, in milliseconds.
+  private @Metric MutableGaugeLong dbLoadTimeMs;
+  private @Metric MutableGaugeLong tableInitTimeMs;
+  private @Metric MutableGaugeLong ratisServerStartTimeMs;
+  private @Metric MutableGaugeLong serviceStartTimeMs;
+
   //FSO Metrics
   private @Metric MutableCounterLong numDirs;
   private @Metric MutableCounterLong numFiles;
@@ -1298,6 +1307,46 @@ public long getNumTrashFilesDeletes() {
     return numTrashFilesDeletes.value();
   }
 
+  public void incNumReadRequestsRejected() {
+    numReadRequestsRejected.incr();
+  }
+
+  public long getNumReadRequestsRejected() {
+    return numReadRequestsRejected.value();
+  }
+
+  public void setDbLoadTimeMs(long val) {
+    dbLoadTimeMs.set(val);
+  }
+
+  public long getDbLoadTimeMs() {
+    return dbLoadTimeMs.value();
+  }
+
+  public void setTableInitTimeMs(long val) {
+    tableInitTimeMs.set(val);
+  }
+
+  public long getTableInitTimeMs() {
+    return tableInitTimeMs.value();
+  }
+
+  public void setRatisServerStartTimeMs(long val) {
+    ratisServerStartTimeMs.set(val);
+  }
+
+  public long getRatisServerStartTimeMs() {
+    return ratisServerStartTimeMs.value();
+  }
+
+  public void setServiceStartTimeMs(long val) {
+    serviceStartTimeMs.set(val);
+  }
+
+  public long getServiceStartTimeMs() {
+    return serviceStartTimeMs.value();
+  }
+
   public long getNumTrashAtomicDirRenames() {
     return numTrashAtomicDirRenames.value();
   }
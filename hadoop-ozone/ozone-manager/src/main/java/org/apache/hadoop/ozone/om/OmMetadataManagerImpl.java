@@ -18,6 +18,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
@@ -33,11 +34,18 @@
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.db.DBCheckpoint;
@@ -60,6 +68,8 @@
 import org.apache.hadoop.ozone.om.codec.TokenIdentifierCodec;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBAccessIdInfo;
@@ -112,6 +122,7 @@
 import org.apache.hadoop.util.Time;
 import org.apache.ozone.compaction.log.CompactionLogEntry;
 import org.apache.ratis.util.ExitUtils;
+import org.apache.ratis.util.function.CheckedFunction;
 import org.eclipse.jetty.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -124,6 +135,19 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private static final Logger LOG =
       LoggerFactory.getLogger(OmMetadataManagerImpl.class);
 
+  /**
+   * Number of key ranges of a FULL_CACHE table filled concurrently, and the
+   * number of threads filling them.
+   */
+  private static final int TABLE_CACHE_LOADERS =
+      Math.max(2, Runtime.getRuntime().availableProcessors());
+  /**
+   * Fills the FULL_CACHE tables of the OM DB and of the snapshot DBs. Its
+   * threads exit when idle, so that it costs nothing after startup.
+   */
+  private static final ExecutorService TABLE_CACHE_LOADER =
+      newTableCacheLoader();
+
   /**
    * OM RocksDB Structure .
    * <p>
@@ -288,6 +312,9 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
 
   private boolean isRatisEnabled;
   private boolean ignorePipelineinKey;
+  // Max number of read values cached for each of the key, file and directory
+  // tables, 0 means disabled.
+  private long tableReadCacheSize;
   private Table deletedDirTable;
 
   // Table-level locks that protects table read/write access. Note:
@@ -310,6 +337,9 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private final Map<String, TableCacheMetrics> tableCacheMetricsMap =
       new HashMap<>();
   private SnapshotChainManager snapshotChainManager;
+  // Startup phase timings of the last start(), in milliseconds.
+  private long dbLoadTimeMs;
+  private long tableInitTimeMs;
 
   /**
    * OmMetadataManagerImpl constructor.
@@ -550,9 +580,18 @@ public void start(OzoneConfiguration configuration) throws IOException {
         rocksDBConfiguration.setSyncOption(true);
       }
 
+      long startTime = Time.monotonicNow();
       this.store = loadDB(configuration, metaDir);
+      long dbLoadedTime = Time.monotonicNow();
+      dbLoadTimeMs = dbLoadedTime - startTime;
 
+      tableReadCacheSize = configuration.getLong(
+          OMConfigKeys.OZONE_OM_TABLE_READ_CACHE_SIZE,
+          OMConfigKeys.OZONE_OM_TABLE_READ_CACHE_SIZE_DEFAULT);
       initializeOmTables(true);
+      tableInitTimeMs = Time.monotonicNow() - dbLoadedTime;
+      LOG.info("Loaded OM DB {} in {} ms, initialized tables in {} ms",
+          metaDir, dbLoadTimeMs, tableInitTimeMs);
     }
 
     snapshotChainManager = new SnapshotChainManager(this);
@@ -649,25 +688,19 @@ public static DBStoreBuilder addOMTablesAndCodecs(DBStoreBuilder builder) {
    */
   protected void initializeOmTables(boolean addCacheMetrics)
       throws IOException {
+    // Filling the cache of a FULL_CACHE table iterates the whole table, so
+    // fill them by key ranges while the other tables are being initialized.
+    CompletableFuture<Table<String, OmVolumeArgs>> volumeTableFuture =
+        loadFullCacheTable(VOLUME_TABLE, OmVolumeArgs.class);
+    CompletableFuture<Table<String, OmBucketInfo>> bucketTableFuture =
+        loadFullCacheTable(BUCKET_TABLE, OmBucketInfo.class);
+
     userTable =
         this.store.getTable(USER_TABLE, String.class,
             PersistedUserVolumeInfo.class);
     checkTableStatus(userTable, USER_TABLE, addCacheMetrics);
 
-    CacheType cacheType = CacheType.FULL_CACHE;
-
-    volumeTable =
-        this.store.getTable(VOLUME_TABLE, String.class, OmVolumeArgs.class,
-            cacheType);
-    checkTableStatus(volumeTable, VOLUME_TABLE, addCacheMetrics);
-
-    bucketTable =
-        this.store.getTable(BUCKET_TABLE, String.class, OmBucketInfo.class,
-            cacheType);
-
-    checkTableStatus(bucketTable, BUCKET_TABLE, addCacheMetrics);
-
-    keyTable = this.store.getTable(KEY_TABLE, String.class, OmKeyInfo.class);
+    keyTable = getReadCachedTable(KEY_TABLE, OmKeyInfo.class);
     checkTableStatus(keyTable, KEY_TABLE, addCacheMetrics);
 
     deletedTable = this.store.getTable(DELETED_TABLE, String.class,
@@ -696,12 +729,10 @@ protected void initializeOmTables(boolean addCacheMetrics)
         OmPrefixInfo.class);
     checkTableStatus(prefixTable, PREFIX_TABLE, addCacheMetrics);
 
-    dirTable = this.store.getTable(DIRECTORY_TABLE, String.class,
-            OmDirectoryInfo.class);
+    dirTable = getReadCachedTable(DIRECTORY_TABLE, OmDirectoryInfo.class);
     checkTableStatus(dirTable, DIRECTORY_TABLE, addCacheMetrics);
 
-    fileTable = this.store.getTable(FILE_TABLE, String.class,
-            OmKeyInfo.class);
+    fileTable = getReadCachedTable(FILE_TABLE, OmKeyInfo.class);
     checkTableStatus(fileTable, FILE_TABLE, addCacheMetrics);
 
     openFileTable = this.store.getTable(OPEN_FILE_TABLE, String.class,
@@ -757,6 +788,71 @@ protected void initializeOmTables(boolean addCacheMetrics)
         String.class, CompactionLogEntry.class);
     checkTableStatus(compactionLogTable, COMPACTION_LOG_TABLE,
         addCacheMetrics);
+
+    volumeTable = awaitTable(volumeTableFuture);
+    checkTableStatus(volumeTable, VOLUME_TABLE, addCacheMetrics);
+
+    bucketTable = awaitTable(bucketTableFuture);
+    checkTableStatus(bucketTable, BUCKET_TABLE, addCacheMetrics);
+  }
+
+  private <VALUE> CompletableFuture<Table<String, VALUE>> loadFullCacheTable(
+      String name, Class<VALUE> valueType) throws IOException {
+    long startTime = Time.monotonicNow();
+    return this.store.getFullCacheTable(name, String.class, valueType,
+        TABLE_CACHE_LOADERS, TABLE_CACHE_LOADER).thenApply(table -> {
+          LOG.info("Filled cache of {} in {} ms", name,
+              Time.monotonicNow() - startTime);
+          return table;
+        });
+  }
+
+  private static ExecutorService newTableCacheLoader() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        TABLE_CACHE_LOADERS, TABLE_CACHE_LOADERS, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("OmTableCacheLoader-%d")
+            .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static <VALUE> Table<String, VALUE> awaitTable(
+      CompletableFuture<Table<String, VALUE>> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while loading table");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Get a table which caches the values read from DB if
+   * {@link OMConfigKeys#OZONE_OM_TABLE_READ_CACHE_SIZE} is set, otherwise a
+   * table with partial cache.
+   */
+  private <VALUE> Table<String, VALUE> getReadCachedTable(String name,
+      Class<VALUE> valueType) throws IOException {
+    if (tableReadCacheSize > 0) {
+      return this.store.getTable(name, String.class, valueType,
+          CacheType.READ_THROUGH_CACHE, tableReadCacheSize);
+    }
+    return this.store.getTable(name, String.class, valueType);
+  }
+
+  public long getDbLoadTimeMs() {
+    return dbLoadTimeMs;
+  }
+
+  public long getTableInitTimeMs() {
+    return tableInitTimeMs;
   }
 
   /**
@@ -1172,10 +1268,42 @@ public List<OmBucketInfo> listBuckets(final String volumeName,
   public ListKeysResult listKeys(String volumeName, String bucketName,
                                  String startKey, String keyPrefix, int maxKeys)
       throws IOException {
-
     List<OmKeyInfo> result = new ArrayList<>();
+    boolean isTruncated = listKeys(volumeName, bucketName, startKey,
+        keyPrefix, maxKeys, Function.identity(), Table::iterator, result);
+    return new ListKeysResult(result, isTruncated);
+  }
+
+  @Override
+  public ListKeysLightResult listKeysLight(String volumeName,
+      String bucketName, String startKey, String keyPrefix, int maxKeys)
+      throws IOException {
+    // Decode only the fields of BasicOmKeyInfo from the DB entries, the
+    // block locations, ACLs and metadata of the keys are skipped.
+    List<BasicOmKeyInfo> result = new ArrayList<>();
+    boolean isTruncated = listKeys(volumeName, bucketName, startKey,
+        keyPrefix, maxKeys, BasicOmKeyInfo::fromOmKeyInfo,
+        table -> table.iterator(null, BasicOmKeyInfo.getCodec()), result);
+    return new ListKeysLightResult(result, isTruncated);
+  }
+
+  /**
+   * Lists the keys of a bucket from the table cache and the DB into result.
+   *
+   * @param fromCache converts a key in the table cache to the result type.
+   * @param dbIterator opens the DB iterator which decodes the result type.
+   * @return whether the result is truncated.
+   */
+  @SuppressWarnings("parameternumber")
+  private <T> boolean listKeys(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys,
+      Function<OmKeyInfo, T> fromCache,
+      CheckedFunction<Table<String, OmKeyInfo>,
+          TableIterator<String, ? extends KeyValue<String, T>>,
+          IOException> dbIterator,
+      List<T> result) throws IOException {
     if (maxKeys <= 0) {
-      return new ListKeysResult(result, false);
+      return false;
     }
 
     if (Strings.isNullOrEmpty(volumeName)) {
@@ -1215,7 +1343,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     int currentCount = 0;
 
 
-    TreeMap<String, OmKeyInfo> cacheKeyMap = new TreeMap<>();
+    TreeMap<String, T> cacheKeyMap = new TreeMap<>();
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> iterator =
         keyTable.cacheIterator();
 
@@ -1238,15 +1366,15 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
       if (omKeyInfo != null
           && key.startsWith(seekPrefix)
           && key.compareTo(seekKey) >= 0) {
-        cacheKeyMap.put(key, omKeyInfo);
+        cacheKeyMap.put(key, fromCache.apply(omKeyInfo));
       }
     }
 
     // Get maxKeys from DB if it has.
 
-    try (TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
-             keyIter = getKeyTable(getBucketLayout()).iterator()) {
-      KeyValue< String, OmKeyInfo > kv;
+    try (TableIterator<String, ? extends KeyValue<String, T>>
+             keyIter = dbIterator.apply(getKeyTable(getBucketLayout()))) {
+      KeyValue<String, T> kv;
       keyIter.seek(seekKey);
       // we need to iterate maxKeys + 1 here because if skipStartKey is true,
       // we should skip that entry and return the result.
@@ -1276,7 +1404,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     // of maxKeys from the sorted map.
     currentCount = 0;
 
-    for (Map.Entry<String, OmKeyInfo>  cacheKey : cacheKeyMap.entrySet()) {
+    for (Map.Entry<String, T> cacheKey : cacheKeyMap.entrySet()) {
       if (cacheKey.getKey().equals(seekKey) && skipStartKey) {
         continue;
       }
@@ -1292,7 +1420,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     // Clear map and set.
     cacheKeyMap.clear();
 
-    return new ListKeysResult(result, isTruncated);
+    return isTruncated;
   }
 
   // TODO: HDDS-2419 - Complete stub below for core logic
@@ -30,7 +30,6 @@
 import org.apache.hadoop.ozone.audit.Auditor;
 import org.apache.hadoop.ozone.audit.OMAction;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
-import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.KeyInfoWithVolumeContext;
@@ -46,7 +45,6 @@
 import java.net.InetAddress;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import static org.apache.hadoop.hdds.server.ServerUtils.getRemoteUserName;
 import static org.apache.hadoop.hdds.utils.HddsServerUtil.getRemoteUser;
@@ -311,6 +309,26 @@ public OmKeyInfo lookupFile(OmKeyArgs args) throws IOException {
   @Override
   public ListKeysResult listKeys(String volumeName, String bucketName,
       String startKey, String keyPrefix, int maxKeys) throws IOException {
+    return listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys,
+        keyManager::listKeys);
+  }
+
+  @Override
+  public ListKeysLightResult listKeysLight(String volumeName,
+                                            String bucketName,
+                                            String startKey, String keyPrefix,
+                                            int maxKeys) throws IOException {
+    return listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys,
+        keyManager::listKeysLight);
+  }
+
+  /**
+   * Lists keys of a bucket with the given lister, after resolving bucket
+   * links and checking ACLs, and audits the operation.
+   */
+  private <T> T listKeys(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys, KeyLister<T> lister)
+      throws IOException {
     long startNanos = Time.monotonicNowNanos();
     ResolvedBucket bucket = ozoneManager.resolveBucketLink(
         Pair.of(volumeName, bucketName));
@@ -327,7 +345,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
             bucket.realVolume(), bucket.realBucket(), keyPrefix);
       }
       metrics.incNumKeyLists();
-      return keyManager.listKeys(bucket.realVolume(), bucket.realBucket(),
+      return lister.list(bucket.realVolume(), bucket.realBucket(),
           startKey, keyPrefix, maxKeys);
     } catch (IOException ex) {
       metrics.incNumKeyListFails();
@@ -344,19 +362,13 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     }
   }
 
-  @Override
-  public ListKeysLightResult listKeysLight(String volumeName,
-                                            String bucketName,
-                                            String startKey, String keyPrefix,
-                                            int maxKeys) throws IOException {
-    ListKeysResult listKeysResult =
-        listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys);
-    List<OmKeyInfo> keys = listKeysResult.getKeys();
-    List<BasicOmKeyInfo> basicKeysList =
-        keys.stream().map(BasicOmKeyInfo::fromOmKeyInfo)
-            .collect(Collectors.toList());
-
-    return new ListKeysLightResult(basicKeysList, listKeysResult.isTruncated());
+  /**
+   * Lists the keys of a bucket, see {@link KeyManager#listKeys}.
+   */
+  @FunctionalInterface
+  private interface KeyLister<T> {
+    T list(String volumeName, String bucketName, String startKey,
+        String keyPrefix, int maxKeys) throws IOException;
   }
 
   /**
@@ -96,6 +96,7 @@
 import org.apache.hadoop.ozone.om.s3.S3SecretCacheProvider;
 import org.apache.hadoop.ozone.om.s3.S3SecretStoreProvider;
 import org.apache.hadoop.ozone.om.service.OMRangerBGSyncService;
+import org.apache.hadoop.ozone.om.service.QuotaRepairTask;
 import org.apache.hadoop.ozone.om.snapshot.OmSnapshotUtils;
 import org.apache.hadoop.ozone.om.snapshot.ReferenceCounted;
 import org.apache.hadoop.ozone.om.snapshot.SnapshotCache;
@@ -154,7 +155,6 @@
 import org.apache.hadoop.ozone.om.helpers.OmDBUserPrincipalInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBTenantState;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
-import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -473,6 +473,7 @@ private enum State {
   // Used in MiniOzoneCluster testing
   private State omState;
   private Thread emptier;
+  private QuotaRepairTask quotaRepairTask;
 
   private static final int MSECS_PER_MINUTE = 60 * 1000;
 
@@ -794,6 +795,8 @@ private void instantiateServices(boolean withNewSnapshot) throws IOException {
     OmMetadataManagerImpl metadataManagerImpl =
         new OmMetadataManagerImpl(configuration, this);
     this.metadataManager = metadataManagerImpl;
+    metrics.setDbLoadTimeMs(metadataManagerImpl.getDbLoadTimeMs());
+    metrics.setTableInitTimeMs(metadataManagerImpl.getTableInitTimeMs());
     LOG.info("S3 Multi-Tenancy is {}",
         isS3MultiTenancyEnabled ? "enabled" : "disabled");
     if (isS3MultiTenancyEnabled) {
@@ -1620,6 +1623,7 @@ public OMPerformanceMetrics getPerfMetrics() {
    * Start service.
    */
   public void start() throws IOException {
+    long startTime = Time.monotonicNow();
     if (omState == State.BOOTSTRAPPING) {
       if (isBootstrapping) {
         // Check that all OM configs have been updated with the new OM info.
@@ -1640,7 +1644,10 @@ public void start() throws IOException {
 
     // Start Ratis services
     if (omRatisServer != null) {
+      long ratisStartTime = Time.monotonicNow();
       omRatisServer.start();
+      metrics.setRatisServerStartTimeMs(
+          Time.monotonicNow() - ratisStartTime);
     }
 
     startSecretManagerIfNecessary();
@@ -1693,6 +1700,7 @@ public void start() throws IOException {
     isOmRpcServerRunning = true;
 
     startTrashEmptier(configuration);
+    resumeQuotaRepair();
     if (isOmGrpcServerEnabled) {
       omS3gGrpcServer.start();
       isOmGrpcServerRunning = true;
@@ -1707,6 +1715,11 @@ public void start() throws IOException {
     }
 
     omState = State.RUNNING;
+    metrics.setServiceStartTimeMs(Time.monotonicNow() - startTime);
+    LOG.info("OzoneManager services started in {} ms (Ratis server {} ms)," +
+            " OM DB loaded in {} ms, tables initialized in {} ms",
+        metrics.getServiceStartTimeMs(), metrics.getRatisServerStartTimeMs(),
+        metrics.getDbLoadTimeMs(), metrics.getTableInitTimeMs());
   }
 
   /**
@@ -1768,6 +1781,7 @@ public void restart() throws IOException {
     isOmRpcServerRunning = true;
 
     startTrashEmptier(configuration);
+    resumeQuotaRepair();
     registerMXBean();
 
     if (isOmGrpcServerEnabled) {
@@ -2219,15 +2233,15 @@ public void stop() {
         metricsTimer = null;
         scheduleOMMetricsWriteTask = null;
       }
+      // Stop before the double buffer, the repair waits for its flushes.
+      stopQuotaRepair();
       omRpcServer.stop();
       if (isOmGrpcServerEnabled) {
         omS3gGrpcServer.stop();
       }
-      // When ratis is not enabled, we need to call stop() to stop
+      // Stops the read executor, and when ratis is not enabled, the
       // OzoneManageDoubleBuffer in OM server protocol.
-      if (!isRatisEnabled) {
-        omServerProtocol.stop();
-      }
+      omServerProtocol.stop();
       if (omRatisServer != null) {
         omRatisServer.stop();
         omRatisServer = null;
@@ -2853,14 +2867,11 @@ public ListKeysLightResult listKeysLight(String volumeName,
                                            String bucketName,
                                            String startKey, String keyPrefix,
                                            int maxKeys) throws IOException {
-    ListKeysResult listKeysResult =
-        listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys);
-    List<OmKeyInfo> keys = listKeysResult.getKeys();
-    List<BasicOmKeyInfo> basicKeysList =
-        keys.stream().map(BasicOmKeyInfo::fromOmKeyInfo)
-            .collect(Collectors.toList());
-
-    return new ListKeysLightResult(basicKeysList, listKeysResult.isTruncated());
+    try (ReferenceCounted<IOmMetadataReader, SnapshotCache> rcReader =
+             getReader(volumeName, bucketName, keyPrefix)) {
+      return rcReader.get().listKeysLight(
+          volumeName, bucketName, startKey, keyPrefix, maxKeys);
+    }
   }
 
   @Override
@@ -3657,6 +3668,7 @@ TermIndex installCheckpoint(String leaderId, Path checkpointLocation,
       keyManager.stop();
       stopSecretManager();
       stopTrashEmptier();
+      stopQuotaRepair();
       omSnapshotManager.getSnapshotCache().invalidateAll();
       // Pause the State Machine so that no new transactions can be applied.
       // This action also clears the OM Double Buffer so that if there are any
@@ -3669,6 +3681,7 @@ TermIndex installCheckpoint(String leaderId, Path checkpointLocation,
       keyManager.start(configuration);
       startSecretManagerIfNecessary();
       startTrashEmptier(configuration);
+      resumeQuotaRepair();
       throw e;
     }
 
@@ -3741,6 +3754,7 @@ TermIndex installCheckpoint(String leaderId, Path checkpointLocation,
         time = Time.monotonicNow();
         reloadOMState(lastAppliedIndex, term);
         omRatisServer.getOmStateMachine().unpause(lastAppliedIndex, term);
+        resumeQuotaRepair();
         newMetadataManagerStarted = true;
         LOG.info("Reloaded OM state with Term: {} and Index: {}. Spend {} ms",
             term, lastAppliedIndex, Time.monotonicNow() - time);
@@ -3750,6 +3764,7 @@ TermIndex installCheckpoint(String leaderId, Path checkpointLocation,
         startSecretManagerIfNecessary();
         startTrashEmptier(configuration);
         omRatisServer.getOmStateMachine().unpause(lastAppliedIndex, term);
+        resumeQuotaRepair();
         LOG.info("OM DB is not stopped. Started services with Term: {} and " +
             "Index: {}", term, lastAppliedIndex);
       }
@@ -3805,6 +3820,34 @@ private void stopTrashEmptier() {
     }
   }
 
+  /**
+   * Starts the quota repair in the background unless it is running already.
+   * The repair resumes from the checkpoint of an earlier run, if any.
+   */
+  public synchronized void startQuotaRepair() throws IOException {
+    if (quotaRepairTask == null || !quotaRepairTask.isRunning()) {
+      quotaRepairTask = new QuotaRepairTask(metadataManager,
+          this::awaitDoubleBufferFlush);
+      quotaRepairTask.start();
+    }
+  }
+
+  /**
+   * Resumes the quota repair if an earlier run did not complete.
+   */
+  private void resumeQuotaRepair() throws IOException {
+    if (QuotaRepairTask.isPending(metadataManager)) {
+      startQuotaRepair();
+    }
+  }
+
+  private synchronized void stopQuotaRepair() {
+    if (quotaRepairTask != null) {
+      quotaRepairTask.stop();
+      quotaRepairTask = null;
+    }
+  }
+
   /**
    * Replace the current OM DB with the new DB checkpoint.
    *
@@ -0,0 +1,279 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.scm.AddSCMRequest;
+import org.apache.hadoop.hdds.scm.ScmInfo;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.ozone.common.BlockGroup;
+import org.apache.hadoop.ozone.common.DeleteBlockGroupResult;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ScmBlockLocationProtocol} which serves block allocations from blocks
+ * allocated from SCM ahead of time, so that key create and allocate block
+ * requests do not wait for an SCM round trip.
+ * <p>
+ * Blocks are pooled per replication config, and a pool is refilled in the
+ * background with a single SCM call once it drops below half of its size.
+ * Pooled blocks are discarded when they expire, as SCM may have closed their
+ * container or pipeline in the meantime, and when a client reports their
+ * pipeline, container or datanode in an exclude list. Allocations with an
+ * exclude list or with another block size are passed to SCM directly.
+ * <p>
+ * All other calls are passed to SCM as is.
+ */
+public class ScmBlockAllocationPool implements ScmBlockLocationProtocol {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ScmBlockAllocationPool.class);
+
+  private static final long REFILL_RETRY_INTERVAL_MS = 1000;
+
+  private final ScmBlockLocationProtocol scmBlockClient;
+  private final long blockSize;
+  private final int poolSize;
+  private final long expiryMs;
+  private final Map<ReplicationConfig, BlockPool> pools =
+      new ConcurrentHashMap<>();
+  private final ExecutorService refillExecutor;
+
+  private final AtomicLong numPooledBlocksUsed = new AtomicLong();
+  private final AtomicLong numPooledBlocksDiscarded = new AtomicLong();
+
+  public ScmBlockAllocationPool(ScmBlockLocationProtocol scmBlockClient,
+      long blockSize, int poolSize, long expiryMs) {
+    this.scmBlockClient = Objects.requireNonNull(scmBlockClient);
+    this.blockSize = blockSize;
+    this.poolSize = poolSize;
+    this.expiryMs = expiryMs;
+    this.refillExecutor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("OmBlockPoolRefiller-%d")
+            .build());
+  }
+
+  @Override
+  public List<AllocatedBlock> allocateBlock(long size, int numBlocks,
+      ReplicationConfig replicationConfig, String owner,
+      ExcludeList excludeList) throws IOException {
+    if (excludeList != null && !excludeList.isEmpty()) {
+      discard(excludeList);
+      return scmBlockClient.allocateBlock(size, numBlocks, replicationConfig,
+          owner, excludeList);
+    }
+    if (size != blockSize) {
+      return scmBlockClient.allocateBlock(size, numBlocks, replicationConfig,
+          owner, excludeList);
+    }
+
+    BlockPool pool = pools.computeIfAbsent(replicationConfig, BlockPool::new);
+    List<AllocatedBlock> blocks = pool.take(numBlocks);
+    numPooledBlocksUsed.addAndGet(blocks.size());
+    if (blocks.size() < numBlocks) {
+      blocks.addAll(scmBlockClient.allocateBlock(size,
+          numBlocks - blocks.size(), replicationConfig, owner, excludeList));
+    }
+    pool.refillIfNeeded(owner);
+    return blocks;
+  }
+
+  /**
+   * Discard pooled blocks which are placed on anything in the exclude list.
+   */
+  private void discard(ExcludeList excludeList) {
+    for (BlockPool pool : pools.values()) {
+      pool.blocks.removeIf(pooled -> {
+        boolean excluded = isExcluded(pooled.block, excludeList);
+        if (excluded) {
+          numPooledBlocksDiscarded.incrementAndGet();
+        }
+        return excluded;
+      });
+    }
+  }
+
+  private static boolean isExcluded(AllocatedBlock block,
+      ExcludeList excludeList) {
+    Pipeline pipeline = block.getPipeline();
+    if (excludeList.getPipelineIds().contains(pipeline.getId())) {
+      return true;
+    }
+    if (excludeList.getContainerIds().contains(
+        ContainerID.valueOf(block.getBlockID().getContainerID()))) {
+      return true;
+    }
+    for (DatanodeDetails dn : pipeline.getNodes()) {
+      if (excludeList.getDatanodes().contains(dn)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @VisibleForTesting
+  int getNumPooledBlocks(ReplicationConfig replicationConfig) {
+    BlockPool pool = pools.get(replicationConfig);
+    return pool == null ? 0 : pool.blocks.size();
+  }
+
+  public long getNumPooledBlocksUsed() {
+    return numPooledBlocksUsed.get();
+  }
+
+  public long getNumPooledBlocksDiscarded() {
+    return numPooledBlocksDiscarded.get();
+  }
+
+  @Override
+  public List<DeleteBlockGroupResult> deleteKeyBlocks(
+      List<BlockGroup> keyBlocksInfoList) throws IOException {
+    return scmBlockClient.deleteKeyBlocks(keyBlocksInfoList);
+  }
+
+  @Override
+  public ScmInfo getScmInfo() throws IOException {
+    return scmBlockClient.getScmInfo();
+  }
+
+  @Override
+  public boolean addSCM(AddSCMRequest request) throws IOException {
+    return scmBlockClient.addSCM(request);
+  }
+
+  @Override
+  public List<DatanodeDetails> sortDatanodes(List<String> nodes,
+      String clientMachine) throws IOException {
+    return scmBlockClient.sortDatanodes(nodes, clientMachine);
+  }
+
+  /**
+   * Stops refilling the pools. The SCM client is not closed, it is owned by
+   * the caller.
+   */
+  @Override
+  public void close() {
+    refillExecutor.shutdownNow();
+    pools.clear();
+  }
+
+  /**
+   * A block allocated ahead of time, with the time it expires.
+   */
+  private static final class PooledBlock {
+    private final AllocatedBlock block;
+    private final long expiryTime;
+
+    private PooledBlock(AllocatedBlock block, long expiryTime) {
+      this.block = block;
+      this.expiryTime = expiryTime;
+    }
+  }
+
+  /**
+   * Blocks allocated ahead of time for one replication config.
+   */
+  private final class BlockPool {
+    private final ReplicationConfig replicationConfig;
+    private final BlockingQueue<PooledBlock> blocks =
+        new LinkedBlockingQueue<>();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private volatile long nextRefillTime;
+
+    private BlockPool(ReplicationConfig replicationConfig) {
+      this.replicationConfig = replicationConfig;
+    }
+
+    private List<AllocatedBlock> take(int numBlocks) {
+      List<AllocatedBlock> taken = new ArrayList<>(numBlocks);
+      long now = Time.monotonicNow();
+      PooledBlock pooled;
+      while (taken.size() < numBlocks && (pooled = blocks.poll()) != null) {
+        if (pooled.expiryTime > now) {
+          taken.add(pooled.block);
+        } else {
+          numPooledBlocksDiscarded.incrementAndGet();
+        }
+      }
+      return taken;
+    }
+
+    private void refillIfNeeded(String owner) {
+      if (blocks.size() * 2 >= poolSize
+          || Time.monotonicNow() < nextRefillTime
+          || !refilling.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        refillExecutor.execute(() -> refill(owner));
+      } catch (RejectedExecutionException e) {
+        // The pool is closed.
+        refilling.set(false);
+      }
+    }
+
+    private void refill(String owner) {
+      try {
+        int numBlocks = poolSize - blocks.size();
+        if (numBlocks <= 0) {
+          return;
+        }
+        List<AllocatedBlock> allocated = scmBlockClient.allocateBlock(
+            blockSize, numBlocks, replicationConfig, owner,
+            new ExcludeList());
+        long expiryTime = Time.monotonicNow() + expiryMs;
+        for (AllocatedBlock block : allocated) {
+          blocks.add(new PooledBlock(block, expiryTime));
+        }
+        LOG.debug("Added {} blocks to the {} block pool", allocated.size(),
+            replicationConfig);
+      } catch (IOException e) {
+        // Requests fall back to SCM until the next attempt.
+        nextRefillTime = Time.monotonicNow() + REFILL_RETRY_INTERVAL_MS;
+        LOG.warn("Failed to refill the {} block pool: {}", replicationConfig,
+            e.getMessage());
+      } finally {
+        refilling.set(false);
+      }
+    }
+  }
+}
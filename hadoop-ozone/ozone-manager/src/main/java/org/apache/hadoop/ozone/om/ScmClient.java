@@ -22,6 +22,7 @@
 import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
 import com.google.common.cache.LoadingCache;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerWithPipeline;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
@@ -36,6 +37,12 @@
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_EXPIRY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_EXPIRY_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_TTL;
@@ -47,6 +54,8 @@
 public class ScmClient {
 
   private final ScmBlockLocationProtocol blockClient;
+  // Non-null only if ozone.om.block.pool.size is set, wraps the block client.
+  private final ScmBlockAllocationPool blockAllocationPool;
   private final StorageContainerLocationProtocol containerClient;
   private final LoadingCache<Long, Pipeline> containerLocationCache;
   private final CacheMetrics containerCacheMetrics;
@@ -55,13 +64,32 @@ public class ScmClient {
             StorageContainerLocationProtocol containerClient,
             OzoneConfiguration configuration) {
     this.containerClient = containerClient;
-    this.blockClient = blockClient;
+    this.blockAllocationPool =
+        createBlockAllocationPool(configuration, blockClient);
+    this.blockClient = blockAllocationPool != null
+        ? blockAllocationPool : blockClient;
     this.containerLocationCache =
         createContainerLocationCache(configuration, containerClient);
     this.containerCacheMetrics = CacheMetrics.create(containerLocationCache,
         "ContainerInfo");
   }
 
+  static ScmBlockAllocationPool createBlockAllocationPool(
+      OzoneConfiguration configuration, ScmBlockLocationProtocol blockClient) {
+    int poolSize = configuration.getInt(OZONE_OM_BLOCK_POOL_SIZE,
+        OZONE_OM_BLOCK_POOL_SIZE_DEFAULT);
+    if (poolSize <= 0 || blockClient == null) {
+      return null;
+    }
+    long blockSize = (long) configuration.getStorageSize(OZONE_SCM_BLOCK_SIZE,
+        OZONE_SCM_BLOCK_SIZE_DEFAULT, StorageUnit.BYTES);
+    long expiryMs = configuration.getTimeDuration(OZONE_OM_BLOCK_POOL_EXPIRY,
+        OZONE_OM_BLOCK_POOL_EXPIRY_DEFAULT.toLong(TimeUnit.MILLISECONDS),
+        TimeUnit.MILLISECONDS);
+    return new ScmBlockAllocationPool(blockClient, blockSize, poolSize,
+        expiryMs);
+  }
+
   static LoadingCache<Long, Pipeline> createContainerLocationCache(
       OzoneConfiguration configuration,
       StorageContainerLocationProtocol containerClient) {
@@ -139,6 +167,9 @@ private <T> T handleCacheExecutionException(ExecutionException e)
   }
 
   public void close() {
+    if (blockAllocationPool != null) {
+      blockAllocationPool.close();
+    }
     containerCacheMetrics.unregister();
   }
 
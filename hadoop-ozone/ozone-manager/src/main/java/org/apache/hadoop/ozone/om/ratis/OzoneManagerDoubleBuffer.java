@@ -20,6 +20,7 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -35,7 +36,10 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -50,6 +54,9 @@
 import org.apache.hadoop.ozone.om.ratis.metrics.OzoneManagerDoubleBufferMetrics;
 import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyRenameResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeysRenameResponse;
+import org.apache.hadoop.ozone.om.response.snapshot.OMSnapshotMoveDeletedKeysResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.util.Daemon;
 import org.apache.hadoop.util.Time;
@@ -69,6 +76,15 @@
  * Adding OM request to doubleBuffer and swap of buffer are synchronized
  * methods.
  *
+ * When pipelined flush is enabled, the batch commit and the post commit
+ * steps (completing futures, cleaning up the table cache, releasing the
+ * unflushed transaction permits and updating the last applied index) run on
+ * a separate commit thread, so that the flush thread can prepare the next
+ * batch while the current batch is being committed. Batches are still
+ * committed one by one in transaction index order. Batches with responses
+ * that read the DB while adding to the batch (snapshot create, key rename,
+ * snapshot move deleted keys) are prepared only after the previous batch is
+ * committed.
  */
 public final class OzoneManagerDoubleBuffer {
 
@@ -109,6 +125,13 @@ public final class OzoneManagerDoubleBuffer {
   private final Semaphore unFlushedTransactions;
   private final FlushNotifier flushNotifier;
 
+  // Non-null only when pipelined flush is enabled.
+  private final ExecutorService commitExecutor;
+  // The commit of the last batch handed over to commitExecutor.
+  // Only accessed by the flush thread.
+  private CompletableFuture<Void> pendingCommit =
+      CompletableFuture.completedFuture(null);
+
   /**
    * function which will get term associated with the transaction index.
    */
@@ -125,6 +148,7 @@ public static class Builder {
     private Function<Long, Long> indexToTerm = null;
     private int maxUnFlushedTransactionCount = 0;
     private FlushNotifier flushNotifier;
+    private boolean isPipelinedFlushEnabled = false;
 
     public Builder setOmMetadataManager(OMMetadataManager omm) {
       this.mm = omm;
@@ -162,6 +186,11 @@ public Builder setFlushNotifier(FlushNotifier flushNotifier) {
       return this;
     }
 
+    public Builder enablePipelinedFlush(boolean enablePipelinedFlush) {
+      this.isPipelinedFlushEnabled = enablePipelinedFlush;
+      return this;
+    }
+
     public OzoneManagerDoubleBuffer build() {
       if (isRatisEnabled) {
         Preconditions.checkNotNull(rs, "When ratis is enabled, " +
@@ -173,20 +202,22 @@ public OzoneManagerDoubleBuffer build() {
                 "should be bigger than 0");
       }
       if (flushNotifier == null) {
-        flushNotifier = new FlushNotifier();
+        flushNotifier = isPipelinedFlushEnabled ?
+            new FlushNotifier(3) : new FlushNotifier();
       }
 
       return new OzoneManagerDoubleBuffer(mm, rs, isRatisEnabled,
           isTracingEnabled, indexToTerm, maxUnFlushedTransactionCount,
-          flushNotifier);
+          flushNotifier, isPipelinedFlushEnabled);
     }
   }
 
+  @SuppressWarnings("checkstyle:parameternumber")
   private OzoneManagerDoubleBuffer(OMMetadataManager omMetadataManager,
       OzoneManagerRatisSnapshot ozoneManagerRatisSnapShot,
       boolean isRatisEnabled, boolean isTracingEnabled,
       Function<Long, Long> indexToTerm, int maxUnFlushedTransactions,
-      FlushNotifier flushNotifier) {
+      FlushNotifier flushNotifier, boolean isPipelinedFlushEnabled) {
     this.currentBuffer = new ConcurrentLinkedQueue<>();
     this.readyBuffer = new ConcurrentLinkedQueue<>();
     this.isRatisEnabled = isRatisEnabled;
@@ -203,6 +234,15 @@ private OzoneManagerDoubleBuffer(OMMetadataManager omMetadataManager,
     this.indexToTerm = indexToTerm;
     this.flushNotifier = flushNotifier;
 
+    if (isPipelinedFlushEnabled) {
+      // Single thread, so that the batches are committed in order.
+      this.commitExecutor = Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("OMDoubleBufferCommitThread").build());
+    } else {
+      this.commitExecutor = null;
+    }
+
     isRunning.set(true);
     // Daemon thread which runs in background and flushes transactions to DB.
     daemon = new Daemon(this::flushTransactions);
@@ -315,7 +355,17 @@ void flushCurrentBuffer() {
       }
 
       clearReadyBuffer();
-      flushNotifier.notifyFlush();
+      if (commitExecutor == null) {
+        flushNotifier.notifyFlush();
+      } else {
+        // Notify once all the batches of this buffer are committed.
+        pendingCommit = pendingCommit.thenRun(flushNotifier::notifyFlush);
+        if (getCurrentBufferSize() == 0) {
+          // Nothing to prepare in the meantime, wait for the commit so that
+          // canFlush() does not notify before the buffer is flushed.
+          awaitPendingCommit();
+        }
+      }
     } catch (IOException ex) {
       terminate(ex, 1);
     } catch (Throwable t) {
@@ -325,20 +375,85 @@ void flushCurrentBuffer() {
 
   private void flushBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer)
       throws IOException {
+    if (commitExecutor == null) {
+      commitBatch(prepareBatch(buffer));
+      return;
+    }
 
-    Map<String, List<Long>> cleanupEpochs = new HashMap<>();
-    List<Long> flushedEpochs;
+    if (buffer.peek().getResponse().getOMResponse()
+        .hasCreateSnapshotResponse() || readsDBInAddToBatch(buffer)) {
+      // Snapshot create takes the DB checkpoint while adding to the batch,
+      // and some responses read tables which are not cached, so all the
+      // previous batches must be committed before that.
+      awaitPendingCommit();
+    }
+    final PreparedBatch batch = prepareBatch(buffer);
+    // Keep at most one batch being committed while preparing the next one.
+    awaitPendingCommit();
+    pendingCommit = CompletableFuture.runAsync(() -> {
+      try {
+        commitBatch(batch);
+      } catch (IOException ex) {
+        terminate(ex, 1);
+      } catch (Throwable t) {
+        terminate(t, 2);
+      }
+    }, commitExecutor);
+  }
 
-    try (BatchOperation batchOperation = omMetadataManager.getStore()
-        .initBatchOperation()) {
+  /**
+   * Returns true if any of the responses in the buffer reads from the DB
+   * while adding to the batch. These read tables which are only updated by
+   * the responses, not through the table cache, so they would miss the
+   * writes of a batch which is not committed yet.
+   */
+  private static boolean readsDBInAddToBatch(
+      Queue<DoubleBufferEntry<OMClientResponse>> buffer) {
+    for (DoubleBufferEntry<OMClientResponse> entry : buffer) {
+      OMClientResponse response = entry.getResponse();
+      if (response instanceof OMKeyRenameResponse
+          || response instanceof OMKeysRenameResponse
+          || response instanceof OMSnapshotMoveDeletedKeysResponse) {
+        return true;
+      }
+    }
+    return false;
+  }
 
+  /**
+   * Returns true if a batch handed over to the commit thread is not yet
+   * committed. Only meaningful when called from the flush thread.
+   */
+  @VisibleForTesting
+  boolean hasPendingCommit() {
+    return !pendingCommit.isDone();
+  }
+
+  /**
+   * Wait for the commit of the batch handed over to the commit thread.
+   */
+  private void awaitPendingCommit() {
+    pendingCommit.join();
+  }
+
+  /**
+   * Add the responses in the buffer and the transaction info to a new write
+   * batch, without committing it.
+   */
+  private PreparedBatch prepareBatch(
+      Queue<DoubleBufferEntry<OMClientResponse>> buffer) throws IOException {
+    long startTime = Time.monotonicNow();
+    BatchOperation batchOperation = omMetadataManager.getStore()
+        .initBatchOperation();
+    try {
       String lastTraceId = addToBatch(buffer, batchOperation);
 
+      Map<String, List<Long>> cleanupEpochs = new HashMap<>();
       buffer.iterator().forEachRemaining(
           entry -> addCleanupEntry(entry, cleanupEpochs));
 
       // Commit transaction info to DB.
-      flushedEpochs = buffer.stream()
+      List<Long> flushedEpochs = buffer.stream()
           .map(DoubleBufferEntry::getTrxLogIndex)
           .sorted()
           .collect(Collectors.toList());
@@ -358,8 +473,25 @@ private void flushBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer)
                   .setCurrentTerm(term)
                   .build()));
 
+      // Take the futures of this batch now, the future queues may be
+      // swapped again before the batch is committed.
+      List<CompletableFuture<Void>> futures = isRatisEnabled ?
+          Collections.emptyList() : takeReadyFutures(buffer.size());
+
+      ozoneManagerDoubleBufferMetrics.updatePrepareTime(
+          Time.monotonicNow() - startTime);
+      return new PreparedBatch(buffer.size(), batchOperation, lastTraceId,
+          cleanupEpochs, flushedEpochs, futures);
+    } catch (IOException | RuntimeException e) {
+      batchOperation.close();
+      throw e;
+    }
+  }
+
+  private void commitBatch(PreparedBatch batch) throws IOException {
+    try (BatchOperation batchOperation = batch.getBatchOperation()) {
       long startTime = Time.monotonicNow();
-      flushBatchWithTrace(lastTraceId, buffer.size(),
+      flushBatchWithTrace(batch.getLastTraceId(), batch.getSize(),
           () -> omMetadataManager.getStore()
               .commitBatchOperation(batchOperation));
 
@@ -369,11 +501,9 @@ private void flushBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer)
 
     // Complete futures first and then do other things.
     // So that handler threads will be released.
-    if (!isRatisEnabled) {
-      clearReadyFutureQueue(buffer.size());
-    }
+    batch.getFutures().forEach(future -> future.complete(null));
 
-    int flushedTransactionsSize = buffer.size();
+    int flushedTransactionsSize = batch.getSize();
     flushedTransactionCount.addAndGet(flushedTransactionsSize);
     flushIterations.incrementAndGet();
 
@@ -384,13 +514,13 @@ private void flushBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer)
     }
 
     // Clean up committed transactions.
-    cleanupCache(cleanupEpochs);
+    cleanupCache(batch.getCleanupEpochs());
 
     if (isRatisEnabled) {
       releaseUnFlushedTransactions(flushedTransactionsSize);
     }
     // update the last updated index in OzoneManagerStateMachine.
-    ozoneManagerRatisSnapShot.updateLastAppliedIndex(flushedEpochs);
+    ozoneManagerRatisSnapShot.updateLastAppliedIndex(batch.getFlushedEpochs());
 
     // set metrics.
     updateMetrics(flushedTransactionsSize);
@@ -494,14 +624,16 @@ private void addCleanupEntry(DoubleBufferEntry entry, Map<String,
   }
 
   /**
-   * Completes futures for first count element form the readyFutureQueue
-   * so that handler thread can be released asap.
+   * Removes the first count futures from the readyFutureQueue, to be
+   * completed once the corresponding transactions are flushed.
    */
-  private void clearReadyFutureQueue(int count) {
+  private List<CompletableFuture<Void>> takeReadyFutures(int count) {
+    List<CompletableFuture<Void>> futures = new ArrayList<>(count);
     while (!readyFutureQueue.isEmpty() && count > 0) {
-      readyFutureQueue.remove().complete(null);
+      futures.add(readyFutureQueue.remove());
       count--;
     }
+    return futures;
   }
 
   private void cleanupCache(Map<String, List<Long>> cleanupEpochs) {
@@ -556,6 +688,18 @@ public void stopDaemon() {
       } catch (InterruptedException e) {
         LOG.debug("Interrupted while waiting for daemon to exit.", e);
       }
+      if (commitExecutor != null) {
+        // Let the batch handed over by the flush thread be committed.
+        commitExecutor.shutdown();
+        try {
+          if (!commitExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+            LOG.warn("OMDoubleBuffer commit thread did not terminate.");
+          }
+        } catch (InterruptedException e) {
+          LOG.debug("Interrupted while waiting for commit thread to exit.",
+              e);
+        }
+      }
     } else {
       LOG.info("OMDoubleBuffer flush thread is not running.");
     }
@@ -621,9 +765,10 @@ private synchronized boolean canFlush() {
     try {
       while (currentBuffer.size() == 0) {
         // canFlush() only gets called when the readyBuffer is empty.
-        // Since both buffers are empty, notify once for each.
-        flushNotifier.notifyFlush();
-        flushNotifier.notifyFlush();
+        // Since all the buffers are empty, notify once for each.
+        for (int i = 0; i < flushNotifier.getNumBuffers(); i++) {
+          flushNotifier.notifyFlush();
+        }
         wait(1000L);
       }
       return true;
@@ -682,14 +827,77 @@ public void awaitFlush() throws InterruptedException {
     flushNotifier.await();
   }
 
+  /**
+   * A write batch which has all the responses of a buffer added to it and
+   * is ready to be committed.
+   */
+  private static final class PreparedBatch {
+    private final int size;
+    private final BatchOperation batchOperation;
+    private final String lastTraceId;
+    private final Map<String, List<Long>> cleanupEpochs;
+    private final List<Long> flushedEpochs;
+    private final List<CompletableFuture<Void>> futures;
+
+    private PreparedBatch(int size, BatchOperation batchOperation,
+        String lastTraceId, Map<String, List<Long>> cleanupEpochs,
+        List<Long> flushedEpochs, List<CompletableFuture<Void>> futures) {
+      this.size = size;
+      this.batchOperation = batchOperation;
+      this.lastTraceId = lastTraceId;
+      this.cleanupEpochs = cleanupEpochs;
+      this.flushedEpochs = flushedEpochs;
+      this.futures = futures;
+    }
+
+    int getSize() {
+      return size;
+    }
+
+    BatchOperation getBatchOperation() {
+      return batchOperation;
+    }
+
+    String getLastTraceId() {
+      return lastTraceId;
+    }
+
+    Map<String, List<Long>> getCleanupEpochs() {
+      return cleanupEpochs;
+    }
+
+    List<Long> getFlushedEpochs() {
+      return flushedEpochs;
+    }
+
+    List<CompletableFuture<Void>> getFutures() {
+      return futures;
+    }
+  }
+
   static class FlushNotifier {
     private final Set<CountDownLatch> flushLatches =
         ConcurrentHashMap.newKeySet();
+    // The number of buffers which may hold unflushed transactions.
+    private final int numBuffers;
+
+    FlushNotifier() {
+      this(2);
+    }
+
+    FlushNotifier(int numBuffers) {
+      this.numBuffers = numBuffers;
+    }
+
+    int getNumBuffers() {
+      return numBuffers;
+    }
 
     void await() throws InterruptedException {
 
-      // Wait until both the current and ready buffers are flushed.
-      CountDownLatch latch = new CountDownLatch(2);
+      // Wait until all the buffers are flushed, i.e. both the current and
+      // ready buffers, and also the batch being committed if pipelined.
+      CountDownLatch latch = new CountDownLatch(numBuffers);
       flushLatches.add(latch);
       latch.await();
       flushLatches.remove(latch);
@@ -457,6 +457,9 @@ public OzoneManagerDoubleBuffer buildDoubleBufferForRatis() {
     int maxUnflushedTransactionSize = ozoneManager.getConfiguration()
         .getInt(OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT,
             OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT);
+    boolean pipelinedFlush = ozoneManager.getConfiguration().getBoolean(
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH_ENABLED,
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH_ENABLED_DEFAULT);
     return new OzoneManagerDoubleBuffer.Builder()
         .setOmMetadataManager(ozoneManager.getMetadataManager())
         .setOzoneManagerRatisSnapShot(this::updateLastAppliedIndex)
@@ -464,6 +467,7 @@ public OzoneManagerDoubleBuffer buildDoubleBufferForRatis() {
         .setIndexToTerm(this::getTermForIndex)
         .enableRatis(true)
         .enableTracing(isTracingEnabled)
+        .enablePipelinedFlush(pipelinedFlush)
         .build();
   }
 
@@ -55,6 +55,10 @@ public class OzoneManagerDoubleBufferMetrics {
       " rocksdb batch commit time.")
   private MutableRate flushTime;
 
+  @Metric(about = "DoubleBuffer prepareTime. This metrics captures the time" +
+      " to add the responses of a flush iteration to the rocksdb batch.")
+  private MutableRate prepareTime;
+
   @Metric(about = "Average number of transactions flushed in a single " +
       "iteration")
   private MutableGaugeFloat avgFlushTransactionsInOneIteration;
@@ -115,6 +119,15 @@ public MutableRate getFlushTime() {
     return flushTime;
   }
 
+  public void updatePrepareTime(long time) {
+    prepareTime.add(time);
+  }
+
+  @VisibleForTesting
+  public MutableRate getPrepareTime() {
+    return prepareTime;
+  }
+
   public float getAvgFlushTransactionsInOneIteration() {
     return avgFlushTransactionsInOneIteration.value();
   }
@@ -277,6 +277,22 @@ public static OMClientRequest createClientRequest(OMRequest omRequest,
       volumeName = keyArgs.getVolumeName();
       bucketName = keyArgs.getBucketName();
       break;
+    case CreateKeys:
+      keyArgs = omRequest.getCreateKeysRequest().getCreateKeyRequestsCount() > 0
+          ? omRequest.getCreateKeysRequest().getCreateKeyRequests(0)
+              .getKeyArgs()
+          : OzoneManagerProtocolProtos.KeyArgs.getDefaultInstance();
+      volumeName = keyArgs.getVolumeName();
+      bucketName = keyArgs.getBucketName();
+      break;
+    case CommitKeys:
+      keyArgs = omRequest.getCommitKeysRequest().getCommitKeyRequestsCount() > 0
+          ? omRequest.getCommitKeysRequest().getCommitKeyRequests(0)
+              .getKeyArgs()
+          : OzoneManagerProtocolProtos.KeyArgs.getDefaultInstance();
+      volumeName = keyArgs.getVolumeName();
+      bucketName = keyArgs.getBucketName();
+      break;
     case DeleteKeys:
       OzoneManagerProtocolProtos.DeleteKeyArgs deleteKeyArgs =
           omRequest.getDeleteKeysRequest()
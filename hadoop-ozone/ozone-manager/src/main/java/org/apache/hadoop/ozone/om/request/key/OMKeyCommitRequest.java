@@ -297,7 +297,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
       final OmKeyInfo pseudoKeyInfo = isHSync ? null
           : wrapUncommittedBlocksAsPseudoKey(uncommitted, omKeyInfo);
       if (pseudoKeyInfo != null) {
-        long pseudoObjId = ozoneManager.getObjectIdFromTxId(trxnLogIndex);
+        long pseudoObjId = getObjectIdFromTxId(ozoneManager, trxnLogIndex);
         String delKeyName = omMetadataManager.getOzoneDeletePathKey(
             pseudoObjId, dbOzoneKey);
         if (null == oldKeyVersionsToDeleteMap) {
@@ -110,6 +110,11 @@ public abstract class OMKeyRequest extends OMClientRequest {
 
   private BucketLayout bucketLayout = BucketLayout.DEFAULT;
 
+  // Position of this request inside a CreateKeys/CommitKeys batch. All
+  // requests of a batch share one transaction index, the offset keeps the
+  // object IDs they derive from it unique.
+  private int batchIndex;
+
   public OMKeyRequest(OMRequest omRequest) {
     super(omRequest);
   }
@@ -123,6 +128,18 @@ public BucketLayout getBucketLayout() {
     return bucketLayout;
   }
 
+  void setBatchIndex(int batchIndex) {
+    this.batchIndex = batchIndex;
+  }
+
+  /**
+   * Returns the object ID for a new object created by this request.
+   */
+  protected long getObjectIdFromTxId(OzoneManager ozoneManager,
+      long trxnLogIndex) {
+    return ozoneManager.getObjectIdFromTxId(trxnLogIndex) + batchIndex;
+  }
+
   protected KeyArgs resolveBucketLink(
       OzoneManager ozoneManager, KeyArgs keyArgs,
       Map<String, String> auditMap) throws IOException {
@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
+import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeysBatchResponse;
+import org.apache.hadoop.ozone.om.upgrade.DisallowedUntilLayoutVersion;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeysResult;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature.BATCH_KEY_REQUESTS;
+
+/**
+ * Handles CommitKeys request.
+ *
+ * A batch is executed as a sequence of {@link OMKeyCommitRequest}s that
+ * share one Ratis transaction and one double buffer entry. Each key gets
+ * its own result, so a failure of one key does not fail the others.
+ */
+public class OMKeysCommitRequest extends OMKeyRequest {
+
+  public OMKeysCommitRequest(OMRequest omRequest, BucketLayout bucketLayout) {
+    super(omRequest, bucketLayout);
+  }
+
+  @Override
+  @DisallowedUntilLayoutVersion(BATCH_KEY_REQUESTS)
+  public OMRequest preExecute(OzoneManager ozoneManager) throws IOException {
+    OMRequest request = super.preExecute(ozoneManager);
+    CommitKeysRequest commitKeysRequest = request.getCommitKeysRequest();
+
+    List<KeyArgs> keyArgsList = new ArrayList<>();
+    for (CommitKeyRequest commitKeyRequest :
+        commitKeysRequest.getCommitKeyRequestsList()) {
+      keyArgsList.add(commitKeyRequest.getKeyArgs());
+    }
+    OMKeysCreateRequest.validateBatch(ozoneManager, keyArgsList,
+        getBucketLayout());
+
+    CommitKeysRequest.Builder newCommitKeysRequest =
+        CommitKeysRequest.newBuilder();
+    for (CommitKeyRequest commitKeyRequest :
+        commitKeysRequest.getCommitKeyRequestsList()) {
+      OMKeyCommitRequest subRequest = new OMKeyCommitRequest(
+          toSubRequest(request, commitKeyRequest), getBucketLayout());
+      newCommitKeysRequest.addCommitKeyRequests(
+          subRequest.preExecute(ozoneManager).getCommitKeyRequest());
+    }
+
+    return request.toBuilder()
+        .setCommitKeysRequest(newCommitKeysRequest).build();
+  }
+
+  @Override
+  public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
+      long trxnLogIndex, OzoneManagerDoubleBufferHelper omDoubleBufferHelper) {
+    List<CommitKeyRequest> commitKeyRequests =
+        getOmRequest().getCommitKeysRequest().getCommitKeyRequestsList();
+
+    List<OMClientResponse> subResponses = new ArrayList<>();
+    CommitKeysResponse.Builder commitKeysResponse =
+        CommitKeysResponse.newBuilder();
+    for (int i = 0; i < commitKeyRequests.size(); i++) {
+      OMKeyCommitRequest subRequest = new OMKeyCommitRequest(
+          toSubRequest(getOmRequest(), commitKeyRequests.get(i)),
+          getBucketLayout());
+      subRequest.setBatchIndex(i);
+      OMClientResponse subResponse = subRequest.validateAndUpdateCache(
+          ozoneManager, trxnLogIndex, (response, index) -> null);
+      subResponses.add(subResponse);
+
+      OMResponse subOMResponse = subResponse.getOMResponse();
+      CommitKeysResult.Builder result = CommitKeysResult.newBuilder()
+          .setStatus(subOMResponse.getStatus());
+      if (subOMResponse.hasMessage()) {
+        result.setMessage(subOMResponse.getMessage());
+      }
+      commitKeysResponse.addResults(result);
+    }
+
+    OMClientResponse omClientResponse = new OMKeysBatchResponse(
+        OmResponseUtil.getOMResponseBuilder(getOmRequest())
+            .setCommitKeysResponse(commitKeysResponse).build(),
+        subResponses, getBucketLayout());
+    addResponseToDoubleBuffer(trxnLogIndex, omClientResponse,
+        omDoubleBufferHelper);
+    return omClientResponse;
+  }
+
+  private static OMRequest toSubRequest(OMRequest batchRequest,
+      CommitKeyRequest commitKeyRequest) {
+    return batchRequest.toBuilder()
+        .clearCommitKeysRequest()
+        .setCmdType(Type.CommitKey)
+        .setCommitKeyRequest(commitKeyRequest)
+        .build();
+  }
+}
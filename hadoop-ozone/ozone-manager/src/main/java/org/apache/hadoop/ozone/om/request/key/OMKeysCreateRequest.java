@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import org.apache.hadoop.ozone.OmUtils;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
+import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeysBatchResponse;
+import org.apache.hadoop.ozone.om.upgrade.DisallowedUntilLayoutVersion;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeysResult;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature.BATCH_KEY_REQUESTS;
+
+/**
+ * Handles CreateKeys request.
+ *
+ * A batch is executed as a sequence of {@link OMKeyCreateRequest}s that
+ * share one Ratis transaction and one double buffer entry. Each key gets
+ * its own result, so a failure of one key does not fail the others.
+ */
+public class OMKeysCreateRequest extends OMKeyRequest {
+
+  public OMKeysCreateRequest(OMRequest omRequest, BucketLayout bucketLayout) {
+    super(omRequest, bucketLayout);
+  }
+
+  @Override
+  @DisallowedUntilLayoutVersion(BATCH_KEY_REQUESTS)
+  public OMRequest preExecute(OzoneManager ozoneManager) throws IOException {
+    OMRequest request = super.preExecute(ozoneManager);
+    CreateKeysRequest createKeysRequest = request.getCreateKeysRequest();
+
+    List<KeyArgs> keyArgsList = new ArrayList<>();
+    for (CreateKeyRequest createKeyRequest :
+        createKeysRequest.getCreateKeyRequestsList()) {
+      keyArgsList.add(createKeyRequest.getKeyArgs());
+    }
+    validateBatch(ozoneManager, keyArgsList, getBucketLayout());
+
+    CreateKeysRequest.Builder newCreateKeysRequest =
+        CreateKeysRequest.newBuilder();
+    for (CreateKeyRequest createKeyRequest :
+        createKeysRequest.getCreateKeyRequestsList()) {
+      OMKeyCreateRequest subRequest = new OMKeyCreateRequest(
+          toSubRequest(request, createKeyRequest), getBucketLayout());
+      newCreateKeysRequest.addCreateKeyRequests(
+          subRequest.preExecute(ozoneManager).getCreateKeyRequest());
+    }
+
+    return request.toBuilder()
+        .setCreateKeysRequest(newCreateKeysRequest).build();
+  }
+
+  @Override
+  public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
+      long trxnLogIndex, OzoneManagerDoubleBufferHelper omDoubleBufferHelper) {
+    List<CreateKeyRequest> createKeyRequests =
+        getOmRequest().getCreateKeysRequest().getCreateKeyRequestsList();
+
+    List<OMClientResponse> subResponses = new ArrayList<>();
+    CreateKeysResponse.Builder createKeysResponse =
+        CreateKeysResponse.newBuilder();
+    for (int i = 0; i < createKeyRequests.size(); i++) {
+      OMKeyCreateRequest subRequest = new OMKeyCreateRequest(
+          toSubRequest(getOmRequest(), createKeyRequests.get(i)),
+          getBucketLayout());
+      subRequest.setBatchIndex(i);
+      OMClientResponse subResponse = subRequest.validateAndUpdateCache(
+          ozoneManager, trxnLogIndex, (response, index) -> null);
+      subResponses.add(subResponse);
+
+      OMResponse subOMResponse = subResponse.getOMResponse();
+      CreateKeysResult.Builder result = CreateKeysResult.newBuilder()
+          .setStatus(subOMResponse.getStatus());
+      if (subOMResponse.hasMessage()) {
+        result.setMessage(subOMResponse.getMessage());
+      }
+      if (subOMResponse.hasCreateKeyResponse()) {
+        result.setCreateKeyResponse(subOMResponse.getCreateKeyResponse());
+      }
+      createKeysResponse.addResults(result);
+    }
+
+    OMClientResponse omClientResponse = new OMKeysBatchResponse(
+        OmResponseUtil.getOMResponseBuilder(getOmRequest())
+            .setCreateKeysResponse(createKeysResponse).build(),
+        subResponses, getBucketLayout());
+    addResponseToDoubleBuffer(trxnLogIndex, omClientResponse,
+        omDoubleBufferHelper);
+    return omClientResponse;
+  }
+
+  private static OMRequest toSubRequest(OMRequest batchRequest,
+      CreateKeyRequest createKeyRequest) {
+    return batchRequest.toBuilder()
+        .clearCreateKeysRequest()
+        .setCmdType(Type.CreateKey)
+        .setCreateKeyRequest(createKeyRequest)
+        .build();
+  }
+
+  /**
+   * Checks the constraints shared by CreateKeys and CommitKeys: the batch is
+   * not empty, fits in the object IDs of one transaction, addresses a
+   * single bucket, and the bucket does not need intermediate directories.
+   */
+  static void validateBatch(OzoneManager ozoneManager,
+      List<KeyArgs> keyArgsList, BucketLayout bucketLayout)
+      throws OMException {
+    if (keyArgsList.isEmpty()) {
+      throw new OMException("Batch does not contain any key",
+          OMException.ResultCodes.INVALID_REQUEST);
+    }
+    if (keyArgsList.size() > OmUtils.MAX_OBJECT_IDS_PER_TRXN) {
+      throw new OMException("Batch of " + keyArgsList.size() +
+          " keys exceeds the limit of " + OmUtils.MAX_OBJECT_IDS_PER_TRXN,
+          OMException.ResultCodes.INVALID_REQUEST);
+    }
+    if (bucketLayout.shouldNormalizePaths(
+        ozoneManager.getEnableFileSystemPaths())) {
+      throw new OMException("Batch key operations are not supported for " +
+          "buckets with file system paths enabled",
+          OMException.ResultCodes.NOT_SUPPORTED_OPERATION);
+    }
+    String volumeName = keyArgsList.get(0).getVolumeName();
+    String bucketName = keyArgsList.get(0).getBucketName();
+    for (KeyArgs keyArgs : keyArgsList) {
+      if (!volumeName.equals(keyArgs.getVolumeName()) ||
+          !bucketName.equals(keyArgs.getBucketName())) {
+        throw new OMException("All keys of a batch must be in the same " +
+            "bucket, found " + keyArgs.getVolumeName() + "/" +
+            keyArgs.getBucketName() + " and " + volumeName + "/" + bucketName,
+            OMException.ResultCodes.INVALID_REQUEST);
+      }
+    }
+  }
+}
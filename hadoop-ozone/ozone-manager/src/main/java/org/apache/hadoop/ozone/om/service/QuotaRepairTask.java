@@ -26,9 +26,10 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -47,6 +48,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
 import org.apache.hadoop.ozone.om.lock.IOzoneManagerLock;
+import org.apache.ratis.util.function.CheckedRunnable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,42 +60,127 @@
 
 /**
  * Quota repair task.
+ * <p>
+ * Usages are recalculated one bucket at a time, scanning only the key range
+ * of that bucket, while holding only the lock of that bucket. The last
+ * repaired bucket is checkpointed in the meta table together with its usage,
+ * so a repair which was interrupted resumes with the next bucket instead of
+ * starting over.
+ * <p>
+ * The repair runs online, in the background while OM serves requests.
+ * Usages are read from and written to the DB directly, not through Ratis.
+ * Before a bucket is scanned, the flush barrier waits until the double
+ * buffer has flushed every applied transaction, while the bucket lock keeps
+ * new transactions of that bucket from being applied. The DB then agrees
+ * with the applied state of the bucket for the whole scan.
  */
 public class QuotaRepairTask {
   private static final Logger LOG = LoggerFactory.getLogger(
       QuotaRepairTask.class);
   private static final int BATCH_SIZE = 5000;
   private static final int TASK_THREAD_CNT = 3;
+  private static final long STOP_INTERVAL_MS = 100;
   public static final long EPOCH_DEFAULT = -1L;
+  /** Meta table key of the last bucket whose usage has been repaired. */
+  public static final String QUOTA_REPAIR_CHECKPOINT_KEY =
+      "#QUOTAREPAIRCHECKPOINT";
   private final OMMetadataManager metadataManager;
-  private final Map<String, OmBucketInfo> nameBucketInfoMap = new HashMap<>();
-  private final Map<String, OmBucketInfo> idBucketInfoMap = new HashMap<>();
+  private final CheckedRunnable<InterruptedException> flushBarrier;
+  // /volume/bucket/ -> bucket, sorted to resume from the checkpoint.
+  private final NavigableMap<String, OmBucketInfo> nameBucketInfoMap =
+      new TreeMap<>();
+  // /volume/bucket/ -> /volumeId/bucketId/
+  private final Map<String, String> bucketIdPathMap = new HashMap<>();
   private ExecutorService executor;
-  private final Map<String, CountPair> keyCountMap = new ConcurrentHashMap<>();
-  private final Map<String, CountPair> fileCountMap
-      = new ConcurrentHashMap<>();
-  private final Map<String, CountPair> directoryCountMap
-      = new ConcurrentHashMap<>();
   private final Map<String, String> oldVolumeKeyNameMap = new HashMap();
+  private Thread repairThread;
+  private volatile boolean stopped;
 
-  public QuotaRepairTask(OMMetadataManager metadataManager) {
+  /**
+   * @param metadataManager OM metadata manager
+   * @param flushBarrier waits until all applied transactions are flushed
+   *                     to the DB
+   */
+  public QuotaRepairTask(OMMetadataManager metadataManager,
+      CheckedRunnable<InterruptedException> flushBarrier) {
     this.metadataManager = metadataManager;
+    this.flushBarrier = flushBarrier;
   }
-  
+
+  /**
+   * Returns true if a repair has been started and not completed yet.
+   */
+  public static boolean isPending(OMMetadataManager metadataManager)
+      throws IOException {
+    return metadataManager.getMetaTable().isExist(
+        QUOTA_REPAIR_CHECKPOINT_KEY);
+  }
+
+  /**
+   * Starts the repair in a background thread. The repair is marked pending
+   * before the thread starts, so it resumes on the next start of OM if it
+   * does not complete.
+   */
+  public synchronized void start() throws IOException {
+    markPending();
+    repairThread = new Thread(this::run, "QuotaRepair");
+    repairThread.setDaemon(true);
+    repairThread.start();
+  }
+
+  /**
+   * Interrupts the background repair and waits for it to stop. Buckets
+   * repaired so far stay checkpointed.
+   */
+  public synchronized void stop() {
+    if (repairThread == null) {
+      return;
+    }
+    stopped = true;
+    try {
+      // interrupt again if a callee swallowed the interrupt
+      while (repairThread.isAlive()) {
+        repairThread.interrupt();
+        repairThread.join(STOP_INTERVAL_MS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    repairThread = null;
+  }
+
+  public synchronized boolean isRunning() {
+    return repairThread != null && repairThread.isAlive();
+  }
+
+  private void run() {
+    try {
+      repair();
+    } catch (InterruptedException e) {
+      LOG.info("Quota repair stopped, it resumes from the checkpoint on " +
+          "the next start");
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      LOG.error("Quota repair failed, it resumes from the checkpoint on " +
+          "the next start", e);
+    }
+  }
+
+  private void markPending() throws IOException {
+    if (!isPending(metadataManager)) {
+      // sorts before every /volume/bucket/, i.e. no bucket repaired yet
+      metadataManager.getMetaTable().put(QUOTA_REPAIR_CHECKPOINT_KEY, "");
+    }
+  }
+
   public void repair() throws Exception {
     LOG.info("Starting quota repair task");
     prepareAllVolumeBucketInfo();
 
-    IOzoneManagerLock lock = metadataManager.getLock();
-    // thread pool with 3 Table type * (1 task each + 3 thread each)
-    executor = Executors.newFixedThreadPool(12);
+    executor = Executors.newFixedThreadPool(TASK_THREAD_CNT);
     try {
-      nameBucketInfoMap.values().stream().forEach(e -> lock.acquireReadLock(
-          BUCKET_LOCK, e.getVolumeName(), e.getBucketName()));
       repairCount();
     } finally {
-      nameBucketInfoMap.values().stream().forEach(e -> lock.releaseReadLock(
-          BUCKET_LOCK, e.getVolumeName(), e.getBucketName()));
       executor.shutdown();
       LOG.info("Completed quota repair task");
     }
@@ -124,7 +211,8 @@ private void prepareAllVolumeBucketInfo() throws IOException {
     }
   }
 
-  private void updateOldVolumeQuotaSupport() throws IOException {
+  private void updateOldVolumeQuotaSupport()
+      throws IOException, InterruptedException {
     LOG.info("Starting volume quota support update");
     IOzoneManagerLock lock = metadataManager.getLock();
     try (BatchOperation batchOperation = metadataManager.getStore()
@@ -133,6 +221,7 @@ private void updateOldVolumeQuotaSupport() throws IOException {
           : oldVolumeKeyNameMap.entrySet()) {
         lock.acquireReadLock(VOLUME_LOCK, volEntry.getValue());
         try {
+          flushBarrier.run();
           OmVolumeArgs omVolumeArgs = metadataManager.getVolumeTable().get(
               volEntry.getKey());
           boolean isQuotaReset = false;
@@ -165,12 +254,10 @@ private void getAllBuckets(String volumeName, long volumeId)
     List<OmBucketInfo> bucketList = metadataManager.listBuckets(
         volumeName, null, null, Integer.MAX_VALUE, false);
     for (OmBucketInfo bucketInfo : bucketList) {
-      bucketInfo.incrUsedNamespace(-bucketInfo.getUsedNamespace());
-      bucketInfo.incrUsedBytes(-bucketInfo.getUsedBytes());
-      nameBucketInfoMap.put(buildNamePath(volumeName,
-          bucketInfo.getBucketName()), bucketInfo);
-      idBucketInfoMap.put(buildIdPath(volumeId, bucketInfo.getObjectID()),
-          bucketInfo);
+      String namePath = buildNamePath(volumeName, bucketInfo.getBucketName());
+      nameBucketInfoMap.put(namePath, bucketInfo);
+      bucketIdPathMap.put(namePath,
+          buildIdPath(volumeId, bucketInfo.getObjectID()));
     }
   }
   
@@ -196,87 +283,99 @@ private String buildIdPath(long volumeId, long bucketId) {
   
   private void repairCount() throws Exception {
     LOG.info("Starting quota repair for all keys, files and directories");
-    try {
-      nameBucketInfoMap.keySet().stream().forEach(e -> keyCountMap.put(e,
-          new CountPair()));
-      idBucketInfoMap.keySet().stream().forEach(e -> fileCountMap.put(e,
-          new CountPair()));
-      idBucketInfoMap.keySet().stream().forEach(e -> directoryCountMap.put(e,
-          new CountPair()));
-      
-      List<Future<?>> tasks = new ArrayList<>();
-      tasks.add(executor.submit(() -> recalculateUsages(
-          metadataManager.getKeyTable(BucketLayout.OBJECT_STORE),
-          keyCountMap, "Key usages", true)));
-      tasks.add(executor.submit(() -> recalculateUsages(
-          metadataManager.getKeyTable(BucketLayout.FILE_SYSTEM_OPTIMIZED),
-          fileCountMap, "File usages", true)));
-      tasks.add(executor.submit(() -> recalculateUsages(
-          metadataManager.getDirectoryTable(),
-          directoryCountMap, "Directory usages", false)));
-      for (Future<?> f : tasks) {
-        f.get();
-      }
-    } catch (UncheckedIOException ex) {
-      LOG.error("quota repair failure", ex.getCause());
-      throw ex.getCause();
-    } catch (UncheckedExecutionException ex) {
-      LOG.error("quota repair failure", ex.getCause());
-      throw new Exception(ex.getCause());
+    markPending();
+    String checkpoint = metadataManager.getMetaTable().get(
+        QUOTA_REPAIR_CHECKPOINT_KEY);
+    if (!checkpoint.isEmpty()) {
+      LOG.info("Resuming quota repair after bucket {}", checkpoint);
     }
-    
-    // persist bucket info
-    updateCountToBucketInfo(nameBucketInfoMap, keyCountMap);
-    updateCountToBucketInfo(idBucketInfoMap, fileCountMap);
-    updateCountToBucketInfo(idBucketInfoMap, directoryCountMap);
-    
-    // update quota enable flag for old volume and buckets
-    updateOldBucketQuotaSupport();
-
-    try (BatchOperation batchOperation = metadataManager.getStore()
-        .initBatchOperation()) {
-      for (Map.Entry<String, OmBucketInfo> entry
-          : nameBucketInfoMap.entrySet()) {
-        String bucketKey = metadataManager.getBucketKey(
-            entry.getValue().getVolumeName(),
-            entry.getValue().getBucketName());
-        metadataManager.getBucketTable().putWithBatch(batchOperation,
-            bucketKey, entry.getValue());
+    NavigableMap<String, OmBucketInfo> buckets =
+        nameBucketInfoMap.tailMap(checkpoint, false);
+    for (Map.Entry<String, OmBucketInfo> entry : buckets.entrySet()) {
+      if (stopped || Thread.currentThread().isInterrupted()) {
+        throw new InterruptedException("Quota repair interrupted before " +
+            entry.getKey());
       }
-      metadataManager.getStore().commitBatchOperation(batchOperation);
+      repairBucket(entry.getKey(), entry.getValue());
     }
+    metadataManager.getMetaTable().delete(QUOTA_REPAIR_CHECKPOINT_KEY);
     LOG.info("Completed quota repair for all keys, files and directories");
   }
 
-  private void updateOldBucketQuotaSupport() {
-    for (Map.Entry<String, OmBucketInfo> entry : nameBucketInfoMap.entrySet()) {
-      if (entry.getValue().getQuotaInBytes() == OLD_QUOTA_DEFAULT
-          || entry.getValue().getQuotaInNamespace() == OLD_QUOTA_DEFAULT) {
-        OmBucketInfo.Builder builder = entry.getValue().toBuilder();
-        if (entry.getValue().getQuotaInBytes() == OLD_QUOTA_DEFAULT) {
-          builder.setQuotaInBytes(QUOTA_RESET);
-        }
-        if (entry.getValue().getQuotaInNamespace() == OLD_QUOTA_DEFAULT) {
-          builder.setQuotaInNamespace(QUOTA_RESET);
+  /**
+   * Recalculate the usage of one bucket, and persist it together with the
+   * checkpoint. Nothing is persisted if the scan is interrupted or fails.
+   */
+  private void repairBucket(String namePath, OmBucketInfo listedBucketInfo)
+      throws Exception {
+    String volumeName = listedBucketInfo.getVolumeName();
+    String bucketName = listedBucketInfo.getBucketName();
+    String bucketKey = metadataManager.getBucketKey(volumeName, bucketName);
+    IOzoneManagerLock lock = metadataManager.getLock();
+    lock.acquireReadLock(BUCKET_LOCK, volumeName, bucketName);
+    try {
+      // transactions of the bucket applied before the lock was taken
+      flushBarrier.run();
+      OmBucketInfo bucketInfo = metadataManager.getBucketTable().get(bucketKey);
+      if (bucketInfo == null) {
+        // deleted since listed
+        return;
+      }
+      CountPair usage = new CountPair();
+      try {
+        if (bucketInfo.getBucketLayout().isFileSystemOptimized()) {
+          String idPath = bucketIdPathMap.get(namePath);
+          recalculateUsages(metadataManager.getKeyTable(
+              BucketLayout.FILE_SYSTEM_OPTIMIZED), idPath, usage,
+              "File usages", true);
+          recalculateUsages(metadataManager.getDirectoryTable(), idPath,
+              usage, "Directory usages", false);
+        } else {
+          recalculateUsages(metadataManager.getKeyTable(
+              BucketLayout.OBJECT_STORE), namePath, usage, "Key usages", true);
         }
-        OmBucketInfo bucketInfo = builder.build();
-        entry.setValue(bucketInfo);
-        
-        // there is a new value to be updated in bucket cache
-        String bucketKey = metadataManager.getBucketKey(
-            bucketInfo.getVolumeName(), bucketInfo.getBucketName());
-        metadataManager.getBucketTable().addCacheEntry(
-            new CacheKey<>(bucketKey),
-            CacheValue.get(EPOCH_DEFAULT, bucketInfo));
+      } catch (UncheckedIOException ex) {
+        LOG.error("quota repair failure", ex.getCause());
+        throw ex.getCause();
+      } catch (UncheckedExecutionException ex) {
+        LOG.error("quota repair failure", ex.getCause());
+        throw new Exception(ex.getCause());
+      }
+
+      OmBucketInfo.Builder builder = bucketInfo.toBuilder()
+          .setUsedBytes(usage.getSpace())
+          .setUsedNamespace(usage.getNamespace());
+      // update quota enable flag for old buckets
+      if (bucketInfo.getQuotaInBytes() == OLD_QUOTA_DEFAULT) {
+        builder.setQuotaInBytes(QUOTA_RESET);
+      }
+      if (bucketInfo.getQuotaInNamespace() == OLD_QUOTA_DEFAULT) {
+        builder.setQuotaInNamespace(QUOTA_RESET);
       }
+      OmBucketInfo repaired = builder.build();
+      metadataManager.getBucketTable().addCacheEntry(
+          new CacheKey<>(bucketKey),
+          CacheValue.get(EPOCH_DEFAULT, repaired));
+      try (BatchOperation batchOperation = metadataManager.getStore()
+          .initBatchOperation()) {
+        metadataManager.getBucketTable().putWithBatch(batchOperation,
+            bucketKey, repaired);
+        metadataManager.getMetaTable().putWithBatch(batchOperation,
+            QUOTA_REPAIR_CHECKPOINT_KEY, namePath);
+        metadataManager.getStore().commitBatchOperation(batchOperation);
+      }
+      LOG.debug("Repaired usage of bucket {}: {} bytes, {} namespace",
+          bucketKey, usage.getSpace(), usage.getNamespace());
+    } finally {
+      lock.releaseReadLock(BUCKET_LOCK, volumeName, bucketName);
     }
   }
 
   private <VALUE> void recalculateUsages(
-      Table<String, VALUE> table, Map<String, CountPair> prefixUsageMap,
-      String strType, boolean haveValue) throws UncheckedIOException,
-      UncheckedExecutionException {
-    LOG.info("Starting recalculate {}", strType);
+      Table<String, VALUE> table, String prefix, CountPair usage,
+      String strType, boolean haveValue) throws InterruptedException,
+      UncheckedIOException, UncheckedExecutionException {
+    LOG.debug("Starting recalculate {} of {}", strType, prefix);
 
     List<Table.KeyValue<String, VALUE>> kvList = new ArrayList<>(BATCH_SIZE);
     BlockingQueue<List<Table.KeyValue<String, VALUE>>> q
@@ -284,13 +383,15 @@ private <VALUE> void recalculateUsages(
     List<Future<?>> tasks = new ArrayList<>();
     AtomicBoolean isRunning = new AtomicBoolean(true);
     for (int i = 0; i < TASK_THREAD_CNT; ++i) {
-      tasks.add(executor.submit(() -> captureCount(
-          prefixUsageMap, q, isRunning, haveValue)));
+      tasks.add(executor.submit(() -> {
+        captureCount(usage, q, isRunning, haveValue);
+        return null;
+      }));
     }
     int count = 0;
     long startTime = System.currentTimeMillis();
     try (TableIterator<String, ? extends Table.KeyValue<String, VALUE>>
-             keyIter = table.iterator()) {
+             keyIter = table.iterator(prefix)) {
       while (keyIter.hasNext()) {
         count++;
         kvList.add(keyIter.next());
@@ -304,46 +405,38 @@ private <VALUE> void recalculateUsages(
       for (Future<?> f : tasks) {
         f.get();
       }
-      LOG.info("Recalculate {} completed, count {} time {}ms", strType,
-          count, (System.currentTimeMillis() - startTime));
+      LOG.debug("Recalculate {} of {} completed, count {} time {}ms",
+          strType, prefix, count, (System.currentTimeMillis() - startTime));
     } catch (IOException ex) {
       throw new UncheckedIOException(ex);
     } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
+      tasks.forEach(f -> f.cancel(true));
+      throw ex;
     } catch (ExecutionException ex) {
       throw new UncheckedExecutionException(ex);
+    } finally {
+      isRunning.set(false);
     }
   }
   
-  private <VALUE> void captureCount(
-      Map<String, CountPair> prefixUsageMap,
+  private <VALUE> void captureCount(CountPair usage,
       BlockingQueue<List<Table.KeyValue<String, VALUE>>> q,
-      AtomicBoolean isRunning, boolean haveValue) throws UncheckedIOException {
-    try {
-      while (isRunning.get() || !q.isEmpty()) {
-        List<Table.KeyValue<String, VALUE>> kvList
-            = q.poll(100, TimeUnit.MILLISECONDS);
-        if (null != kvList) {
-          for (Table.KeyValue<String, VALUE> kv : kvList) {
-            extractCount(kv, prefixUsageMap, haveValue);
-          }
+      AtomicBoolean isRunning, boolean haveValue)
+      throws InterruptedException, UncheckedIOException {
+    while (isRunning.get() || !q.isEmpty()) {
+      List<Table.KeyValue<String, VALUE>> kvList
+          = q.poll(100, TimeUnit.MILLISECONDS);
+      if (null != kvList) {
+        for (Table.KeyValue<String, VALUE> kv : kvList) {
+          extractCount(kv, usage, haveValue);
         }
       }
-    } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
     }
   }
   
-  private <VALUE> void extractCount(
-      Table.KeyValue<String, VALUE> kv,
-      Map<String, CountPair> prefixUsageMap,
-      boolean haveValue) {
+  private <VALUE> void extractCount(Table.KeyValue<String, VALUE> kv,
+      CountPair usage, boolean haveValue) {
     try {
-      String prefix = getVolumeBucketPrefix(kv.getKey());
-      CountPair usage = prefixUsageMap.get(prefix);
-      if (null == usage) {
-        return;
-      }
       usage.incrNamespace(1L);
       // avoid decode of value
       if (haveValue) {
@@ -357,33 +450,6 @@ private <VALUE> void extractCount(
     }
   }
   
-  private synchronized void updateCountToBucketInfo(
-      Map<String, OmBucketInfo> bucketInfoMap,
-      Map<String, CountPair> prefixUsageMap) {
-    for (Map.Entry<String, CountPair> entry : prefixUsageMap.entrySet()) {
-      // update bucket info if available
-      OmBucketInfo omBucketInfo = bucketInfoMap.get(entry.getKey());
-      if (omBucketInfo != null) {
-        omBucketInfo.incrUsedBytes(entry.getValue().getSpace());
-        omBucketInfo.incrUsedNamespace(entry.getValue().getNamespace());
-      }
-    }
-  }
-  
-  private String getVolumeBucketPrefix(String key) {
-    // get bucket prefix with /<volume>/<bucket>/ 
-    // -- as represents name in OBS and id in FSO
-    String prefix = key;
-    int idx = key.indexOf(OM_KEY_PREFIX, 1);
-    if (idx != -1) {
-      idx = key.indexOf(OM_KEY_PREFIX, idx + 1);
-      if (idx != -1) {
-        prefix = key.substring(0, idx + 1);
-      }
-    }
-    return prefix;
-  }
-  
   private static class CountPair {
     private AtomicLong space = new AtomicLong();
     private AtomicLong namespace = new AtomicLong();
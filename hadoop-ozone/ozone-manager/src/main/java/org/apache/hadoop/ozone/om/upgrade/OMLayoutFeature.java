@@ -44,7 +44,9 @@ public enum OMLayoutFeature implements LayoutFeature {
 
   FILESYSTEM_SNAPSHOT(5, "Ozone version supporting snapshot"),
 
-  QUOTA(6, "Ozone quota re-calculate");
+  QUOTA(6, "Ozone quota re-calculate"),
+
+  BATCH_KEY_REQUESTS(7, "Create and commit keys in batches");
 
   ///////////////////////////////  /////////////////////////////
   //    Example OM Layout Feature with Actions
@@ -21,13 +21,14 @@
 
 import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.OzoneManager;
-import org.apache.hadoop.ozone.om.service.QuotaRepairTask;
 
 import static org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature.QUOTA;
 import static org.apache.hadoop.ozone.upgrade.LayoutFeature.UpgradeActionType.ON_FIRST_UPGRADE_START;
 
 /**
  * Quota repair for usages action to be triggered during first upgrade.
+ * The repair runs in the background, and resumes on the next OM start if it
+ * does not complete.
  */
 @UpgradeActionOm(type = ON_FIRST_UPGRADE_START, feature =
     QUOTA)
@@ -38,9 +39,7 @@ public void execute(OzoneManager arg) throws Exception {
         OMConfigKeys.OZONE_OM_UPGRADE_QUOTA_RECALCULATE_ENABLE,
         OMConfigKeys.OZONE_OM_UPGRADE_QUOTA_RECALCULATE_ENABLE_DEFAULT);
     if (enabled) {
-      QuotaRepairTask quotaRepairTask = new QuotaRepairTask(
-          arg.getMetadataManager());
-      quotaRepairTask.repair();
+      arg.startQuotaRepair();
     }
   }
 }
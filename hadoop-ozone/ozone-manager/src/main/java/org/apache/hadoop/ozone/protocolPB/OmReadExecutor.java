@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.protocolPB;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.ServiceException;
+import org.apache.hadoop.ipc.RetriableException;
+import org.apache.hadoop.ipc.Server;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.S3Authentication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves OM read-only requests on a bounded pool of reader threads.
+ * <p>
+ * The RPC handler submitting a request waits for its response, so every
+ * running or queued read holds one handler. The number of running and
+ * queued reads is therefore capped at half of the RPC handlers, which leaves
+ * the other half to write requests. Reads beyond the cap are rejected with
+ * {@link RetriableException} right away instead of waiting for a handler.
+ */
+class OmReadExecutor {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OmReadExecutor.class);
+
+  /**
+   * Serves a single read request.
+   */
+  @FunctionalInterface
+  interface ReadHandler {
+    OMResponse handle(OMRequest request) throws ServiceException;
+  }
+
+  private final ThreadPoolExecutor executor;
+  private final Runnable onRejected;
+
+  /**
+   * @param threads number of reader threads
+   * @param queueSize configured number of reads waiting for a reader thread
+   * @param handlerCount number of RPC handler threads of the OM
+   * @param onRejected invoked for every rejected read, e.g. to update metrics
+   */
+  OmReadExecutor(int threads, int queueSize, int handlerCount,
+      Runnable onRejected) {
+    int readThreads = Math.max(1, Math.min(threads, handlerCount / 2));
+    int readQueueSize = Math.max(1,
+        Math.min(queueSize, handlerCount / 2 - readThreads));
+    if (readThreads != threads || readQueueSize != queueSize) {
+      LOG.warn("OM read threads ({}) plus read queue size ({}) must stay " +
+              "below half of the {} RPC handlers, using {} threads and a " +
+              "queue of {} instead.", threads, queueSize, handlerCount,
+          readThreads, readQueueSize);
+    }
+    this.executor = new ThreadPoolExecutor(readThreads, readThreads,
+        60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(readQueueSize),
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("OmReader-%d")
+            .build());
+    this.onRejected = onRejected;
+  }
+
+  /**
+   * Serves the request on a reader thread and waits for its response.
+   * The caller's RPC call and S3 authentication are carried over to the
+   * reader thread, so that ACL checks and audit see the same user.
+   */
+  OMResponse submit(OMRequest request, ReadHandler handler)
+      throws ServiceException {
+    final Server.Call call = Server.getCurCall().get();
+    final S3Authentication s3Auth = OzoneManager.getS3Auth();
+    Future<OMResponse> future;
+    try {
+      future = executor.submit(() -> {
+        Server.getCurCall().set(call);
+        OzoneManager.setS3Auth(s3Auth);
+        try {
+          return handler.handle(request);
+        } finally {
+          OzoneManager.setS3Auth(null);
+          Server.getCurCall().remove();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      onRejected.run();
+      throw new ServiceException(new RetriableException(
+          "OM read queue is full, cannot serve " + request.getCmdType()));
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new ServiceException(new InterruptedIOException(
+          "Interrupted while waiting for " + request.getCmdType()));
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ServiceException) {
+        throw (ServiceException) e.getCause();
+      }
+      throw new ServiceException(e.getCause());
+    }
+  }
+
+  @VisibleForTesting
+  ThreadPoolExecutor getExecutor() {
+    return executor;
+  }
+
+  void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -16,6 +16,12 @@
  */
 package org.apache.hadoop.ozone.protocolPB;
 
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_HANDLER_COUNT_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_HANDLER_COUNT_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_READ_QUEUE_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_READ_QUEUE_SIZE_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_READ_THREAD_NUM_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_READ_THREAD_NUM_KEY;
 import static org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer.RaftServerStatus.LEADER_AND_READY;
 import static org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer.RaftServerStatus.NOT_LEADER;
 import static org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils.createClientRequest;
@@ -26,6 +32,7 @@
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.server.OzoneProtocolMessageDispatcher;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.ProtocolMessageMetrics;
@@ -76,6 +83,8 @@ public class OzoneManagerProtocolServerSideTranslatorPB implements
   private final OzoneProtocolMessageDispatcher<OMRequest, OMResponse,
       ProtocolMessageEnum> dispatcher;
   private final RequestValidations requestValidations;
+  // Serves read-only requests off the RPC handler threads, null if disabled.
+  private final OmReadExecutor readExecutor;
 
   /**
    * Constructs an instance of the server handler.
@@ -127,6 +136,20 @@ public OzoneManagerProtocolServerSideTranslatorPB(
                     ozoneManager.getMetadataManager()))
             .load();
 
+    OzoneConfiguration conf = ozoneManager.getConfiguration();
+    int readThreads = conf.getInt(OZONE_OM_READ_THREAD_NUM_KEY,
+        OZONE_OM_READ_THREAD_NUM_DEFAULT);
+    if (readThreads > 0) {
+      int readQueueSize = conf.getInt(OZONE_OM_READ_QUEUE_SIZE_KEY,
+          OZONE_OM_READ_QUEUE_SIZE_DEFAULT);
+      int handlerCount = conf.getInt(OZONE_OM_HANDLER_COUNT_KEY,
+          OZONE_OM_HANDLER_COUNT_DEFAULT);
+      readExecutor = new OmReadExecutor(readThreads, readQueueSize,
+          handlerCount, () -> ozoneManager.getMetrics()
+              .incNumReadRequestsRejected());
+    } else {
+      readExecutor = null;
+    }
   }
 
   /**
@@ -222,12 +245,25 @@ private OMResponse submitReadRequestToOM(OMRequest request)
     RaftServerStatus raftServerStatus = omRatisServer.checkLeaderStatus();
     if (raftServerStatus == LEADER_AND_READY ||
         request.getCmdType().equals(PrepareStatus)) {
-      return handler.handleReadRequest(request);
+      return handleReadRequest(request);
     } else {
       throw createLeaderErrorException(raftServerStatus);
     }
   }
 
+  /**
+   * Serves a read-only request, on the read executor if one is configured.
+   * See {@link OmReadExecutor} for how the RPC handlers are kept available
+   * for write requests.
+   */
+  private OMResponse handleReadRequest(OMRequest request)
+      throws ServiceException {
+    if (readExecutor == null) {
+      return handler.handleReadRequest(request);
+    }
+    return readExecutor.submit(request, handler::handleReadRequest);
+  }
+
   private ServiceException createLeaderErrorException(
       RaftServerStatus raftServerStatus) {
     if (raftServerStatus == NOT_LEADER) {
@@ -267,11 +303,12 @@ private ServiceException createLeaderNotReadyException() {
   /**
    * Submits request directly to OM.
    */
-  private OMResponse submitRequestDirectlyToOM(OMRequest request) {
+  private OMResponse submitRequestDirectlyToOM(OMRequest request)
+      throws ServiceException {
     OMClientResponse omClientResponse;
     try {
       if (OmUtils.isReadOnly(request)) {
-        return handler.handleReadRequest(request);
+        return handleReadRequest(request);
       } else {
         OMClientRequest omClientRequest =
             createClientRequest(request, ozoneManager);
@@ -323,6 +360,9 @@ private OMResponse createErrorResponse(
   }
 
   public void stop() {
+    if (readExecutor != null) {
+      readExecutor.shutdown();
+    }
     if (!isRatisEnabled) {
       ozoneManagerDoubleBuffer.stop();
     }
@@ -23,7 +23,10 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartKeyInfo;
@@ -64,6 +67,7 @@
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.VOLUME_NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -110,6 +114,31 @@ public void testTransactionTable() throws Exception {
 
   }
 
+  @Test
+  public void testFullCacheTablesLoadedOnStart() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      OMRequestTestUtils.addVolumeToDB("vol" + i, omMetadataManager);
+      omMetadataManager.getBucketTable().put(
+          omMetadataManager.getBucketKey("vol" + i, "bucket" + i),
+          OmBucketInfo.newBuilder().setVolumeName("vol" + i)
+              .setBucketName("bucket" + i).build());
+    }
+
+    omMetadataManager.stop();
+    omMetadataManager.start(ozoneConfiguration);
+
+    for (int i = 0; i < 10; i++) {
+      assertNotNull(omMetadataManager.getVolumeTable().getCacheValue(
+          new CacheKey<>(omMetadataManager.getVolumeKey("vol" + i))));
+      assertNotNull(omMetadataManager.getBucketTable().getCacheValue(
+          new CacheKey<>(omMetadataManager.getBucketKey("vol" + i,
+              "bucket" + i))));
+    }
+    OmMetadataManagerImpl impl = (OmMetadataManagerImpl) omMetadataManager;
+    assertTrue(impl.getDbLoadTimeMs() >= 0);
+    assertTrue(impl.getTableInitTimeMs() >= 0);
+  }
+
   @Test
   public void testListVolumes() throws Exception {
     String ownerName = "owner";
@@ -474,6 +503,32 @@ public void testListKeys() throws Exception {
     }
   }
 
+  @Test
+  public void testListKeysLight() throws Exception {
+    String volumeName = "volumeA";
+    String ozoneBucket = "ozoneBucket";
+    OMRequestTestUtils.addVolumeToDB(volumeName, omMetadataManager);
+    addBucketsToCache(volumeName, ozoneBucket);
+
+    // Keys with even index are in the DB, the others in the table cache.
+    String prefix = "key-";
+    for (int i = 1; i <= 20; i++) {
+      addKeysToOM(volumeName, ozoneBucket, prefix + i, i);
+    }
+
+    for (int maxKeys : new int[] {5, 100}) {
+      ListKeysResult keys = omMetadataManager.listKeys(volumeName,
+          ozoneBucket, null, prefix, maxKeys);
+      ListKeysLightResult lightKeys = omMetadataManager.listKeysLight(
+          volumeName, ozoneBucket, null, prefix, maxKeys);
+
+      assertEquals(keys.getKeys().stream()
+          .map(BasicOmKeyInfo::fromOmKeyInfo)
+          .collect(Collectors.toList()), lightKeys.getKeys());
+      assertEquals(keys.isTruncated(), lightKeys.isTruncated());
+    }
+  }
+
   @Test
   public void testListKeysWithFewDeleteEntriesInCache() throws Exception {
     String volumeNameA = "volumeA";
@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.AddSCMRequest;
+import org.apache.hadoop.hdds.scm.ScmInfo;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.ozone.common.BlockGroup;
+import org.apache.hadoop.ozone.common.DeleteBlockGroupResult;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests {@link ScmBlockAllocationPool}.
+ */
+public class TestScmBlockAllocationPool {
+  private static final long BLOCK_SIZE = 1024;
+  private static final int POOL_SIZE = 4;
+  private static final ReplicationConfig REPLICATION_CONFIG =
+      RatisReplicationConfig.getInstance(ReplicationFactor.THREE);
+
+  private FakeScmBlockClient scm;
+  private ScmBlockAllocationPool pool;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    scm = new FakeScmBlockClient();
+    pool = new ScmBlockAllocationPool(scm, BLOCK_SIZE, POOL_SIZE, 60_000);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    pool.close();
+  }
+
+  @Test
+  public void testBlocksServedFromPool() throws Exception {
+    // Empty pool, served by SCM and refilled in the background.
+    assertEquals(1, allocate(1, new ExcludeList()).size());
+    waitForPooledBlocks(POOL_SIZE);
+    assertEquals(2, scm.allocateCalls.size());
+    assertEquals(POOL_SIZE, (int) scm.allocateCalls.get(1));
+
+    assertEquals(2, allocate(2, new ExcludeList()).size());
+    assertEquals(2, pool.getNumPooledBlocksUsed());
+    assertEquals(2, scm.allocateCalls.size());
+
+    // Other block sizes are not pooled.
+    pool.allocateBlock(BLOCK_SIZE * 2, 1, REPLICATION_CONFIG, "om",
+        new ExcludeList());
+    assertEquals(3, scm.allocateCalls.size());
+    assertEquals(2, pool.getNumPooledBlocks(REPLICATION_CONFIG));
+  }
+
+  @Test
+  public void testExcludedBlocksDiscarded() throws Exception {
+    allocate(1, new ExcludeList());
+    waitForPooledBlocks(POOL_SIZE);
+
+    ExcludeList excludeList = new ExcludeList();
+    excludeList.addPipeline(scm.pipeline.getId());
+    allocate(1, excludeList);
+
+    assertEquals(0, pool.getNumPooledBlocks(REPLICATION_CONFIG));
+    assertEquals(POOL_SIZE, pool.getNumPooledBlocksDiscarded());
+    assertEquals(0, pool.getNumPooledBlocksUsed());
+  }
+
+  @Test
+  public void testExpiredBlocksDiscarded() throws Exception {
+    pool.close();
+    pool = new ScmBlockAllocationPool(scm, BLOCK_SIZE, POOL_SIZE, 0);
+    allocate(1, new ExcludeList());
+    waitForPooledBlocks(POOL_SIZE);
+
+    allocate(1, new ExcludeList());
+    assertEquals(0, pool.getNumPooledBlocksUsed());
+    assertEquals(POOL_SIZE, pool.getNumPooledBlocksDiscarded());
+  }
+
+  private List<AllocatedBlock> allocate(int numBlocks,
+      ExcludeList excludeList) throws Exception {
+    return pool.allocateBlock(BLOCK_SIZE, numBlocks, REPLICATION_CONFIG,
+        "om", excludeList);
+  }
+
+  private void waitForPooledBlocks(int expected) throws Exception {
+    GenericTestUtils.waitFor(
+        () -> pool.getNumPooledBlocks(REPLICATION_CONFIG) == expected,
+        10, 10_000);
+  }
+
+  /**
+   * Allocates blocks on a single pipeline and records the number of blocks
+   * of each call.
+   */
+  private static final class FakeScmBlockClient
+      implements ScmBlockLocationProtocol {
+    private final Pipeline pipeline;
+    private final List<Integer> allocateCalls = new ArrayList<>();
+    private final AtomicLong localId = new AtomicLong();
+
+    private FakeScmBlockClient() throws IOException {
+      pipeline = MockPipeline.createPipeline(3);
+    }
+
+    @Override
+    public synchronized List<AllocatedBlock> allocateBlock(long size,
+        int numBlocks, ReplicationConfig replicationConfig, String owner,
+        ExcludeList excludeList) {
+      allocateCalls.add(numBlocks);
+      List<AllocatedBlock> blocks = new ArrayList<>();
+      for (int i = 0; i < numBlocks; i++) {
+        blocks.add(new AllocatedBlock.Builder()
+            .setPipeline(pipeline)
+            .setContainerBlockID(
+                new ContainerBlockID(1, localId.incrementAndGet()))
+            .build());
+      }
+      return blocks;
+    }
+
+    @Override
+    public List<DeleteBlockGroupResult> deleteKeyBlocks(
+        List<BlockGroup> keyBlocksInfoList) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ScmInfo getScmInfo() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addSCM(AddSCMRequest request) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<DatanodeDetails> sortDatanodes(List<String> nodes,
+        String clientMachine) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.TransactionInfo;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.response.bucket.OMBucketCreateResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyRenameResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeyResponse;
+import org.apache.hadoop.util.Time;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class tests OzoneManagerDoubleBuffer with pipelined flush, where the
+ * batches are committed by a separate thread.
+ */
+public class TestOzoneManagerDoubleBufferWithPipelinedFlush {
+
+  private OMMetadataManager omMetadataManager;
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  private final AtomicLong trxId = new AtomicLong(0);
+  private volatile long lastAppliedIndex;
+  private final long term = 1L;
+
+  @BeforeEach
+  public void setup(@TempDir File tempDir) throws IOException {
+    OzoneConfiguration configuration = new OzoneConfiguration();
+    configuration.set(OZONE_METADATA_DIRS, tempDir.getAbsolutePath());
+    omMetadataManager = new OmMetadataManagerImpl(configuration, null);
+    doubleBuffer = new OzoneManagerDoubleBuffer.Builder()
+        .setOmMetadataManager(omMetadataManager)
+        .setOzoneManagerRatisSnapShot(index ->
+            lastAppliedIndex = index.get(index.size() - 1))
+        .setmaxUnFlushedTransactionCount(10000)
+        .enableRatis(true)
+        .setIndexToTerm((val) -> term)
+        .enablePipelinedFlush(true)
+        .build();
+  }
+
+  @AfterEach
+  public void stop() throws Exception {
+    doubleBuffer.stop();
+    omMetadataManager.stop();
+  }
+
+  @Test
+  @Timeout(300)
+  public void testPipelinedFlush() throws Exception {
+    String volumeName = UUID.randomUUID().toString();
+    int rounds = 10;
+    int bucketsPerRound = 50;
+    for (int r = 0; r < rounds; r++) {
+      for (int i = 0; i < bucketsPerRound; i++) {
+        doubleBuffer.add(createBucketResponse(volumeName),
+            trxId.incrementAndGet());
+      }
+      if (r % 3 == 0) {
+        // All the transactions added so far must be flushed after await.
+        doubleBuffer.awaitFlush();
+        assertEquals(trxId.get(), lastAppliedIndex);
+        assertEquals(trxId.get(), omMetadataManager.countRowsInTable(
+            omMetadataManager.getBucketTable()));
+      }
+    }
+    doubleBuffer.awaitFlush();
+
+    int bucketCount = rounds * bucketsPerRound;
+    assertEquals(bucketCount, doubleBuffer.getFlushedTransactionCount());
+    assertEquals(bucketCount, lastAppliedIndex);
+    assertEquals(bucketCount, omMetadataManager.countRowsInTable(
+        omMetadataManager.getBucketTable()));
+
+    TransactionInfo transactionInfo =
+        omMetadataManager.getTransactionInfoTable().get(TRANSACTION_INFO_KEY);
+    assertNotNull(transactionInfo);
+    assertEquals(bucketCount, transactionInfo.getTransactionIndex());
+    assertEquals(term, transactionInfo.getTerm());
+    assertTrue(doubleBuffer.getOzoneManagerDoubleBufferMetrics()
+        .getPrepareTime().lastStat().numSamples() > 0);
+  }
+
+  @Test
+  @Timeout(300)
+  public void testPrepareWaitsForCommitOnDBReadingResponse()
+      throws Exception {
+    String volumeName = UUID.randomUUID().toString();
+    AtomicBoolean pendingCommitSeen = new AtomicBoolean(false);
+    AtomicInteger renames = new AtomicInteger(0);
+    OMResponse renameOmResponse = OMResponse.newBuilder()
+        .setCmdType(OzoneManagerProtocolProtos.Type.RenameKey)
+        .setStatus(OzoneManagerProtocolProtos.Status.OK)
+        .setRenameKeyResponse(RenameKeyResponse.newBuilder().build())
+        .build();
+    OmKeyInfo keyInfo = new OmKeyInfo.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName("bucket")
+        .setKeyName("key")
+        .build();
+
+    int rounds = 20;
+    for (int r = 0; r < rounds; r++) {
+      for (int i = 0; i < 20; i++) {
+        doubleBuffer.add(createBucketResponse(volumeName),
+            trxId.incrementAndGet());
+      }
+      // Rename reads snapshotRenamedTable from the DB while adding to the
+      // batch, so the previous batch must be committed by then.
+      doubleBuffer.add(new OMKeyRenameResponse(renameOmResponse,
+          "from", "to", keyInfo) {
+        @Override
+        public void addToDBBatch(OMMetadataManager omMetadataManager,
+            BatchOperation batchOperation) {
+          renames.incrementAndGet();
+          if (doubleBuffer.hasPendingCommit()) {
+            pendingCommitSeen.set(true);
+          }
+        }
+      }, trxId.incrementAndGet());
+    }
+    doubleBuffer.awaitFlush();
+
+    assertEquals(rounds, renames.get());
+    assertFalse(pendingCommitSeen.get());
+    assertEquals(trxId.get(), lastAppliedIndex);
+  }
+
+  private OMBucketCreateResponse createBucketResponse(String volumeName) {
+    OmBucketInfo omBucketInfo =
+        OmBucketInfo.newBuilder()
+            .setVolumeName(volumeName)
+            .setBucketName(UUID.randomUUID().toString())
+            .setCreationTime(Time.now())
+            .build();
+    return new OMBucketCreateResponse(
+        OMResponse.newBuilder()
+            .setCmdType(OzoneManagerProtocolProtos.Type.CreateBucket)
+            .setStatus(OzoneManagerProtocolProtos.Status.OK)
+            .setCreateBucketResponse(CreateBucketResponse.newBuilder().build())
+            .build(), omBucketInfo);
+  }
+}
@@ -110,8 +110,8 @@ public void testGetRequestInstanceFromMap() {
         });
 
     Assert.assertEquals(13, omKeyReqsFSO.size());
-    Assert.assertEquals(14, omKeyReqsLegacy.size());
-    Assert.assertEquals(14, omKeyReqsOBS.size());
+    Assert.assertEquals(16, omKeyReqsLegacy.size());
+    Assert.assertEquals(16, omKeyReqsOBS.size());
     // Check if the number of instantiated OMKeyRequest classes is equal to
     // the number of keys in the mapping.
     Assert.assertEquals(
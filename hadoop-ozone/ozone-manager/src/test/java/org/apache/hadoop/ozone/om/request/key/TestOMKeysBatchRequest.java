@@ -0,0 +1,203 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.client.StandaloneReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.hdds.security.token.OzoneBlockTokenSecretManager;
+import org.apache.hadoop.ozone.OzoneConfigKeys;
+import org.apache.hadoop.ozone.audit.AuditLogger;
+import org.apache.hadoop.ozone.om.IOmMetadataReader;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OMMetrics;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.OmMetadataReader;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.OzoneManagerPrepareState;
+import org.apache.hadoop.ozone.om.ResolvedBucket;
+import org.apache.hadoop.ozone.om.ScmClient;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.lock.OzoneLockProvider;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
+import org.apache.hadoop.ozone.om.request.OMClientRequest;
+import org.apache.hadoop.ozone.om.snapshot.ReferenceCounted;
+import org.apache.hadoop.ozone.om.snapshot.SnapshotCache;
+import org.apache.hadoop.ozone.om.upgrade.OMLayoutVersionManager;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.security.acl.OzoneNativeAuthorizer;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.util.Time;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import static org.apache.hadoop.ozone.om.request.OMRequestTestUtils.setupReplicationConfigValidation;
+import static org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature.BATCH_KEY_REQUESTS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Base test class for the CreateKeys and CommitKeys batch requests.
+ */
+@SuppressWarnings("visibilitymodifier")
+public abstract class TestOMKeysBatchRequest {
+  @TempDir
+  private File folder;
+
+  protected OzoneManager ozoneManager;
+  protected OMMetrics omMetrics;
+  protected OMMetadataManager omMetadataManager;
+  protected OMLayoutVersionManager lvm;
+
+  protected static final long CONTAINER_ID = 1000L;
+  protected static final long LOCAL_ID = 100L;
+
+  protected String volumeName;
+  protected String bucketName;
+  protected String keyName;
+  protected HddsProtos.ReplicationType replicationType;
+  protected HddsProtos.ReplicationFactor replicationFactor;
+  protected long clientID;
+  protected long scmBlockSize = 1000L;
+  protected long dataSize;
+
+  // Just setting ozoneManagerDoubleBuffer which does nothing.
+  protected final OzoneManagerDoubleBufferHelper
+      ozoneManagerDoubleBufferHelper = ((response, transactionIndex) -> null);
+
+  @BeforeEach
+  public void setup() throws Exception {
+    ozoneManager = mock(OzoneManager.class);
+    omMetrics = OMMetrics.create();
+    OzoneConfiguration ozoneConfiguration = new OzoneConfiguration();
+    ozoneConfiguration.set(OMConfigKeys.OZONE_OM_DB_DIRS,
+        new File(folder, "om").getAbsolutePath());
+    ozoneConfiguration.set(OzoneConfigKeys.OZONE_METADATA_DIRS,
+        new File(folder, "meta").getAbsolutePath());
+    omMetadataManager = new OmMetadataManagerImpl(ozoneConfiguration,
+        ozoneManager);
+    when(ozoneManager.getMetrics()).thenReturn(omMetrics);
+    when(ozoneManager.getMetadataManager()).thenReturn(omMetadataManager);
+    when(ozoneManager.getConfiguration()).thenReturn(ozoneConfiguration);
+    lvm = mock(OMLayoutVersionManager.class);
+    when(lvm.isAllowed(anyString())).thenReturn(true);
+    when(lvm.getFeature(anyString())).thenReturn(BATCH_KEY_REQUESTS);
+    when(ozoneManager.getVersionManager()).thenReturn(lvm);
+    when(ozoneManager.isRatisEnabled()).thenReturn(true);
+    when(ozoneManager.getAuditLogger()).thenReturn(mock(AuditLogger.class));
+    when(ozoneManager.isAdmin(any(UserGroupInformation.class)))
+        .thenReturn(true);
+    when(ozoneManager.getOzoneLockProvider())
+        .thenReturn(new OzoneLockProvider(false, false));
+    setupReplicationConfigValidation(ozoneManager, ozoneConfiguration);
+
+    ScmClient scmClient = mock(ScmClient.class);
+    ScmBlockLocationProtocol scmBlockLocationProtocol =
+        mock(ScmBlockLocationProtocol.class);
+    when(ozoneManager.getScmClient()).thenReturn(scmClient);
+    when(scmClient.getBlockClient()).thenReturn(scmBlockLocationProtocol);
+    when(ozoneManager.getBlockTokenSecretManager())
+        .thenReturn(mock(OzoneBlockTokenSecretManager.class));
+    when(ozoneManager.getScmBlockSize()).thenReturn(scmBlockSize);
+    when(ozoneManager.getPreallocateBlocksMax()).thenReturn(2);
+    when(ozoneManager.isGrpcBlockTokenEnabled()).thenReturn(false);
+    when(ozoneManager.getOMNodeId()).thenReturn(UUID.randomUUID().toString());
+    when(ozoneManager.getAccessAuthorizer())
+        .thenReturn(new OzoneNativeAuthorizer());
+
+    ReferenceCounted<IOmMetadataReader, SnapshotCache> rcOmMetadataReader =
+        mock(ReferenceCounted.class);
+    when(ozoneManager.getOmMetadataReader()).thenReturn(rcOmMetadataReader);
+    OmMetadataReader omMetadataReader = mock(OmMetadataReader.class);
+    when(omMetadataReader.isNativeAuthorizerEnabled()).thenReturn(true);
+    when(rcOmMetadataReader.get()).thenReturn(omMetadataReader);
+    when(ozoneManager.getPrepareState())
+        .thenReturn(new OzoneManagerPrepareState(ozoneConfiguration));
+
+    Pipeline pipeline = Pipeline.newBuilder()
+        .setState(Pipeline.PipelineState.OPEN)
+        .setId(PipelineID.randomId())
+        .setReplicationConfig(
+            StandaloneReplicationConfig.getInstance(ReplicationFactor.ONE))
+        .setNodes(new ArrayList<>())
+        .build();
+    when(scmBlockLocationProtocol.allocateBlock(anyLong(), anyInt(),
+        any(ReplicationConfig.class),
+        anyString(), any(ExcludeList.class))).thenAnswer(invocation -> {
+          int num = invocation.getArgument(1);
+          List<AllocatedBlock> allocatedBlocks = new ArrayList<>(num);
+          for (int i = 0; i < num; i++) {
+            allocatedBlocks.add(new AllocatedBlock.Builder()
+                .setPipeline(pipeline)
+                .setContainerBlockID(
+                    new ContainerBlockID(CONTAINER_ID + i, LOCAL_ID + i))
+                .build());
+          }
+          return allocatedBlocks;
+        });
+
+    volumeName = UUID.randomUUID().toString();
+    bucketName = UUID.randomUUID().toString();
+    keyName = UUID.randomUUID().toString();
+    replicationFactor = HddsProtos.ReplicationFactor.ONE;
+    replicationType = HddsProtos.ReplicationType.RATIS;
+    clientID = Time.now();
+    dataSize = 1000L;
+
+    Pair<String, String> volumeAndBucket = Pair.of(volumeName, bucketName);
+    when(ozoneManager.resolveBucketLink(any(KeyArgs.class),
+        any(OMClientRequest.class)))
+        .thenReturn(new ResolvedBucket(volumeAndBucket, volumeAndBucket));
+    when(ozoneManager.resolveBucketLink(any(Pair.class),
+        any(OMClientRequest.class)))
+        .thenReturn(new ResolvedBucket(volumeAndBucket, volumeAndBucket));
+  }
+
+  @AfterEach
+  public void stop() throws Exception {
+    omMetrics.unRegister();
+    omMetadataManager.stop();
+    Mockito.framework().clearInlineMocks();
+  }
+
+  public BucketLayout getBucketLayout() {
+    return BucketLayout.OBJECT_STORE;
+  }
+}
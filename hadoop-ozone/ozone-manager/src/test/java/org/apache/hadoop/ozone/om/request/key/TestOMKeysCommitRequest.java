@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION;
+import static org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature.BATCH_KEY_REQUESTS;
+import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.KEY_NOT_FOUND;
+import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.OK;
+import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type.CommitKeys;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+/**
+ * Class tests OMKeysCommitRequest.
+ */
+public class TestOMKeysCommitRequest extends TestOMKeysBatchRequest {
+
+  @Test
+  public void testKeysCommitRequest() throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, getBucketLayout());
+
+    // Open three keys, the fourth key of the batch has no open session.
+    List<String> keyNames = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      String name = keyName + i;
+      OMRequestTestUtils.addKeyToTable(true, volumeName, bucketName, name,
+          clientID, replicationType, replicationFactor, omMetadataManager);
+      keyNames.add(name);
+    }
+    keyNames.add(keyName + "-missing");
+
+    OMRequest modifiedOmRequest = new OMKeysCommitRequest(
+        createCommitKeysRequest(keyNames), getBucketLayout())
+        .preExecute(ozoneManager);
+    OMKeysCommitRequest omKeysCommitRequest =
+        new OMKeysCommitRequest(modifiedOmRequest, getBucketLayout());
+
+    OMClientResponse omClientResponse =
+        omKeysCommitRequest.validateAndUpdateCache(ozoneManager, 100L,
+            ozoneManagerDoubleBufferHelper);
+
+    // The batch succeeds, each key carries its own status.
+    assertEquals(OK, omClientResponse.getOMResponse().getStatus());
+    CommitKeysResponse response =
+        omClientResponse.getOMResponse().getCommitKeysResponse();
+    assertEquals(keyNames.size(), response.getResultsCount());
+    for (int i = 0; i < 3; i++) {
+      assertEquals(OK, response.getResults(i).getStatus());
+      OmKeyInfo omKeyInfo = omMetadataManager.getKeyTable(getBucketLayout())
+          .get(omMetadataManager.getOzoneKey(volumeName, bucketName,
+              keyNames.get(i)));
+      assertNotNull(omKeyInfo);
+      assertNull(omMetadataManager.getOpenKeyTable(getBucketLayout())
+          .get(omMetadataManager.getOpenKey(volumeName, bucketName,
+              keyNames.get(i), clientID)));
+    }
+    assertEquals(KEY_NOT_FOUND, response.getResults(3).getStatus());
+  }
+
+  @Test
+  public void testKeysCommitRequestWithMultipleBuckets() throws Exception {
+    OMRequest omRequest = createCommitKeysRequest(
+        Collections.singletonList(keyName));
+    CommitKeysRequest commitKeysRequest = omRequest.getCommitKeysRequest()
+        .toBuilder()
+        .addCommitKeyRequests(CommitKeyRequest.newBuilder()
+            .setClientID(clientID)
+            .setKeyArgs(KeyArgs.newBuilder().setVolumeName(volumeName)
+                .setBucketName(bucketName + "-other").setKeyName(keyName)))
+        .build();
+
+    OMKeysCommitRequest omKeysCommitRequest = new OMKeysCommitRequest(
+        omRequest.toBuilder().setCommitKeysRequest(commitKeysRequest).build(),
+        getBucketLayout());
+
+    OMException e = assertThrows(OMException.class,
+        () -> omKeysCommitRequest.preExecute(ozoneManager));
+    assertEquals(OMException.ResultCodes.INVALID_REQUEST,
+        e.getResult());
+  }
+
+  @Test
+  public void testKeysCommitRequestBeforeFinalization() {
+    when(lvm.isAllowed(BATCH_KEY_REQUESTS.name())).thenReturn(false);
+    OMKeysCommitRequest omKeysCommitRequest = new OMKeysCommitRequest(
+        createCommitKeysRequest(Collections.singletonList(keyName)),
+        getBucketLayout());
+
+    OMException e = assertThrows(OMException.class,
+        () -> omKeysCommitRequest.preExecute(ozoneManager));
+    assertEquals(NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION, e.getResult());
+  }
+
+  private OMRequest createCommitKeysRequest(List<String> keyNames) {
+    CommitKeysRequest.Builder commitKeysRequest =
+        CommitKeysRequest.newBuilder();
+    for (String name : keyNames) {
+      KeyArgs keyArgs = KeyArgs.newBuilder().setDataSize(dataSize)
+          .setVolumeName(volumeName).setBucketName(bucketName)
+          .setKeyName(name).setType(replicationType)
+          .setFactor(replicationFactor).build();
+      commitKeysRequest.addCommitKeyRequests(CommitKeyRequest.newBuilder()
+          .setKeyArgs(keyArgs).setClientID(clientID));
+    }
+    return OMRequest.newBuilder().setClientId(UUID.randomUUID().toString())
+        .setCmdType(CommitKeys)
+        .setCommitKeysRequest(commitKeysRequest).build();
+  }
+}
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import org.apache.hadoop.ozone.OmUtils;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INVALID_REQUEST;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.NOT_SUPPORTED_OPERATION;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION;
+import static org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature.BATCH_KEY_REQUESTS;
+import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.OK;
+import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type.CreateKeys;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Class tests OMKeysCreateRequest.
+ */
+public class TestOMKeysCreateRequest extends TestOMKeysBatchRequest {
+
+  @Test
+  public void testKeysCreateRequest() throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, getBucketLayout());
+
+    List<String> keyNames = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      keyNames.add(keyName + i);
+    }
+
+    OMRequest modifiedOmRequest = new OMKeysCreateRequest(
+        createCreateKeysRequest(keyNames), getBucketLayout())
+        .preExecute(ozoneManager);
+
+    // Each key of the batch is pre-processed as a single key create.
+    List<CreateKeyRequest> createKeyRequests = modifiedOmRequest
+        .getCreateKeysRequest().getCreateKeyRequestsList();
+    assertEquals(keyNames.size(), createKeyRequests.size());
+    for (CreateKeyRequest createKeyRequest : createKeyRequests) {
+      assertTrue(createKeyRequest.hasClientID());
+      assertTrue(createKeyRequest.getKeyArgs().getKeyLocationsCount() > 0);
+    }
+
+    OMKeysCreateRequest omKeysCreateRequest =
+        new OMKeysCreateRequest(modifiedOmRequest, getBucketLayout());
+    OMClientResponse omClientResponse =
+        omKeysCreateRequest.validateAndUpdateCache(ozoneManager, 100L,
+            ozoneManagerDoubleBufferHelper);
+
+    assertEquals(OK, omClientResponse.getOMResponse().getStatus());
+    CreateKeysResponse response =
+        omClientResponse.getOMResponse().getCreateKeysResponse();
+    assertEquals(keyNames.size(), response.getResultsCount());
+
+    // Keys share the transaction but must get distinct object IDs.
+    Set<Long> objectIDs = new HashSet<>();
+    for (int i = 0; i < keyNames.size(); i++) {
+      assertEquals(OK, response.getResults(i).getStatus());
+      CreateKeyResponse createKeyResponse =
+          response.getResults(i).getCreateKeyResponse();
+      OmKeyInfo omKeyInfo =
+          omMetadataManager.getOpenKeyTable(getBucketLayout())
+              .get(omMetadataManager.getOpenKey(volumeName, bucketName,
+                  keyNames.get(i), createKeyResponse.getID()));
+      assertNotNull(omKeyInfo);
+      objectIDs.add(omKeyInfo.getObjectID());
+      assertNull(omMetadataManager.getKeyTable(getBucketLayout())
+          .get(omMetadataManager.getOzoneKey(volumeName, bucketName,
+              keyNames.get(i))));
+    }
+    assertEquals(keyNames.size(), objectIDs.size());
+  }
+
+  @Test
+  public void testKeysCreateRequestTooManyKeys() {
+    List<String> keyNames = new ArrayList<>();
+    for (int i = 0; i <= OmUtils.MAX_OBJECT_IDS_PER_TRXN; i++) {
+      keyNames.add(keyName + i);
+    }
+    OMKeysCreateRequest omKeysCreateRequest = new OMKeysCreateRequest(
+        createCreateKeysRequest(keyNames), getBucketLayout());
+
+    OMException e = assertThrows(OMException.class,
+        () -> omKeysCreateRequest.preExecute(ozoneManager));
+    assertEquals(INVALID_REQUEST, e.getResult());
+  }
+
+  @Test
+  public void testKeysCreateRequestWithFileSystemPaths() {
+    when(ozoneManager.getEnableFileSystemPaths()).thenReturn(true);
+    OMKeysCreateRequest omKeysCreateRequest = new OMKeysCreateRequest(
+        createCreateKeysRequest(Collections.singletonList(keyName)),
+        BucketLayout.LEGACY);
+
+    OMException e = assertThrows(OMException.class,
+        () -> omKeysCreateRequest.preExecute(ozoneManager));
+    assertEquals(NOT_SUPPORTED_OPERATION, e.getResult());
+  }
+
+  @Test
+  public void testKeysCreateRequestBeforeFinalization() {
+    when(lvm.isAllowed(BATCH_KEY_REQUESTS.name())).thenReturn(false);
+    OMKeysCreateRequest omKeysCreateRequest = new OMKeysCreateRequest(
+        createCreateKeysRequest(Collections.singletonList(keyName)),
+        getBucketLayout());
+
+    OMException e = assertThrows(OMException.class,
+        () -> omKeysCreateRequest.preExecute(ozoneManager));
+    assertEquals(NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION, e.getResult());
+  }
+
+  private OMRequest createCreateKeysRequest(List<String> keyNames) {
+    CreateKeysRequest.Builder createKeysRequest =
+        CreateKeysRequest.newBuilder();
+    for (String name : keyNames) {
+      KeyArgs keyArgs = KeyArgs.newBuilder().setDataSize(dataSize)
+          .setVolumeName(volumeName).setBucketName(bucketName)
+          .setKeyName(name).setType(replicationType)
+          .setFactor(replicationFactor).build();
+      createKeysRequest.addCreateKeyRequests(CreateKeyRequest.newBuilder()
+          .setKeyArgs(keyArgs));
+    }
+    return OMRequest.newBuilder().setClientId(UUID.randomUUID().toString())
+        .setCmdType(CreateKeys)
+        .setCreateKeysRequest(createKeysRequest).build();
+  }
+}
@@ -19,25 +19,60 @@
 
 package org.apache.hadoop.ozone.om.service;
 
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
 import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
-import org.apache.hadoop.ozone.om.request.key.TestOMKeyRequest;
 import org.apache.hadoop.util.Time;
-import org.junit.Assert;
-import org.junit.Test;
+import org.apache.ozone.test.GenericTestUtils;
+import org.apache.ratis.util.function.CheckedRunnable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_DIRS;
 
 /**
  * Test class for quota repair.
  */
-public class TestQuotaRepairTask extends TestOMKeyRequest {
+public class TestQuotaRepairTask {
+  private static final CheckedRunnable<InterruptedException> NO_BARRIER =
+      () -> { };
+
+  @TempDir
+  private File folder;
+  private OMMetadataManager omMetadataManager;
+  private String volumeName;
+  private String bucketName;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_OM_DB_DIRS, folder.getAbsolutePath());
+    omMetadataManager = new OmMetadataManagerImpl(conf, null);
+    volumeName = UUID.randomUUID().toString();
+    bucketName = UUID.randomUUID().toString();
+  }
+
+  @AfterEach
+  public void cleanup() throws Exception {
+    omMetadataManager.stop();
+  }
 
   @Test
   public void testQuotaRepair() throws Exception {
@@ -78,14 +113,15 @@ public void testQuotaRepair() throws Exception {
     // and directory table
     OmBucketInfo obsBucketInfo = omMetadataManager.getBucketTable().get(
         omMetadataManager.getBucketKey(volumeName, bucketName));
-    Assert.assertTrue(obsBucketInfo.getUsedNamespace() == 0);
-    Assert.assertTrue(obsBucketInfo.getUsedBytes() == 0);
+    Assertions.assertTrue(obsBucketInfo.getUsedNamespace() == 0);
+    Assertions.assertTrue(obsBucketInfo.getUsedBytes() == 0);
     OmBucketInfo fsoBucketInfo = omMetadataManager.getBucketTable().get(
         omMetadataManager.getBucketKey(volumeName, fsoBucketName));
-    Assert.assertTrue(fsoBucketInfo.getUsedNamespace() == 0);
-    Assert.assertTrue(fsoBucketInfo.getUsedBytes() == 0);
+    Assertions.assertTrue(fsoBucketInfo.getUsedNamespace() == 0);
+    Assertions.assertTrue(fsoBucketInfo.getUsedBytes() == 0);
     
-    QuotaRepairTask quotaRepairTask = new QuotaRepairTask(omMetadataManager);
+    QuotaRepairTask quotaRepairTask = new QuotaRepairTask(omMetadataManager,
+        NO_BARRIER);
     quotaRepairTask.repair();
 
     // 10 files of each type, obs have replication of three and
@@ -94,10 +130,114 @@ public void testQuotaRepair() throws Exception {
         omMetadataManager.getBucketKey(volumeName, bucketName));
     OmBucketInfo fsoUpdateBucketInfo = omMetadataManager.getBucketTable().get(
         omMetadataManager.getBucketKey(volumeName, fsoBucketName));
-    Assert.assertTrue(obsUpdateBucketInfo.getUsedNamespace() == 10);
-    Assert.assertTrue(obsUpdateBucketInfo.getUsedBytes() == 30000);
-    Assert.assertTrue(fsoUpdateBucketInfo.getUsedNamespace() == 13);
-    Assert.assertTrue(fsoUpdateBucketInfo.getUsedBytes() == 10000);
+    Assertions.assertTrue(obsUpdateBucketInfo.getUsedNamespace() == 10);
+    Assertions.assertTrue(obsUpdateBucketInfo.getUsedBytes() == 30000);
+    Assertions.assertTrue(fsoUpdateBucketInfo.getUsedNamespace() == 13);
+    Assertions.assertTrue(fsoUpdateBucketInfo.getUsedBytes() == 10000);
+  }
+
+  @Test
+  public void testQuotaRepairResumesFromCheckpoint() throws Exception {
+    String doneBucketName = "a" + bucketName;
+    String pendingBucketName = "b" + bucketName;
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, doneBucketName,
+        omMetadataManager, BucketLayout.OBJECT_STORE);
+    OMRequestTestUtils.addBucketToDB(volumeName, pendingBucketName,
+        omMetadataManager, BucketLayout.OBJECT_STORE);
+    for (String bucket : new String[] {doneBucketName, pendingBucketName}) {
+      OMRequestTestUtils.addKeyToTableAndCache(volumeName, bucket, "key",
+          -1, HddsProtos.ReplicationType.RATIS,
+          HddsProtos.ReplicationFactor.THREE, 150, omMetadataManager);
+      zeroOutBucketUsedBytes(volumeName, bucket, 1L);
+    }
+
+    // the first bucket was already repaired by an interrupted run
+    omMetadataManager.getMetaTable().put(
+        QuotaRepairTask.QUOTA_REPAIR_CHECKPOINT_KEY,
+        OM_KEY_PREFIX + volumeName + OM_KEY_PREFIX + doneBucketName
+            + OM_KEY_PREFIX);
+
+    QuotaRepairTask quotaRepairTask = new QuotaRepairTask(omMetadataManager,
+        NO_BARRIER);
+    quotaRepairTask.repair();
+
+    OmBucketInfo doneBucketInfo = omMetadataManager.getBucketTable().get(
+        omMetadataManager.getBucketKey(volumeName, doneBucketName));
+    Assertions.assertEquals(0, doneBucketInfo.getUsedNamespace());
+    OmBucketInfo pendingBucketInfo = omMetadataManager.getBucketTable().get(
+        omMetadataManager.getBucketKey(volumeName, pendingBucketName));
+    Assertions.assertEquals(1, pendingBucketInfo.getUsedNamespace());
+    Assertions.assertEquals(3000, pendingBucketInfo.getUsedBytes());
+    Assertions.assertNull(omMetadataManager.getMetaTable().get(
+        QuotaRepairTask.QUOTA_REPAIR_CHECKPOINT_KEY));
+  }
+
+  @Test
+  public void testQuotaRepairInterruptedPersistsNothing() throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, BucketLayout.OBJECT_STORE);
+    OMRequestTestUtils.addKeyToTableAndCache(volumeName, bucketName, "key",
+        -1, HddsProtos.ReplicationType.RATIS,
+        HddsProtos.ReplicationFactor.THREE, 150, omMetadataManager);
+    zeroOutBucketUsedBytes(volumeName, bucketName, 1L);
+
+    // interrupted while waiting for the flush
+    QuotaRepairTask quotaRepairTask = new QuotaRepairTask(omMetadataManager,
+        () -> {
+          throw new InterruptedException();
+        });
+    Assertions.assertThrows(InterruptedException.class,
+        quotaRepairTask::repair);
+
+    OmBucketInfo bucketInfo = omMetadataManager.getBucketTable().get(
+        omMetadataManager.getBucketKey(volumeName, bucketName));
+    Assertions.assertEquals(0, bucketInfo.getUsedNamespace());
+    Assertions.assertEquals(0, bucketInfo.getUsedBytes());
+    // pending, no bucket repaired yet
+    Assertions.assertEquals("", omMetadataManager.getMetaTable().get(
+        QuotaRepairTask.QUOTA_REPAIR_CHECKPOINT_KEY));
+  }
+
+  @Test
+  public void testQuotaRepairInBackground() throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, BucketLayout.OBJECT_STORE);
+    OMRequestTestUtils.addKeyToTableAndCache(volumeName, bucketName, "key",
+        -1, HddsProtos.ReplicationType.RATIS,
+        HddsProtos.ReplicationFactor.THREE, 150, omMetadataManager);
+    zeroOutBucketUsedBytes(volumeName, bucketName, 1L);
+
+    AtomicInteger flushes = new AtomicInteger();
+    QuotaRepairTask quotaRepairTask = new QuotaRepairTask(omMetadataManager,
+        flushes::incrementAndGet);
+    quotaRepairTask.start();
+    GenericTestUtils.waitFor(() -> !quotaRepairTask.isRunning(), 100, 10000);
+    quotaRepairTask.stop();
+
+    // the bucket was scanned only after the applied transactions were flushed
+    Assertions.assertEquals(1, flushes.get());
+    OmBucketInfo bucketInfo = omMetadataManager.getBucketTable().get(
+        omMetadataManager.getBucketKey(volumeName, bucketName));
+    Assertions.assertEquals(1, bucketInfo.getUsedNamespace());
+    Assertions.assertEquals(3000, bucketInfo.getUsedBytes());
+    Assertions.assertFalse(QuotaRepairTask.isPending(omMetadataManager));
+  }
+
+  @Test
+  public void testStoppedQuotaRepairIsPending() throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, BucketLayout.OBJECT_STORE);
+
+    // the flush never completes until the repair is stopped
+    QuotaRepairTask quotaRepairTask = new QuotaRepairTask(omMetadataManager,
+        () -> Thread.sleep(Long.MAX_VALUE));
+    quotaRepairTask.start();
+    Assertions.assertTrue(QuotaRepairTask.isPending(omMetadataManager));
+    quotaRepairTask.stop();
+
+    Assertions.assertFalse(quotaRepairTask.isRunning());
+    Assertions.assertEquals("", omMetadataManager.getMetaTable().get(
+        QuotaRepairTask.QUOTA_REPAIR_CHECKPOINT_KEY));
   }
 
   @Test
@@ -121,23 +261,24 @@ public void testQuotaRepairForOldVersionVolumeBucket() throws Exception {
     // pre check for quota flag
     OmBucketInfo bucketInfo = omMetadataManager.getBucketTable().get(
         omMetadataManager.getBucketKey(volumeName, bucketName));
-    Assert.assertTrue(bucketInfo.getQuotaInBytes() == -2);
+    Assertions.assertTrue(bucketInfo.getQuotaInBytes() == -2);
     
     omVolumeArgs = omMetadataManager.getVolumeTable().get(
         omMetadataManager.getVolumeKey(volumeName));
-    Assert.assertTrue(omVolumeArgs.getQuotaInBytes() == -2);
-    Assert.assertTrue(omVolumeArgs.getQuotaInNamespace() == -2);
+    Assertions.assertTrue(omVolumeArgs.getQuotaInBytes() == -2);
+    Assertions.assertTrue(omVolumeArgs.getQuotaInNamespace() == -2);
 
-    QuotaRepairTask quotaRepairTask = new QuotaRepairTask(omMetadataManager);
+    QuotaRepairTask quotaRepairTask = new QuotaRepairTask(omMetadataManager,
+        NO_BARRIER);
     quotaRepairTask.repair();
 
     bucketInfo = omMetadataManager.getBucketTable().get(
         omMetadataManager.getBucketKey(volumeName, bucketName));
-    Assert.assertTrue(bucketInfo.getQuotaInBytes() == -1);
+    Assertions.assertTrue(bucketInfo.getQuotaInBytes() == -1);
     OmVolumeArgs volArgsVerify = omMetadataManager.getVolumeTable()
         .get(omMetadataManager.getVolumeKey(volumeName));
-    Assert.assertTrue(volArgsVerify.getQuotaInBytes() == -1);
-    Assert.assertTrue(volArgsVerify.getQuotaInNamespace() == -1);
+    Assertions.assertTrue(volArgsVerify.getQuotaInBytes() == -1);
+    Assertions.assertTrue(volArgsVerify.getQuotaInNamespace() == -1);
   }
 
   private void zeroOutBucketUsedBytes(String volumeName, String bucketName,
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.protocolPB;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.protobuf.ServiceException;
+import org.apache.hadoop.ipc.ClientId;
+import org.apache.hadoop.ipc.RPC;
+import org.apache.hadoop.ipc.RetriableException;
+import org.apache.hadoop.ipc.Server;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.S3Authentication;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link OmReadExecutor}.
+ */
+public class TestOmReadExecutor {
+
+  private static final OMRequest REQUEST = OMRequest.newBuilder()
+      .setCmdType(Type.ListVolume)
+      .setClientId("client")
+      .build();
+
+  private static final OMResponse RESPONSE = OMResponse.newBuilder()
+      .setCmdType(Type.ListVolume)
+      .setStatus(Status.OK)
+      .build();
+
+  private final AtomicInteger rejected = new AtomicInteger();
+  private OmReadExecutor readExecutor;
+  private ExecutorService callers;
+
+  @BeforeEach
+  public void setup() {
+    callers = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  public void cleanup() {
+    if (readExecutor != null) {
+      readExecutor.shutdown();
+    }
+    callers.shutdownNow();
+  }
+
+  @Test
+  public void testRejectsWhenQueueFull() throws Exception {
+    readExecutor = new OmReadExecutor(1, 1, 100, rejected::incrementAndGet);
+    CountDownLatch release = new CountDownLatch(1);
+    OmReadExecutor.ReadHandler blocking = request -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return RESPONSE;
+    };
+
+    // One read running on the reader thread, one waiting in the queue.
+    CompletableFuture<OMResponse> running = CompletableFuture.supplyAsync(
+        () -> submitUnchecked(blocking), callers);
+    GenericTestUtils.waitFor(
+        () -> readExecutor.getExecutor().getActiveCount() == 1, 10, 10000);
+    CompletableFuture<OMResponse> queued = CompletableFuture.supplyAsync(
+        () -> submitUnchecked(blocking), callers);
+    GenericTestUtils.waitFor(
+        () -> readExecutor.getExecutor().getQueue().size() == 1, 10, 10000);
+
+    ServiceException e = assertThrows(ServiceException.class,
+        () -> readExecutor.submit(REQUEST, blocking));
+    assertInstanceOf(RetriableException.class, e.getCause());
+    assertEquals(1, rejected.get());
+
+    release.countDown();
+    assertSame(RESPONSE, running.get(10, TimeUnit.SECONDS));
+    assertSame(RESPONSE, queued.get(10, TimeUnit.SECONDS));
+    assertEquals(1, rejected.get());
+  }
+
+  @Test
+  public void testCarriesCallAndS3AuthToReaderThread() throws Exception {
+    readExecutor = new OmReadExecutor(1, 1, 100, rejected::incrementAndGet);
+    Server.Call call = new Server.Call(1, 0, null, null,
+        RPC.RpcKind.RPC_PROTOCOL_BUFFER, ClientId.getClientId());
+    S3Authentication s3Auth = S3Authentication.newBuilder()
+        .setAccessId("accessId")
+        .setSignature("signature")
+        .setStringToSign("stringToSign")
+        .build();
+    AtomicReference<Server.Call> seenCall = new AtomicReference<>();
+    AtomicReference<S3Authentication> seenAuth = new AtomicReference<>();
+    AtomicReference<String> seenThread = new AtomicReference<>();
+    OmReadExecutor.ReadHandler recording = request -> {
+      seenCall.set(Server.getCurCall().get());
+      seenAuth.set(OzoneManager.getS3Auth());
+      seenThread.set(Thread.currentThread().getName());
+      return RESPONSE;
+    };
+
+    Server.getCurCall().set(call);
+    OzoneManager.setS3Auth(s3Auth);
+    try {
+      assertSame(RESPONSE, readExecutor.submit(REQUEST, recording));
+    } finally {
+      OzoneManager.setS3Auth(null);
+      Server.getCurCall().remove();
+    }
+    assertSame(call, seenCall.get());
+    assertSame(s3Auth, seenAuth.get());
+    assertTrue(seenThread.get().startsWith("OmReader-"));
+
+    // The reader thread must not leak the context into the next request.
+    assertSame(RESPONSE, readExecutor.submit(REQUEST, recording));
+    assertNull(seenCall.get());
+    assertNull(seenAuth.get());
+  }
+
+  @Test
+  public void testPropagatesHandlerFailure() {
+    readExecutor = new OmReadExecutor(1, 1, 100, rejected::incrementAndGet);
+    OMException failure = new OMException("volume not found",
+        OMException.ResultCodes.VOLUME_NOT_FOUND);
+
+    ServiceException e = assertThrows(ServiceException.class,
+        () -> readExecutor.submit(REQUEST, request -> {
+          throw new ServiceException(failure);
+        }));
+    assertSame(failure, e.getCause());
+    assertEquals(0, rejected.get());
+  }
+
+  @Test
+  public void testBoundedBelowHandlerCount() {
+    readExecutor =
+        new OmReadExecutor(10, 1024, 100, rejected::incrementAndGet);
+    assertEquals(10, readExecutor.getExecutor().getMaximumPoolSize());
+    assertEquals(40,
+        readExecutor.getExecutor().getQueue().remainingCapacity());
+    readExecutor.shutdown();
+
+    readExecutor = new OmReadExecutor(100, 32, 20, rejected::incrementAndGet);
+    assertEquals(10, readExecutor.getExecutor().getMaximumPoolSize());
+    assertEquals(1,
+        readExecutor.getExecutor().getQueue().remainingCapacity());
+  }
+
+  private OMResponse submitUnchecked(OmReadExecutor.ReadHandler handler) {
+    try {
+      return readExecutor.submit(REQUEST, handler);
+    } catch (ServiceException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
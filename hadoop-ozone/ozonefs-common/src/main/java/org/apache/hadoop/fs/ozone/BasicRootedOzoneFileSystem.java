@@ -18,6 +18,7 @@
 package org.apache.hadoop.fs.ozone;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
 import org.apache.hadoop.fs.CreateFlag;
@@ -61,9 +62,11 @@
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -71,6 +74,14 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_DEFAULT_USER;
@@ -80,6 +91,10 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_ENABLED;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_THREADS;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_THREADS_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_MAX_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE_DEFAULT;
@@ -116,6 +131,13 @@ public class BasicRootedOzoneFileSystem extends FileSystem {
   private int listingPageSize =
       OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
 
+  private boolean listingPrefetchEnabled =
+      OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT;
+  private int listingPrefetchThreads =
+      OZONE_FS_LISTING_PREFETCH_THREADS_DEFAULT;
+  // Created on first use by listStatusIterator, shut down on close.
+  private ExecutorService listingPrefetchExecutor;
+
   private boolean hsyncEnabled = OZONE_FS_HSYNC_ENABLED_DEFAULT;
   private boolean isRatisStreamingEnabled
       = OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED_DEFAULT;
@@ -138,6 +160,12 @@ public void initialize(URI name, Configuration conf) throws IOException {
     listingPageSize = OzoneClientUtils.limitValue(listingPageSize,
         OZONE_FS_LISTING_PAGE_SIZE,
         OZONE_FS_MAX_LISTING_PAGE_SIZE);
+    listingPrefetchEnabled = conf.getBoolean(
+        OZONE_FS_LISTING_PREFETCH_ENABLED,
+        OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT);
+    listingPrefetchThreads = conf.getInt(
+        OZONE_FS_LISTING_PREFETCH_THREADS,
+        OZONE_FS_LISTING_PREFETCH_THREADS_DEFAULT);
     isRatisStreamingEnabled = conf.getBoolean(
         OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED,
         OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED_DEFAULT);
@@ -214,6 +242,12 @@ protected boolean isHsyncEnabled() {
   @Override
   public void close() throws IOException {
     try {
+      synchronized (this) {
+        if (listingPrefetchExecutor != null) {
+          listingPrefetchExecutor.shutdownNow();
+          listingPrefetchExecutor = null;
+        }
+      }
       adapter.close();
     } finally {
       super.close();
@@ -1158,6 +1192,7 @@ public RemoteIterator<FileStatus> listStatusIterator(Path f)
     private Path p;
     private T curStat = null;
     private String startPath = "";
+    private CompletableFuture<List<FileStatus>> nextListing;
 
     /**
      * Constructor to initialize OzoneFileStatusIterator.
@@ -1175,10 +1210,31 @@ private OzoneFileStatusIterator(Path p) throws IOException {
             thisListing.get(thisListing.size() - 1).getPath());
         LOG.debug("Got {} file status, next start path {}",
             thisListing.size(), startPath);
+        prefetchNextListing();
       }
       i = 0;
     }
 
+    private boolean hasMorePages() {
+      return startPath != null && (thisListing.size() == listingPageSize ||
+          thisListing.size() == listingPageSize - 1);
+    }
+
+    /**
+     * Starts fetching the page after startPath in the background, so that
+     * it is ready by the time the current page has been consumed. If all
+     * the prefetch threads are busy, the page is fetched when needed.
+     */
+    private void prefetchNextListing() throws IOException {
+      if (listingPrefetchEnabled && hasMorePages()) {
+        try {
+          nextListing = listFileStatusAsync(p, startPath);
+        } catch (RejectedExecutionException e) {
+          LOG.debug("Skip prefetching listing of {} after {}", p, startPath);
+        }
+      }
+    }
+
     /**
      * @return true if next entry exists false otherwise.
      * @throws IOException
@@ -1206,15 +1262,20 @@ private boolean hasNextNoFilter() throws IOException {
         return false;
       }
       if (i >= thisListing.size()) {
-        if (startPath != null && (thisListing.size() == listingPageSize ||
-            thisListing.size() == listingPageSize - 1)) {
+        if (hasMorePages()) {
           // current listing is exhausted & fetch a new listing
-          thisListing = listFileStatus(p, startPath);
+          if (nextListing != null) {
+            thisListing = awaitListing(nextListing);
+            nextListing = null;
+          } else {
+            thisListing = listFileStatus(p, startPath);
+          }
           if (thisListing != null && !thisListing.isEmpty()) {
             startPath = pathToKey(
                 thisListing.get(thisListing.size() - 1).getPath());
             LOG.debug("Got {} file status, next start path {}",
                 thisListing.size(), startPath);
+            prefetchNextListing();
           } else {
             return false;
           }
@@ -1239,6 +1300,52 @@ public T next() throws IOException {
     }
   }
 
+  private synchronized ExecutorService getListingPrefetchExecutor() {
+    if (listingPrefetchExecutor == null) {
+      // No queue, a prefetch is rejected when all the threads are busy.
+      listingPrefetchExecutor = new ThreadPoolExecutor(0,
+          listingPrefetchThreads, 60, TimeUnit.SECONDS,
+          new SynchronousQueue<>(),
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("ofs-listing-prefetch-%d")
+              .build());
+    }
+    return listingPrefetchExecutor;
+  }
+
+  /**
+   * Same as {@link #listFileStatus(Path, String)}, but runs in the
+   * background as the current user.
+   */
+  private CompletableFuture<List<FileStatus>> listFileStatusAsync(Path f,
+      String startPath) throws IOException {
+    UserGroupInformation ugi = UserGroupInformation.getCurrentUser();
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return ugi.doAs((PrivilegedExceptionAction<List<FileStatus>>)
+            () -> listFileStatus(f, startPath));
+      } catch (IOException | InterruptedException e) {
+        throw new CompletionException(e);
+      }
+    }, getListingPrefetchExecutor());
+  }
+
+  private static List<FileStatus> awaitListing(
+      CompletableFuture<List<FileStatus>> listing) throws IOException {
+    try {
+      return listing.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while listing");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException("Failed to list file status", cause);
+    }
+  }
+
   /**
    * Get all the file status for input path and startPath.
    *
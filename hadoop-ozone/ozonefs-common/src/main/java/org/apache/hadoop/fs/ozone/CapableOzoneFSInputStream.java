@@ -17,17 +17,71 @@
  */
 package org.apache.hadoop.fs.ozone;
 
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.StreamCapabilities;
+import org.apache.hadoop.ozone.client.io.KeyInputStream;
+import org.apache.hadoop.ozone.client.io.LengthInputStream;
+import org.apache.hadoop.ozone.client.io.OzoneInputStream;
 import org.apache.hadoop.util.StringUtils;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 
 final class CapableOzoneFSInputStream extends OzoneFSInputStream
     implements StreamCapabilities {
 
+  // null unless the key can be read asynchronously
+  private final KeyInputStream keyInputStream;
+  private final Statistics statistics;
+
   CapableOzoneFSInputStream(InputStream inputStream, Statistics statistics) {
     super(inputStream, statistics);
+    this.keyInputStream = unwrap(inputStream);
+    this.statistics = statistics;
+  }
+
+  private static KeyInputStream unwrap(InputStream inputStream) {
+    InputStream in = inputStream;
+    while (true) {
+      if (in instanceof OzoneInputStream) {
+        in = ((OzoneInputStream) in).getInputStream();
+      } else if (in instanceof LengthInputStream) {
+        in = ((LengthInputStream) in).getWrappedStream();
+      } else {
+        return in instanceof KeyInputStream ? (KeyInputStream) in : null;
+      }
+    }
+  }
+
+  /**
+   * Reads the ranges of the key in parallel, coalescing nearby ranges.
+   * Falls back to reading the ranges one by one if the key cannot be read
+   * asynchronously, e.g. if it is encrypted.
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    if (keyInputStream == null) {
+      super.readVectored(ranges, allocate);
+      return;
+    }
+    VectoredReads.readVectored(ranges, allocate,
+        keyInputStream.getLength(), keyInputStream::readFullyAsync,
+        statistics);
+  }
+
+  @Override
+  public int minSeekForVectorReads() {
+    return VectoredReads.MIN_SEEK;
+  }
+
+  @Override
+  public int maxReadSizeForVectorReads() {
+    return VectoredReads.MAX_READ_SIZE;
   }
 
   @Override
@@ -36,6 +90,8 @@ public boolean hasCapability(String capability) {
     case StreamCapabilities.READBYTEBUFFER:
     case StreamCapabilities.UNBUFFER:
       return true;
+    case StreamCapabilities.VECTOREDIO:
+      return keyInputStream != null;
     default:
       return false;
     }
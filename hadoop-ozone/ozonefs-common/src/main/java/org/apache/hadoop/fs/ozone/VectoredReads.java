@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.fs.ozone;
+
+import org.apache.hadoop.fs.FileRange;
+import org.apache.hadoop.fs.FileSystem.Statistics;
+import org.apache.hadoop.fs.VectoredReadUtils;
+import org.apache.hadoop.fs.impl.CombinedFileRange;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+
+/**
+ * Vectored reads of a key, see
+ * {@link org.apache.hadoop.fs.PositionedReadable#readVectored}.
+ * <p>
+ * Ranges closer than {@link #MIN_SEEK} to each other are coalesced into
+ * a single read of up to {@link #MAX_READ_SIZE} bytes, and the coalesced
+ * ranges are read in parallel. The data of each range is a slice of the
+ * buffer of the coalesced range containing it.
+ * <p>
+ * Kept apart from {@link CapableOzoneFSInputStream}, so that the stream can
+ * be loaded with Hadoop versions without vectored reads.
+ */
+final class VectoredReads {
+
+  /** Ranges closer than this are read together. */
+  static final int MIN_SEEK = 128 * 1024;
+  /** Limit of the size of coalesced ranges. */
+  static final int MAX_READ_SIZE = 4 * 1024 * 1024;
+
+  private VectoredReads() {
+  }
+
+  /**
+   * Reads the ranges, completing the data future set on each of them.
+   * Ranges beyond the end of the key complete with an EOFException.
+   *
+   * @param ranges the ranges to read, must not overlap
+   * @param allocate allocates the buffers of the coalesced ranges
+   * @param length the length of the key
+   * @param reader reads the key from the given position into the buffer,
+   *               from its position to its limit
+   * @param statistics updated with the bytes read, may be null
+   */
+  static void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate, long length,
+      BiFunction<Long, ByteBuffer, CompletableFuture<Void>> reader,
+      Statistics statistics) throws EOFException {
+    for (FileRange range : ranges) {
+      VectoredReadUtils.validateRangeRequest(range);
+    }
+    final List<FileRange> readable = new ArrayList<>(ranges.size());
+    for (FileRange range
+        : VectoredReadUtils.validateNonOverlappingAndReturnSortedRanges(
+            ranges)) {
+      final CompletableFuture<ByteBuffer> data = new CompletableFuture<>();
+      range.setData(data);
+      if (range.getOffset() + range.getLength() > length) {
+        data.completeExceptionally(new EOFException("Range [" +
+            range.getOffset() + ", " + (range.getOffset() + range.getLength())
+            + ") is beyond the end of the file, length=" + length));
+      } else {
+        readable.add(range);
+      }
+    }
+
+    for (CombinedFileRange combined : VectoredReadUtils.mergeSortedRanges(
+        readable, 1, MIN_SEEK, MAX_READ_SIZE)) {
+      final ByteBuffer buffer = allocate.apply(combined.getLength());
+      buffer.limit(buffer.position() + combined.getLength());
+      reader.apply(combined.getOffset(), buffer).whenComplete((v, e) -> {
+        final Throwable cause = e instanceof CompletionException
+            && e.getCause() != null ? e.getCause() : e;
+        for (FileRange range : combined.getUnderlying()) {
+          if (cause != null) {
+            range.getData().completeExceptionally(cause);
+            continue;
+          }
+          if (statistics != null) {
+            statistics.incrementBytesRead(range.getLength());
+          }
+          range.getData().complete(VectoredReadUtils.sliceTo(
+              buffer, combined.getOffset(), range));
+        }
+      });
+    }
+  }
+}
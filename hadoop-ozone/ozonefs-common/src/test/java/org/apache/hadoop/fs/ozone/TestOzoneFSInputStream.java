@@ -24,6 +24,7 @@
 import org.apache.hadoop.crypto.CryptoCodec;
 import org.apache.hadoop.crypto.CryptoInputStream;
 import org.apache.hadoop.crypto.Decryptor;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.StreamCapabilities;
 import org.apache.hadoop.ozone.client.io.KeyInputStream;
@@ -31,17 +32,24 @@
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
 import java.util.function.IntFunction;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -138,6 +146,9 @@ public void testStreamCapability() throws IOException {
 
       assertTrue(capableOzoneFSInputStream.
           hasCapability(StreamCapabilities.READBYTEBUFFER));
+      // only keys read through KeyInputStream
+      assertFalse(capableOzoneFSInputStream.
+          hasCapability(StreamCapabilities.VECTOREDIO));
     } finally {
       if (capableOzoneFSInputStream != null) {
         capableOzoneFSInputStream.close();
@@ -145,6 +156,48 @@ public void testStreamCapability() throws IOException {
     }
   }
 
+  @Test
+  public void readVectoredCoalescesNearbyRanges() throws Exception {
+    final byte[] source = RandomUtils.nextBytes(3 * VectoredReads.MIN_SEEK);
+    final List<long[]> reads = new ArrayList<>();
+    final BiFunction<Long, ByteBuffer, CompletableFuture<Void>> reader =
+        (pos, buf) -> {
+          reads.add(new long[] {pos, buf.remaining()});
+          buf.duplicate().put(source, pos.intValue(), buf.remaining());
+          return CompletableFuture.completedFuture(null);
+        };
+    final FileSystem.Statistics statistics =
+        new FileSystem.Statistics("test");
+    final int farOffset = 2 * VectoredReads.MIN_SEEK + 10;
+    final List<FileRange> ranges = Arrays.asList(
+        FileRange.createFileRange(farOffset, 100),
+        FileRange.createFileRange(0, 10),
+        FileRange.createFileRange(20, 30),
+        FileRange.createFileRange(source.length - 5, 10));
+
+    VectoredReads.readVectored(ranges, ByteBuffer::allocate, source.length,
+        reader, statistics);
+
+    // [0, 10) and [20, 50) are read together
+    assertEquals(2, reads.size());
+    assertArrayEquals(new long[] {0, 50}, reads.get(0));
+    assertArrayEquals(new long[] {farOffset, 100}, reads.get(1));
+    for (FileRange range : ranges.subList(0, 3)) {
+      final ByteBuffer data = range.getData().get();
+      final byte[] content = new byte[data.remaining()];
+      data.get(content);
+      assertArrayEquals(Arrays.copyOfRange(source, (int) range.getOffset(),
+          (int) range.getOffset() + range.getLength()), content);
+    }
+    assertEquals(140, statistics.getBytesRead());
+    try {
+      ranges.get(3).getData().get();
+      fail("Range beyond the end of the file should fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof EOFException);
+    }
+  }
+
   @Test
   public void testCryptoStreamUnbuffer()
       throws IOException, GeneralSecurityException {
@@ -33,6 +33,7 @@
 import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
 import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
+import org.apache.hadoop.ozone.om.helpers.OmKeyBatchResult;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
@@ -55,8 +56,12 @@
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * ClientProtocol implementation with in-memory state.
@@ -224,6 +229,13 @@ public OzoneInputStream getKey(String volumeName, String bucketName,
     return getBucket(volumeName, bucketName).readKey(keyName);
   }
 
+  @Override
+  public CompletableFuture<Long> readKeyAsync(String volumeName,
+      String bucketName, String keyName, Consumer<ByteBuffer> consumer,
+      Executor executor) {
+    return null;
+  }
+
   private OzoneBucket getBucket(String volumeName, String bucketName)
       throws IOException {
     return objectStoreStub.getVolume(volumeName).getBucket(bucketName);
@@ -592,6 +604,14 @@ Map<DatanodeDetails, OzoneInputStream>> getKeysEveryReplicas(
     return null;
   }
 
+  @Override
+  public List<OmKeyBatchResult<Void>> createKeys(String volumeName,
+      String bucketName, Map<String, byte[]> keys,
+      ReplicationConfig replicationConfig, Map<String, String> metadata)
+      throws IOException {
+    return null;
+  }
+
   @Override
   public OzoneDataStreamOutput createStreamKey(
       String volumeName, String bucketName, String keyName, long size,